@@ -597,6 +597,10 @@ public class Annotations {
     public static final DotName KOTLIN_METADATA = DotName.createSimple("kotlin.Metadata");
     public static final DotName ONE_OF = DotName.createSimple("io.smallrye.graphql.api.OneOf");
     public static final DotName NAMESPACE = DotName.createSimple("io.smallrye.graphql.api.Namespace");
+    public static final DotName BATCH_OPTIONS = DotName.createSimple("io.smallrye.graphql.api.BatchOptions");
+    public static final DotName BROADCAST = DotName.createSimple("io.smallrye.graphql.api.Broadcast");
+    public static final DotName CACHE_CONTROL = DotName.createSimple("io.smallrye.graphql.api.CacheControl");
+    public static final DotName COST = DotName.createSimple("io.smallrye.graphql.api.Cost");
 
     // MicroProfile GraphQL Annotations
     public static final DotName GRAPHQL_API = DotName.createSimple("org.eclipse.microprofile.graphql.GraphQLApi");
@@ -1,5 +1,7 @@
 package io.smallrye.graphql.schema;
 
+import java.util.concurrent.Callable;
+
 import org.jboss.jandex.IndexView;
 
 /**
@@ -25,6 +27,29 @@ public class ScanningContext {
         current.remove();
     }
 
+    /**
+     * Make the context of this thread available to work that is done on another thread
+     *
+     * @param work the work
+     * @return the work, that runs with the context of this thread
+     */
+    public static <T> Callable<T> propagate(Callable<T> work) {
+        ScanningContext context = current.get();
+        return () -> {
+            ScanningContext previous = current.get();
+            current.set(context);
+            try {
+                return work.call();
+            } finally {
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        };
+    }
+
     private final IndexView index;
 
     private ScanningContext(final IndexView index) {
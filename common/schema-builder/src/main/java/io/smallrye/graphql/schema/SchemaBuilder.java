@@ -15,7 +15,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -34,6 +39,7 @@ import io.smallrye.graphql.schema.creator.DirectiveTypeCreator;
 import io.smallrye.graphql.schema.creator.FieldCreator;
 import io.smallrye.graphql.schema.creator.OperationCreator;
 import io.smallrye.graphql.schema.creator.ReferenceCreator;
+import io.smallrye.graphql.schema.creator.ReferenceCreator.Collected;
 import io.smallrye.graphql.schema.creator.type.Creator;
 import io.smallrye.graphql.schema.creator.type.CustomScalarCreator;
 import io.smallrye.graphql.schema.creator.type.EnumCreator;
@@ -42,6 +48,7 @@ import io.smallrye.graphql.schema.creator.type.InterfaceCreator;
 import io.smallrye.graphql.schema.creator.type.TypeCreator;
 import io.smallrye.graphql.schema.creator.type.UnionCreator;
 import io.smallrye.graphql.schema.helper.BeanValidationDirectivesHelper;
+import io.smallrye.graphql.schema.helper.CostDirectivesHelper;
 import io.smallrye.graphql.schema.helper.DescriptionHelper;
 import io.smallrye.graphql.schema.helper.Directives;
 import io.smallrye.graphql.schema.helper.NamespaceHelper;
@@ -67,6 +74,10 @@ import io.smallrye.graphql.schema.model.Schema;
  * scheme.
  * <p>
  * It does above recursively until there is no more things to create.
+ * <p>
+ * With a {@link ForkJoinPool}, the operations of the API classes and the types that are referenced at the same time are
+ * created in parallel. The references the parallel work finds are added in a fixed order afterwards, so the schema is the
+ * same every time.
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
@@ -84,6 +95,8 @@ public class SchemaBuilder {
     private final DirectiveTypeCreator directiveTypeCreator;
     private final UnionCreator unionCreator;
     private final CustomScalarCreator customScalarCreator;
+    // null to build on this thread
+    private final ForkJoinPool pool;
 
     private final DotName FEDERATION_ANNOTATIONS_PACKAGE = DotName.createSimple("io.smallrye.graphql.api.federation");
 
@@ -105,11 +118,24 @@ public class SchemaBuilder {
      * @return the Schema
      */
     public static Schema build(IndexView index, TypeAutoNameStrategy autoNameStrategy) {
+        return build(index, autoNameStrategy, null);
+    }
+
+    /**
+     * This builds the Schema from Jandex, in parallel
+     *
+     * @param index the Jandex index
+     * @param autoNameStrategy the naming strategy
+     * @param pool the pool to build on, or null to build on this thread
+     * @return the Schema
+     */
+    public static Schema build(IndexView index, TypeAutoNameStrategy autoNameStrategy, ForkJoinPool pool) {
         ScanningContext.register(index);
-        return new SchemaBuilder(autoNameStrategy).generateSchema();
+        return new SchemaBuilder(autoNameStrategy, pool).generateSchema();
     }
 
-    private SchemaBuilder(TypeAutoNameStrategy autoNameStrategy) {
+    private SchemaBuilder(TypeAutoNameStrategy autoNameStrategy, ForkJoinPool pool) {
+        this.pool = pool;
         enumCreator = new EnumCreator(autoNameStrategy);
         referenceCreator = new ReferenceCreator(autoNameStrategy);
         fieldCreator = new FieldCreator(referenceCreator);
@@ -150,13 +176,8 @@ public class SchemaBuilder {
         validateNamespaceAnnotations(graphQLApiAnnotations);
         validateSubscriptions(graphQLApiAnnotations);
 
-        for (AnnotationInstance graphQLApiAnnotation : graphQLApiAnnotations) {
-            ClassInfo apiClass = graphQLApiAnnotation.target().asClass();
-            List<MethodInfo> methods = getAllMethodsIncludingFromSuperClasses(apiClass);
-            addResolvers(schema, methods);
-            NamespaceHelper.getNamespace(graphQLApiAnnotation).ifPresentOrElse(
-                    namespace -> addNamespacedOperations(namespace, schema, methods),
-                    () -> addOperations(schema, methods));
+        for (Consumer<Schema> operations : createAll(new ArrayList<>(graphQLApiAnnotations), this::createOperations)) {
+            operations.accept(schema);
         }
 
         validateMethods(schema);
@@ -267,6 +288,8 @@ public class SchemaBuilder {
         schema.addDirectiveType(BeanValidationDirectivesHelper.CONSTRAINT_DIRECTIVE_TYPE);
         // rolesAllowed directive
         schema.addDirectiveType(RolesAllowedDirectivesHelper.ROLES_ALLOWED_DIRECTIVE_TYPE);
+        // cost directive
+        schema.addDirectiveType(CostDirectivesHelper.COST_DIRECTIVE_TYPE);
     }
 
     private void addCustomScalarTypes(Schema schema) {
@@ -397,9 +420,10 @@ public class SchemaBuilder {
     private <T> void createAndAddToSchema(ReferenceType referenceType, Creator<T> creator, Consumer<T> consumer) {
         Queue<Reference> queue = referenceCreator.values(referenceType);
         while (!queue.isEmpty()) {
-            Reference reference = queue.poll();
-            ClassInfo classInfo = ScanningContext.getIndex().getClassByName(DotName.createSimple(reference.getClassName()));
-            consumer.accept(creator.create(classInfo, reference));
+            // the references found while creating these are created in the next round, in the order of the queue
+            List<Reference> references = new ArrayList<>(queue);
+            queue.clear();
+            createAll(references, reference -> creator.create(getClassInfo(reference), reference)).forEach(consumer);
         }
     }
 
@@ -410,10 +434,15 @@ public class SchemaBuilder {
         // Let's see what still needs to be done.
         Queue<Reference> values = referenceCreator.values(referenceType);
         while (!values.isEmpty()) {
-            Reference reference = values.poll();
-            ClassInfo classInfo = ScanningContext.getIndex().getClassByName(DotName.createSimple(reference.getClassName()));
-            if (!contains.test(reference.getName())) {
-                consumer.accept(creator.create(classInfo, reference));
+            List<Reference> references = new ArrayList<>();
+            while (!values.isEmpty()) {
+                Reference reference = values.poll();
+                if (!contains.test(reference.getName())) {
+                    references.add(reference);
+                }
+            }
+            if (!references.isEmpty()) {
+                createAll(references, reference -> creator.create(getClassInfo(reference), reference)).forEach(consumer);
                 keepGoing = true;
             }
         }
@@ -421,15 +450,79 @@ public class SchemaBuilder {
         return keepGoing;
     }
 
-    private void addNamespacedOperations(Namespace namespace, Schema schema, List<MethodInfo> methodInfoList) {
+    private static ClassInfo getClassInfo(Reference reference) {
+        return ScanningContext.getIndex().getClassByName(DotName.createSimple(reference.getClassName()));
+    }
+
+    /**
+     * Create something for every input, in parallel if there is a pool
+     *
+     * @return what is created, in the order of the inputs
+     */
+    private <I, R> List<R> createAll(List<I> inputs, Function<I, R> create) {
+        List<R> results = new ArrayList<>(inputs.size());
+        if (pool == null || inputs.size() < 2) {
+            for (I input : inputs) {
+                results.add(create.apply(input));
+            }
+            return results;
+        }
+        List<Callable<Collected<R>>> tasks = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            tasks.add(ScanningContext.propagate(() -> referenceCreator.collect(() -> create.apply(input))));
+        }
+        for (Future<Collected<R>> future : pool.invokeAll(tasks)) {
+            Collected<R> collected = getResult(future);
+            referenceCreator.addCollected(collected);
+            results.add(collected.getResult());
+        }
+        return results;
+    }
+
+    private static <R> R getResult(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SchemaBuilderException(ex);
+        } catch (ExecutionException ex) {
+            // the same exception as when the schema is built on one thread
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new SchemaBuilderException(ex.getCause());
+        }
+    }
+
+    /**
+     * Create the operations of an API class
+     *
+     * @return what adds the operations to the schema
+     */
+    private Consumer<Schema> createOperations(AnnotationInstance graphQLApiAnnotation) {
+        ClassInfo apiClass = graphQLApiAnnotation.target().asClass();
+        List<MethodInfo> methods = getAllMethodsIncludingFromSuperClasses(apiClass);
+        List<Consumer<Schema>> operations = new ArrayList<>();
+        addResolvers(operations, methods);
+        NamespaceHelper.getNamespace(graphQLApiAnnotation).ifPresentOrElse(
+                namespace -> addNamespacedOperations(namespace, operations, methods),
+                () -> addOperations(operations, methods));
+        return schema -> operations.forEach(operation -> operation.accept(schema));
+    }
+
+    private void addNamespacedOperations(Namespace namespace, List<Consumer<Schema>> operations,
+            List<MethodInfo> methodInfoList) {
         for (MethodInfo methodInfo : methodInfoList) {
             Annotations annotationsForMethod = Annotations.getAnnotationsForMethod(methodInfo);
             if (annotationsForMethod.containsOneOfTheseAnnotations(Annotations.QUERY)) {
                 Operation query = operationCreator.createOperation(methodInfo, OperationType.QUERY, null);
-                schema.addNamespacedQuery(namespace, query);
+                operations.add(schema -> schema.addNamespacedQuery(namespace, query));
             } else if (annotationsForMethod.containsOneOfTheseAnnotations(Annotations.MUTATION)) {
                 Operation mutation = operationCreator.createOperation(methodInfo, OperationType.MUTATION, null);
-                schema.addNamespacedMutation(namespace, mutation);
+                operations.add(schema -> schema.addNamespacedMutation(namespace, mutation));
             }
         }
     }
@@ -438,26 +531,26 @@ public class SchemaBuilder {
      * This inspect all method, looking for Query and Mutation annotations,
      * to create those Operations.
      *
-     * @param schema the schema to add the operation to.
+     * @param operations what adds the operations to the schema.
      * @param methodInfoList the java methods.
      */
-    private void addOperations(Schema schema, List<MethodInfo> methodInfoList) {
+    private void addOperations(List<Consumer<Schema>> operations, List<MethodInfo> methodInfoList) {
         for (MethodInfo methodInfo : methodInfoList) {
             Annotations annotationsForMethod = Annotations.getAnnotationsForMethod(methodInfo);
             if (annotationsForMethod.containsOneOfTheseAnnotations(Annotations.QUERY)) {
                 Operation query = operationCreator.createOperation(methodInfo, OperationType.QUERY, null);
-                schema.addQuery(query);
+                operations.add(schema -> schema.addQuery(query));
             } else if (annotationsForMethod.containsOneOfTheseAnnotations(Annotations.MUTATION)) {
                 Operation mutation = operationCreator.createOperation(methodInfo, OperationType.MUTATION, null);
-                schema.addMutation(mutation);
+                operations.add(schema -> schema.addMutation(mutation));
             } else if (annotationsForMethod.containsOneOfTheseAnnotations(Annotations.SUBCRIPTION)) {
                 Operation subscription = operationCreator.createOperation(methodInfo, OperationType.SUBSCRIPTION, null);
-                schema.addSubscription(subscription);
+                operations.add(schema -> schema.addSubscription(subscription));
             }
         }
     }
 
-    private void addResolvers(Schema schema, List<MethodInfo> methodInfoList) {
+    private void addResolvers(List<Consumer<Schema>> operations, List<MethodInfo> methodInfoList) {
         for (MethodInfo methodInfo : methodInfoList) {
             Annotations annotationsForMethod = Annotations.getAnnotationsForMethod(methodInfo);
             if (annotationsForMethod.containsOneOfTheseAnnotations(Annotations.RESOLVER)) {
@@ -465,7 +558,7 @@ public class SchemaBuilder {
                 String className = resolver.getClassName();
                 String resolverClassName = className.substring(className.lastIndexOf(".") + 1);
                 resolver.setName(resolverClassName + resolver.getName());
-                schema.addResolver(resolver);
+                operations.add(schema -> schema.addResolver(resolver));
             }
         }
     }
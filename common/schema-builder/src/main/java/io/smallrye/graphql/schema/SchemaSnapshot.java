@@ -0,0 +1,175 @@
+package io.smallrye.graphql.schema;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * A built {@link Schema}, stored at build time so the server does not have to scan the classes and run the
+ * {@link SchemaBuilder} at startup.
+ *
+ * The snapshot is the serialized schema, compressed, with the fingerprint of the classes and jars it was built from. A
+ * snapshot is only used when the fingerprint of the application at startup is the same, otherwise the classes are
+ * scanned as usual.
+ */
+public final class SchemaSnapshot {
+    /**
+     * Where the build plugins put the snapshot, and where the server looks for it
+     */
+    public static final String LOCATION = "META-INF/smallrye-graphql-schema.ser";
+
+    private static final int MAGIC = 0x53524751; // SRGQ
+    // changes when the format changes, a snapshot of another version is not used
+    private static final int VERSION = 1;
+    // only the model can be in a snapshot
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+            .createFilter("io.smallrye.graphql.schema.model.*;java.base/*;!*");
+
+    private SchemaSnapshot() {
+    }
+
+    /**
+     * Work out the fingerprint of an application, from its classes and its jars.
+     *
+     * The fingerprint has to be cheap, as it is worked out at every startup. The class files count with their names,
+     * relative to their directory, and the CRC-32 of their bytes. So classes that are compiled to more than one
+     * directory have the same fingerprint as when they are merged into one. The jars are not read, only their size and
+     * their central directory count: the name, CRC-32 and size of every entry. They count without their own names, as
+     * they may be renamed when they are packaged, like snapshot versions in a war.
+     *
+     * @param classesDirs the directories with the classes, like {@code target/classes} or {@code WEB-INF/classes}
+     * @param jars the jars that are scanned with the classes, like the ones in {@code WEB-INF/lib}
+     * @return the fingerprint
+     */
+    public static String fingerprint(Collection<Path> classesDirs, Collection<Path> jars) throws IOException {
+        MessageDigest digest = newDigest();
+        Map<String, Path> classFiles = new TreeMap<>();
+        for (Path classesDir : classesDirs) {
+            if (Files.isDirectory(classesDir)) {
+                try (Stream<Path> files = Files.walk(classesDir)) {
+                    files.filter(path -> path.toString().endsWith(".class"))
+                            // the same on every platform
+                            .forEach(path -> classFiles.putIfAbsent(
+                                    classesDir.relativize(path).toString().replace('\\', '/'), path));
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        for (Map.Entry<String, Path> classFile : classFiles.entrySet()) {
+            crc.reset();
+            crc.update(Files.readAllBytes(classFile.getValue()));
+            digest.update(classFile.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(longBytes(crc.getValue()));
+        }
+
+        List<String> jarDigests = new ArrayList<>(jars.size());
+        for (Path jar : jars) {
+            jarDigests.add(HexFormat.of().formatHex(jarDigest(jar)));
+        }
+        // in an order that does not depend on the names either
+        Collections.sort(jarDigests);
+        for (String jarDigest : jarDigests) {
+            digest.update(jarDigest.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] jarDigest(Path jar) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(longBytes(Files.size(jar)));
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            // only reads the central directory
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update(longBytes(entry.getCrc()));
+                digest.update(longBytes(entry.getSize()));
+            }
+        } catch (ZipException e) {
+            // not a jar, so its bytes count
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(jar));
+            digest.update(longBytes(crc.getValue()));
+        }
+        return digest.digest();
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param schema the built schema
+     * @param fingerprint the fingerprint of the classes and jars the schema is built from
+     * @param out where to write the snapshot to, it is not closed
+     */
+    public static void write(Schema schema, String fingerprint, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        DataOutputStream data = new DataOutputStream(gzip);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(fingerprint);
+        ObjectOutputStream objects = new ObjectOutputStream(data);
+        objects.writeObject(schema);
+        objects.flush();
+        gzip.finish();
+    }
+
+    /**
+     * @param in the snapshot
+     * @param fingerprint the fingerprint of the classes and jars now
+     * @return the schema, or null if the snapshot is of other classes or jars, or of another version
+     * @throws IOException if the snapshot can not be read
+     */
+    public static Schema read(InputStream in, String fingerprint) throws IOException {
+        DataInputStream data = new DataInputStream(new GZIPInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION || !data.readUTF().equals(fingerprint)) {
+            return null;
+        }
+        ObjectInputStream objects = new ObjectInputStream(data);
+        objects.setObjectInputFilter(FILTER);
+        try {
+            return (Schema) objects.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            // a snapshot of a different model
+            return null;
+        }
+    }
+}
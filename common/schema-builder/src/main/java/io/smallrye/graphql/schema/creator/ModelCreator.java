@@ -7,6 +7,7 @@ import org.jboss.jandex.Type;
 import io.smallrye.graphql.schema.Annotations;
 import io.smallrye.graphql.schema.helper.AdaptToHelper;
 import io.smallrye.graphql.schema.helper.AdaptWithHelper;
+import io.smallrye.graphql.schema.helper.CostDirectivesHelper;
 import io.smallrye.graphql.schema.helper.DefaultValueHelper;
 import io.smallrye.graphql.schema.helper.DescriptionHelper;
 import io.smallrye.graphql.schema.helper.Direction;
@@ -102,6 +103,9 @@ public abstract class ModelCreator {
             field.addDirectiveInstances(directives.buildDirectiveInstances(annotations, getDirectiveLocation(direction),
                     field.getName()));
         }
+        if (direction == Direction.OUT) {
+            CostDirectivesHelper.transformCostToDirective(annotations).ifPresent(field::addDirectiveInstance);
+        }
     }
 
     private String getDirectiveLocation(Direction direction) {
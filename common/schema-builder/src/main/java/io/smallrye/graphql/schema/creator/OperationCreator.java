@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.MethodInfo;
 import org.jboss.jandex.ParameterizedType;
@@ -21,6 +22,8 @@ import io.smallrye.graphql.schema.helper.Direction;
 import io.smallrye.graphql.schema.helper.MethodHelper;
 import io.smallrye.graphql.schema.helper.RolesAllowedDirectivesHelper;
 import io.smallrye.graphql.schema.model.Argument;
+import io.smallrye.graphql.schema.model.BatchOptions;
+import io.smallrye.graphql.schema.model.CacheHint;
 import io.smallrye.graphql.schema.model.Execute;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.OperationType;
@@ -97,6 +100,17 @@ public class OperationCreator extends ModelCreator {
                 execute);
         if (type != null) {
             operation.setSourceFieldOn(new Reference.Builder().reference(type).build());
+            operation.setBatchOptions(getBatchOptions(annotationsForMethod));
+        }
+        if (operationType == OperationType.SUBSCRIPTION) {
+            annotationsForMethod.getOneOfTheseAnnotations(Annotations.BROADCAST).ifPresent(broadcast -> {
+                AnnotationValue perPrincipal = broadcast.value("perPrincipal");
+                operation.setBroadcast(true);
+                operation.setBroadcastPerPrincipal(perPrincipal != null && perPrincipal.asBoolean());
+            });
+        }
+        if (operationType == OperationType.QUERY) {
+            operation.setCacheHint(getCacheHint(annotationsForMethod));
         }
 
         // Arguments
@@ -339,6 +353,37 @@ public class OperationCreator extends ModelCreator {
         return Execute.DEFAULT;
     }
 
+    private BatchOptions getBatchOptions(Annotations annotationsForMethod) {
+        Optional<AnnotationInstance> batchOptions = annotationsForMethod.getOneOfTheseAnnotations(Annotations.BATCH_OPTIONS);
+        if (batchOptions.isEmpty()) {
+            return null;
+        }
+        AnnotationInstance annotation = batchOptions.get();
+        AnnotationValue maxBatchSize = annotation.value("maxBatchSize");
+        AnnotationValue caching = annotation.value("caching");
+        return new BatchOptions(maxBatchSize != null ? maxBatchSize.asInt() : 0,
+                caching == null || caching.asBoolean(),
+                getClassName(annotation.value("cacheKey")),
+                getClassName(annotation.value("batchLoaderScheduler")));
+    }
+
+    private CacheHint getCacheHint(Annotations annotationsForMethod) {
+        Optional<AnnotationInstance> cacheControl = annotationsForMethod.getOneOfTheseAnnotations(Annotations.CACHE_CONTROL);
+        if (cacheControl.isEmpty()) {
+            return null;
+        }
+        AnnotationInstance annotation = cacheControl.get();
+        AnnotationValue scope = annotation.value("scope");
+        return new CacheHint(annotation.value("maxAge").asInt(), scope != null && scope.asEnum().equals("PRIVATE"));
+    }
+
+    private static String getClassName(AnnotationValue value) {
+        if (value == null || value.asClass().name().toString().equals(Void.class.getName())) {
+            return null;
+        }
+        return value.asClass().name().toString();
+    }
+
     private void addDirectivesForRolesAllowed(Annotations annotationsForOperation, Annotations classAnnotations,
             Operation operation,
             Reference parentObjectReference) {
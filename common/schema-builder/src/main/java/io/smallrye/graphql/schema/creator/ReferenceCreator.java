@@ -3,12 +3,14 @@ package io.smallrye.graphql.schema.creator;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.Callable;
 
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.ParameterizedType;
@@ -56,6 +58,9 @@ public class ReferenceCreator {
     private final Map<String, Reference> interfaceReferenceMap = new HashMap<>();
     private final Map<String, Reference> unionReferenceMap = new HashMap<>();
 
+    // The references found by work that runs in parallel, see collect
+    private final ThreadLocal<Collected<?>> collecting = new ThreadLocal<>();
+
     private final TypeAutoNameStrategy autoNameStrategy;
 
     public ReferenceCreator(TypeAutoNameStrategy autoNameStrategy) {
@@ -80,6 +85,38 @@ public class ReferenceCreator {
         unionReferenceQueue.clear();
     }
 
+    /**
+     * Do work that creates references, without adding them to the references to be created yet.
+     *
+     * This is how work can run in parallel: the work only reads the references that were added before, and the
+     * references it finds are added afterwards with {@link #addCollected(Collected)}, in a fixed order.
+     *
+     * @param work the work
+     * @return the result of the work, and the references it found
+     */
+    public <T> Collected<T> collect(Callable<T> work) throws Exception {
+        Collected<T> collected = new Collected<>();
+        collecting.set(collected);
+        try {
+            collected.result = work.call();
+            return collected;
+        } finally {
+            collecting.remove();
+        }
+    }
+
+    /**
+     * Add the references that work found, in the order it found them. This fails like it would have failed while
+     * doing the work on its own.
+     *
+     * @param collected the references found by {@link #collect(Callable)}
+     */
+    public void addCollected(Collected<?> collected) {
+        for (Found found : collected.found) {
+            putIfAbsent(found.key, found.referenceType, found.reference);
+        }
+    }
+
     /**
      * Get the values for a certain type
      *
@@ -463,26 +500,46 @@ public class ReferenceCreator {
     private void putIfAbsent(String key, ReferenceType referenceType, Reference reference) {
         Map<String, Reference> map = getReferenceMap(referenceType);
         Queue<Reference> queue = getReferenceQueue(referenceType);
-        if (map != null && queue != null) {
+        Collected<?> collected = collecting.get();
+        if (collected != null && map != null) {
+            Map<String, Reference> found = collected.getReferenceMap(referenceType);
+            Reference existing = map.containsKey(key) ? map.get(key) : found.get(key);
+            if (existing == null) {
+                found.put(key, reference);
+                collected.found.add(new Found(key, referenceType, reference));
+            } else if (!existing.getClassName().equals(reference.getClassName())) {
+                // fails when it is added
+                collected.found.add(new Found(key, referenceType, reference));
+            }
+        } else if (map != null && queue != null) {
             if (!map.containsKey(key)) {
                 map.put(key, reference);
                 queue.add(reference);
             } else {
-                String existingClass = map.get(key).getClassName();
-                String newClass = reference.getClassName();
-                if (!existingClass.equals(newClass)) {
-                    throw new SchemaBuilderException(
-                            "Classes " + existingClass + " and " + newClass + " map to the same GraphQL type '" + key + "', "
-                                    + "consider using the @Name annotation or a different naming strategy to distinguish between them");
-                }
+                checkSameClass(key, map.get(key), reference);
             }
         }
     }
 
+    private static void checkSameClass(String key, Reference existing, Reference reference) {
+        String existingClass = existing.getClassName();
+        String newClass = reference.getClassName();
+        if (!existingClass.equals(newClass)) {
+            throw new SchemaBuilderException(
+                    "Classes " + existingClass + " and " + newClass + " map to the same GraphQL type '" + key + "', "
+                            + "consider using the @Name annotation or a different naming strategy to distinguish between them");
+        }
+    }
+
     private Reference getIfExist(String key, ReferenceType referenceType) {
         Map<String, Reference> map = getReferenceMap(referenceType);
+        Reference existing = null;
         if (map != null && map.containsKey(key)) {
-            Reference existing = map.get(key);
+            existing = map.get(key);
+        } else if (map != null && collecting.get() != null) {
+            existing = collecting.get().getReferenceMap(referenceType).get(key);
+        }
+        if (existing != null) {
             return new Reference.Builder().reference(existing)
                     .build();
         }
@@ -571,4 +628,36 @@ public class ReferenceCreator {
         }
         return r;
     }
+
+    /**
+     * The result of work, and the references it found
+     */
+    public static final class Collected<T> {
+        private final Map<ReferenceType, Map<String, Reference>> references = new EnumMap<>(ReferenceType.class);
+        private final List<Found> found = new ArrayList<>();
+        private T result;
+
+        private Collected() {
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        private Map<String, Reference> getReferenceMap(ReferenceType referenceType) {
+            return references.computeIfAbsent(referenceType, type -> new HashMap<>());
+        }
+    }
+
+    private static final class Found {
+        private final String key;
+        private final ReferenceType referenceType;
+        private final Reference reference;
+
+        private Found(String key, ReferenceType referenceType, Reference reference) {
+            this.key = key;
+            this.referenceType = referenceType;
+            this.reference = reference;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package io.smallrye.graphql.schema.helper;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+
+import io.smallrye.graphql.schema.Annotations;
+import io.smallrye.graphql.schema.model.DirectiveArgument;
+import io.smallrye.graphql.schema.model.DirectiveInstance;
+import io.smallrye.graphql.schema.model.DirectiveType;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.Scalars;
+import io.smallrye.graphql.schema.model.Wrapper;
+import io.smallrye.graphql.schema.model.WrapperType;
+
+/**
+ * Turns {@code io.smallrye.graphql.api.Cost} into the {@code @cost} directive, that the cost analysis reads at runtime
+ */
+public class CostDirectivesHelper {
+
+    public final static DirectiveType COST_DIRECTIVE_TYPE;
+
+    static {
+        COST_DIRECTIVE_TYPE = new DirectiveType();
+        COST_DIRECTIVE_TYPE.setName("cost");
+        COST_DIRECTIVE_TYPE.setLocations(Set.of("FIELD_DEFINITION"));
+        COST_DIRECTIVE_TYPE.setDescription("The cost of a field, multiplied by the biggest value of its multiplier arguments.");
+        COST_DIRECTIVE_TYPE.setRepeatable(false);
+
+        COST_DIRECTIVE_TYPE.addArgumentType(createArgument("weight", Scalars.getIntScalar(), null));
+        COST_DIRECTIVE_TYPE.addArgumentType(createArgument("multipliers", Scalars.getStringScalar(),
+                new Wrapper(WrapperType.ARRAY, String[].class.getName())));
+    }
+
+    private static DirectiveArgument createArgument(String name, Reference reference, Wrapper wrapper) {
+        DirectiveArgument arg = new DirectiveArgument();
+        arg.setName(name);
+        arg.setReference(reference);
+        arg.setWrapper(wrapper);
+        return arg;
+    }
+
+    public static Optional<DirectiveInstance> transformCostToDirective(Annotations annotations) {
+        Optional<AnnotationInstance> cost = annotations.getOneOfTheseAnnotations(Annotations.COST);
+        if (cost.isEmpty()) {
+            return Optional.empty();
+        }
+        AnnotationValue weight = cost.get().value("weight");
+        AnnotationValue multipliers = cost.get().value("multipliers");
+        DirectiveInstance directive = new DirectiveInstance();
+        directive.setType(COST_DIRECTIVE_TYPE);
+        directive.setValue("weight", weight != null ? weight.asInt() : 1);
+        directive.setValue("multipliers", multipliers != null ? multipliers.asStringArray() : new String[0]);
+        return Optional.of(directive);
+    }
+}
@@ -0,0 +1,84 @@
+package io.smallrye.graphql.schema.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The DataLoader options of a batched source field
+ */
+public class BatchOptions implements Serializable {
+
+    private int maxBatchSize = 0; // 0 means no limit
+    private boolean caching = true;
+    private String cacheKeyClassName = null; // implements org.dataloader.CacheKey
+    private String batchLoaderSchedulerClassName = null; // implements org.dataloader.scheduler.BatchLoaderScheduler
+
+    public BatchOptions() {
+    }
+
+    public BatchOptions(int maxBatchSize, boolean caching, String cacheKeyClassName,
+            String batchLoaderSchedulerClassName) {
+        this.maxBatchSize = maxBatchSize;
+        this.caching = caching;
+        this.cacheKeyClassName = cacheKeyClassName;
+        this.batchLoaderSchedulerClassName = batchLoaderSchedulerClassName;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public boolean isCaching() {
+        return caching;
+    }
+
+    public void setCaching(boolean caching) {
+        this.caching = caching;
+    }
+
+    public String getCacheKeyClassName() {
+        return cacheKeyClassName;
+    }
+
+    public void setCacheKeyClassName(String cacheKeyClassName) {
+        this.cacheKeyClassName = cacheKeyClassName;
+    }
+
+    public String getBatchLoaderSchedulerClassName() {
+        return batchLoaderSchedulerClassName;
+    }
+
+    public void setBatchLoaderSchedulerClassName(String batchLoaderSchedulerClassName) {
+        this.batchLoaderSchedulerClassName = batchLoaderSchedulerClassName;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOptions{" + "maxBatchSize=" + maxBatchSize + ", caching=" + caching + ", cacheKeyClassName="
+                + cacheKeyClassName + ", batchLoaderSchedulerClassName=" + batchLoaderSchedulerClassName + '}';
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxBatchSize, caching, cacheKeyClassName, batchLoaderSchedulerClassName);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final BatchOptions other = (BatchOptions) obj;
+        return this.maxBatchSize == other.maxBatchSize
+                && this.caching == other.caching
+                && Objects.equals(this.cacheKeyClassName, other.cacheKeyClassName)
+                && Objects.equals(this.batchLoaderSchedulerClassName, other.batchLoaderSchedulerClassName);
+    }
+}
@@ -0,0 +1,60 @@
+package io.smallrye.graphql.schema.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * How long the result of a query can be cached
+ */
+public class CacheHint implements Serializable {
+
+    private int maxAge = 0; // in seconds
+    private boolean privateScope = false; // cached per user, and not by shared caches
+
+    public CacheHint() {
+    }
+
+    public CacheHint(int maxAge, boolean privateScope) {
+        this.maxAge = maxAge;
+        this.privateScope = privateScope;
+    }
+
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(int maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public boolean isPrivateScope() {
+        return privateScope;
+    }
+
+    public void setPrivateScope(boolean privateScope) {
+        this.privateScope = privateScope;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheHint{" + "maxAge=" + maxAge + ", privateScope=" + privateScope + '}';
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxAge, privateScope);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final CacheHint other = (CacheHint) obj;
+        return this.maxAge == other.maxAge
+                && this.privateScope == other.privateScope;
+    }
+}
@@ -1,5 +1,6 @@
 package io.smallrye.graphql.schema.model;
 
+import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -8,7 +9,7 @@ import java.util.Map;
  *
  * @see <a href="https://spec.graphql.org/draft/#Directive">Directive</a>
  */
-public class DirectiveInstance {
+public class DirectiveInstance implements Serializable {
     private DirectiveType type;
     private Map<String, Object> values = new LinkedHashMap<>();
 
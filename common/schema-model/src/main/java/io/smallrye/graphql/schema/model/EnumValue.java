@@ -1,5 +1,6 @@
 package io.smallrye.graphql.schema.model;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -7,7 +8,7 @@ import java.util.List;
  *
  * @author Felix König (de.felix.koenig@gmail.com)
  */
-public final class EnumValue {
+public final class EnumValue implements Serializable {
 
     private String description;
     private String value;
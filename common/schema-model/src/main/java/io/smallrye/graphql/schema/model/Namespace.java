@@ -1,9 +1,10 @@
 package io.smallrye.graphql.schema.model;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
 
-public class Namespace {
+public class Namespace implements Serializable {
     private List<String> names;
     private String description;
 
@@ -1,5 +1,6 @@
 package io.smallrye.graphql.schema.model;
 
+import java.io.Serializable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class NamespaceContainer {
+public class NamespaceContainer implements Serializable {
     private String name;
     private String description;
     private Set<Operation> operations = new HashSet<>();
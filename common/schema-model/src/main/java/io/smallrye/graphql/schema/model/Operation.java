@@ -41,6 +41,26 @@ public final class Operation extends Field {
      */
     private Execute execute;
 
+    /**
+     * If this is a batched source field, the options of its DataLoader, when they are not the defaults
+     */
+    private BatchOptions batchOptions = null;
+
+    /**
+     * If this is a subscription that is shared between the clients that subscribe with the same request
+     */
+    private boolean broadcast = false;
+
+    /**
+     * If a shared subscription is only shared between the clients of the same principal
+     */
+    private boolean broadcastPerPrincipal = false;
+
+    /**
+     * If this is a query whose result can be cached, for how long
+     */
+    private CacheHint cacheHint = null;
+
     public Operation() {
     }
 
@@ -104,6 +124,46 @@ public final class Operation extends Field {
         this.execute = execute;
     }
 
+    public BatchOptions getBatchOptions() {
+        return batchOptions;
+    }
+
+    public void setBatchOptions(BatchOptions batchOptions) {
+        this.batchOptions = batchOptions;
+    }
+
+    public boolean hasBatchOptions() {
+        return batchOptions != null;
+    }
+
+    public boolean isBroadcast() {
+        return broadcast;
+    }
+
+    public void setBroadcast(boolean broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    public boolean isBroadcastPerPrincipal() {
+        return broadcastPerPrincipal;
+    }
+
+    public void setBroadcastPerPrincipal(boolean broadcastPerPrincipal) {
+        this.broadcastPerPrincipal = broadcastPerPrincipal;
+    }
+
+    public CacheHint getCacheHint() {
+        return cacheHint;
+    }
+
+    public void setCacheHint(CacheHint cacheHint) {
+        this.cacheHint = cacheHint;
+    }
+
+    public boolean hasCacheHint() {
+        return cacheHint != null;
+    }
+
     @Override
     public String toString() {
         return "Operation{" + "className=" + className + ", arguments=" + arguments + ", operationType=" + operationType
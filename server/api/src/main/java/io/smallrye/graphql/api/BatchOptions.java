@@ -0,0 +1,44 @@
+package io.smallrye.graphql.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.smallrye.common.annotation.Experimental;
+
+/**
+ * Options for the DataLoader of a batched {@code @Source} method, one that takes a list of sources.
+ *
+ * The options can also be set with config, per field as {@code smallrye.graphql.dataloader.<Type>_<field>.<option>},
+ * which takes precedence over this annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+@Documented
+@Experimental("DataLoader options for batched source fields")
+public @interface BatchOptions {
+
+    /**
+     * @return the maximum number of sources per call. Bigger batches are split into parts. The parts of an asynchronous
+     *         batch method run at the same time. 0 means no limit.
+     */
+    int maxBatchSize() default 0;
+
+    /**
+     * @return if the result for a source is cached for the rest of the request, so it is only loaded once
+     */
+    boolean caching() default true;
+
+    /**
+     * @return a class implementing {@code org.dataloader.CacheKey}, to cache by something else than the source itself
+     */
+    Class<?> cacheKey() default Void.class;
+
+    /**
+     * @return a class implementing {@code org.dataloader.scheduler.BatchLoaderScheduler}, for example to dispatch in
+     *         time windows
+     */
+    Class<?> batchLoaderScheduler() default Void.class;
+}
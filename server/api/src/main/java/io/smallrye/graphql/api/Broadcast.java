@@ -0,0 +1,35 @@
+package io.smallrye.graphql.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.smallrye.common.annotation.Experimental;
+
+/**
+ * Share the stream of a {@link Subscription} between all websocket clients that subscribe to it with the same
+ * document, operation name, variables and context.
+ *
+ * Every client executes the operation, so the document and variables are validated as usual. Only the first client
+ * calls the method, the clients that come after join its stream without calling it. So checks that are done by the
+ * method or its interceptors are only done for the first client, which is fine for checks of the arguments, like bean
+ * validation, as they are the same for all clients. A method with {@code @RolesAllowed} is still called by every client
+ * to check its roles, unless the stream is shared {@link #perPrincipal()}, but the stream it returns is not used.
+ * Every event is executed and serialized once, and sent to all clients. The stream is cancelled when the last client
+ * leaves. A client that joins later only gets the events from then on, so only use this when the events do not depend
+ * on who is asking for them, or share them per principal.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+@Documented
+@Experimental("Share a subscription stream between clients")
+public @interface Broadcast {
+
+    /**
+     * @return if the stream is only shared between the clients of the same principal, for events that depend on who
+     *         is asking for them, or checks in the method that depend on the principal
+     */
+    boolean perPrincipal() default false;
+}
@@ -0,0 +1,46 @@
+package io.smallrye.graphql.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.smallrye.common.annotation.Experimental;
+
+/**
+ * Cache the result of a {@link org.eclipse.microprofile.graphql.Query} for a while.
+ *
+ * The result is kept in memory per combination of arguments, so the method is only called again when it is older than
+ * {@link #maxAge()}. The response also gets a {@code Cache-Control} header when all the root fields and
+ * {@link org.eclipse.microprofile.graphql.Source} fields it resolves have this annotation, with the smallest
+ * {@link #maxAge()} of them, so the response can be cached by the client or a CDN. The results of
+ * {@link org.eclipse.microprofile.graphql.Source} fields only count for the header, they are not kept in memory.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+@Documented
+@Experimental("Cache the results of queries")
+public @interface CacheControl {
+
+    /**
+     * @return how long the result can be cached, in seconds
+     */
+    int maxAge();
+
+    /**
+     * @return who the result can be shared with
+     */
+    Scope scope() default Scope.PUBLIC;
+
+    enum Scope {
+        /**
+         * The result is the same for everybody
+         */
+        PUBLIC,
+        /**
+         * The result depends on who is asking, so it is cached per user, and only by the client
+         */
+        PRIVATE
+    }
+}
@@ -0,0 +1,38 @@
+package io.smallrye.graphql.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import io.smallrye.common.annotation.Experimental;
+
+/**
+ * The cost of a field, used to reject operations that are too expensive before they are executed. It ends up in the
+ * schema as the {@code @cost} directive.
+ *
+ * Without this annotation, a field that returns an object costs 1, and a field that returns a scalar or an enum costs
+ * nothing. The cost of a field is its weight plus the cost of the fields selected below it, multiplied by the biggest
+ * value of its multiplier arguments. So {@code orders(first: 100) { id items { name } }} costs 100 times the cost of one
+ * order. A list argument multiplies by its size. A multiplier argument that is not set counts with its default value, and
+ * when none of the multipliers has a value, the field counts as a list of {@code smallrye.graphql.cost.defaultListSize}
+ * elements.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.FIELD })
+@Documented
+@Experimental("Cost analysis of operations")
+public @interface Cost {
+
+    /**
+     * @return the cost of the field itself
+     */
+    int weight() default 1;
+
+    /**
+     * @return the names of the arguments that give the number of returned elements, for example {@code first} or
+     *         {@code limit}
+     */
+    String[] multipliers() default {};
+}
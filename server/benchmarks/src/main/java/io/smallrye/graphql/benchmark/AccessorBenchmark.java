@@ -0,0 +1,135 @@
+package io.smallrye.graphql.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.datafetcher.helper.Accessors;
+
+/**
+ * Cost of one call into user code, per invocation style.
+ *
+ * {@code direct*} is the floor, {@code reflection*} is what every field and operation used to pay, and
+ * {@code accessor*} is what {@link Accessors} hands out: a generated class for getters and one-parameter methods, and a
+ * method handle for fields and methods with more parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessorBenchmark {
+
+    private Item item;
+    private Object[] oneArgument;
+    private Object[] threeArguments;
+
+    private Method getter;
+    private Field field;
+    private Method oneParameterMethod;
+    private Method threeParameterMethod;
+
+    private Accessors.PropertyAccessor getterAccessor;
+    private Accessors.PropertyAccessor fieldAccessor;
+    private Accessors.MethodAccessor oneParameterAccessor;
+    private Accessors.MethodAccessor threeParameterAccessor;
+
+    @Setup
+    public void setup() throws Exception {
+        item = new Item("name");
+        oneArgument = new Object[] { "a" };
+        threeArguments = new Object[] { "a", 1, Boolean.TRUE };
+
+        getter = Item.class.getMethod("getName");
+        field = Item.class.getField("name");
+        oneParameterMethod = Item.class.getMethod("greet", String.class);
+        threeParameterMethod = Item.class.getMethod("describe", String.class, int.class, boolean.class);
+
+        getterAccessor = Accessors.forGetter(getter);
+        fieldAccessor = Accessors.forField(field);
+        oneParameterAccessor = Accessors.forMethod(oneParameterMethod);
+        threeParameterAccessor = Accessors.forMethod(threeParameterMethod);
+    }
+
+    @Benchmark
+    public Object directGetter() {
+        return item.getName();
+    }
+
+    @Benchmark
+    public Object reflectionGetter() throws Exception {
+        return getter.invoke(item);
+    }
+
+    @Benchmark
+    public Object accessorGetter() throws Exception {
+        return getterAccessor.get(item);
+    }
+
+    @Benchmark
+    public Object reflectionField() throws Exception {
+        return field.get(item);
+    }
+
+    @Benchmark
+    public Object accessorField() throws Exception {
+        return fieldAccessor.get(item);
+    }
+
+    @Benchmark
+    public Object directOneParameter() {
+        return item.greet((String) oneArgument[0]);
+    }
+
+    @Benchmark
+    public Object reflectionOneParameter() throws Exception {
+        return oneParameterMethod.invoke(item, oneArgument);
+    }
+
+    @Benchmark
+    public Object accessorOneParameter() throws Exception {
+        return oneParameterAccessor.invoke(item, oneArgument);
+    }
+
+    @Benchmark
+    public Object reflectionThreeParameters() throws Exception {
+        return threeParameterMethod.invoke(item, threeArguments);
+    }
+
+    @Benchmark
+    public Object accessorThreeParameters() throws Exception {
+        return threeParameterAccessor.invoke(item, threeArguments);
+    }
+
+    public static class Item {
+        public String name;
+
+        public Item(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String greet(String greeting) {
+            return greeting;
+        }
+
+        public int describe(String prefix, int count, boolean flag) {
+            return flag ? count : prefix.length();
+        }
+    }
+}
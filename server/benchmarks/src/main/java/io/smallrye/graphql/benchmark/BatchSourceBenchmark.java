@@ -0,0 +1,62 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * A list of books with a batched {@code @Source} field, so every request creates the data loaders and dispatches one
+ * batch for all books.
+ *
+ * Run with {@code -prof gc} to see the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSourceBenchmark {
+
+    @Param({ "10", "1000" })
+    int books;
+
+    private ExecutionService executionService;
+    private JsonObject request;
+
+    @Setup
+    public void setup() {
+        executionService = BenchmarkSchema.createExecutionService();
+        request = BenchmarkSchema.request("{\n" +
+                "  books(count: " + books + ") {\n" +
+                "    isbn\n" +
+                "    reviews {\n" +
+                "      stars\n" +
+                "      comment\n" +
+                "    }\n" +
+                "  }\n" +
+                "}");
+    }
+
+    @Benchmark
+    public ExecutionResponse batchSource() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeAsync(request, response);
+        return response.join();
+    }
+}
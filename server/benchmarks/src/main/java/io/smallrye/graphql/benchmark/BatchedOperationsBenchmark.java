@@ -0,0 +1,105 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionBatchResponseWriter;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * A page that needs several small queries, each with a batched {@code @Source} field: sent as single requests, or as
+ * one batch with its own or shared data loaders. With shared data loaders the {@code @Source} method is called once
+ * for the whole batch instead of once per operation.
+ *
+ * This only measures the server side, not the HTTP round trips a batch saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchedOperationsBenchmark {
+
+    @Param({ "10" })
+    int operations;
+
+    private ExecutionService executionService;
+    private List<JsonObject> requests;
+
+    @Setup
+    public void setup() {
+        executionService = BenchmarkSchema.createExecutionService();
+        requests = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            requests.add(BenchmarkSchema.request("{\n" +
+                    "  books(count: " + (i + 1) + ") {\n" +
+                    "    isbn\n" +
+                    "    reviews {\n" +
+                    "      stars\n" +
+                    "    }\n" +
+                    "  }\n" +
+                    "}"));
+        }
+    }
+
+    @Benchmark
+    public int singleRequests() {
+        List<BenchmarkSchema.Response> responses = new ArrayList<>(operations);
+        for (JsonObject request : requests) {
+            BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+            executionService.executeAsync(request, response);
+            responses.add(response);
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        return responses.size();
+    }
+
+    @Benchmark
+    public List<ExecutionResponse> batch() {
+        return executeBatch(false);
+    }
+
+    @Benchmark
+    public List<ExecutionResponse> batchSharedDataLoaders() {
+        return executeBatch(true);
+    }
+
+    private List<ExecutionResponse> executeBatch(boolean shareDataLoaders) {
+        BatchResponse response = new BatchResponse();
+        executionService.executeBatch(requests, new HashMap<>(), shareDataLoaders, response);
+        return response.join();
+    }
+
+    private static class BatchResponse extends CompletableFuture<List<ExecutionResponse>>
+            implements ExecutionBatchResponseWriter {
+        @Override
+        public void write(List<ExecutionResponse> responses) {
+            responses.forEach(BenchmarkSchema::write);
+            complete(responses);
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            completeExceptionally(t);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.smallrye.graphql.benchmark;
+
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * The defaults, with the options that benchmarks compare set from their parameters
+ */
+public class BenchmarkConfig implements Config {
+
+    static volatile boolean federationEnabled;
+    static volatile boolean federationBatchResolvingEnabled;
+
+    @Override
+    public String getName() {
+        return "Benchmark";
+    }
+
+    @Override
+    public boolean isFederationEnabled() {
+        return federationEnabled;
+    }
+
+    @Override
+    public boolean isFederationBatchResolvingEnabled() {
+        return federationBatchResolvingEnabled;
+    }
+}
@@ -0,0 +1,103 @@
+package io.smallrye.graphql.benchmark;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.benchmark.model.Author;
+import io.smallrye.graphql.benchmark.model.Book;
+import io.smallrye.graphql.benchmark.model.BookApi;
+import io.smallrye.graphql.benchmark.model.BookInput;
+import io.smallrye.graphql.benchmark.model.Category;
+import io.smallrye.graphql.benchmark.model.Review;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionResponseWriter;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Builds the schema of the {@link BookApi} the same way the server does at startup: a Jandex index, the
+ * {@link SchemaBuilder} and {@link Bootstrap}.
+ */
+final class BenchmarkSchema {
+    static final Class<?>[] CLASSES = { BookApi.class, Book.class, BookInput.class, Author.class,
+            Category.class, Review.class };
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
+
+    private BenchmarkSchema() {
+    }
+
+    static Schema createSchema() {
+        return SchemaBuilder.build(createIndex(CLASSES));
+    }
+
+    static Schema createSchema(Class<?>... classes) {
+        return SchemaBuilder.build(createIndex(classes));
+    }
+
+    static ExecutionService createExecutionService() {
+        Schema schema = createSchema();
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema);
+        return new ExecutionService(graphQLSchema, schema);
+    }
+
+    static JsonObject request(String query) {
+        return JSON_PROVIDER.createObjectBuilder().add("query", query).build();
+    }
+
+    static JsonObject request(String query, JsonObject variables) {
+        return JSON_PROVIDER.createObjectBuilder().add("query", query).add("variables", variables).build();
+    }
+
+    /**
+     * Write the response the way the servlet does, to a stream that drops the bytes
+     *
+     * @param executionResponse the response
+     */
+    static void write(ExecutionResponse executionResponse) {
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(OutputStream.nullOutputStream())) {
+            executionResponse.writeExecutionResultTo(generator);
+        }
+    }
+
+    /**
+     * A writer that serializes the response and completes once it is written, so async executions can be awaited
+     */
+    static class Response extends CompletableFuture<ExecutionResponse> implements ExecutionResponseWriter {
+        @Override
+        public void write(ExecutionResponse executionResponse) {
+            BenchmarkSchema.write(executionResponse);
+            complete(executionResponse);
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            completeExceptionally(t);
+        }
+    }
+
+    private static IndexView createIndex(Class<?>... classes) {
+        Indexer indexer = new Indexer();
+        try {
+            for (Class<?> clazz : classes) {
+                indexer.indexClass(clazz);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return indexer.complete();
+    }
+}
@@ -0,0 +1,78 @@
+package io.smallrye.graphql.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Creating the graphql-java schema of a generated model with many operations at startup.
+ *
+ * Every invocation loads the model with a new class loader, like a deployment does, so the classes are not loaded
+ * yet. The model is compiled when the benchmark starts, so it needs to run on a JDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class BootstrapBenchmark {
+
+    @Param({ "2000" })
+    private int types;
+
+    private GeneratedModel model;
+    private Schema schema;
+    private URLClassLoader classLoader;
+    private ClassLoader previous;
+
+    @Setup
+    public void setup() throws IOException {
+        model = GeneratedModel.generate(types);
+        schema = SchemaBuilder.build(model.getIndex());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        model.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void deploy() throws IOException {
+        classLoader = new URLClassLoader(new URL[] { model.getClasses().toUri().toURL() },
+                BootstrapBenchmark.class.getClassLoader());
+        previous = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+    }
+
+    @TearDown(Level.Invocation)
+    public void undeploy() throws IOException {
+        Thread.currentThread().setContextClassLoader(previous);
+        classLoader.close();
+    }
+
+    @Benchmark
+    public GraphQLSchema bootstrap() {
+        return Bootstrap.bootstrap(schema);
+    }
+}
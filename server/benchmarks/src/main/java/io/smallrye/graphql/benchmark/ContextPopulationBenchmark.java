@@ -0,0 +1,152 @@
+package io.smallrye.graphql.benchmark;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import graphql.GraphQLContext;
+import graphql.Scalars;
+import graphql.execution.ExecutionId;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.MergedField;
+import graphql.execution.ResultPath;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.DataFetchingFieldSelectionSetImpl;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
+import io.smallrye.graphql.execution.datafetcher.FieldDataFetcher;
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+
+/**
+ * Per-field overhead of the SmallRyeContext for plain property reads.
+ *
+ * {@code populateAndReadAll} reads every value of the context, which is what used to be computed eagerly for every
+ * field. {@code populateLazy} is what is left when nobody reads the context, and the {@code fieldDataFetcher*} benchmarks
+ * compare a getter (context populated) with a public field (context skipped).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextPopulationBenchmark {
+
+    private DataFetchingEnvironment dfe;
+    private Field field;
+    private FieldDataFetcher<Object> getterDataFetcher;
+    private FieldDataFetcher<Object> publicFieldDataFetcher;
+
+    @Setup
+    public void setup() {
+        Reference stringReference = new Reference.Builder()
+                .className(String.class.getName())
+                .graphQLClassName(String.class.getName())
+                .name("String")
+                .type(ReferenceType.SCALAR)
+                .build();
+        Reference owner = new Reference.Builder()
+                .className(Item.class.getName())
+                .name("Item")
+                .type(ReferenceType.TYPE)
+                .build();
+        field = new Field("getName", "name", "name", stringReference);
+        getterDataFetcher = new FieldDataFetcher<>(field, null, owner);
+        publicFieldDataFetcher = new FieldDataFetcher<>(new Field(null, "name", "name", stringReference), null, owner);
+
+        SmallRyeContext rootContext = SmallRyeContextManager
+                .fromInitialRequest(JSON_PROVIDER.createObjectBuilder().add("query", "{ items { name } }").build());
+        SmallRyeContextManager.clearCurrentSmallRyeContext();
+
+        GraphQLObjectType parentType = GraphQLObjectType.newObject()
+                .name("Item")
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("name").type(Scalars.GraphQLString))
+                .build();
+        dfe = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .source(new Item("name"))
+                .executionId(ExecutionId.from("1"))
+                .mergedField(MergedField.newMergedField(graphql.language.Field.newField("name").build()).build())
+                .fieldType(Scalars.GraphQLString)
+                .parentType(parentType)
+                .executionStepInfo(ExecutionStepInfo.newExecutionStepInfo()
+                        .type(Scalars.GraphQLString)
+                        .path(ResultPath.parse("/items/42/name"))
+                        .build())
+                .operationDefinition(OperationDefinition.newOperationDefinition()
+                        .operation(OperationDefinition.Operation.QUERY)
+                        .name("items")
+                        .build())
+                // a scalar field has an empty selection set
+                .selectionSet(DataFetchingFieldSelectionSetImpl.newCollector(null, Scalars.GraphQLString, () -> null))
+                .graphQLContext(GraphQLContext.newContext().of(SmallRyeContextManager.CONTEXT, rootContext).build())
+                .build();
+    }
+
+    @Benchmark
+    public SmallRyeContext populateLazy() {
+        try {
+            return SmallRyeContextManager.populateFromDataFetchingEnvironment(null, field, dfe);
+        } finally {
+            SmallRyeContextManager.clearCurrentSmallRyeContext();
+        }
+    }
+
+    @Benchmark
+    public void populateAndReadAll(Blackhole blackhole) {
+        try {
+            SmallRyeContext context = SmallRyeContextManager.populateFromDataFetchingEnvironment(null, field, dfe);
+            blackhole.consume(context.getPath());
+            blackhole.consume(context.getExecutionId());
+            blackhole.consume(context.getFieldName());
+            blackhole.consume(context.getArguments());
+            blackhole.consume((Object) context.getSource());
+            blackhole.consume(context.getSelectedFields());
+            blackhole.consume(context.getSelectedAndSourceFields());
+            blackhole.consume(context.getOperationType());
+            blackhole.consume(context.getParentTypeName());
+            blackhole.consume(context.getOperationName());
+        } finally {
+            SmallRyeContextManager.clearCurrentSmallRyeContext();
+        }
+    }
+
+    @Benchmark
+    public Object fieldDataFetcherGetter() throws Exception {
+        return getterDataFetcher.get(dfe);
+    }
+
+    @Benchmark
+    public Object fieldDataFetcherPublicField() throws Exception {
+        return publicFieldDataFetcher.get(dfe);
+    }
+
+    public static class Item {
+        public String name;
+
+        public Item(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.smallrye.graphql.benchmark;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonWriter;
+import jakarta.json.JsonWriterFactory;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLError;
+import graphql.execution.ResultPath;
+import graphql.language.SourceLocation;
+import graphql.validation.ValidationError;
+import graphql.validation.ValidationErrorType;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.error.GraphQLExceptionWhileDataFetching;
+
+/**
+ * Writing a response with many errors, like a partial outage where every item of a list fails.
+ *
+ * {@code jsonbRoundTrip} is how errors used to be written: every error was serialized with JSON-B and parsed back
+ * into a {@code JsonObject}. It is kept as a baseline.
+ *
+ * Run with {@code -prof gc} to compare the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorSerializationBenchmark {
+
+    private static final JsonWriterFactory jsonWriterFactory = JSON_PROVIDER.createWriterFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
+
+    @Param({ "1", "100", "10000" })
+    int errors;
+
+    private ExecutionResult executionResult;
+    private Jsonb jsonb;
+
+    @Setup
+    public void setup() {
+        List<GraphQLError> errorList = new ArrayList<>(errors);
+        for (int i = 0; i < errors; i++) {
+            if (i % 2 == 0) {
+                errorList.add(new GraphQLExceptionWhileDataFetching(ResultPath.parse("/books/" + i + "/reviews"),
+                        new IllegalStateException("Review service unavailable"), new SourceLocation(3, 5)));
+            } else {
+                errorList.add(ValidationError.newValidationError()
+                        .validationErrorType(ValidationErrorType.FieldUndefined)
+                        .description("Field 'rating' in type 'Review' is undefined")
+                        .sourceLocation(new SourceLocation(4, 7))
+                        .queryPath(List.of("books", "reviews", "rating"))
+                        .build());
+            }
+        }
+        executionResult = ExecutionResultImpl.newExecutionResult()
+                .errors(errorList)
+                .build();
+        jsonb = JsonbBuilder.create(new JsonbConfig()
+                .withNullValues(Boolean.TRUE)
+                .withFormatting(Boolean.TRUE));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public void jsonObjectTree() {
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+        try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(OutputStream.nullOutputStream())) {
+            jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
+        }
+    }
+
+    @Benchmark
+    public void streaming() {
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(OutputStream.nullOutputStream())) {
+            executionResponse.writeExecutionResultTo(generator);
+        }
+    }
+
+    @Benchmark
+    public void jsonbRoundTrip() {
+        JsonArrayBuilder arrayBuilder = JSON_PROVIDER.createArrayBuilder();
+        for (GraphQLError error : executionResult.getErrors()) {
+            String json = jsonb.toJson(error.toSpecification());
+            try (JsonReader reader = JSON_PROVIDER.createReader(new StringReader(json))) {
+                arrayBuilder.add(JSON_PROVIDER.createObjectBuilder(reader.readObject()));
+            }
+        }
+        try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(OutputStream.nullOutputStream())) {
+            jsonWriter.writeArray(arrayBuilder.build());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * A small query through the whole execution path: context, query cache, graphql-java, data fetchers and writing the
+ * response.
+ *
+ * Run with {@code -prof gc} to see the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    private static final String QUERY = "{\n" +
+            "  book(isbn: \"42\") {\n" +
+            "    isbn\n" +
+            "    title\n" +
+            "    published\n" +
+            "    pages\n" +
+            "    price\n" +
+            "    tags\n" +
+            "    authors {\n" +
+            "      name\n" +
+            "      bornIn\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+
+    private ExecutionService executionService;
+    private JsonObject request;
+
+    @Setup
+    public void setup() {
+        executionService = BenchmarkSchema.createExecutionService();
+        request = BenchmarkSchema.request(QUERY);
+    }
+
+    @Benchmark
+    public ExecutionResponse executeSync() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeSync(request, response);
+        return response.join();
+    }
+
+    @Benchmark
+    public ExecutionResponse executeAsync() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeAsync(request, response);
+        return response.join();
+    }
+}
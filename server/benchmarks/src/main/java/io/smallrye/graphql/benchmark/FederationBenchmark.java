@@ -0,0 +1,88 @@
+package io.smallrye.graphql.benchmark;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.api.Directive;
+import io.smallrye.graphql.api.federation.Key;
+import io.smallrye.graphql.benchmark.model.federation.EntityApi;
+import io.smallrye.graphql.benchmark.model.federation.Product;
+import io.smallrye.graphql.benchmark.model.federation.Seller;
+import io.smallrye.graphql.benchmark.model.federation.Shipment;
+import io.smallrye.graphql.benchmark.model.federation.Warehouse;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * An {@code _entities} call from a router, with representations of four entity types mixed. Two of the types have a
+ * batch resolver, which is used when {@code batch} is set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsmallrye.graphql.federation.enabled=true")
+public class FederationBenchmark {
+    private static final String[] TYPES = { "Product", "Seller", "Warehouse", "Shipment" };
+
+    @Param({ "1000", "10000", "50000" })
+    private int representations;
+
+    @Param({ "false", "true" })
+    private boolean batch;
+
+    private ExecutionService executionService;
+    private JsonObject request;
+
+    @Setup
+    public void setup() {
+        BenchmarkConfig.federationEnabled = true;
+        BenchmarkConfig.federationBatchResolvingEnabled = batch;
+        Schema schema = BenchmarkSchema.createSchema(EntityApi.class, Product.class, Seller.class, Warehouse.class,
+                Shipment.class, Directive.class, Key.class, Key.Keys.class);
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema);
+        executionService = new ExecutionService(graphQLSchema, schema);
+
+        JsonArrayBuilder representations = JSON_PROVIDER.createArrayBuilder();
+        for (int i = 0; i < this.representations; i++) {
+            representations.add(JSON_PROVIDER.createObjectBuilder()
+                    .add("__typename", TYPES[i % TYPES.length])
+                    .add("id", String.valueOf(i)));
+        }
+        request = BenchmarkSchema.request("query entities($representations: [_Any!]!) {\n" +
+                "  _entities(representations: $representations) {\n" +
+                "    ... on Product { id name }\n" +
+                "    ... on Seller { id name }\n" +
+                "    ... on Warehouse { id name }\n" +
+                "    ... on Shipment { id name }\n" +
+                "  }\n" +
+                "}", JSON_PROVIDER.createObjectBuilder().add("representations", representations).build());
+    }
+
+    @Benchmark
+    public ExecutionResponse entities() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeAsync(request, response);
+        return response.join();
+    }
+}
@@ -0,0 +1,126 @@
+package io.smallrye.graphql.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+/**
+ * A model with many types, like a large application has, compiled to a temporary directory when a benchmark starts.
+ * It has types that reference other types, inputs for some of them, and APIs with a query for every type.
+ *
+ * It is compiled with the compiler of the running JDK, so benchmarks that use it need to run on a JDK.
+ */
+final class GeneratedModel {
+    private static final int APIS = 20;
+
+    private final Path directory;
+    private final IndexView index;
+
+    private GeneratedModel(Path directory, IndexView index) {
+        this.directory = directory;
+        this.index = index;
+    }
+
+    static GeneratedModel generate(int types) throws IOException {
+        Path directory = Files.createTempDirectory("model");
+        List<Path> sources = generateSources(directory.resolve("src"), types);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> arguments = new ArrayList<>(
+                List.of("-proc:none", "-parameters", "-d", directory.resolve("classes").toString(),
+                        "-cp", System.getProperty("java.class.path")));
+        sources.forEach(source -> arguments.add(source.toString()));
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Can not compile the model");
+        }
+
+        Indexer indexer = new Indexer();
+        try (Stream<Path> files = Files.walk(directory.resolve("classes"))) {
+            for (Path classFile : files.filter(file -> file.toString().endsWith(".class")).collect(Collectors.toList())) {
+                try (InputStream in = Files.newInputStream(classFile)) {
+                    indexer.index(in);
+                }
+            }
+        }
+        return new GeneratedModel(directory, indexer.complete());
+    }
+
+    IndexView getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the directory with the compiled classes of the model
+     */
+    Path getClasses() {
+        return directory.resolve("classes");
+    }
+
+    void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static List<Path> generateSources(Path src, int types) throws IOException {
+        Path model = src.resolve("model");
+        Files.createDirectories(model);
+        List<Path> sources = new ArrayList<>();
+        for (int i = 0; i < types; i++) {
+            sources.add(write(model.resolve("Type" + i + ".java"), "package model;\n"
+                    + "public class Type" + i + " {\n"
+                    + "    public String name;\n"
+                    + "    public int count;\n"
+                    + "    public java.time.LocalDate date;\n"
+                    + "    public Kind kind;\n"
+                    + "    public Type" + ((i * 7 + 1) % types) + " next;\n"
+                    + "    public java.util.List<Type" + ((i * 13 + 5) % types) + "> related;\n"
+                    + "}\n"));
+            if (i % 4 == 0) {
+                sources.add(write(model.resolve("Input" + i + ".java"), "package model;\n"
+                        + "public class Input" + i + " {\n"
+                        + "    public String name;\n"
+                        + "    public Integer count;\n"
+                        + "    public Kind kind;\n"
+                        + "}\n"));
+            }
+        }
+        sources.add(write(model.resolve("Kind.java"), "package model;\npublic enum Kind { ONE, TWO, THREE }\n"));
+        for (int api = 0; api < APIS; api++) {
+            StringBuilder source = new StringBuilder("package model;\n"
+                    + "@org.eclipse.microprofile.graphql.GraphQLApi\n"
+                    + "public class Api" + api + " {\n");
+            for (int i = api; i < types; i += APIS) {
+                String argument = i % 4 == 0 ? "Input" + i + " input" : "String name";
+                source.append("    @org.eclipse.microprofile.graphql.Query\n")
+                        .append("    public Type").append(i).append(" type").append(i).append("(").append(argument)
+                        .append(") { return null; }\n");
+            }
+            source.append("}\n");
+            sources.add(write(model.resolve("Api" + api + ".java"), source.toString()));
+        }
+        return sources;
+    }
+
+    private static Path write(Path path, String source) {
+        try {
+            return Files.writeString(path, source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.smallrye.graphql.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.jandex.IndexView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.entry.http.IndexInitializer;
+
+/**
+ * Indexing a synthetic {@code WEB-INF/lib} of 300 jars at startup. The jars are made of the classes of graphql-java,
+ * so they have real class files. {@code index} indexes all jars without a cache, {@code cached} reads the indexes of
+ * the jars from the cache directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IndexingBenchmark {
+    private static final int JARS = 300;
+    private static final int CLASSES_PER_JAR = 40;
+
+    private Path lib;
+    private Path cache;
+    private Set<URL> jars;
+
+    @Setup
+    public void setup() throws IOException, URISyntaxException {
+        lib = Files.createTempDirectory("lib");
+        cache = Files.createTempDirectory("index-cache");
+        Path source = Paths.get(GraphQLSchema.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        try (ZipFile zipFile = new ZipFile(source.toFile())) {
+            List<ZipEntry> classes = new ArrayList<>();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    classes.add(entry);
+                }
+            }
+            jars = new HashSet<>();
+            for (int i = 0; i < JARS; i++) {
+                Path jar = lib.resolve("lib-" + i + ".jar");
+                try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                    for (int j = 0; j < CLASSES_PER_JAR; j++) {
+                        ZipEntry entry = classes.get((i * CLASSES_PER_JAR + j) % classes.size());
+                        out.putNextEntry(new JarEntry(entry.getName()));
+                        try (InputStream in = zipFile.getInputStream(entry)) {
+                            in.transferTo(out);
+                        }
+                    }
+                }
+                jars.add(jar.toUri().toURL());
+            }
+        }
+        // fill the cache
+        new IndexInitializer(cache).createIndex(jars);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        delete(lib);
+        delete(cache);
+    }
+
+    @Benchmark
+    public IndexView index() {
+        return new IndexInitializer(null).createIndex(jars);
+    }
+
+    @Benchmark
+    public IndexView cached() {
+        return new IndexInitializer(cache).createIndex(jars);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.smallrye.graphql.benchmark;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.benchmark.model.BookInput;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.json.JsonBCreator;
+import io.smallrye.graphql.json.JsonInputRegistry;
+
+/**
+ * Mutations with input object arguments, which the {@code ArgumentHelper} turns into {@code BookInput}s. The number of
+ * nested authors makes one input bigger, and the bulk mutation takes a list of inputs.
+ *
+ * {@code binding=direct} uses the {@code InputBinder}, {@code binding=jsonb} forces the JSON-B round trip, by
+ * registering a JSON-B override for {@code BookInput}.
+ *
+ * Run with {@code -prof gc} to see the bytes allocated per request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputCoercionBenchmark {
+
+    @Benchmark
+    public ExecutionResponse inputObject(Single single) {
+        return execute(single.executionService, single.request);
+    }
+
+    @Benchmark
+    public ExecutionResponse bulkInput(Bulk bulk) {
+        return execute(bulk.executionService, bulk.request);
+    }
+
+    private static ExecutionResponse execute(ExecutionService executionService, JsonObject request) {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeSync(request, response);
+        return response.join();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Single {
+        @Param({ "direct", "jsonb" })
+        String binding;
+
+        @Param({ "1", "100" })
+        int authors;
+
+        ExecutionService executionService;
+        JsonObject request;
+
+        @Setup
+        public void setup() {
+            executionService = createExecutionService(binding);
+            request = BenchmarkSchema.request("mutation add($book: BookInput) {\n" +
+                    "  addBook(book: $book) {\n" +
+                    "    isbn\n" +
+                    "  }\n" +
+                    "}", JSON_PROVIDER.createObjectBuilder().add("book", book(0, authors)).build());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Bulk {
+        @Param({ "direct", "jsonb" })
+        String binding;
+
+        @Param({ "1000" })
+        int books;
+
+        ExecutionService executionService;
+        JsonObject request;
+
+        @Setup
+        public void setup() {
+            executionService = createExecutionService(binding);
+            JsonArrayBuilder bookArray = JSON_PROVIDER.createArrayBuilder();
+            for (int i = 0; i < books; i++) {
+                bookArray.add(book(i, 2));
+            }
+            request = BenchmarkSchema.request("mutation add($books: [BookInput]) {\n" +
+                    "  addBooks(books: $books)\n" +
+                    "}", JSON_PROVIDER.createObjectBuilder().add("books", bookArray).build());
+        }
+    }
+
+    private static ExecutionService createExecutionService(String binding) {
+        ExecutionService executionService = BenchmarkSchema.createExecutionService();
+        if (binding.equals("jsonb")) {
+            JsonInputRegistry.override(Map.of(BookInput.class.getName(), JsonBCreator.getJsonB()));
+        }
+        return executionService;
+    }
+
+    private static JsonObject book(int index, int authors) {
+        JsonArrayBuilder authorArray = JSON_PROVIDER.createArrayBuilder();
+        for (int i = 0; i < authors; i++) {
+            authorArray.add(JSON_PROVIDER.createObjectBuilder()
+                    .add("name", "Author " + i)
+                    .add("bornIn", "City " + i));
+        }
+        return JSON_PROVIDER.createObjectBuilder()
+                .add("isbn", "978-0-00-" + index)
+                .add("title", "A book")
+                .add("published", "2020-02-02")
+                .add("pages", 320)
+                .add("price", 19.99)
+                .add("tags", JSON_PROVIDER.createArrayBuilder().add("fiction").add("classic"))
+                .add("authors", authorArray)
+                .build();
+    }
+}
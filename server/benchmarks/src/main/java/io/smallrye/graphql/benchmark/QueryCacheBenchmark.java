@@ -0,0 +1,71 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * The same small query when its parsed and validated document is cached ({@code hit}) and when every request is a
+ * new query ({@code miss}), which also keeps the cache evicting.
+ *
+ * Run with {@code -prof gc} to see the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryCacheBenchmark {
+
+    private ExecutionService executionService;
+    private JsonObject request;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        executionService = BenchmarkSchema.createExecutionService();
+        request = BenchmarkSchema.request(query("book"));
+    }
+
+    @Benchmark
+    public ExecutionResponse hit() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeSync(request, response);
+        return response.join();
+    }
+
+    @Benchmark
+    public ExecutionResponse miss() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        // a new alias makes a new query, with the same work to execute
+        executionService.executeSync(BenchmarkSchema.request(query("book" + counter++)), response);
+        return response.join();
+    }
+
+    private static String query(String alias) {
+        return "{\n" +
+                "  " + alias + ": book(isbn: \"42\") {\n" +
+                "    isbn\n" +
+                "    title\n" +
+                "    authors {\n" +
+                "      name\n" +
+                "    }\n" +
+                "  }\n" +
+                "}";
+    }
+}
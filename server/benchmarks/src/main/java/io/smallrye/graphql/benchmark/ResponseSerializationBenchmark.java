@@ -0,0 +1,87 @@
+package io.smallrye.graphql.benchmark;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonWriter;
+import jakarta.json.JsonWriterFactory;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import io.smallrye.graphql.execution.ExecutionResponse;
+
+/**
+ * Compare writing a response through the {@code JsonObject} tree with streaming it through a {@code JsonGenerator}.
+ *
+ * Run with {@code -prof gc} to compare the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final JsonWriterFactory jsonWriterFactory = JSON_PROVIDER.createWriterFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
+
+    @Param({ "10", "1000", "10000" })
+    int rows;
+
+    private ExecutionResult executionResult;
+
+    @Setup
+    public void setup() {
+        List<Map<String, Object>> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "Item " + i);
+            item.put("price", i * 1.25d);
+            item.put("inStock", i % 2 == 0);
+            item.put("description", null);
+            item.put("tags", List.of("one", "two", "three"));
+            items.add(item);
+        }
+        executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(Map.of("items", items))
+                .build();
+    }
+
+    @Benchmark
+    public void jsonObjectTree() {
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+        try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(OutputStream.nullOutputStream())) {
+            jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
+        }
+    }
+
+    @Benchmark
+    public void streaming() {
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(OutputStream.nullOutputStream())) {
+            executionResponse.writeExecutionResultTo(generator);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * Executing and serializing wide results (many rows with a few fields) and deep results (nested objects).
+ *
+ * Unlike {@link ResponseSerializationBenchmark} this goes through the data fetchers, so it includes the cost of
+ * transforming and completing every field. Run with {@code -prof gc} to see the bytes allocated per response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultShapeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Wide {
+        @Param({ "10", "1000", "10000" })
+        int rows;
+
+        ExecutionService executionService;
+        JsonObject request;
+
+        @Setup
+        public void setup() {
+            executionService = BenchmarkSchema.createExecutionService();
+            request = BenchmarkSchema.request("{\n" +
+                    "  books(count: " + rows + ") {\n" +
+                    "    isbn\n" +
+                    "    title\n" +
+                    "    published\n" +
+                    "    pages\n" +
+                    "    price\n" +
+                    "    tags\n" +
+                    "    authors {\n" +
+                    "      name\n" +
+                    "      bornIn\n" +
+                    "    }\n" +
+                    "  }\n" +
+                    "}");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Deep {
+        // a binary tree, so depth 10 has 2047 objects
+        @Param({ "4", "10" })
+        int depth;
+
+        ExecutionService executionService;
+        JsonObject request;
+
+        @Setup
+        public void setup() {
+            executionService = BenchmarkSchema.createExecutionService();
+            StringBuilder selection = new StringBuilder("name");
+            for (int i = 0; i < depth; i++) {
+                selection.insert(0, "name children { ").append(" }");
+            }
+            request = BenchmarkSchema.request("{ category(depth: " + depth + ", breadth: 2) { " + selection + " } }");
+        }
+    }
+
+    @Benchmark
+    public ExecutionResponse wide(Wide wide) {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        wide.executionService.executeSync(wide.request, response);
+        return response.join();
+    }
+
+    @Benchmark
+    public ExecutionResponse deep(Deep deep) {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        deep.executionService.executeSync(deep.request, response);
+        return response.join();
+    }
+}
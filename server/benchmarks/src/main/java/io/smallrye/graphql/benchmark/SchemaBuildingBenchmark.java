@@ -0,0 +1,65 @@
+package io.smallrye.graphql.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Building the schema of a generated model with many types, like the build plugins and the server at startup do, on
+ * one thread ({@code serial}) and on a fork-join pool ({@code parallel}).
+ *
+ * The model is compiled when the benchmark starts, so it needs to run on a JDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SchemaBuildingBenchmark {
+
+    @Param({ "2000" })
+    private int types;
+
+    private GeneratedModel model;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() throws IOException {
+        model = GeneratedModel.generate(types);
+        pool = new ForkJoinPool();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        model.delete();
+    }
+
+    @Benchmark
+    public Schema serial() {
+        return SchemaBuilder.build(model.getIndex(), TypeAutoNameStrategy.Default);
+    }
+
+    @Benchmark
+    public Schema parallel() {
+        return SchemaBuilder.build(model.getIndex(), TypeAutoNameStrategy.Default, pool);
+    }
+}
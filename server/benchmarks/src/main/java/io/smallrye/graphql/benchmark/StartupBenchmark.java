@@ -0,0 +1,134 @@
+package io.smallrye.graphql.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.entry.http.IndexInitializer;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.SchemaSnapshot;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Getting the schema model at startup, like the servlet server does, of a war with the book API in
+ * {@code WEB-INF/classes} and a synthetic {@code WEB-INF/lib} of 100 jars made of the classes of graphql-java.
+ * {@code scan} indexes the classes and jars and runs the schema builder, {@code snapshot} works out the fingerprint of
+ * the classes and jars and reads the snapshot that the build plugins write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StartupBenchmark {
+    private static final int JARS = 100;
+    private static final int CLASSES_PER_JAR = 40;
+
+    private Path war;
+    private Path classesDir;
+    private List<Path> jars;
+    private Set<URL> urls;
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws IOException, URISyntaxException {
+        war = Files.createTempDirectory("war");
+        classesDir = Files.createDirectories(war.resolve("classes"));
+        for (Class<?> modelClass : BenchmarkSchema.CLASSES) {
+            String name = modelClass.getName().replace('.', '/') + ".class";
+            Path classFile = classesDir.resolve(name);
+            Files.createDirectories(classFile.getParent());
+            try (InputStream in = modelClass.getClassLoader().getResourceAsStream(name)) {
+                Files.copy(in, classFile);
+            }
+        }
+
+        Path lib = Files.createDirectories(war.resolve("lib"));
+        Path source = Paths.get(GraphQLSchema.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        jars = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(source.toFile())) {
+            List<ZipEntry> classes = new ArrayList<>();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    classes.add(entry);
+                }
+            }
+            for (int i = 0; i < JARS; i++) {
+                Path jar = lib.resolve("lib-" + i + ".jar");
+                try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                    for (int j = 0; j < CLASSES_PER_JAR; j++) {
+                        ZipEntry entry = classes.get((i * CLASSES_PER_JAR + j) % classes.size());
+                        out.putNextEntry(new JarEntry(entry.getName()));
+                        try (InputStream in = zipFile.getInputStream(entry)) {
+                            in.transferTo(out);
+                        }
+                    }
+                }
+                jars.add(jar);
+            }
+        }
+        urls = new HashSet<>();
+        urls.add(classesDir.toUri().toURL());
+        for (Path jar : jars) {
+            urls.add(jar.toUri().toURL());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SchemaSnapshot.write(scan(), SchemaSnapshot.fingerprint(List.of(classesDir), jars), out);
+        snapshot = out.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(war)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Schema scan() {
+        return SchemaBuilder.build(new IndexInitializer().createIndex(urls));
+    }
+
+    @Benchmark
+    public Schema snapshot() throws IOException {
+        String fingerprint = SchemaSnapshot.fingerprint(List.of(classesDir), jars);
+        return SchemaSnapshot.read(new ByteArrayInputStream(snapshot), fingerprint);
+    }
+}
@@ -0,0 +1,68 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+
+import graphql.ExecutionResult;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.mutiny.Multi;
+import mutiny.zero.flow.adapters.AdaptersToFlow;
+
+/**
+ * Start a subscription and write every event, like the websocket handlers do.
+ *
+ * Run with {@code -prof gc} to see the bytes allocated per subscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionBenchmark {
+
+    @Param({ "1", "100" })
+    int events;
+
+    private ExecutionService executionService;
+    private JsonObject request;
+
+    @Setup
+    public void setup() {
+        executionService = BenchmarkSchema.createExecutionService();
+        request = BenchmarkSchema.request("subscription {\n" +
+                "  bookAdded(count: " + events + ") {\n" +
+                "    isbn\n" +
+                "    title\n" +
+                "    price\n" +
+                "  }\n" +
+                "}");
+    }
+
+    @Benchmark
+    public long subscribe() {
+        BenchmarkSchema.Response response = new BenchmarkSchema.Response();
+        executionService.executeAsync(request, response);
+        Publisher<ExecutionResult> stream = response.join().getExecutionResult().getData();
+        return Multi.createFrom().publisher(AdaptersToFlow.publisher(stream))
+                .onItem().invoke(event -> BenchmarkSchema.write(new ExecutionResponse(event)))
+                .collect().with(Collectors.counting())
+                .await().indefinitely();
+    }
+}
@@ -0,0 +1,95 @@
+package io.smallrye.graphql.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.smallrye.graphql.execution.datafetcher.helper.ArgumentHelper;
+import io.smallrye.graphql.execution.datafetcher.helper.FieldHelper;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Transforming large list results and arguments, without the rest of the execution.
+ *
+ * {@code stringList} needs no transformation, so the list is returned as it is. {@code dateList} formats every date,
+ * so it is copied. {@code stringListArgument} gets an {@code ArrayList} from graphql-java, which is already what the
+ * method is called with.
+ *
+ * Run with {@code -prof gc} to see the bytes allocated per list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformationBenchmark {
+
+    @Param({ "10", "10000" })
+    int size;
+
+    private FieldHelper stringListHelper;
+    private FieldHelper dateListHelper;
+    private ArgumentHelper argumentHelper;
+
+    private List<String> strings;
+    private List<LocalDate> dates;
+    private DataFetchingEnvironment argumentEnvironment;
+
+    @Setup
+    public void setup() {
+        Schema schema = BenchmarkSchema.createSchema();
+        stringListHelper = new FieldHelper(query(schema, "isbns"));
+        dateListHelper = new FieldHelper(query(schema, "publishedDates"));
+        argumentHelper = new ArgumentHelper(query(schema, "countIsbns").getArguments());
+
+        strings = new ArrayList<>(size);
+        dates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(String.valueOf(i));
+            dates.add(LocalDate.of(2000, 1, 1).plusDays(i));
+        }
+        argumentEnvironment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .arguments(Map.of("isbns", strings))
+                .build();
+    }
+
+    @Benchmark
+    public Object stringList() throws Exception {
+        return stringListHelper.transformOrAdaptResponse(strings, null);
+    }
+
+    @Benchmark
+    public Object dateList() throws Exception {
+        return dateListHelper.transformOrAdaptResponse(dates, null);
+    }
+
+    @Benchmark
+    public Object stringListArgument() throws Exception {
+        return argumentHelper.getArguments(argumentEnvironment);
+    }
+
+    private static Operation query(Schema schema, String name) {
+        return schema.getQueries().stream()
+                .filter(operation -> operation.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,30 @@
+package io.smallrye.graphql.benchmark.model;
+
+public class Author {
+    private String name;
+    private String bornIn;
+
+    public Author() {
+    }
+
+    public Author(String name, String bornIn) {
+        this.name = name;
+        this.bornIn = bornIn;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBornIn() {
+        return bornIn;
+    }
+
+    public void setBornIn(String bornIn) {
+        this.bornIn = bornIn;
+    }
+}
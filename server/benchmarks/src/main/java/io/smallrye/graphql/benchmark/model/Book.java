@@ -0,0 +1,84 @@
+package io.smallrye.graphql.benchmark.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class Book {
+    private String isbn;
+    private String title;
+    private LocalDate published;
+    private int pages;
+    private double price;
+    private List<String> tags;
+    private List<Author> authors;
+
+    public Book() {
+    }
+
+    public Book(String isbn, String title, LocalDate published, int pages, double price, List<String> tags,
+            List<Author> authors) {
+        this.isbn = isbn;
+        this.title = title;
+        this.published = published;
+        this.pages = pages;
+        this.price = price;
+        this.tags = tags;
+        this.authors = authors;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getPublished() {
+        return published;
+    }
+
+    public void setPublished(LocalDate published) {
+        this.published = published;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public void setPages(int pages) {
+        this.pages = pages;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<Author> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<Author> authors) {
+        this.authors = authors;
+    }
+}
@@ -0,0 +1,105 @@
+package io.smallrye.graphql.benchmark.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Mutation;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+import io.smallrye.graphql.api.Subscription;
+import io.smallrye.mutiny.Multi;
+
+/**
+ * The API the benchmarks run against. The data is created up front, so the benchmarks measure the server and not the
+ * data fetching.
+ */
+@GraphQLApi
+public class BookApi {
+    private static final int MAX_BOOKS = 10_000;
+    private static final List<Book> BOOKS = createBooks();
+    private static final List<String> ISBNS = BOOKS.stream().map(Book::getIsbn).collect(Collectors.toList());
+    private static final List<LocalDate> PUBLISHED_DATES = BOOKS.stream().map(Book::getPublished)
+            .collect(Collectors.toList());
+    private static final List<Review> REVIEWS = List.of(new Review(5, "Great"), new Review(3, "Fine"),
+            new Review(1, "Did not finish"));
+
+    @Query
+    public Book book(String isbn) {
+        return BOOKS.get(Integer.parseInt(isbn) % MAX_BOOKS);
+    }
+
+    @Query
+    public List<Book> books(int count) {
+        return BOOKS.subList(0, Math.min(count, MAX_BOOKS));
+    }
+
+    @Query
+    public List<String> isbns(int count) {
+        return ISBNS.subList(0, Math.min(count, MAX_BOOKS));
+    }
+
+    @Query
+    public List<LocalDate> publishedDates(int count) {
+        return PUBLISHED_DATES.subList(0, Math.min(count, MAX_BOOKS));
+    }
+
+    @Query
+    public int countIsbns(List<String> isbns) {
+        return isbns.size();
+    }
+
+    @Query
+    public Category category(int depth, int breadth) {
+        return createCategory("root", depth, breadth);
+    }
+
+    @Mutation
+    public Book addBook(BookInput book) {
+        return new Book(book.getIsbn(), book.getTitle(), book.getPublished(), book.getPages(), book.getPrice(),
+                book.getTags(), book.getAuthors());
+    }
+
+    @Mutation
+    public int addBooks(List<BookInput> books) {
+        return books.size();
+    }
+
+    // batched: called once for all books of a response
+    public List<List<Review>> reviews(@Source List<Book> books) {
+        List<List<Review>> reviews = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            reviews.add(REVIEWS);
+        }
+        return reviews;
+    }
+
+    @Subscription
+    public Multi<Book> bookAdded(int count) {
+        return Multi.createFrom().iterable(books(count));
+    }
+
+    private static Category createCategory(String name, int depth, int breadth) {
+        if (depth == 0) {
+            return new Category(name, List.of());
+        }
+        List<Category> children = new ArrayList<>(breadth);
+        for (int i = 0; i < breadth; i++) {
+            children.add(createCategory(name + "." + i, depth - 1, breadth));
+        }
+        return new Category(name, children);
+    }
+
+    private static List<Book> createBooks() {
+        List<Book> books = new ArrayList<>(MAX_BOOKS);
+        for (int i = 0; i < MAX_BOOKS; i++) {
+            books.add(new Book(String.valueOf(i), "Book " + i, LocalDate.of(2000, 1, 1).plusDays(i), 100 + i % 400,
+                    9.99d + i % 20, List.of("fiction", "classic"),
+                    List.of(new Author("Author " + i, "City " + i % 50), new Author("Editor " + i % 10, "Cape Town"))));
+        }
+        return books;
+    }
+}
@@ -0,0 +1,32 @@
+package io.smallrye.graphql.benchmark.model;
+
+import java.util.List;
+
+public class Category {
+    private String name;
+    private List<Category> children;
+
+    public Category() {
+    }
+
+    public Category(String name, List<Category> children) {
+        this.name = name;
+        this.children = children;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<Category> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<Category> children) {
+        this.children = children;
+    }
+}
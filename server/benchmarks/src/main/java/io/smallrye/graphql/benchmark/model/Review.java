@@ -0,0 +1,30 @@
+package io.smallrye.graphql.benchmark.model;
+
+public class Review {
+    private int stars;
+    private String comment;
+
+    public Review() {
+    }
+
+    public Review(int stars, String comment) {
+        this.stars = stars;
+        this.comment = comment;
+    }
+
+    public int getStars() {
+        return stars;
+    }
+
+    public void setStars(int stars) {
+        this.stars = stars;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
@@ -0,0 +1,47 @@
+package io.smallrye.graphql.benchmark.model.federation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+import io.smallrye.graphql.api.federation.Resolver;
+
+/**
+ * The entities a router asks for with {@code _entities}. Products and sellers have batch resolvers, the other
+ * entities are resolved one by one.
+ */
+@GraphQLApi
+public class EntityApi {
+
+    @Query
+    public Product product(String id) {
+        return new Product(id);
+    }
+
+    @Query
+    public List<Product> products(List<String> id) {
+        return id.stream().map(Product::new).collect(Collectors.toList());
+    }
+
+    @Query
+    public Seller seller(String id) {
+        return new Seller(id);
+    }
+
+    @Query
+    public List<Seller> sellers(List<String> id) {
+        return id.stream().map(Seller::new).collect(Collectors.toList());
+    }
+
+    @Resolver
+    public Warehouse warehouse(String id) {
+        return new Warehouse(id);
+    }
+
+    @Query
+    public Shipment shipment(String id) {
+        return new Shipment(id);
+    }
+}
@@ -0,0 +1,34 @@
+package io.smallrye.graphql.benchmark.model.federation;
+
+import io.smallrye.graphql.api.federation.FieldSet;
+import io.smallrye.graphql.api.federation.Key;
+
+@Key(fields = @FieldSet("id"))
+public class Warehouse {
+    private String id;
+    private String name;
+
+    public Warehouse() {
+    }
+
+    public Warehouse(String id) {
+        this.id = id;
+        this.name = "Warehouse " + id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -9,6 +9,7 @@ import org.eclipse.microprofile.config.ConfigProvider;
 import io.smallrye.graphql.config.ConfigKey;
 import io.smallrye.graphql.spi.config.Config;
 import io.smallrye.graphql.spi.config.LogPayloadOption;
+import io.smallrye.graphql.spi.config.SubscriptionBackpressure;
 
 /**
  * Configuration for GraphQL
@@ -24,7 +25,11 @@ public class MicroProfileConfig implements Config {
     private Boolean allowGet;
     private Boolean allowPostWithQueryParameters;
     private Boolean metricsEnabled;
+    private Integer metricsSamplingPercentage;
     private Boolean tracingEnabled;
+    private Boolean fieldTracingEnabled;
+    private Integer fieldTracingSamplingPercentage;
+    private Integer fieldTracingThresholdMillis;
     private Boolean eventsEnabled;
     private Boolean federationEnabled;
     private Boolean federationBatchResolvingEnabled;
@@ -44,6 +49,30 @@ public class MicroProfileConfig implements Config {
     private Integer queryComplexityInstrumentation;
     private Integer queryDepthInstrumentation;
     private Boolean excludeNullFieldsInResponses;
+    private Boolean streamResponses;
+    private Boolean servletAsync;
+    private Long servletAsyncTimeout;
+    private Integer websocketKeepAliveIntervalSeconds;
+    private Integer websocketConnectionInitTimeoutSeconds;
+    private SubscriptionBackpressure subscriptionBackpressure;
+    private Integer subscriptionPrefetch;
+    private Integer subscriptionBufferSize;
+    private Boolean batchingEnabled;
+    private Integer batchingMaxSize;
+    private Boolean batchingShareDataLoaders;
+    private Boolean persistedQueriesEnabled;
+    private Integer persistedQueriesMaxSize;
+    private String persistedQueriesDirectory;
+    private Long persistedQueriesMaxBytes;
+    private Long persistedQueriesDirectoryMaxBytes;
+    private Boolean operationAllowlistOnly;
+    private Integer costMaxPerOperation;
+    private String costBudgetHeader;
+    private Integer costBudgetCapacity;
+    private Integer costBudgetRefillPerSecond;
+    private Integer costDefaultListSize;
+    private Integer resultCacheMaxSize;
+    private String indexCacheDirectory;
 
     @Override
     public String getName() {
@@ -117,6 +146,17 @@ public class MicroProfileConfig implements Config {
         return metricsEnabled;
     }
 
+    @Override
+    public int getMetricsSamplingPercentage() {
+        if (metricsSamplingPercentage == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            metricsSamplingPercentage = microProfileConfig
+                    .getOptionalValue(ConfigKey.METRICS_SAMPLING_PERCENTAGE, Integer.class)
+                    .orElse(100);
+        }
+        return metricsSamplingPercentage;
+    }
+
     @Override
     public boolean isTracingEnabled() {
         if (tracingEnabled == null) {
@@ -125,6 +165,36 @@ public class MicroProfileConfig implements Config {
         return tracingEnabled;
     }
 
+    @Override
+    public boolean isFieldTracingEnabled() {
+        if (fieldTracingEnabled == null) {
+            fieldTracingEnabled = getBooleanConfigValue(ConfigKey.ENABLE_FIELD_TRACING);
+        }
+        return fieldTracingEnabled;
+    }
+
+    @Override
+    public int getFieldTracingSamplingPercentage() {
+        if (fieldTracingSamplingPercentage == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            fieldTracingSamplingPercentage = microProfileConfig
+                    .getOptionalValue(ConfigKey.FIELD_TRACING_SAMPLING_PERCENTAGE, Integer.class)
+                    .orElse(100);
+        }
+        return fieldTracingSamplingPercentage;
+    }
+
+    @Override
+    public int getFieldTracingThresholdMillis() {
+        if (fieldTracingThresholdMillis == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            fieldTracingThresholdMillis = microProfileConfig
+                    .getOptionalValue(ConfigKey.FIELD_TRACING_THRESHOLD_MILLIS, Integer.class)
+                    .orElse(0);
+        }
+        return fieldTracingThresholdMillis;
+    }
+
     @Override
     public boolean isEventsEnabled() {
         if (eventsEnabled == null) {
@@ -303,6 +373,252 @@ public class MicroProfileConfig implements Config {
         return excludeNullFieldsInResponses;
     }
 
+    @Override
+    public boolean isStreamResponses() {
+        if (streamResponses == null) {
+            streamResponses = getBooleanConfigValue(ConfigKey.STREAM_RESPONSES);
+        }
+        return streamResponses;
+    }
+
+    @Override
+    public boolean isServletAsync() {
+        if (servletAsync == null) {
+            servletAsync = getBooleanConfigValue(ConfigKey.SERVLET_ASYNC);
+        }
+        return servletAsync;
+    }
+
+    @Override
+    public long getServletAsyncTimeout() {
+        if (servletAsyncTimeout == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            servletAsyncTimeout = microProfileConfig
+                    .getOptionalValue(ConfigKey.SERVLET_ASYNC_TIMEOUT, Long.class)
+                    .orElse(0L);
+        }
+        return servletAsyncTimeout;
+    }
+
+    @Override
+    public int getWebsocketKeepAliveIntervalSeconds() {
+        if (websocketKeepAliveIntervalSeconds == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            websocketKeepAliveIntervalSeconds = microProfileConfig
+                    .getOptionalValue(ConfigKey.WEBSOCKET_KEEP_ALIVE_INTERVAL, Integer.class)
+                    .orElse(10);
+        }
+        return websocketKeepAliveIntervalSeconds;
+    }
+
+    @Override
+    public int getWebsocketConnectionInitTimeoutSeconds() {
+        if (websocketConnectionInitTimeoutSeconds == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            websocketConnectionInitTimeoutSeconds = microProfileConfig
+                    .getOptionalValue(ConfigKey.WEBSOCKET_CONNECTION_INIT_TIMEOUT, Integer.class)
+                    .orElse(0);
+        }
+        return websocketConnectionInitTimeoutSeconds;
+    }
+
+    @Override
+    public SubscriptionBackpressure getSubscriptionBackpressure() {
+        if (subscriptionBackpressure == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            subscriptionBackpressure = microProfileConfig
+                    .getOptionalValue(ConfigKey.SUBSCRIPTION_BACKPRESSURE, SubscriptionBackpressure.class)
+                    .orElse(SubscriptionBackpressure.block);
+        }
+        return subscriptionBackpressure;
+    }
+
+    @Override
+    public int getSubscriptionPrefetch() {
+        if (subscriptionPrefetch == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            subscriptionPrefetch = microProfileConfig
+                    .getOptionalValue(ConfigKey.SUBSCRIPTION_PREFETCH, Integer.class)
+                    .orElse(1);
+        }
+        return subscriptionPrefetch;
+    }
+
+    @Override
+    public int getSubscriptionBufferSize() {
+        if (subscriptionBufferSize == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            subscriptionBufferSize = microProfileConfig
+                    .getOptionalValue(ConfigKey.SUBSCRIPTION_BUFFER_SIZE, Integer.class)
+                    .orElse(16);
+        }
+        return subscriptionBufferSize;
+    }
+
+    @Override
+    public boolean isBatchingEnabled() {
+        if (batchingEnabled == null) {
+            batchingEnabled = getBooleanConfigValue(ConfigKey.BATCHING_ENABLED);
+        }
+        return batchingEnabled;
+    }
+
+    @Override
+    public int getBatchingMaxSize() {
+        if (batchingMaxSize == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            batchingMaxSize = microProfileConfig
+                    .getOptionalValue(ConfigKey.BATCHING_MAX_SIZE, Integer.class)
+                    .orElse(10);
+        }
+        return batchingMaxSize;
+    }
+
+    @Override
+    public boolean isBatchingShareDataLoaders() {
+        if (batchingShareDataLoaders == null) {
+            batchingShareDataLoaders = getBooleanConfigValue(ConfigKey.BATCHING_SHARE_DATA_LOADERS);
+        }
+        return batchingShareDataLoaders;
+    }
+
+    @Override
+    public boolean isPersistedQueriesEnabled() {
+        if (persistedQueriesEnabled == null) {
+            persistedQueriesEnabled = getBooleanConfigValue(ConfigKey.PERSISTED_QUERIES_ENABLED);
+        }
+        return persistedQueriesEnabled;
+    }
+
+    @Override
+    public int getPersistedQueriesMaxSize() {
+        if (persistedQueriesMaxSize == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            persistedQueriesMaxSize = microProfileConfig
+                    .getOptionalValue(ConfigKey.PERSISTED_QUERIES_MAX_SIZE, Integer.class)
+                    .orElse(2048);
+        }
+        return persistedQueriesMaxSize;
+    }
+
+    @Override
+    public Optional<String> getPersistedQueriesDirectory() {
+        if (persistedQueriesDirectory == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            persistedQueriesDirectory = microProfileConfig
+                    .getOptionalValue(ConfigKey.PERSISTED_QUERIES_DIRECTORY, String.class)
+                    .orElse(null);
+        }
+        return Optional.ofNullable(persistedQueriesDirectory);
+    }
+
+    @Override
+    public long getPersistedQueriesMaxBytes() {
+        if (persistedQueriesMaxBytes == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            persistedQueriesMaxBytes = microProfileConfig
+                    .getOptionalValue(ConfigKey.PERSISTED_QUERIES_MAX_BYTES, Long.class)
+                    .orElse(16L * 1024 * 1024);
+        }
+        return persistedQueriesMaxBytes;
+    }
+
+    @Override
+    public long getPersistedQueriesDirectoryMaxBytes() {
+        if (persistedQueriesDirectoryMaxBytes == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            persistedQueriesDirectoryMaxBytes = microProfileConfig
+                    .getOptionalValue(ConfigKey.PERSISTED_QUERIES_DIRECTORY_MAX_BYTES, Long.class)
+                    .orElse(256L * 1024 * 1024);
+        }
+        return persistedQueriesDirectoryMaxBytes;
+    }
+
+    @Override
+    public boolean isOperationAllowlistOnly() {
+        if (operationAllowlistOnly == null) {
+            operationAllowlistOnly = getBooleanConfigValue(ConfigKey.OPERATION_ALLOWLIST_ONLY);
+        }
+        return operationAllowlistOnly;
+    }
+
+    @Override
+    public Optional<Integer> getCostMaxPerOperation() {
+        if (costMaxPerOperation == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            costMaxPerOperation = microProfileConfig
+                    .getOptionalValue(ConfigKey.COST_MAX_PER_OPERATION, Integer.class)
+                    .orElse(null);
+        }
+        return Optional.ofNullable(costMaxPerOperation);
+    }
+
+    @Override
+    public Optional<String> getCostBudgetHeader() {
+        if (costBudgetHeader == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            costBudgetHeader = microProfileConfig
+                    .getOptionalValue(ConfigKey.COST_BUDGET_HEADER, String.class)
+                    .orElse(null);
+        }
+        return Optional.ofNullable(costBudgetHeader);
+    }
+
+    @Override
+    public int getCostBudgetCapacity() {
+        if (costBudgetCapacity == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            costBudgetCapacity = microProfileConfig
+                    .getOptionalValue(ConfigKey.COST_BUDGET_CAPACITY, Integer.class)
+                    .orElse(1000);
+        }
+        return costBudgetCapacity;
+    }
+
+    @Override
+    public int getCostBudgetRefillPerSecond() {
+        if (costBudgetRefillPerSecond == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            costBudgetRefillPerSecond = microProfileConfig
+                    .getOptionalValue(ConfigKey.COST_BUDGET_REFILL_PER_SECOND, Integer.class)
+                    .orElse(100);
+        }
+        return costBudgetRefillPerSecond;
+    }
+
+    @Override
+    public int getCostDefaultListSize() {
+        if (costDefaultListSize == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            costDefaultListSize = microProfileConfig
+                    .getOptionalValue(ConfigKey.COST_DEFAULT_LIST_SIZE, Integer.class)
+                    .orElse(10);
+        }
+        return costDefaultListSize;
+    }
+
+    @Override
+    public int getResultCacheMaxSize() {
+        if (resultCacheMaxSize == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            resultCacheMaxSize = microProfileConfig
+                    .getOptionalValue(ConfigKey.RESULT_CACHE_MAX_SIZE, Integer.class)
+                    .orElse(1000);
+        }
+        return resultCacheMaxSize;
+    }
+
+    @Override
+    public Optional<String> getIndexCacheDirectory() {
+        if (indexCacheDirectory == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            indexCacheDirectory = microProfileConfig
+                    .getOptionalValue(ConfigKey.INDEX_CACHE_DIRECTORY, String.class)
+                    .orElse(null);
+        }
+        return Optional.ofNullable(indexCacheDirectory);
+    }
+
     @Override
     public <T> T getConfigValue(String key, Class<T> type, T defaultValue) {
         org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
@@ -409,10 +725,26 @@ public class MicroProfileConfig implements Config {
         this.metricsEnabled = metricsEnabled;
     }
 
+    public void setMetricsSamplingPercentage(Integer metricsSamplingPercentage) {
+        this.metricsSamplingPercentage = metricsSamplingPercentage;
+    }
+
     public void setTracingEnabled(Boolean tracingEnabled) {
         this.tracingEnabled = tracingEnabled;
     }
 
+    public void setFieldTracingEnabled(Boolean fieldTracingEnabled) {
+        this.fieldTracingEnabled = fieldTracingEnabled;
+    }
+
+    public void setFieldTracingSamplingPercentage(Integer fieldTracingSamplingPercentage) {
+        this.fieldTracingSamplingPercentage = fieldTracingSamplingPercentage;
+    }
+
+    public void setFieldTracingThresholdMillis(Integer fieldTracingThresholdMillis) {
+        this.fieldTracingThresholdMillis = fieldTracingThresholdMillis;
+    }
+
     public void setEventsEnabled(Boolean eventsEnabled) {
         this.eventsEnabled = eventsEnabled;
     }
@@ -441,6 +773,102 @@ public class MicroProfileConfig implements Config {
         this.excludeNullFieldsInResponses = excludeNullFieldsInResponses;
     }
 
+    public void setStreamResponses(Boolean streamResponses) {
+        this.streamResponses = streamResponses;
+    }
+
+    public void setServletAsync(Boolean servletAsync) {
+        this.servletAsync = servletAsync;
+    }
+
+    public void setServletAsyncTimeout(Long servletAsyncTimeout) {
+        this.servletAsyncTimeout = servletAsyncTimeout;
+    }
+
+    public void setWebsocketKeepAliveIntervalSeconds(Integer websocketKeepAliveIntervalSeconds) {
+        this.websocketKeepAliveIntervalSeconds = websocketKeepAliveIntervalSeconds;
+    }
+
+    public void setWebsocketConnectionInitTimeoutSeconds(Integer websocketConnectionInitTimeoutSeconds) {
+        this.websocketConnectionInitTimeoutSeconds = websocketConnectionInitTimeoutSeconds;
+    }
+
+    public void setSubscriptionBackpressure(SubscriptionBackpressure subscriptionBackpressure) {
+        this.subscriptionBackpressure = subscriptionBackpressure;
+    }
+
+    public void setSubscriptionPrefetch(Integer subscriptionPrefetch) {
+        this.subscriptionPrefetch = subscriptionPrefetch;
+    }
+
+    public void setSubscriptionBufferSize(Integer subscriptionBufferSize) {
+        this.subscriptionBufferSize = subscriptionBufferSize;
+    }
+
+    public void setBatchingEnabled(Boolean batchingEnabled) {
+        this.batchingEnabled = batchingEnabled;
+    }
+
+    public void setBatchingMaxSize(Integer batchingMaxSize) {
+        this.batchingMaxSize = batchingMaxSize;
+    }
+
+    public void setBatchingShareDataLoaders(Boolean batchingShareDataLoaders) {
+        this.batchingShareDataLoaders = batchingShareDataLoaders;
+    }
+
+    public void setPersistedQueriesEnabled(Boolean persistedQueriesEnabled) {
+        this.persistedQueriesEnabled = persistedQueriesEnabled;
+    }
+
+    public void setPersistedQueriesMaxSize(Integer persistedQueriesMaxSize) {
+        this.persistedQueriesMaxSize = persistedQueriesMaxSize;
+    }
+
+    public void setPersistedQueriesDirectory(String persistedQueriesDirectory) {
+        this.persistedQueriesDirectory = persistedQueriesDirectory;
+    }
+
+    public void setPersistedQueriesMaxBytes(Long persistedQueriesMaxBytes) {
+        this.persistedQueriesMaxBytes = persistedQueriesMaxBytes;
+    }
+
+    public void setPersistedQueriesDirectoryMaxBytes(Long persistedQueriesDirectoryMaxBytes) {
+        this.persistedQueriesDirectoryMaxBytes = persistedQueriesDirectoryMaxBytes;
+    }
+
+    public void setOperationAllowlistOnly(Boolean operationAllowlistOnly) {
+        this.operationAllowlistOnly = operationAllowlistOnly;
+    }
+
+    public void setCostMaxPerOperation(Integer costMaxPerOperation) {
+        this.costMaxPerOperation = costMaxPerOperation;
+    }
+
+    public void setCostBudgetHeader(String costBudgetHeader) {
+        this.costBudgetHeader = costBudgetHeader;
+    }
+
+    public void setCostBudgetCapacity(Integer costBudgetCapacity) {
+        this.costBudgetCapacity = costBudgetCapacity;
+    }
+
+    public void setCostBudgetRefillPerSecond(Integer costBudgetRefillPerSecond) {
+        this.costBudgetRefillPerSecond = costBudgetRefillPerSecond;
+    }
+
+    public void setCostDefaultListSize(Integer costDefaultListSize) {
+        this.costDefaultListSize = costDefaultListSize;
+    }
+
+    public void setResultCacheMaxSize(Integer resultCacheMaxSize) {
+        this.resultCacheMaxSize = resultCacheMaxSize;
+    }
+
+    public void setIndexCacheDirectory(String indexCacheDirectory) {
+        this.indexCacheDirectory = indexCacheDirectory;
+    }
+
     public void getQueryDepthInstrumentation(Integer queryDepthInstrumentation) {
         this.queryDepthInstrumentation = queryDepthInstrumentation;
     }
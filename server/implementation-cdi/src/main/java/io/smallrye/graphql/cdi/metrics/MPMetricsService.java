@@ -5,14 +5,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.enterprise.util.AnnotationLiteral;
 
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.SimpleTimer;
 import org.eclipse.microprofile.metrics.Tag;
 import org.eclipse.microprofile.metrics.annotation.RegistryType;
-import org.jboss.logging.Logger;
 
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.schema.model.OperationType;
@@ -27,11 +28,15 @@ import io.smallrye.graphql.spi.MetricsService;
 public class MPMetricsService implements MetricsService {
 
     private MetricRegistry metricRegistry;
-    private final Map<Long, MetricMeasurement<Long>> metricsMemory = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> subscriptions = new ConcurrentHashMap<>();
     private static final String METRIC_NAME = "mp_graphql";
     private static final String METRIC_SUBSCRIPTIONS = "mp_graphql_subscription";
-    private Logger LOG = Logger.getLogger(MPMetricsService.class);
+    private static final String METRIC_SLOW_CONSUMER_DISCONNECTS = "mp_graphql_subscription_slow_consumer_disconnects";
+    private static final String METRIC_WEBSOCKET_SESSIONS = "mp_graphql_websocket_sessions";
+    private static final String METRIC_WEBSOCKET_OPERATIONS = "mp_graphql_websocket_operations";
+    private static final String METRIC_RESULT_CACHE_HITS = "mp_graphql_result_cache_hits";
+    private static final String METRIC_RESULT_CACHE_MISSES = "mp_graphql_result_cache_misses";
+    private static final String METRIC_RESULT_CACHE_SIZE = "mp_graphql_result_cache_size";
 
     public MPMetricsService() {
         // If MP Metrics are not available, this will throw an exception
@@ -46,30 +51,17 @@ public class MPMetricsService implements MetricsService {
         return metricRegistry;
     }
 
-    private Tag[] getTags(MetricMeasurement<Long> metricMeasurement) {
-        return new Tag[] {
-                new Tag("name", metricMeasurement.getName()),
-                new Tag("type", metricMeasurement.getOperationType()),
-                new Tag("source", String.valueOf(metricMeasurement.isSource()))
-        };
-    }
-
     @Override
-    public void start(Long measurementId, Context context) {
-        metricsMemory.put(measurementId, new MetricMeasurement<>(context.getFieldName(),
-                context.hasSource(),
-                context.getOperationType(),
-                System.nanoTime()));
-        LOG.tracef("(" + measurementId + ") Started recording metrics for: %s", context.getFieldName());
+    public Object meter(String fieldName, String operationType, boolean source) {
+        return getMetricRegistry().simpleTimer(METRIC_NAME,
+                new Tag("name", fieldName),
+                new Tag("type", operationType),
+                new Tag("source", String.valueOf(source)));
     }
 
     @Override
-    public void end(Long measurementId) {
-        MetricMeasurement<Long> metricMeasurement = metricsMemory.remove(measurementId);
-        long duration = System.nanoTime() - metricMeasurement.getMetric();
-        getMetricRegistry().simpleTimer(METRIC_NAME, getTags(metricMeasurement))
-                .update(Duration.ofNanos(duration));
-        LOG.tracef("(" + measurementId + ") Finished recording metrics for: %s", metricMeasurement.getName());
+    public void record(Object meter, long durationNanos) {
+        ((SimpleTimer) meter).update(Duration.ofNanos(durationNanos));
     }
 
     @Override
@@ -93,6 +85,24 @@ public class MPMetricsService implements MetricsService {
         Optional.ofNullable(subscriptions.get(context.getFieldName())).ifPresent(AtomicLong::decrementAndGet);
     }
 
+    @Override
+    public void slowConsumerDisconnect() {
+        getMetricRegistry().counter(METRIC_SLOW_CONSUMER_DISCONNECTS).inc();
+    }
+
+    @Override
+    public void websocketGauges(Supplier<Number> sessions, Supplier<Number> operations) {
+        getMetricRegistry().gauge(METRIC_WEBSOCKET_SESSIONS, sessions);
+        getMetricRegistry().gauge(METRIC_WEBSOCKET_OPERATIONS, operations);
+    }
+
+    @Override
+    public void resultCacheGauges(Supplier<Number> hits, Supplier<Number> misses, Supplier<Number> size) {
+        getMetricRegistry().gauge(METRIC_RESULT_CACHE_HITS, hits);
+        getMetricRegistry().gauge(METRIC_RESULT_CACHE_MISSES, misses);
+        getMetricRegistry().gauge(METRIC_RESULT_CACHE_SIZE, size);
+    }
+
     class VendorType extends AnnotationLiteral<RegistryType> implements RegistryType {
         @Override
         public MetricRegistry.Type type() {
@@ -3,10 +3,11 @@ package io.smallrye.graphql.cdi.metrics;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
-import org.jboss.logging.Logger;
-
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tags;
@@ -17,12 +18,16 @@ import io.smallrye.graphql.spi.MetricsService;
 
 public class MicrometerMetricsService implements MetricsService {
     private final MeterRegistry meterRegistry = Metrics.globalRegistry;
-    private final Map<Long, MetricMeasurement<Timer.Sample>> metricsMemory = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> subscriptions = new ConcurrentHashMap<>();
 
     private static final String METRIC_NAME = "mp_graphql";
     private static final String METRIC_SUBSCRIPTIONS = "mp_graphql_subscription";
-    private Logger LOG = Logger.getLogger(MicrometerMetricsService.class);
+    private static final String METRIC_SLOW_CONSUMER_DISCONNECTS = "mp_graphql_subscription_slow_consumer_disconnects";
+    private static final String METRIC_WEBSOCKET_SESSIONS = "mp_graphql_websocket_sessions";
+    private static final String METRIC_WEBSOCKET_OPERATIONS = "mp_graphql_websocket_operations";
+    private static final String METRIC_RESULT_CACHE_HITS = "mp_graphql_result_cache_hits";
+    private static final String METRIC_RESULT_CACHE_MISSES = "mp_graphql_result_cache_misses";
+    private static final String METRIC_RESULT_CACHE_SIZE = "mp_graphql_result_cache_size";
 
     public MicrometerMetricsService() {
         // If Micrometer is not available, this will throw an exception
@@ -30,29 +35,16 @@ public class MicrometerMetricsService implements MetricsService {
         meterRegistry.getMeters();
     }
 
-    private Tags getTags(MetricMeasurement<Timer.Sample> metricMeasurement) {
-        return Tags.of("name", metricMeasurement.getName())
-                .and("type", metricMeasurement.getOperationType())
-                .and("source", String.valueOf(metricMeasurement.isSource()));
-    }
-
     @Override
-    public void start(Long measurementId, Context context) {
-        metricsMemory.put(measurementId,
-                new MetricMeasurement<>(
-                        context.getFieldName(),
-                        context.hasSource(),
-                        context.getOperationType(),
-                        Timer.start()));
-        LOG.tracef("(" + measurementId + ") Started recording metrics for: %s", context.getFieldName());
+    public Object meter(String fieldName, String operationType, boolean source) {
+        return meterRegistry.timer(METRIC_NAME, Tags.of("name", fieldName)
+                .and("type", operationType)
+                .and("source", String.valueOf(source)));
     }
 
     @Override
-    public void end(Long measurementId) {
-        MetricMeasurement<Timer.Sample> metricMeasurement = metricsMemory.remove(measurementId);
-        Timer timer = meterRegistry.timer(METRIC_NAME, getTags(metricMeasurement));
-        metricMeasurement.getMetric().stop(timer);
-        LOG.tracef("(" + measurementId + ") Finished recording metrics for: %s", metricMeasurement.getName());
+    public void record(Object meter, long durationNanos) {
+        ((Timer) meter).record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -76,4 +68,22 @@ public class MicrometerMetricsService implements MetricsService {
         }
         Optional.ofNullable(subscriptions.get(context.getFieldName())).ifPresent(AtomicLong::decrementAndGet);
     }
+
+    @Override
+    public void slowConsumerDisconnect() {
+        meterRegistry.counter(METRIC_SLOW_CONSUMER_DISCONNECTS).increment();
+    }
+
+    @Override
+    public void websocketGauges(Supplier<Number> sessions, Supplier<Number> operations) {
+        Gauge.builder(METRIC_WEBSOCKET_SESSIONS, sessions).register(meterRegistry);
+        Gauge.builder(METRIC_WEBSOCKET_OPERATIONS, operations).register(meterRegistry);
+    }
+
+    @Override
+    public void resultCacheGauges(Supplier<Number> hits, Supplier<Number> misses, Supplier<Number> size) {
+        Gauge.builder(METRIC_RESULT_CACHE_HITS, hits).register(meterRegistry);
+        Gauge.builder(METRIC_RESULT_CACHE_MISSES, misses).register(meterRegistry);
+        Gauge.builder(METRIC_RESULT_CACHE_SIZE, size).register(meterRegistry);
+    }
 }
@@ -1,15 +1,20 @@
 package io.smallrye.graphql.cdi.tracing;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import jakarta.annotation.Priority;
 import jakarta.enterprise.inject.spi.CDI;
 
 import org.jboss.logging.Logger;
 
+import graphql.ExecutionInput;
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLNamedType;
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
@@ -17,19 +22,22 @@ import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.config.ConfigKey;
 import io.smallrye.graphql.execution.event.Priorities;
 import io.smallrye.graphql.spi.EventingService;
+import io.smallrye.graphql.spi.FieldTracingService;
+import io.smallrye.graphql.spi.config.Config;
 
 /**
- * Listening for operation start/end event and create traces from it
+ * Listening for operation start/end event and create traces from it.
+ *
+ * The span of the request, and the scope that makes it current, are kept in the GraphQLContext of the request. When
+ * field tracing is enabled, the data fetches and batch loads of a sampled request are recorded as child spans of it.
  *
  * @author Jan Martiska (jmartisk@redhat.com)
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
 @Priority(Priorities.FIRST_IN_LAST_OUT)
-public class TracingService implements EventingService {
+public class TracingService implements EventingService, FieldTracingService {
 
     private Logger LOG = Logger.getLogger(TracingService.class);
-    private static final Map<String, Span> spans = new ConcurrentHashMap<>();
-    private static final Map<String, Scope> scopes = new ConcurrentHashMap<>();
 
     private Tracer tracer;
 
@@ -43,29 +51,34 @@ public class TracingService implements EventingService {
                 .startSpan();
         LOG.trace("Start span " + span.getSpanContext().getSpanId());
 
-        spans.put(context.getExecutionId(), span);
-        scopes.put(context.getExecutionId(), span.makeCurrent());
+        GraphQLContext graphQLContext = getGraphQLContext(context);
+        if (graphQLContext == null) {
+            span.end();
+            return;
+        }
+        graphQLContext.put(SPAN, span);
+        graphQLContext.put(SCOPE, span.makeCurrent());
+        if (traceFields(span)) {
+            graphQLContext.put(FIELDS_PARENT, io.opentelemetry.context.Context.root().with(span));
+        }
     }
 
     @Override
     public void afterExecute(Context context) {
-        Span span = spans.remove(context.getExecutionId());
-
+        Span span = removeSpan(context);
         if (span != null) {
             LOG.trace("Finish span " + span.getSpanContext().getSpanId());
-            scopes.remove(context.getExecutionId()).close();
             span.end();
         }
     }
 
     @Override
     public void errorExecute(Context context, Throwable t) {
-        Span span = spans.remove(context.getExecutionId());
+        Span span = removeSpan(context);
         if (span != null) {
             LOG.trace("Exceptionally finish span " + span.getSpanContext().getSpanId());
             span.recordException(t);
             span.setStatus(StatusCode.ERROR);
-            scopes.remove(context.getExecutionId()).close();
             span.end();
         }
     }
@@ -75,6 +88,85 @@ public class TracingService implements EventingService {
         return ConfigKey.ENABLE_TRACING;
     }
 
+    @Override
+    public boolean isTraced(GraphQLContext graphQLContext) {
+        return graphQLContext != null && graphQLContext.hasKey(FIELDS_PARENT);
+    }
+
+    @Override
+    public void recordDataFetch(DataFetchingEnvironment dfe, long durationNanos, Throwable failure) {
+        SpanBuilder spanBuilder = getTracer().spanBuilder(PREFIX + ":" + getCoordinates(dfe))
+                .setAttribute("graphql.field.path", dfe.getExecutionStepInfo().getPath().toString());
+        record(dfe, spanBuilder, durationNanos, failure);
+    }
+
+    @Override
+    public void recordBatchLoad(DataFetchingEnvironment dfe, int keys, long durationNanos, Throwable failure) {
+        SpanBuilder spanBuilder = getTracer().spanBuilder(PREFIX + ":" + getCoordinates(dfe) + " (batch)")
+                .setAttribute("graphql.batch.size", keys);
+        record(dfe, spanBuilder, durationNanos, failure);
+    }
+
+    private void record(DataFetchingEnvironment dfe, SpanBuilder spanBuilder, long durationNanos, Throwable failure) {
+        io.opentelemetry.context.Context parent = dfe.getGraphQlContext().get(FIELDS_PARENT);
+        if (parent == null) {
+            // the request is already done
+            return;
+        }
+        // the span is created when the data fetch is done, so data fetches that are not recorded cost nothing
+        Instant end = Instant.now();
+        Span span = spanBuilder
+                .setParent(parent)
+                .setAttribute("graphql.field.name", dfe.getField().getName())
+                .setStartTimestamp(end.minusNanos(durationNanos))
+                .startSpan();
+        if (failure != null) {
+            span.recordException(failure);
+            span.setStatus(StatusCode.ERROR);
+        }
+        span.end(end);
+    }
+
+    private static boolean traceFields(Span span) {
+        Config config = Config.get();
+        if (!config.isFieldTracingEnabled() || !span.getSpanContext().isSampled()) {
+            return false;
+        }
+        int samplingPercentage = config.getFieldTracingSamplingPercentage();
+        return samplingPercentage >= 100 || ThreadLocalRandom.current().nextInt(100) < samplingPercentage;
+    }
+
+    private static Span removeSpan(Context context) {
+        GraphQLContext graphQLContext = getGraphQLContext(context);
+        if (graphQLContext == null) {
+            return null;
+        }
+        Span span = graphQLContext.get(SPAN);
+        if (span == null) {
+            return null;
+        }
+        Scope scope = graphQLContext.get(SCOPE);
+        graphQLContext.delete(SPAN);
+        graphQLContext.delete(SCOPE);
+        graphQLContext.delete(FIELDS_PARENT);
+        if (scope != null) {
+            scope.close();
+        }
+        return span;
+    }
+
+    private static GraphQLContext getGraphQLContext(Context context) {
+        ExecutionInput executionInput = context.unwrap(ExecutionInput.class);
+        return executionInput != null ? executionInput.getGraphQLContext() : null;
+    }
+
+    private static String getCoordinates(DataFetchingEnvironment dfe) {
+        if (dfe.getParentType() instanceof GraphQLNamedType) {
+            return ((GraphQLNamedType) dfe.getParentType()).getName() + "." + dfe.getField().getName();
+        }
+        return dfe.getField().getName();
+    }
+
     private Tracer getTracer() {
         if (tracer == null) {
             this.tracer = CDI.current().select(Tracer.class).get();
@@ -96,4 +188,7 @@ public class TracingService implements EventingService {
     private static final String UNDERSCORE = "_";
     private static final String EMPTY = "";
     private static final String PREFIX = "GraphQL";
-}
\ No newline at end of file
+    private static final String SPAN = TracingService.class.getName() + ".span";
+    private static final String SCOPE = TracingService.class.getName() + ".scope";
+    private static final String FIELDS_PARENT = TracingService.class.getName() + ".fieldsParent";
+}
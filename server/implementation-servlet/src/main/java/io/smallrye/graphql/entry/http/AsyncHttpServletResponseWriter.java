@@ -0,0 +1,191 @@
+package io.smallrye.graphql.entry.http;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import io.smallrye.graphql.execution.ExecutionBatchResponseWriter;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionResponseWriter;
+
+/**
+ * Writing the response of an asynchronous execution to HTTP servlet
+ *
+ * The response is written from the thread that completes the execution, not from a container thread. It is serialized
+ * up front and then written with a {@link WriteListener}, so a slow client does not block that thread either. The
+ * {@link AsyncContext} is completed once the response is written, or when the execution failed.
+ *
+ * The responses of a batch are written as a JSON array.
+ *
+ * As an {@link AsyncListener}, it answers requests that time out with {@code 503 Service Unavailable}. The response is
+ * written and the context is completed at most once, so a response that comes in after a timeout or an error is dropped.
+ */
+public class AsyncHttpServletResponseWriter
+        implements ExecutionResponseWriter, ExecutionBatchResponseWriter, AsyncListener {
+    private static final int OPEN = 0;
+    private static final int WRITING = 1;
+    private static final int DONE = 2;
+
+    private static final String APPLICATION_JSON_UTF8 = "application/json;charset=UTF-8";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
+
+    private final AsyncContext asyncContext;
+    private final AtomicInteger state = new AtomicInteger(OPEN);
+
+    public AsyncHttpServletResponseWriter(AsyncContext asyncContext) {
+        this.asyncContext = asyncContext;
+    }
+
+    @Override
+    public void write(ExecutionResponse executionResponse) {
+        if (executionResponse == null) {
+            if (state.compareAndSet(OPEN, WRITING)) {
+                complete();
+            }
+            return;
+        }
+        write(() -> serialize(executionResponse), executionResponse.getCacheControl());
+    }
+
+    @Override
+    public void write(List<ExecutionResponse> executionResponses) {
+        write(() -> serialize(executionResponses), null);
+    }
+
+    private void write(Supplier<byte[]> serializer, String cacheControl) {
+        if (!state.compareAndSet(OPEN, WRITING)) {
+            return;
+        }
+        try {
+            byte[] body = serializer.get();
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (cacheControl != null) {
+                response.setHeader(CACHE_CONTROL, cacheControl);
+            }
+            response.setContentType(APPLICATION_JSON_UTF8);
+            response.setContentLength(body.length);
+            ServletOutputStream outputStream = response.getOutputStream();
+            outputStream.setWriteListener(new BodyWriter(outputStream, body));
+        } catch (IOException | RuntimeException ex) {
+            SmallRyeGraphQLServletLogging.log.asyncWriteFailed(ex);
+            complete();
+        }
+    }
+
+    @Override
+    public void fail(Throwable t) {
+        SmallRyeGraphQLServletLogging.log.asyncExecutionFailed(t);
+        if (state.compareAndSet(OPEN, WRITING)) {
+            respond(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        SmallRyeGraphQLServletLogging.log.asyncTimeout(asyncContext.getTimeout());
+        if (state.compareAndSet(OPEN, WRITING)) {
+            respond(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } else {
+            // the body was still being written
+            complete();
+        }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        // the container completes the request after an error
+        state.set(DONE);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        state.set(DONE);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void respond(int status) {
+        try {
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (!response.isCommitted()) {
+                response.setStatus(status);
+            }
+        } finally {
+            complete();
+        }
+    }
+
+    private void complete() {
+        if (state.getAndSet(DONE) != DONE) {
+            asyncContext.complete();
+        }
+    }
+
+    private static byte[] serialize(ExecutionResponse executionResponse) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(outputStream)) {
+            executionResponse.writeExecutionResultTo(generator);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] serialize(List<ExecutionResponse> executionResponses) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (ExecutionResponse executionResponse : executionResponses) {
+                executionResponse.writeExecutionResultTo(generator);
+            }
+            generator.writeEnd();
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Called by the container whenever the output stream can take more bytes, never concurrently
+     */
+    private class BodyWriter implements WriteListener {
+        private final ServletOutputStream outputStream;
+        private final byte[] body;
+        private boolean written;
+
+        BodyWriter(ServletOutputStream outputStream, byte[] body) {
+            this.outputStream = outputStream;
+            this.body = body;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (outputStream.isReady()) {
+                if (written) {
+                    complete();
+                    return;
+                }
+                outputStream.write(body);
+                written = true;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            SmallRyeGraphQLServletLogging.log.asyncWriteFailed(t);
+            complete();
+        }
+    }
+}
@@ -8,24 +8,35 @@ import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
+import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonValue.ValueType;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import io.smallrye.graphql.execution.ExecutionBatchResponseWriter;
+import io.smallrye.graphql.execution.ExecutionResponse;
 import io.smallrye.graphql.execution.ExecutionService;
 import io.smallrye.graphql.spi.config.Config;
 
@@ -34,7 +45,7 @@ import io.smallrye.graphql.spi.config.Config;
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
-@WebServlet(name = "SmallRyeGraphQLExecutionServlet", urlPatterns = { "/graphql/*" }, loadOnStartup = 1)
+@WebServlet(name = "SmallRyeGraphQLExecutionServlet", urlPatterns = { "/graphql/*" }, loadOnStartup = 1, asyncSupported = true)
 public class ExecutionServlet extends HttpServlet {
     private static final long serialVersionUID = -2859915918802356120L;
 
@@ -57,7 +68,7 @@ public class ExecutionServlet extends HttpServlet {
         try {
             if (config.isAllowGet()) {
                 JsonObject jsonObject = getJsonObjectFromQueryParameters(request);
-                executionService.executeSync(jsonObject, getMetaData(request), new HttpServletResponseWriter(response));
+                execute(jsonObject, getMetaData(request), request, response);
             } else {
                 response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "GET Queries is not enabled");
             }
@@ -71,16 +82,21 @@ public class ExecutionServlet extends HttpServlet {
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
         try {
             Map<String, Object> metaData = getMetaData(request);
-            JsonObject jsonObjectFromBody = getJsonObjectFromBody(request);
+            JsonStructure jsonFromBody = getJsonFromBody(request);
+            if (jsonFromBody.getValueType() == ValueType.ARRAY) {
+                executeBatch(jsonFromBody.asJsonArray(), metaData, request, response);
+                return;
+            }
+            JsonObject jsonObjectFromBody = jsonFromBody.asJsonObject();
             if (request.getQueryString() != null && !request.getQueryString().isEmpty()
                     && config.isAllowPostWithQueryParameters()) {
                 JsonObject jsonObjectFromQueryParameters = getJsonObjectFromQueryParameters(request);
                 JsonObject mergedJsonObject = JSON_PROVIDER.createMergePatch(jsonObjectFromQueryParameters)
                         .apply(jsonObjectFromBody)
                         .asJsonObject();
-                executionService.executeSync(mergedJsonObject, metaData, new HttpServletResponseWriter(response));
+                execute(mergedJsonObject, metaData, request, response);
             } else {
-                executionService.executeSync(jsonObjectFromBody, metaData, new HttpServletResponseWriter(response));
+                execute(jsonObjectFromBody, metaData, request, response);
             }
         } catch (IOException ex) {
             SmallRyeGraphQLServletLogging.log.ioException(ex);
@@ -88,6 +104,78 @@ public class ExecutionServlet extends HttpServlet {
         }
     }
 
+    /**
+     * In async mode the container thread is released as soon as the execution is started, and the response is written
+     * by the thread that completes it. Otherwise the container thread waits for the response.
+     */
+    private void execute(JsonObject jsonObject, Map<String, Object> metaData, HttpServletRequest request,
+            HttpServletResponse response) {
+        if (config.isServletAsync() && request.isAsyncSupported()) {
+            executionService.executeAsync(jsonObject, metaData, startAsync(request, response));
+        } else {
+            executionService.executeSync(jsonObject, metaData, new HttpServletResponseWriter(response));
+        }
+    }
+
+    /**
+     * Execute the operations of a batch concurrently, and respond with a JSON array of their results in the same order
+     */
+    private void executeBatch(JsonArray jsonArray, Map<String, Object> metaData, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (!config.isBatchingEnabled()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Batched operations are not enabled");
+            return;
+        }
+        if (jsonArray.size() > config.getBatchingMaxSize()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    "A batch can have at most " + config.getBatchingMaxSize() + " operations");
+            return;
+        }
+        List<JsonObject> jsonObjects = new ArrayList<>(jsonArray.size());
+        for (JsonValue jsonValue : jsonArray) {
+            if (jsonValue.getValueType() != ValueType.OBJECT) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Every operation in a batch must be a JSON object");
+                return;
+            }
+            jsonObjects.add(jsonValue.asJsonObject());
+        }
+        boolean shareDataLoaders = config.isBatchingShareDataLoaders();
+        if (config.isServletAsync() && request.isAsyncSupported()) {
+            executionService.executeBatch(jsonObjects, metaData, shareDataLoaders, startAsync(request, response));
+        } else {
+            // the operations run asynchronously, so wait for all of them before writing from this thread
+            CompletableFuture<List<ExecutionResponse>> responses = new CompletableFuture<>();
+            executionService.executeBatch(jsonObjects, metaData, shareDataLoaders, new ExecutionBatchResponseWriter() {
+                @Override
+                public void write(List<ExecutionResponse> executionResponses) {
+                    responses.complete(executionResponses);
+                }
+
+                @Override
+                public void fail(Throwable t) {
+                    responses.completeExceptionally(t);
+                }
+            });
+            HttpServletResponseWriter writer = new HttpServletResponseWriter(response);
+            try {
+                writer.write(responses.join());
+            } catch (CompletionException ex) {
+                writer.fail(ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Start async mode, with the configured timeout instead of the default of the container
+     */
+    private AsyncHttpServletResponseWriter startAsync(HttpServletRequest request, HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(config.getServletAsyncTimeout());
+        AsyncHttpServletResponseWriter writer = new AsyncHttpServletResponseWriter(asyncContext);
+        asyncContext.addListener(writer);
+        return writer;
+    }
+
     private JsonObject getJsonObjectFromQueryParameters(HttpServletRequest request) throws UnsupportedEncodingException {
         JsonObjectBuilder input = JSON_PROVIDER.createObjectBuilder();
         // Query
@@ -118,7 +206,7 @@ public class ExecutionServlet extends HttpServlet {
         return input.build();
     }
 
-    private JsonObject getJsonObjectFromBody(HttpServletRequest request) throws IOException {
+    private JsonStructure getJsonFromBody(HttpServletRequest request) throws IOException {
 
         String contentType = request.getContentType();
         try (BufferedReader bufferedReader = request.getReader()) {
@@ -128,10 +216,10 @@ public class ExecutionServlet extends HttpServlet {
                 JsonObjectBuilder input = JSON_PROVIDER.createObjectBuilder();
                 input.add(QUERY, query);
                 return input.build();
-                // Else we expect a Json in the content
+                // Else we expect a Json object, or an array for a batch, in the content
             } else {
                 try (JsonReader jsonReader = jsonReaderFactory.createReader(bufferedReader)) {
-                    return jsonReader.readObject();
+                    return jsonReader.read();
                 }
             }
         }
@@ -149,6 +237,10 @@ public class ExecutionServlet extends HttpServlet {
     protected Map<String, Object> getMetaData(HttpServletRequest request) {
         Map<String, Object> metaData = new ConcurrentHashMap<>();
         metaData.put("httpHeaders", getHeaders(request));
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            metaData.put("principal", principal);
+        }
         return metaData;
     }
 
@@ -1,7 +1,9 @@
 package io.smallrye.graphql.entry.http;
 
 import java.io.IOException;
+import java.security.Principal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -10,6 +12,7 @@ import jakarta.websocket.OnClose;
 import jakarta.websocket.OnError;
 import jakarta.websocket.OnMessage;
 import jakarta.websocket.OnOpen;
+import jakarta.websocket.RemoteEndpoint;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
 
@@ -38,10 +41,11 @@ public class GraphQLServerWebSocket {
         String subprotocol = session.getNegotiatedSubprotocol();
         switch (subprotocol) {
             case "graphql-transport-ws":
-                handler = new GraphQLTransportWSSubprotocolHandler(new SmallRyeWebSocketSession(session), new HashMap<>());
+                handler = new GraphQLTransportWSSubprotocolHandler(new SmallRyeWebSocketSession(session),
+                        getContext(session));
                 break;
             case "graphql-ws":
-                handler = new GraphQLWSSubprotocolHandler(new SmallRyeWebSocketSession(session), new HashMap<>());
+                handler = new GraphQLWSSubprotocolHandler(new SmallRyeWebSocketSession(session), getContext(session));
                 break;
             default:
                 log.warn("Unknown subprotocol: " + subprotocol);
@@ -53,10 +57,21 @@ public class GraphQLServerWebSocket {
                 }
                 return;
         }
+        handler.onOpen();
         sessionsToHandlers.put(session, handler);
         log.debug("Opened graphql-over-websocket session on " + session + " with subprotocol=" + subprotocol);
     }
 
+    // the principal of the session, like the one of an http request, so operations are executed as that user
+    private Map<String, Object> getContext(Session session) {
+        Map<String, Object> context = new HashMap<>();
+        Principal principal = session.getUserPrincipal();
+        if (principal != null) {
+            context.put("principal", principal);
+        }
+        return context;
+    }
+
     @OnClose
     public void onClose(Session session) {
         log.debug("Closing session " + session);
@@ -100,6 +115,20 @@ public class GraphQLServerWebSocket {
             session.getBasicRemote().sendText(message);
         }
 
+        @Override
+        public void sendMessages(List<String> messages) throws IOException {
+            // the frames are flushed together
+            RemoteEndpoint.Basic remote = session.getBasicRemote();
+            remote.setBatchingAllowed(true);
+            try {
+                for (String message : messages) {
+                    sendMessage(message);
+                }
+            } finally {
+                remote.setBatchingAllowed(false);
+            }
+        }
+
         @Override
         public void close(short statusCode, String reason) {
             try {
@@ -3,38 +3,125 @@ package io.smallrye.graphql.entry.http;
 import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
 
 import java.io.IOException;
+import java.util.List;
 
+import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonWriter;
 import jakarta.json.JsonWriterFactory;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 import jakarta.servlet.http.HttpServletResponse;
 
+import io.smallrye.graphql.execution.ExecutionBatchResponseWriter;
 import io.smallrye.graphql.execution.ExecutionResponse;
 import io.smallrye.graphql.execution.ExecutionResponseWriter;
+import io.smallrye.graphql.spi.config.Config;
 
 /**
  * Writing the response to HTTP servlet
  *
+ * When streaming is enabled, the result is written token by token to the output stream,
+ * without building the intermediate {@code JsonObject}.
+ *
+ * The responses of a batch are written as a JSON array.
+ *
+ * A response of queries that can be cached gets a {@code Cache-Control} header.
+ *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
-public class HttpServletResponseWriter implements ExecutionResponseWriter {
+public class HttpServletResponseWriter implements ExecutionResponseWriter, ExecutionBatchResponseWriter {
     private static final String APPLICATION_JSON_UTF8 = "application/json;charset=UTF-8";
+    private static final String CACHE_CONTROL = "Cache-Control";
     private static final JsonWriterFactory jsonWriterFactory = JSON_PROVIDER.createWriterFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
 
     private final HttpServletResponse response;
+    private final boolean streaming;
 
     public HttpServletResponseWriter(HttpServletResponse response) {
+        this(response, Config.get().isStreamResponses());
+    }
+
+    public HttpServletResponseWriter(HttpServletResponse response, boolean streaming) {
         this.response = response;
+        this.streaming = streaming;
     }
 
     @Override
     public void write(ExecutionResponse executionResponse) {
         if (executionResponse != null) {
-            try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(response.getOutputStream())) {
-                response.setContentType(APPLICATION_JSON_UTF8);
-                jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
-            } catch (IOException ex) {
-                throw new RuntimeException(ex);
+            if (streaming) {
+                writeStreaming(executionResponse);
+            } else {
+                writeObject(executionResponse);
             }
         }
     }
+
+    @Override
+    public void write(List<ExecutionResponse> executionResponses) {
+        if (streaming) {
+            writeStreaming(executionResponses);
+        } else {
+            writeArray(executionResponses);
+        }
+    }
+
+    @Override
+    public void fail(Throwable t) {
+        ExecutionResponseWriter.super.fail(t);
+    }
+
+    private void writeObject(ExecutionResponse executionResponse) {
+        setCacheControl(executionResponse);
+        try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(response.getOutputStream())) {
+            response.setContentType(APPLICATION_JSON_UTF8);
+            jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void writeStreaming(ExecutionResponse executionResponse) {
+        setCacheControl(executionResponse);
+        response.setContentType(APPLICATION_JSON_UTF8);
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(response.getOutputStream())) {
+            executionResponse.writeExecutionResultTo(generator);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void writeArray(List<ExecutionResponse> executionResponses) {
+        JsonArrayBuilder arrayBuilder = JSON_PROVIDER.createArrayBuilder();
+        for (ExecutionResponse executionResponse : executionResponses) {
+            arrayBuilder.add(executionResponse.getExecutionResultAsJsonObject());
+        }
+        try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(response.getOutputStream())) {
+            response.setContentType(APPLICATION_JSON_UTF8);
+            jsonWriter.writeArray(arrayBuilder.build());
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void writeStreaming(List<ExecutionResponse> executionResponses) {
+        response.setContentType(APPLICATION_JSON_UTF8);
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (ExecutionResponse executionResponse : executionResponses) {
+                executionResponse.writeExecutionResultTo(generator);
+            }
+            generator.writeEnd();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void setCacheControl(ExecutionResponse executionResponse) {
+        String cacheControl = executionResponse.getCacheControl();
+        if (cacheControl != null) {
+            response.setHeader(CACHE_CONTROL, cacheControl);
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package io.smallrye.graphql.entry.http;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Repeatable;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
@@ -11,21 +14,34 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
 import org.jboss.jandex.Indexer;
 
 import io.smallrye.graphql.api.Entry;
@@ -54,6 +70,7 @@ import io.smallrye.graphql.api.federation.policy.PolicyItem;
 import io.smallrye.graphql.api.federation.requiresscopes.RequiresScopes;
 import io.smallrye.graphql.api.federation.requiresscopes.ScopeGroup;
 import io.smallrye.graphql.api.federation.requiresscopes.ScopeItem;
+import io.smallrye.graphql.spi.config.Config;
 
 /**
  * This creates an index from the classpath.
@@ -61,13 +78,33 @@ import io.smallrye.graphql.api.federation.requiresscopes.ScopeItem;
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
 public class IndexInitializer {
+    private final boolean configuredCacheDirectory;
+    private final Path cacheDirectory;
 
+    /**
+     * Keep the indexes of the jars in {@code smallrye.graphql.index.cacheDirectory}, if it is set
+     */
+    public IndexInitializer() {
+        this.configuredCacheDirectory = true;
+        this.cacheDirectory = null;
+    }
+
+    /**
+     * @param cacheDirectory where to keep the indexes of the jars, so a jar is only indexed again when it changes, or
+     *        null to not keep them
+     */
+    public IndexInitializer(Path cacheDirectory) {
+        this.configuredCacheDirectory = false;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Create the index of the classes in these folders and jars. A jar with a {@code META-INF/jandex.idx} is not
+     * indexed again, the other jars are indexed in parallel.
+     */
     public IndexView createIndex(Set<URL> urls) {
         List<IndexView> indexes = new ArrayList<>();
 
-        // TODO: Read all jandex.idx in the classpath:
-        // something like Enumeration<URL> systemResources = ClassLoader.getSystemResources(JANDEX_IDX);
-
         // Check in this war
         try (InputStream stream = getClass().getClassLoader().getResourceAsStream(JANDEX_IDX)) {
             IndexReader reader = new IndexReader(stream);
@@ -79,7 +116,10 @@ public class IndexInitializer {
         }
 
         // Classes in this artifact
-        IndexView artifact = createIndexView(urls);
+        Path jarIndexes = configuredCacheDirectory
+                ? Config.get().getIndexCacheDirectory().map(Paths::get).orElse(null)
+                : cacheDirectory;
+        IndexView artifact = createIndexView(urls, jarIndexes);
         indexes.add(artifact);
 
         IndexView custom = createCustomIndex();
@@ -90,7 +130,7 @@ public class IndexInitializer {
 
     public IndexView createIndex() {
         Set<URL> urls = getUrlFromClassPath();
-        return createIndexView(urls);
+        return createIndexView(urls, cacheDirectory);
     }
 
     private IndexView createCustomIndex() {
@@ -140,24 +180,194 @@ public class IndexInitializer {
         return clazz.getResourceAsStream(resourceName);
     }
 
-    private IndexView createIndexView(Set<URL> urls) {
+    private IndexView createIndexView(Set<URL> urls, Path cacheDirectory) {
+        List<IndexView> indexes = new ArrayList<>();
+        List<URL> jars = new ArrayList<>();
         Indexer indexer = new Indexer();
         for (URL url : urls) {
-            try {
-                if (url.toString().endsWith(DOT_JAR) || url.toString().endsWith(DOT_WAR)) {
-                    SmallRyeGraphQLServletLogging.log.processingFile(url.toString());
-                    processJar(url.openStream(), indexer);
-                } else {
+            if (url.toString().endsWith(DOT_JAR) || url.toString().endsWith(DOT_WAR)) {
+                jars.add(url);
+            } else {
+                try {
                     processFolder(url, indexer);
+                } catch (IOException ex) {
+                    SmallRyeGraphQLServletLogging.log.cannotProcessFile(url.toString(), ex);
                 }
-            } catch (IOException ex) {
-                SmallRyeGraphQLServletLogging.log.cannotProcessFile(url.toString(), ex);
             }
         }
+        indexes.add(indexer.complete());
+        indexes.addAll(indexJars(jars, cacheDirectory));
+        return merge(indexes);
+    }
+
+    /**
+     * Index the jars in parallel, every jar on its own, as an {@link Indexer} can only be used by one thread
+     */
+    private List<IndexView> indexJars(List<URL> jars, Path cacheDirectory) {
+        List<IndexView> indexes = new ArrayList<>();
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), jars.size());
+        if (threads <= 1) {
+            for (URL jar : jars) {
+                addIfIndexed(indexes, indexJar(jar, cacheDirectory));
+            }
+            return indexes;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "smallrye-graphql-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<IndexView>> futures = new ArrayList<>();
+            for (URL jar : jars) {
+                futures.add(executor.submit(() -> indexJar(jar, cacheDirectory)));
+            }
+            for (Future<IndexView> future : futures) {
+                addIfIndexed(indexes, future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        } catch (ExecutionException ex) {
+            throw new RuntimeException(ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return indexes;
+    }
+
+    private void addIfIndexed(List<IndexView> indexes, IndexView index) {
+        if (index != null) {
+            indexes.add(index);
+        }
+    }
+
+    /**
+     * @return the index of the jar, or null if the jar can not be read
+     */
+    private IndexView indexJar(URL url, Path cacheDirectory) {
+        SmallRyeGraphQLServletLogging.log.processingFile(url.toString());
+        try {
+            Path path = toPath(url);
+            if (path == null) {
+                // not a file, so no random access
+                Indexer indexer = new Indexer();
+                try (InputStream inputStream = url.openStream()) {
+                    processJar(inputStream, indexer);
+                }
+                return indexer.complete();
+            }
+            try (ZipFile zipFile = new ZipFile(path.toFile())) {
+                IndexView index = readJandexIndex(url, zipFile);
+                if (index != null) {
+                    return index;
+                }
+                Path cached = cacheDirectory == null ? null : cacheDirectory.resolve(checksum(path) + DOT_IDX);
+                if (cached != null) {
+                    index = readCachedIndex(url, cached);
+                    if (index != null) {
+                        return index;
+                    }
+                }
+                Index created = processZipFile(zipFile);
+                if (cached != null) {
+                    writeCachedIndex(url, cached, created);
+                }
+                return created;
+            }
+        } catch (IOException ex) {
+            SmallRyeGraphQLServletLogging.log.cannotProcessFile(url.toString(), ex);
+            return null;
+        }
+    }
 
+    private IndexView readJandexIndex(URL url, ZipFile zipFile) {
+        ZipEntry entry = zipFile.getEntry(JANDEX_IDX);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            IndexView index = new IndexReader(inputStream).read();
+            SmallRyeGraphQLServletLogging.log.loadedJarIndexFrom(url.toString(), JANDEX_IDX);
+            return index;
+        } catch (IOException ex) {
+            // for example an index of an unsupported version, then the classes are indexed
+            SmallRyeGraphQLServletLogging.log.cannotProcessFile(url + "!/" + JANDEX_IDX, ex);
+            return null;
+        }
+    }
+
+    private IndexView readCachedIndex(URL url, Path cached) {
+        if (!Files.isRegularFile(cached)) {
+            return null;
+        }
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(cached))) {
+            IndexView index = new IndexReader(inputStream).read();
+            SmallRyeGraphQLServletLogging.log.loadedJarIndexFrom(url.toString(), cached.toString());
+            return index;
+        } catch (IOException ex) {
+            SmallRyeGraphQLServletLogging.log.cannotProcessFile(cached.toString(), ex);
+            return null;
+        }
+    }
+
+    private void writeCachedIndex(URL url, Path cached, Index index) {
+        try {
+            Files.createDirectories(cached.getParent());
+            // written next to it first, so other instances never read half an index
+            Path temp = Files.createTempFile(cached.getParent(), cached.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    new IndexWriter(outputStream).write(index);
+                }
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException ex) {
+            SmallRyeGraphQLServletLogging.log.cannotCacheIndex(url.toString(), cached.toString(), ex);
+        }
+    }
+
+    private Index processZipFile(ZipFile zipFile) throws IOException {
+        Indexer indexer = new Indexer();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String entryName = entry.getName();
+            if (!entry.isDirectory() && isIndexed(entryName)) {
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    processFile(entryName, inputStream, indexer);
+                }
+            }
+        }
         return indexer.complete();
     }
 
+    private static String checksum(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(path), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Path toPath(URL url) {
+        if (!FILE.equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
     private Set<URL> collectURLsFromClassPath() {
         Set<URL> urls = new HashSet<>();
         for (String s : System.getProperty(JAVA_CLASS_PATH).split(System.getProperty(PATH_SEPARATOR))) {
@@ -179,11 +389,14 @@ public class IndexInitializer {
 
                     List<Path> collected = walk
                             .filter(Files::isRegularFile)
+                            .filter(path -> isIndexed(path.getFileName().toString()))
                             .collect(Collectors.toList());
 
                     for (Path c : collected) {
                         String entryName = c.getFileName().toString();
-                        processFile(entryName, Files.newInputStream(c), indexer);
+                        try (InputStream inputStream = Files.newInputStream(c)) {
+                            processFile(entryName, inputStream, indexer);
+                        }
                     }
                 }
             } else {
@@ -216,6 +429,10 @@ public class IndexInitializer {
         }
     }
 
+    private static boolean isIndexed(String fileName) {
+        return fileName.endsWith(DOT_CLASS) || fileName.endsWith(DOT_WAR) || fileName.endsWith(DOT_JAR);
+    }
+
     private IndexView merge(Collection<IndexView> indexes) {
         return CompositeIndex.create(indexes);
     }
@@ -235,6 +452,8 @@ public class IndexInitializer {
     private static final String DOT_JAR = ".jar";
     private static final String DOT_WAR = ".war";
     private static final String DOT_CLASS = ".class";
+    private static final String DOT_IDX = ".idx";
+    private static final String FILE = "file";
     private static final String JAVA_CLASS_PATH = "java.class.path";
     private static final String PATH_SEPARATOR = "path.separator";
     private static final String JANDEX_IDX = "META-INF/jandex.idx";
@@ -55,6 +55,26 @@ public interface SmallRyeGraphQLServletLogging {
     @Message(id = 20008, value = "SmallRye GraphQL destroyed")
     void destroyed();
 
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 20009, value = "Loaded the schema from [%s]")
+    void loadedSchemaSnapshot(String location);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 20010, value = "Ignoring the schema in [%s], it is not built from these classes")
+    void outdatedSchemaSnapshot(String location);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 20011, value = "Cannot read the schema in [%s]")
+    void cannotReadSchemaSnapshot(String location, @Cause Exception cause);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 20012, value = "Loaded the index of [%s] from [%s]")
+    void loadedJarIndexFrom(String jar, String path);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 20013, value = "Cannot cache the index of [%s] in [%s]")
+    void cannotCacheIndex(String jar, String path, @Cause Exception cause);
+
     /* 21000-21999: query processing related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
@@ -69,4 +89,16 @@ public interface SmallRyeGraphQLServletLogging {
     @Message(id = 21002, value = "Unable to log reader %s")
     void unableToLogReader(Reader reader);
 
+    @LogMessage(level = Logger.Level.ERROR)
+    @Message(id = 21003, value = "Asynchronous execution failed")
+    void asyncExecutionFailed(@Cause Throwable t);
+
+    @LogMessage(level = Logger.Level.ERROR)
+    @Message(id = 21004, value = "Could not write the asynchronous response")
+    void asyncWriteFailed(@Cause Throwable t);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 21005, value = "Asynchronous request timed out after %s ms")
+    void asyncTimeout(long timeout);
+
 }
@@ -1,6 +1,7 @@
 package io.smallrye.graphql.entry.http;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
@@ -23,6 +24,7 @@ import org.jboss.jandex.IndexView;
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.cdi.producer.GraphQLProducer;
 import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.SchemaSnapshot;
 import io.smallrye.graphql.schema.model.Schema;
 
 /**
@@ -44,17 +46,20 @@ public class StartupListener implements ServletContextListener {
         try {
             Set<URL> warURLs = new HashSet<>();
             // Classes in the war
-            String warClasses = sce.getServletContext().getRealPath("WEB-INF/classes");
-            warURLs.add(Paths.get(warClasses).toUri().toURL());
-
+            Path warClasses = Paths.get(sce.getServletContext().getRealPath("WEB-INF/classes"));
             // Libs in the war
             String libs = sce.getServletContext().getRealPath("WEB-INF/lib");
             List<Path> jarsInLib = getJarsInLib(Paths.get(libs));
-            warURLs.addAll(toURLs(jarsInLib));
 
-            IndexView index = indexInitializer.createIndex(warURLs);
+            Schema schema = loadSnapshot(sce.getServletContext().getClassLoader(), warClasses, jarsInLib);
+            if (schema == null) {
+                warURLs.add(warClasses.toUri().toURL());
+                warURLs.addAll(toURLs(jarsInLib));
+
+                IndexView index = indexInitializer.createIndex(warURLs);
 
-            Schema schema = SchemaBuilder.build(index); // Get the smallrye schema
+                schema = SchemaBuilder.build(index); // Get the smallrye schema
+            }
             GraphQLSchema graphQLSchema = graphQLProducer.initialize(schema, true);
 
             sce.getServletContext().setAttribute(SchemaServlet.SCHEMA_PROP, graphQLSchema);
@@ -69,6 +74,32 @@ public class StartupListener implements ServletContextListener {
         SmallRyeGraphQLServletLogging.log.destroyed();
     }
 
+    /**
+     * Load the schema that the Maven or Gradle plugin built, if it is there and built from the same classes and jars
+     * that would be scanned
+     *
+     * @return the schema, or null if the classes have to be scanned
+     */
+    private Schema loadSnapshot(ClassLoader warClassLoader, Path warClasses, List<Path> jarsInLib) {
+        // the snapshot is in the war, which may not be where this listener is loaded from
+        try (InputStream snapshot = warClassLoader.getResourceAsStream(SchemaSnapshot.LOCATION)) {
+            if (snapshot == null) {
+                return null;
+            }
+            Schema schema = SchemaSnapshot.read(snapshot,
+                    SchemaSnapshot.fingerprint(List.of(warClasses), jarsInLib));
+            if (schema == null) {
+                SmallRyeGraphQLServletLogging.log.outdatedSchemaSnapshot(SchemaSnapshot.LOCATION);
+            } else {
+                SmallRyeGraphQLServletLogging.log.loadedSchemaSnapshot(SchemaSnapshot.LOCATION);
+            }
+            return schema;
+        } catch (IOException ex) {
+            SmallRyeGraphQLServletLogging.log.cannotReadSchemaSnapshot(SchemaSnapshot.LOCATION, ex);
+            return null;
+        }
+    }
+
     private List<URL> toURLs(List<Path> paths) throws MalformedURLException {
         List<URL> urls = new ArrayList<>();
         for (Path path : paths) {
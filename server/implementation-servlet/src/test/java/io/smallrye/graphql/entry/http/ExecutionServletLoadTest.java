@@ -0,0 +1,320 @@
+package io.smallrye.graphql.entry.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonObject;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.jboss.weld.junit5.auto.ActivateScopes;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.cdi.config.MicroProfileConfig;
+import io.smallrye.graphql.cdi.producer.GraphQLProducer;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionResponseWriter;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Load the servlet with more concurrent requests than the container has threads, against an operation that waits for a
+ * slow backend, and check if the container threads are held in the blocking and the async mode. The backend is held
+ * until the test answers it, so the test can count the container threads that are busy while the requests wait.
+ */
+@EnableAutoWeld
+@ActivateScopes({ RequestScoped.class, ApplicationScoped.class })
+@AddBeanClasses({ SlowApi.class })
+public class ExecutionServletLoadTest {
+    private static final int CONTAINER_THREADS = 4;
+    private static final int REQUESTS = 40;
+
+    @Inject
+    GraphQLProducer graphQLProducer;
+
+    private ExecutionServlet servlet;
+    private ExecutorService container;
+    // released when an async execution wrote its response or failed
+    private final Semaphore executed = new Semaphore(0);
+
+    @BeforeEach
+    public void init() throws IOException {
+        container = Executors.newFixedThreadPool(CONTAINER_THREADS);
+        Indexer indexer = new Indexer();
+        indexer.indexClass(SlowApi.class);
+        IndexView index = indexer.complete();
+        Schema schema = SchemaBuilder.build(index);
+        GraphQLSchema graphQLSchema = graphQLProducer.initialize(schema);
+        servlet = new ExecutionServlet(new ExecutionService(graphQLSchema, schema) {
+            @Override
+            public void executeAsync(JsonObject jsonInput, Map<String, Object> context, ExecutionResponseWriter writer) {
+                super.executeAsync(jsonInput, context, new ExecutionResponseWriter() {
+                    @Override
+                    public void write(ExecutionResponse executionResponse) {
+                        try {
+                            writer.write(executionResponse);
+                        } finally {
+                            executed.release();
+                        }
+                    }
+
+                    @Override
+                    public void fail(Throwable t) {
+                        try {
+                            writer.fail(t);
+                        } finally {
+                            executed.release();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    @AfterEach
+    public void destroy() {
+        SlowApi.answer();
+        container.shutdownNow();
+        config().setServletAsync(null);
+        config().setServletAsyncTimeout(null);
+    }
+
+    @Test
+    public void testBlockingModeHoldsTheContainerThreads() throws Exception {
+        config().setServletAsync(false);
+        CountDownLatch called = SlowApi.hold(CONTAINER_THREADS);
+
+        Load load = run();
+
+        // every container thread waits for the backend, so the other requests wait for a container thread
+        assertTrue(called.await(10, TimeUnit.SECONDS), load.toString());
+        assertEquals(CONTAINER_THREADS, load.busy.get(), load.toString());
+        assertEquals(REQUESTS, load.released.getCount(), load.toString());
+
+        SlowApi.answer();
+        load.assertResponses();
+        // every request held its container thread until its response was written
+        assertEquals(0, load.releasedBeforeResponse.get(), load.toString());
+    }
+
+    @Test
+    public void testAsyncModeReleasesTheContainerThreads() throws Exception {
+        config().setServletAsync(true);
+        CountDownLatch called = SlowApi.hold(REQUESTS);
+
+        Load load = run();
+
+        // all requests wait for the backend together, without holding a container thread
+        assertTrue(called.await(10, TimeUnit.SECONDS), load.toString());
+        assertTrue(load.released.await(10, TimeUnit.SECONDS), load.toString());
+        assertEquals(0, load.busy.get(), load.toString());
+        assertEquals(REQUESTS, load.releasedBeforeResponse.get(), load.toString());
+
+        SlowApi.answer();
+        load.assertResponses();
+    }
+
+    @Test
+    public void testAsyncTimeoutCompletesOnce() throws Exception {
+        config().setServletAsync(true);
+        config().setServletAsyncTimeout(5000L);
+        SlowApi.hold(1);
+
+        ResponseOutputStream outputStream = new ResponseOutputStream();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(outputStream);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(asyncContext.getResponse()).thenReturn(response);
+        AtomicReference<AsyncListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(asyncContext).addListener(any());
+        AtomicInteger completions = new AtomicInteger();
+        doAnswer(invocation -> completions.incrementAndGet()).when(asyncContext).complete();
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getContentType()).thenReturn("application/json");
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(
+                "{\"query\":\"{ greeting(name: \\\"late\\\") }\"}")));
+        when(request.getHeaderNames()).thenReturn(Collections.emptyEnumeration());
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync(any(), any())).thenReturn(asyncContext);
+
+        servlet.doPost(request, response);
+        verify(asyncContext).setTimeout(5000L);
+        // the container times out before the slow backend answers
+        listener.get().onTimeout(new AsyncEvent(asyncContext));
+        SlowApi.answer();
+        assertTrue(executed.tryAcquire(10, TimeUnit.SECONDS));
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response, never()).getOutputStream();
+        assertEquals(1, completions.get());
+        assertEquals("", outputStream.toString());
+    }
+
+    private Load run() throws IOException {
+        Load load = new Load();
+        for (int i = 0; i < REQUESTS; i++) {
+            load.responses.add(send(i, load));
+        }
+        return load;
+    }
+
+    /**
+     * Post a request the way the container would, on one of its threads
+     *
+     * @return the response body, once the response is complete
+     */
+    private CompletableFuture<String> send(int i, Load load) throws IOException {
+        CompletableFuture<String> body = new CompletableFuture<>();
+        ResponseOutputStream outputStream = new ResponseOutputStream();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(outputStream);
+
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(asyncContext.getResponse()).thenReturn(response);
+        AtomicInteger completions = new AtomicInteger();
+        doAnswer(invocation -> {
+            completions.incrementAndGet();
+            body.complete(outputStream.toString());
+            return null;
+        }).when(asyncContext).complete();
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getContentType()).thenReturn("application/json");
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(
+                "{\"query\":\"{ greeting(name: \\\"" + i + "\\\") }\"}")));
+        when(request.getHeaderNames()).thenReturn(Collections.emptyEnumeration());
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync(any(), any())).thenReturn(asyncContext);
+
+        container.execute(() -> {
+            load.busy.incrementAndGet();
+            try {
+                servlet.doPost(request, response);
+            } catch (IOException | RuntimeException ex) {
+                body.completeExceptionally(ex);
+            } finally {
+                if (outputStream.toString().isEmpty()) {
+                    load.releasedBeforeResponse.incrementAndGet();
+                }
+                load.busy.decrementAndGet();
+                load.released.countDown();
+            }
+            if (!config().isServletAsync()) {
+                body.complete(outputStream.toString());
+            }
+        });
+        return body.thenApply(json -> {
+            assertTrue(completions.get() <= 1, "the async context was completed more than once");
+            return json;
+        });
+    }
+
+    private static MicroProfileConfig config() {
+        return (MicroProfileConfig) Config.get();
+    }
+
+    /**
+     * The container threads of the requests, and their responses
+     */
+    private static final class Load {
+        private final AtomicInteger busy = new AtomicInteger();
+        private final CountDownLatch released = new CountDownLatch(REQUESTS);
+        private final AtomicInteger releasedBeforeResponse = new AtomicInteger();
+        private final List<CompletableFuture<String>> responses = new ArrayList<>();
+
+        void assertResponses() throws Exception {
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+            for (int i = 0; i < REQUESTS; i++) {
+                assertEquals("{\"data\":{\"greeting\":\"Hello " + i + "\"}}", responses.get(i).get());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return REQUESTS + " requests on " + CONTAINER_THREADS + " container threads, " + busy.get()
+                    + " threads busy, " + (REQUESTS - released.getCount()) + " released, "
+                    + releasedBeforeResponse.get() + " before their response was written";
+        }
+    }
+
+    /**
+     * An output stream that is always ready, like one with a large enough buffer
+     */
+    private static class ResponseOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes.write(b, off, len);
+        }
+
+        @Override
+        public String toString() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.smallrye.graphql.entry.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test indexing the classes and jars of a war
+ */
+public class IndexInitializerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testFoldersAndJars() throws IOException {
+        Path classes = dir.resolve("classes");
+        Path classFile = classes.resolve(SlowApi.class.getName().replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, classBytes(SlowApi.class));
+        Path jar = jar("lib.jar", IndexInitializerTest.class);
+
+        IndexView index = new IndexInitializer(dir.resolve("cache")).createIndex(urls(classes, jar));
+
+        assertNotNull(index.getClassByName(DotName.createSimple(SlowApi.class.getName())));
+        assertNotNull(index.getClassByName(DotName.createSimple(IndexInitializerTest.class.getName())));
+    }
+
+    @Test
+    public void testJandexIndexOfJar() throws IOException {
+        // the index says the jar has another class than it has
+        Path jar = jar("indexed.jar", IndexInitializerTest.class);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("META-INF/jandex.idx"));
+            new IndexWriter(out).write(Index.of(SlowApi.class));
+            out.putNextEntry(new JarEntry(IndexInitializerTest.class.getName().replace('.', '/') + ".class"));
+            out.write(classBytes(IndexInitializerTest.class));
+        }
+
+        IndexView index = new IndexInitializer(dir.resolve("cache")).createIndex(urls(jar));
+
+        assertNotNull(index.getClassByName(DotName.createSimple(SlowApi.class.getName())));
+        assertNull(index.getClassByName(DotName.createSimple(IndexInitializerTest.class.getName())));
+    }
+
+    @Test
+    public void testCachedIndexOfJar() throws IOException {
+        Path cache = dir.resolve("cache");
+        Path jar = jar("lib.jar", IndexInitializerTest.class);
+        new IndexInitializer(cache).createIndex(urls(jar));
+        List<Path> cached = list(cache);
+        assertEquals(1, cached.size());
+
+        // the cached index is used instead of the classes
+        try (OutputStream out = Files.newOutputStream(cached.get(0))) {
+            new IndexWriter(out).write(Index.of(SlowApi.class));
+        }
+        IndexView index = new IndexInitializer(cache).createIndex(urls(jar));
+
+        assertNotNull(index.getClassByName(DotName.createSimple(SlowApi.class.getName())));
+        assertNull(index.getClassByName(DotName.createSimple(IndexInitializerTest.class.getName())));
+    }
+
+    @Test
+    public void testManyJars() throws IOException {
+        Path[] jars = new Path[20];
+        for (int i = 0; i < jars.length; i++) {
+            jars[i] = jar("lib" + i + ".jar", i % 2 == 0 ? SlowApi.class : IndexInitializerTest.class);
+        }
+
+        IndexView index = new IndexInitializer(dir.resolve("cache")).createIndex(urls(jars));
+
+        assertNotNull(index.getClassByName(DotName.createSimple(SlowApi.class.getName())));
+        assertNotNull(index.getClassByName(DotName.createSimple(IndexInitializerTest.class.getName())));
+        // the same jars are cached once
+        assertEquals(2, list(dir.resolve("cache")).size());
+    }
+
+    private Path jar(String name, Class<?> clazz) throws IOException {
+        Path jar = dir.resolve(name);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            JarEntry entry = new JarEntry(clazz.getName().replace('.', '/') + ".class");
+            // so jars with the same class are the same
+            entry.setTime(0);
+            out.putNextEntry(entry);
+            out.write(classBytes(clazz));
+        }
+        return jar;
+    }
+
+    private static byte[] classBytes(Class<?> clazz) throws IOException {
+        try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Set<URL> urls(Path... paths) {
+        return Stream.of(paths).map(path -> {
+            try {
+                return path.toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).collect(Collectors.toSet());
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.smallrye.graphql.entry.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+/**
+ * An API that waits for a slow backend without holding a thread. The backend answers right away, unless a test holds
+ * it, so the test decides when the requests that wait for it go on.
+ */
+@GraphQLApi
+@ApplicationScoped
+public class SlowApi {
+    private static volatile CompletableFuture<Void> backend = CompletableFuture.completedFuture(null);
+    private static volatile CountDownLatch called = new CountDownLatch(0);
+
+    /**
+     * Hold the backend until {@link #answer()}
+     *
+     * @param calls the number of calls to wait for
+     * @return counted down by every call of the backend
+     */
+    static CountDownLatch hold(int calls) {
+        backend = new CompletableFuture<>();
+        called = new CountDownLatch(calls);
+        return called;
+    }
+
+    /**
+     * Answer the calls that wait for the backend, and the ones that come after
+     */
+    static void answer() {
+        backend.complete(null);
+    }
+
+    @Query
+    public CompletionStage<String> greeting(String name) {
+        called.countDown();
+        return backend.thenApply(answered -> "Hello " + name);
+    }
+}
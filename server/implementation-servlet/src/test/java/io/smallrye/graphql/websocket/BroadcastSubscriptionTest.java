@@ -0,0 +1,147 @@
+package io.smallrye.graphql.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.jboss.weld.junit5.auto.ActivateScopes;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.cdi.producer.GraphQLProducer;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.websocket.graphqltransportws.GraphQLTransportWSSubprotocolHandler;
+
+/**
+ * Test that the clients that join a broadcast subscription do not call its method, unless it checks roles, and that a
+ * subscription can be shared per principal
+ */
+@EnableAutoWeld
+@ActivateScopes({ RequestScoped.class, ApplicationScoped.class })
+@AddBeanClasses({ PriceApi.class })
+public class BroadcastSubscriptionTest {
+
+    @Inject
+    GraphQLProducer graphQLProducer;
+
+    @BeforeEach
+    public void init() throws IOException {
+        Indexer indexer = new Indexer();
+        indexer.indexClass(PriceApi.class);
+        IndexView index = indexer.complete();
+        Schema schema = SchemaBuilder.build(index);
+        graphQLProducer.initialize(schema);
+        PriceApi.calls.set(0);
+        PriceApi.subscriptions.set(0);
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        List<Client> clients = subscribeAll("prices");
+
+        assertEquals(1, PriceApi.calls.get());
+        assertEquals(1, PriceApi.subscriptions.get());
+        close(clients);
+    }
+
+    @Test
+    public void testSharedPerPrincipal() throws Exception {
+        List<Client> clients = subscribeAll("myPrices");
+
+        assertEquals(2, PriceApi.calls.get());
+        assertEquals(2, PriceApi.subscriptions.get());
+        close(clients);
+    }
+
+    @Test
+    public void testRolesAreCheckedByEveryClient() throws Exception {
+        List<Client> clients = subscribeAll("trades");
+
+        assertEquals(3, PriceApi.calls.get());
+        assertEquals(1, PriceApi.subscriptions.get());
+        close(clients);
+    }
+
+    // subscribes alice, then alice again and bob when the stream of the first one is there
+    private static List<Client> subscribeAll(String field) throws InterruptedException {
+        Client alice = subscribe("alice", field);
+        await(() -> PriceApi.subscriptions.get() == 1);
+        Client aliceAgain = subscribe("alice", field);
+        Client bob = subscribe("bob", field);
+
+        // the clients may still be joining, so send prices until all of them got one
+        await(() -> {
+            PriceApi.prices.onNext(42);
+            return alice.gotPrice(field) && aliceAgain.gotPrice(field) && bob.gotPrice(field);
+        });
+        return List.of(alice, aliceAgain, bob);
+    }
+
+    private static void close(List<Client> clients) {
+        for (Client client : clients) {
+            client.handler.onClose();
+        }
+    }
+
+    private static Client subscribe(String name, String field) {
+        Principal principal = () -> name;
+        Map<String, Object> context = new HashMap<>();
+        context.put("principal", principal);
+        Client client = new Client();
+        client.handler = new GraphQLTransportWSSubprotocolHandler(client, context);
+        client.handler.onMessage("{\"type\":\"connection_init\"}");
+        client.handler.onMessage("{\"id\":\"1\",\"type\":\"subscribe\",\"payload\":{\"query\":\"subscription { "
+                + field + " }\"}}");
+        return client;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    private static class Client implements GraphQLWebSocketSession {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private GraphQLWebsocketHandler handler;
+        private volatile boolean closed;
+
+        @Override
+        public void sendMessage(String message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void close(short statusCode, String reason) {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        boolean gotPrice(String field) {
+            return messages.stream().anyMatch(message -> message.contains("\"" + field + "\":42"));
+        }
+    }
+}
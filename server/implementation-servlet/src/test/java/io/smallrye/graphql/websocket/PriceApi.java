@@ -0,0 +1,54 @@
+package io.smallrye.graphql.websocket;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+import io.smallrye.graphql.api.Broadcast;
+import io.smallrye.graphql.api.Subscription;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+
+/**
+ * An API with subscriptions that are shared between clients, that counts how often they are called and subscribed to
+ */
+@GraphQLApi
+@ApplicationScoped
+public class PriceApi {
+    static final AtomicInteger calls = new AtomicInteger();
+    static final AtomicInteger subscriptions = new AtomicInteger();
+    static final BroadcastProcessor<Integer> prices = BroadcastProcessor.create();
+
+    @Query
+    public int price() {
+        return 0;
+    }
+
+    @Subscription
+    @Broadcast
+    public Multi<Integer> prices() {
+        return stream();
+    }
+
+    @Subscription
+    @Broadcast(perPrincipal = true)
+    public Multi<Integer> myPrices() {
+        return stream();
+    }
+
+    @Subscription
+    @Broadcast
+    @RolesAllowed("trader")
+    public Multi<Integer> trades() {
+        return stream();
+    }
+
+    private static Multi<Integer> stream() {
+        calls.incrementAndGet();
+        return prices.onSubscription().invoke(subscriptions::incrementAndGet);
+    }
+}
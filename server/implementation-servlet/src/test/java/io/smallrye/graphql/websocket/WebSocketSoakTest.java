@@ -0,0 +1,146 @@
+package io.smallrye.graphql.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.jboss.logging.Logger;
+import org.jboss.weld.junit5.auto.ActivateScopes;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.cdi.producer.GraphQLProducer;
+import io.smallrye.graphql.entry.http.SlowApi;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.websocket.graphqltransportws.GraphQLTransportWSSubprotocolHandler;
+
+/**
+ * Open many websocket sessions at once, and check that all of them get their keep-alives, and that the ones that never
+ * initialize the connection are closed. The sessions use a scheduler of their own, with a keep-alive interval of one
+ * second and an initialisation timeout of two seconds, whatever the shared scheduler was started with.
+ */
+@EnableAutoWeld
+@ActivateScopes({ RequestScoped.class, ApplicationScoped.class })
+@AddBeanClasses({ SlowApi.class })
+public class WebSocketSoakTest {
+    private static final Logger LOG = Logger.getLogger(WebSocketSoakTest.class.getName());
+
+    private static final int SESSIONS = 10_000;
+
+    @Inject
+    GraphQLProducer graphQLProducer;
+
+    @BeforeEach
+    public void init() throws IOException {
+        Indexer indexer = new Indexer();
+        indexer.indexClass(SlowApi.class);
+        IndexView index = indexer.complete();
+        Schema schema = SchemaBuilder.build(index);
+        graphQLProducer.initialize(schema);
+    }
+
+    @Test
+    public void testManySessions() throws Exception {
+        KeepAliveScheduler scheduler = new KeepAliveScheduler(1, 2);
+        // warm up, so class loading and the shared scheduler do not count
+        new GraphQLTransportWSSubprotocolHandler(new SoakSession(), new HashMap<>()).onClose();
+
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = usedHeap();
+
+        List<SoakSession> sessions = new ArrayList<>(SESSIONS);
+        List<AbstractGraphQLWebsocketHandler> handlers = new ArrayList<>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+            SoakSession session = new SoakSession();
+            AbstractGraphQLWebsocketHandler handler = new GraphQLTransportWSSubprotocolHandler(session, new HashMap<>());
+            handler.onOpen(scheduler);
+            // every other session never initializes the connection
+            if (i % 2 == 0) {
+                handler.onMessage("{\"type\":\"connection_init\"}");
+            }
+            sessions.add(session);
+            handlers.add(handler);
+        }
+
+        long bytesPerSession = (usedHeap() - heapBefore) / SESSIONS;
+        int threadsAdded = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+        LOG.infof("%d sessions use about %d bytes each, and added %d threads", SESSIONS, bytesPerSession, threadsAdded);
+        // the heap depends on when the garbage collector runs, so it is only reported
+        assertTrue(threadsAdded < 16, threadsAdded + " threads added");
+
+        // tick every second, like the shared scheduler does
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!allDone(sessions) && System.nanoTime() < deadline) {
+            Thread.sleep(1000);
+            scheduler.tick();
+        }
+
+        for (int i = 0; i < SESSIONS; i++) {
+            SoakSession session = sessions.get(i);
+            if (i % 2 == 0) {
+                assertTrue(session.pings.get() > 0, "session " + i + " got no keep-alive");
+                assertEquals(0, session.closedWith, "session " + i + " was closed");
+            } else {
+                assertEquals(4408, session.closedWith, "session " + i + " was not closed");
+            }
+        }
+        handlers.forEach(GraphQLWebsocketHandler::onClose);
+        assertEquals(0, scheduler.getSessions());
+    }
+
+    private static boolean allDone(List<SoakSession> sessions) {
+        for (int i = 0; i < sessions.size(); i++) {
+            SoakSession session = sessions.get(i);
+            if (i % 2 == 0 ? session.pings.get() == 0 : session.closedWith == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static class SoakSession implements GraphQLWebSocketSession {
+        private final AtomicInteger pings = new AtomicInteger();
+        private volatile short closedWith;
+
+        @Override
+        public void sendMessage(String message) {
+            if (message.contains("\"ping\"")) {
+                pings.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void close(short statusCode, String reason) {
+            closedWith = statusCode;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closedWith != 0;
+        }
+    }
+}
@@ -58,6 +58,22 @@ public interface SmallRyeGraphQLServerLogging {
     @Message(id = 11006, value = "Payload Out [%s]")
     void payloadOut(String payload);
 
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 11007, value = "Operation [%s] from the operation manifest is not valid: %s")
+    void invalidManifestOperation(String name, String errors);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 11008, value = "Prepared %d of %d operations from the operation manifest")
+    void preparedManifestOperations(int valid, int total);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 11009, value = "Using reflection to access [%s]: %s")
+    void usingReflectionAccess(String member, String reason);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 11010, value = "Binding input type [%s] with JSON-B: %s")
+    void bindingInputWithJsonB(String className, String reason);
+
     /* 12000-12999: data fetching related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
@@ -82,6 +98,10 @@ public interface SmallRyeGraphQLServerLogging {
     @Message(id = 13004, value = "Using %s service for class loading")
     void usingClassLoadingService(String name);
 
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 13005, value = "Using %s for persisted queries")
+    void usingPersistedQueryStore(String name);
+
     /* 14000-14999: data transforming related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
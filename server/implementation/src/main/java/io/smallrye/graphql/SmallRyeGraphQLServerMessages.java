@@ -81,4 +81,11 @@ public interface SmallRyeGraphQLServerMessages {
 
     @Message(id = 22, value = "Can not parse a number from [%s]")
     CoercingParseLiteralException numberCoercingParseException(String input);
+
+    @Message(id = 23, value = "Can not create the %s [%s] for the DataLoader of [%s]")
+    IllegalArgumentException canNotCreateDataLoaderOption(String option, String className, String dataLoader,
+            @Cause Throwable cause);
+
+    @Message(id = 24, value = "Only the operations of the operation manifest are allowed, but there is no manifest with operations at [%s]")
+    IllegalStateException noOperationManifest(String location);
 }
@@ -57,6 +57,7 @@ import graphql.schema.visibility.GraphqlFieldVisibility;
 import io.smallrye.graphql.JsonProviderHolder;
 import io.smallrye.graphql.SmallRyeGraphQLServerMessages;
 import io.smallrye.graphql.execution.Classes;
+import io.smallrye.graphql.execution.cache.ResultCache;
 import io.smallrye.graphql.execution.datafetcher.BatchDataFetcher;
 import io.smallrye.graphql.execution.datafetcher.CollectionCreator;
 import io.smallrye.graphql.execution.datafetcher.PlugableDataFetcher;
@@ -167,6 +168,8 @@ public class Bootstrap {
 
     private void generateGraphQLSchema() {
         GraphQLSchema.Builder schemaBuilder = GraphQLSchema.newSchema();
+        // before the data fetchers are created, that may only be on their first call
+        ResultCache.getInstance().bootstrap(schema);
 
         if (Config.get().isFederationEnabled()) {
             linkProcessor.createLinkImports();
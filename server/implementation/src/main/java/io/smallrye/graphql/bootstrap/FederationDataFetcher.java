@@ -1,21 +1,15 @@
 package io.smallrye.graphql.bootstrap;
 
-import static java.util.stream.Collectors.toSet;
-
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import com.apollographql.federation.graphqljava._Entity;
 
@@ -31,143 +25,69 @@ import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLNamedSchemaElement;
 import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
-import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLType;
 import io.smallrye.graphql.spi.config.Config;
 
+/**
+ * Resolves the representations of {@code _entities}.
+ *
+ * The resolvers of every entity type are found once, when the schema is bootstrapped. A resolver is a field of the
+ * resolvers type or of the query type, or of a nested (namespace) type of the query type, that returns the entity
+ * and has an argument for every key field of the representation. A batch resolver returns a list of the entity and
+ * has list arguments.
+ *
+ * With batch resolving, the representations are grouped by resolver. All groups are started before waiting for any
+ * of them, so the groups of asynchronous resolvers are resolved at the same time.
+ */
 public class FederationDataFetcher implements DataFetcher<CompletableFuture<List<Object>>> {
 
     public static final String TYPENAME = "__typename";
-    private final GraphQLObjectType queryType;
-    private final GraphQLObjectType resolversType;
-    private final GraphQLCodeRegistry codeRegistry;
-    private final ConcurrentHashMap<TypeAndArgumentNames, TypeFieldWrapper> cache = new ConcurrentHashMap<>();
+
+    private final boolean batchResolving = Config.get().isFederationBatchResolvingEnabled();
+    /**
+     * The resolvers of every type, in the order they are tried
+     */
+    private final Map<String, List<EntityResolver>> resolvers = new HashMap<>();
+    private final Map<String, List<EntityResolver>> batchResolvers = new HashMap<>();
 
     public FederationDataFetcher(GraphQLObjectType resolversType, GraphQLObjectType queryType,
             GraphQLCodeRegistry codeRegistry) {
-        this.resolversType = resolversType;
-        this.queryType = queryType;
-        this.codeRegistry = codeRegistry;
-    }
-
-    @Override
-    public CompletableFuture<List<Object>> get(DataFetchingEnvironment environment) throws Exception {
-
-        var reps = environment.<List<Map<String, Object>>> getArgument(_Entity.argumentName);
-        //if we use batch resolving we need to make sure we preserve the order
-        var representations = IntStream.range(0, reps.size()).boxed().map(i -> new Representation(reps.get(i), i))
-                .collect(Collectors.toList());
-        if (Config.get().isFederationBatchResolvingEnabled()) {
-            //first we group all representations by their type and arguments
-            var repsWithPositionPerType = representations.stream().collect(Collectors.groupingBy(r -> r.typeAndArgumentNames));
-            //then we search for the field definition to resolve the objects
-            var fieldDefinitions = repsWithPositionPerType.keySet().stream()
-                    .collect(Collectors.toMap(Function.identity(), typeAndArgumentNames -> cache.computeIfAbsent(
-                            typeAndArgumentNames, type -> Objects.requireNonNullElseGet(
-                                    findBatchFieldDefinition(type),
-                                    () -> findFieldDefinition(type)))));
-            return sequence(repsWithPositionPerType.entrySet().stream().map(e -> {
-                var fieldDefinition = fieldDefinitions.get(e.getKey());
-                if (getGraphqlTypeFromField(fieldDefinition.getField()) instanceof GraphQLList) {
-                    //use batch loader if available
-                    return executeList(fieldDefinition, environment, e.getValue());
-                } else {
-                    //else normal loader
-                    return sequence(e.getValue().stream().map(r -> execute(fieldDefinition, environment, r))
-                            .collect(Collectors.toList()));
-
-                }
-            }).collect(Collectors.toList())).thenApply(l -> l.stream().flatMap(List::stream)
-                    //restore order
-                    .sorted(Comparator.comparingInt(r -> r.position)).map(r -> r.Result).collect(Collectors.toList()));
-
-        }
-        return sequence(representations.stream()
-                .map(rep -> fetchEntities(environment, rep,
-                        cache.computeIfAbsent(rep.typeAndArgumentNames, this::findFieldDefinition)))
-                .collect(Collectors.toList())).thenApply(l -> l.stream().map(r -> r.Result).collect(Collectors.toList()));
-    }
-
-    private TypeFieldWrapper findRecursiveFieldDefinition(TypeAndArgumentNames typeAndArgumentNames,
-            GraphQLFieldDefinition field, BiFunction<GraphQLFieldDefinition, String, Boolean> matchesReturnType) {
-        if (field.getType() instanceof GraphQLObjectType) {
-            for (GraphQLSchemaElement child : field.getType().getChildren()) {
-                if (child instanceof GraphQLFieldDefinition) {
-                    GraphQLFieldDefinition definition = (GraphQLFieldDefinition) child;
-                    if (matchesReturnType.apply(definition, typeAndArgumentNames.type)
-                            && matchesArguments(typeAndArgumentNames, definition)) {
-                        return new TypeFieldWrapper((GraphQLObjectType) field.getType(), definition);
-                    } else if (definition.getType() instanceof GraphQLObjectType) {
-                        return findRecursiveFieldDefinition(typeAndArgumentNames, definition, matchesReturnType);
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
-    private TypeFieldWrapper findBatchFieldDefinition(TypeAndArgumentNames typeAndArgumentNames) {
         for (GraphQLFieldDefinition field : resolversType.getFields()) {
-            if (matchesReturnTypeList(field, typeAndArgumentNames.type) && matchesArguments(typeAndArgumentNames, field)) {
-                return new TypeFieldWrapper(resolversType, field);
-            }
+            index(resolversType, field, codeRegistry);
         }
         for (GraphQLFieldDefinition field : queryType.getFields()) {
-            if (matchesReturnTypeList(field, typeAndArgumentNames.type) && matchesArguments(typeAndArgumentNames, field)) {
-                return new TypeFieldWrapper(queryType, field);
-            }
+            index(queryType, field, codeRegistry);
         }
+        Set<String> visited = new HashSet<>();
         for (GraphQLFieldDefinition field : queryType.getFields()) {
-            TypeFieldWrapper typeFieldWrapper = findRecursiveFieldDefinition(typeAndArgumentNames, field,
-                    this::matchesReturnTypeList);
-            if (typeFieldWrapper != null) {
-                return typeFieldWrapper;
-            }
+            indexNested(field, codeRegistry, visited);
         }
-        return null;
     }
 
-    private TypeFieldWrapper findFieldDefinition(TypeAndArgumentNames typeAndArgumentNames) {
-        for (GraphQLFieldDefinition field : resolversType.getFields()) {
-            if (matchesReturnType(field, typeAndArgumentNames.type) && matchesArguments(typeAndArgumentNames, field)) {
-                return new TypeFieldWrapper(resolversType, field);
-            }
-        }
-        for (GraphQLFieldDefinition field : queryType.getFields()) {
-            if (matchesReturnType(field, typeAndArgumentNames.type) && matchesArguments(typeAndArgumentNames, field)) {
-                return new TypeFieldWrapper(queryType, field);
-            }
-        }
-        for (GraphQLFieldDefinition field : queryType.getFields()) {
-            TypeFieldWrapper typeFieldWrapper = findRecursiveFieldDefinition(typeAndArgumentNames, field,
-                    this::matchesReturnType);
-            if (typeFieldWrapper != null) {
-                return typeFieldWrapper;
+    private void indexNested(GraphQLFieldDefinition field, GraphQLCodeRegistry codeRegistry, Set<String> visited) {
+        if (field.getType() instanceof GraphQLObjectType) {
+            GraphQLObjectType type = (GraphQLObjectType) field.getType();
+            if (visited.add(type.getName())) {
+                for (GraphQLFieldDefinition definition : type.getFields()) {
+                    index(type, definition, codeRegistry);
+                    indexNested(definition, codeRegistry, visited);
+                }
             }
         }
-        throw new RuntimeException(
-                "no query found for " + typeAndArgumentNames.type + " by " + typeAndArgumentNames.argumentNames);
     }
 
-    private CompletableFuture<ResultObject> fetchEntities(DataFetchingEnvironment env, Representation representation,
-            TypeFieldWrapper wrapper) {
-        return execute(wrapper, env, representation);
-    }
-
-    private boolean matchesReturnType(GraphQLFieldDefinition field, String typename) {
+    private void index(GraphQLObjectType type, GraphQLFieldDefinition field, GraphQLCodeRegistry codeRegistry) {
         GraphQLType returnType = getGraphqlTypeFromField(field);
-        return returnType instanceof GraphQLNamedSchemaElement
-                && ((GraphQLNamedSchemaElement) returnType).getName().equals(typename);
-    }
-
-    private boolean matchesReturnTypeList(GraphQLFieldDefinition field, String typename) {
-        GraphQLType listType = getGraphqlTypeFromField(field);
-        if (listType instanceof GraphQLList) {
-            var returnType = ((GraphQLList) listType).getOriginalWrappedType();
-            return returnType instanceof GraphQLNamedSchemaElement
-                    && ((GraphQLNamedSchemaElement) returnType).getName().equals(typename);
-        } else {
-            return false;
+        if (returnType instanceof GraphQLNamedSchemaElement) {
+            resolvers.computeIfAbsent(((GraphQLNamedSchemaElement) returnType).getName(), name -> new ArrayList<>())
+                    .add(new EntityResolver(field, codeRegistry.getDataFetcher(type, field), false));
+        } else if (returnType instanceof GraphQLList) {
+            GraphQLType elementType = ((GraphQLList) returnType).getOriginalWrappedType();
+            if (elementType instanceof GraphQLNamedSchemaElement) {
+                batchResolvers.computeIfAbsent(((GraphQLNamedSchemaElement) elementType).getName(),
+                        name -> new ArrayList<>())
+                        .add(new EntityResolver(field, codeRegistry.getDataFetcher(type, field), true));
+            }
         }
     }
 
@@ -179,174 +99,206 @@ public class FederationDataFetcher implements DataFetcher<CompletableFuture<List
         return type;
     }
 
-    private boolean matchesArguments(TypeAndArgumentNames typeAndArgumentNames, GraphQLFieldDefinition field) {
-        Set<String> argumentNames = field.getArguments().stream().map(GraphQLArgument::getName).collect(toSet());
-        return argumentNames.equals(typeAndArgumentNames.argumentNames);
-    }
-
-    private CompletableFuture<List<ResultObject>> executeList(TypeFieldWrapper wrapper, DataFetchingEnvironment env,
-            List<Representation> representations) {
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(wrapper.getType(), wrapper.getField());
-        Map<String, List<Object>> arguments = new HashMap<>();
-        representations.forEach(r -> {
-            r.arguments.forEach((argumentName, argumentValue) -> {
-                arguments.computeIfAbsent(argumentName, ignore -> new ArrayList<>()).add(argumentValue);
-            });
-        });
-        Map<String, Object> argumentsAsObject = new HashMap<>(arguments);
-        DataFetchingEnvironment argsEnv = new DelegatingDataFetchingEnvironment(env) {
-            @Override
-            public Map<String, Object> getArguments() {
-                return argumentsAsObject;
-            }
-
-            @Override
-            public boolean containsArgument(String name) {
-                return argumentsAsObject.containsKey(name);
+    @Override
+    public CompletableFuture<List<Object>> get(DataFetchingEnvironment environment) throws Exception {
+        List<Map<String, Object>> representations = environment.getArgument(_Entity.argumentName);
+        Object[] results = new Object[representations.size()];
+
+        if (batchResolving) {
+            //first we group all representations by their resolver, keeping their position to restore the order
+            Map<EntityResolver, Group> groups = new LinkedHashMap<>();
+            for (int i = 0; i < representations.size(); i++) {
+                Map<String, Object> representation = representations.get(i);
+                EntityResolver resolver = find(batchResolvers, representation);
+                if (resolver == null) {
+                    resolver = getResolver(representation);
+                }
+                groups.computeIfAbsent(resolver, r -> new Group()).add(representation, i);
             }
-
-            @Override
-            public <T> T getArgument(String name) {
-                //noinspection unchecked
-                return (T) argumentsAsObject.get(name);
+            //then we start all groups before waiting for any of them
+            List<CompletableFuture<?>> futures = new ArrayList<>(groups.size());
+            for (Map.Entry<EntityResolver, Group> group : groups.entrySet()) {
+                futures.add(resolve(group.getKey(), group.getValue(), environment, results));
             }
+            return allOf(futures, results);
+        }
 
-            @Override
-            public <T> T getArgumentOrDefault(String name, T defaultValue) {
-                return containsArgument(name) ? getArgument(name) : defaultValue;
-            }
-        };
-        try {
-            return Async.toCompletableFuture(dataFetcher.get(argsEnv)).thenApply(results -> {
-                List<Object> resultList;
-                if (results instanceof DataFetcherResult) {
-                    //noinspection unchecked
-                    resultList = (List<Object>) ((DataFetcherResult<?>) results).getData();
-                } else if (results instanceof List<?>) {
-                    //noinspection unchecked
-                    resultList = (List<Object>) results;
-                } else {
-                    throw new IllegalStateException(
-                            "Result of batchDataFetcher for Field " + wrapper.getField().getName() + " needs to be a list"
-                                    + results.toString());
-                }
+        List<CompletableFuture<?>> futures = new ArrayList<>(representations.size());
+        for (int i = 0; i < representations.size(); i++) {
+            Map<String, Object> representation = representations.get(i);
+            futures.add(execute(getResolver(representation), environment, representation, i, results));
+        }
+        return allOf(futures, results);
+    }
 
-                if (resultList.size() != representations.size()) {
-                    throw new IllegalStateException("Size of result list " + resultList.size()
-                            + " needs to be equal to size of arguments " + representations.size());
-                }
-                return IntStream
-                        .range(0, resultList.size()).boxed()
-                        .map(i -> new ResultObject(resultList.get(i), representations.get(i).position))
-                        .collect(Collectors.toList());
-            });
-        } catch (Exception e) {
-            throw new RuntimeException("can't fetch data from " + wrapper.getField(), e);
+    private EntityResolver getResolver(Map<String, Object> representation) {
+        EntityResolver resolver = find(resolvers, representation);
+        if (resolver == null) {
+            Set<String> argumentNames = new TreeSet<>(representation.keySet());
+            argumentNames.remove(TYPENAME);
+            throw new RuntimeException("no query found for " + representation.get(TYPENAME) + " by " + argumentNames);
         }
+        return resolver;
     }
 
-    private CompletableFuture<ResultObject> execute(TypeFieldWrapper wrapper, DataFetchingEnvironment env,
-            Representation representation) {
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(wrapper.getType(), wrapper.getField());
-        DataFetchingEnvironment argsEnv = new DelegatingDataFetchingEnvironment(env) {
-            @Override
-            public Map<String, Object> getArguments() {
-                return representation.arguments;
+    private static EntityResolver find(Map<String, List<EntityResolver>> resolvers, Map<String, Object> representation) {
+        List<EntityResolver> candidates = resolvers.get((String) representation.get(TYPENAME));
+        if (candidates != null) {
+            for (EntityResolver candidate : candidates) {
+                if (candidate.matches(representation)) {
+                    return candidate;
+                }
             }
+        }
+        return null;
+    }
 
-            @Override
-            public boolean containsArgument(String name) {
-                return representation.arguments.containsKey(name);
-            }
+    private CompletableFuture<?> resolve(EntityResolver resolver, Group group, DataFetchingEnvironment env,
+            Object[] results) {
+        if (resolver.batch) {
+            return executeList(resolver, env, group, results);
+        }
+        List<CompletableFuture<?>> futures = new ArrayList<>(group.size);
+        for (int i = 0; i < group.size; i++) {
+            futures.add(execute(resolver, env, group.representations.get(i), group.positions[i], results));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
 
-            @Override
-            public <T> T getArgument(String name) {
-                //noinspection unchecked
-                return (T) representation.arguments.get(name);
+    private CompletableFuture<?> executeList(EntityResolver resolver, DataFetchingEnvironment env, Group group,
+            Object[] results) {
+        Map<String, Object> arguments = new HashMap<>();
+        for (String argumentName : resolver.argumentNames) {
+            List<Object> values = new ArrayList<>(group.size);
+            for (Map<String, Object> representation : group.representations) {
+                values.add(representation.get(argumentName));
             }
+            arguments.put(argumentName, values);
+        }
+        try {
+            return Async.toCompletableFuture(resolver.dataFetcher.get(new ArgumentsEnvironment(env, arguments)))
+                    .thenAccept(result -> {
+                        List<Object> resultList;
+                        if (result instanceof DataFetcherResult) {
+                            //noinspection unchecked
+                            resultList = (List<Object>) ((DataFetcherResult<?>) result).getData();
+                        } else if (result instanceof List<?>) {
+                            //noinspection unchecked
+                            resultList = (List<Object>) result;
+                        } else {
+                            throw new IllegalStateException(
+                                    "Result of batchDataFetcher for Field " + resolver.field.getName()
+                                            + " needs to be a list" + result);
+                        }
+
+                        if (resultList.size() != group.size) {
+                            throw new IllegalStateException("Size of result list " + resultList.size()
+                                    + " needs to be equal to size of arguments " + group.size);
+                        }
+                        for (int i = 0; i < group.size; i++) {
+                            results[group.positions[i]] = resultList.get(i);
+                        }
+                    });
+        } catch (Exception e) {
+            throw new RuntimeException("can't fetch data from " + resolver.field, e);
+        }
+    }
 
-            @Override
-            public <T> T getArgumentOrDefault(String name, T defaultValue) {
-                return containsArgument(name) ? getArgument(name) : defaultValue;
-            }
-        };
+    private CompletableFuture<?> execute(EntityResolver resolver, DataFetchingEnvironment env,
+            Map<String, Object> representation, int position, Object[] results) {
         try {
-            return Async.toCompletableFuture(dataFetcher.get(argsEnv))
-                    .thenApply(o -> new ResultObject(o, representation.position));
+            return Async.toCompletableFuture(resolver.dataFetcher.get(new ArgumentsEnvironment(env, representation)))
+                    .thenAccept(result -> results[position] = result);
         } catch (Exception e) {
-            throw new RuntimeException("can't fetch data from " + wrapper.getField(), e);
+            throw new RuntimeException("can't fetch data from " + resolver.field, e);
         }
     }
 
-    static <T> CompletableFuture<List<T>> sequence(List<CompletableFuture<T>> com) {
-        return CompletableFuture.allOf(com.toArray(new CompletableFuture<?>[0]))
-                .thenApply(v -> com.stream()
-                        .map(CompletableFuture::join)
-                        .collect(Collectors.toList()));
+    private static CompletableFuture<List<Object>> allOf(List<CompletableFuture<?>> futures, Object[] results) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> Arrays.asList(results));
     }
 
-    static class ResultObject {
-        final Object Result;
-        final int position;
+    /**
+     * A field that resolves an entity by the arguments of a representation
+     */
+    static class EntityResolver {
+        final GraphQLFieldDefinition field;
+        final DataFetcher<?> dataFetcher;
+        final boolean batch;
+        final String[] argumentNames;
+
+        EntityResolver(GraphQLFieldDefinition field, DataFetcher<?> dataFetcher, boolean batch) {
+            this.field = field;
+            this.dataFetcher = dataFetcher;
+            this.batch = batch;
+            this.argumentNames = field.getArguments().stream().map(GraphQLArgument::getName).toArray(String[]::new);
+        }
 
-        public ResultObject(Object result, int position) {
-            Result = result;
-            this.position = position;
+        /**
+         * @return if the arguments are the fields of the representation, besides the typename
+         */
+        boolean matches(Map<String, Object> representation) {
+            int fields = representation.containsKey(TYPENAME) ? representation.size() - 1 : representation.size();
+            if (fields != argumentNames.length) {
+                return false;
+            }
+            for (String argumentName : argumentNames) {
+                if (!representation.containsKey(argumentName)) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 
-    static class Representation {
-        final Map<String, Object> arguments;
-        final int position;
-        final TypeAndArgumentNames typeAndArgumentNames;
+    /**
+     * The representations of one resolver, with their positions in the request
+     */
+    static class Group {
+        final List<Map<String, Object>> representations = new ArrayList<>();
+        int[] positions = new int[16];
+        int size;
+
+        void add(Map<String, Object> representation, int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            representations.add(representation);
+            positions[size++] = position;
+        }
+    }
+
+    /**
+     * The environment of the resolver, with the arguments from the representations
+     */
+    static class ArgumentsEnvironment extends DelegatingDataFetchingEnvironment {
+        private final Map<String, Object> arguments;
 
-        public Representation(Map<String, Object> arguments, int position) {
+        ArgumentsEnvironment(DataFetchingEnvironment delegate, Map<String, Object> arguments) {
+            super(delegate);
             this.arguments = arguments;
-            this.position = position;
-            var argumentNames = new HashSet<>(arguments.keySet());
-            argumentNames.remove(TYPENAME);
-            this.typeAndArgumentNames = new TypeAndArgumentNames(argumentNames, (String) arguments.get(TYPENAME));
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-            Representation that = (Representation) o;
-            return position == that.position && Objects.equals(arguments, that.arguments)
-                    && Objects.equals(typeAndArgumentNames, that.typeAndArgumentNames);
+        public Map<String, Object> getArguments() {
+            return arguments;
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(arguments, position, typeAndArgumentNames);
-        }
-    }
-
-    static class TypeAndArgumentNames {
-        final Set<String> argumentNames;
-        final String type;
-
-        public TypeAndArgumentNames(Set<String> argumentNames, String type) {
-            this.argumentNames = argumentNames;
-            this.type = type;
+        public boolean containsArgument(String name) {
+            return arguments.containsKey(name);
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-            TypeAndArgumentNames that = (TypeAndArgumentNames) o;
-            return Objects.equals(argumentNames, that.argumentNames) && Objects.equals(type, that.type);
+        public <T> T getArgument(String name) {
+            //noinspection unchecked
+            return (T) arguments.get(name);
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(argumentNames, type);
+        public <T> T getArgumentOrDefault(String name, T defaultValue) {
+            return containsArgument(name) ? getArgument(name) : defaultValue;
         }
     }
 }
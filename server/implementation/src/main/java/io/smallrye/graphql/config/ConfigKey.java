@@ -11,7 +11,11 @@ public interface ConfigKey extends org.eclipse.microprofile.graphql.ConfigKey {
     public static final String ALLOW_GET = "smallrye.graphql.allowGet";
     public static final String ALLOW_POST_WITH_QUERY_PARAMETERS = "smallrye.graphql.allowPostWithQueryParameters";
     public static final String ENABLE_METRICS = "smallrye.graphql.metrics.enabled";
+    public static final String METRICS_SAMPLING_PERCENTAGE = "smallrye.graphql.metrics.samplingPercentage";
     public static final String ENABLE_TRACING = "smallrye.graphql.tracing.enabled";
+    public static final String ENABLE_FIELD_TRACING = "smallrye.graphql.tracing.fields.enabled";
+    public static final String FIELD_TRACING_SAMPLING_PERCENTAGE = "smallrye.graphql.tracing.fields.samplingPercentage";
+    public static final String FIELD_TRACING_THRESHOLD_MILLIS = "smallrye.graphql.tracing.fields.thresholdMillis";
     public static final String ENABLE_EVENTS = "smallrye.graphql.events.enabled";
     public static final String ENABLE_FEDERATION = "smallrye.graphql.federation.enabled";
     public static final String ENABLE_FEDERATION_BATCH_RESOLVING = "smallrye.graphql.federation.batchResolving.enabled";
@@ -31,5 +35,31 @@ public interface ConfigKey extends org.eclipse.microprofile.graphql.ConfigKey {
     public static final String INSTRUMENTATION_QUERY_COMPLEXITY = "smallrye.graphql.instrumentation.queryComplexity";
     public static final String INSTRUMENTATION_QUERY_DEPTH = "smallrye.graphql.instrumentation.queryDepth";
     public static final String EXCLUDE_NULL_FIELDS_IN_RESPONSES = "smallrye.graphql.exclude-null-fields-in-responses";
+    public static final String STREAM_RESPONSES = "smallrye.graphql.streamResponses";
+    public static final String SERVLET_ASYNC = "smallrye.graphql.servlet.async";
+    public static final String SERVLET_ASYNC_TIMEOUT = "smallrye.graphql.servlet.asyncTimeout";
+    public static final String WEBSOCKET_KEEP_ALIVE_INTERVAL = "smallrye.graphql.websocket.keepAliveIntervalSeconds";
+    public static final String WEBSOCKET_CONNECTION_INIT_TIMEOUT = "smallrye.graphql.websocket.connectionInitTimeoutSeconds";
+    public static final String SUBSCRIPTION_BACKPRESSURE = "smallrye.graphql.websocket.subscription.backpressure";
+    public static final String SUBSCRIPTION_PREFETCH = "smallrye.graphql.websocket.subscription.prefetch";
+    public static final String SUBSCRIPTION_BUFFER_SIZE = "smallrye.graphql.websocket.subscription.bufferSize";
+    public static final String BATCHING_ENABLED = "smallrye.graphql.batching.enabled";
+    public static final String BATCHING_MAX_SIZE = "smallrye.graphql.batching.maxSize";
+    public static final String BATCHING_SHARE_DATA_LOADERS = "smallrye.graphql.batching.shareDataLoaders";
+    // followed by <Type>_<field>.<option>
+    public static final String DATALOADER_PREFIX = "smallrye.graphql.dataloader.";
+    public static final String PERSISTED_QUERIES_ENABLED = "smallrye.graphql.persistedQueries.enabled";
+    public static final String PERSISTED_QUERIES_MAX_SIZE = "smallrye.graphql.persistedQueries.maxSize";
+    public static final String PERSISTED_QUERIES_DIRECTORY = "smallrye.graphql.persistedQueries.directory";
+    public static final String PERSISTED_QUERIES_MAX_BYTES = "smallrye.graphql.persistedQueries.maxBytes";
+    public static final String PERSISTED_QUERIES_DIRECTORY_MAX_BYTES = "smallrye.graphql.persistedQueries.directoryMaxBytes";
+    public static final String OPERATION_ALLOWLIST_ONLY = "smallrye.graphql.operationManifest.allowlistOnly";
+    public static final String COST_MAX_PER_OPERATION = "smallrye.graphql.cost.maxPerOperation";
+    public static final String COST_BUDGET_HEADER = "smallrye.graphql.cost.budget.header";
+    public static final String COST_BUDGET_CAPACITY = "smallrye.graphql.cost.budget.capacity";
+    public static final String COST_BUDGET_REFILL_PER_SECOND = "smallrye.graphql.cost.budget.refillPerSecond";
+    public static final String COST_DEFAULT_LIST_SIZE = "smallrye.graphql.cost.defaultListSize";
+    public static final String RESULT_CACHE_MAX_SIZE = "smallrye.graphql.resultCache.maxSize";
+    public static final String INDEX_CACHE_DIRECTORY = "smallrye.graphql.index.cacheDirectory";
 
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.BatchLoaderWithContext;
+import org.dataloader.CacheKey;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.scheduler.BatchLoaderScheduler;
+
+import io.smallrye.graphql.bootstrap.DataFetcherFactory;
+import io.smallrye.graphql.config.ConfigKey;
+import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
+import io.smallrye.graphql.schema.model.BatchOptions;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.spi.ClassloadingService;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Creates the DataLoaders of the batched source fields.
+ *
+ * A request gets a registry that only creates the DataLoader of a field when the field first asks for it, so a request
+ * does not pay for the batched fields its document does not select. The batch loader and options of a field are created
+ * once, and shared by all requests.
+ *
+ * The options come from {@link io.smallrye.graphql.api.BatchOptions} on the method, and config
+ * {@code smallrye.graphql.dataloader.<Type>_<field>.<option>} takes precedence. When a batch is bigger than the
+ * {@code maxBatchSize}, it is split here instead of in the DataLoader, so all parts are started before waiting for any.
+ */
+final class DataLoaders {
+
+    private final Schema schema;
+    private final DataFetcherFactory dataFetcherFactory;
+    private final Map<String, Operation> operations = new HashMap<>();
+    private final Map<String, Loader> loaders = new ConcurrentHashMap<>();
+
+    DataLoaders(Schema schema, DataFetcherFactory dataFetcherFactory, BatchLoaderHelper batchLoaderHelper) {
+        this.schema = schema;
+        this.dataFetcherFactory = dataFetcherFactory;
+        for (Operation operation : schema.getBatchOperations()) {
+            operations.put(batchLoaderHelper.getName(operation), operation);
+        }
+    }
+
+    boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * @return a registry for one request
+     */
+    DataLoaderRegistry newRegistry() {
+        return new LazyDataLoaderRegistry(UnaryOperator.identity());
+    }
+
+    /**
+     * @param decorator wraps the batch loader of every DataLoader the registry creates
+     * @return a registry for one request
+     */
+    DataLoaderRegistry newRegistry(UnaryOperator<BatchLoaderWithContext<Object, Object>> decorator) {
+        return new LazyDataLoaderRegistry(decorator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataLoader<?, ?> newDataLoader(String name, UnaryOperator<BatchLoaderWithContext<Object, Object>> decorator) {
+        Operation operation = operations.get(name);
+        if (operation == null) {
+            return null;
+        }
+        Loader loader = loaders.computeIfAbsent(name, n -> createLoader(n, operation));
+        return DataLoaderFactory.newDataLoader(decorator.apply((BatchLoaderWithContext<Object, Object>) loader.batchLoader),
+                loader.options);
+    }
+
+    private <K, V> Loader createLoader(String name, Operation operation) {
+        BatchLoaderWithContext<K, V> batchLoader = dataFetcherFactory.getSourceBatchLoader(operation,
+                schema.getTypes().get(operation.getName()));
+
+        BatchOptions batchOptions = operation.hasBatchOptions() ? operation.getBatchOptions() : new BatchOptions();
+        Config config = Config.get();
+        String prefix = ConfigKey.DATALOADER_PREFIX + name + ".";
+        int maxBatchSize = config.getConfigValue(prefix + "maxBatchSize", Integer.class, batchOptions.getMaxBatchSize());
+        boolean caching = config.getConfigValue(prefix + "caching", Boolean.class, batchOptions.isCaching());
+        String cacheKey = config.getConfigValue(prefix + "cacheKey", String.class, batchOptions.getCacheKeyClassName());
+        String batchLoaderScheduler = config.getConfigValue(prefix + "batchLoaderScheduler", String.class,
+                batchOptions.getBatchLoaderSchedulerClassName());
+
+        DataLoaderOptions options = DataLoaderOptions.newOptions().setCachingEnabled(caching);
+        if (cacheKey != null) {
+            options.setCacheKeyFunction(newInstance(CacheKey.class, cacheKey, name));
+        }
+        if (batchLoaderScheduler != null) {
+            options.setBatchLoaderScheduler(newInstance(BatchLoaderScheduler.class, batchLoaderScheduler, name));
+        }
+        if (maxBatchSize > 0) {
+            batchLoader = new SplittingBatchLoader<>(batchLoader, maxBatchSize);
+        }
+        return new Loader(batchLoader, options);
+    }
+
+    private static <T> T newInstance(Class<T> type, String className, String name) {
+        try {
+            Object instance = ClassloadingService.get().loadClass(className).getConstructor().newInstance();
+            return type.cast(instance);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            throw msg.canNotCreateDataLoaderOption(type.getSimpleName(), className, name, ex);
+        }
+    }
+
+    private static class Loader {
+        private final BatchLoaderWithContext<?, ?> batchLoader;
+        private final DataLoaderOptions options;
+
+        Loader(BatchLoaderWithContext<?, ?> batchLoader, DataLoaderOptions options) {
+            this.batchLoader = batchLoader;
+            this.options = options;
+        }
+    }
+
+    private class LazyDataLoaderRegistry extends DataLoaderRegistry {
+        private final UnaryOperator<BatchLoaderWithContext<Object, Object>> decorator;
+
+        LazyDataLoaderRegistry(UnaryOperator<BatchLoaderWithContext<Object, Object>> decorator) {
+            this.decorator = decorator;
+        }
+
+        @Override
+        public <K, V> DataLoader<K, V> getDataLoader(String key) {
+            return computeIfAbsent(key, name -> newDataLoader(name, decorator));
+        }
+    }
+
+    /**
+     * Calls the batch loader with at most maxBatchSize keys at a time. All parts are called on the current thread, in the
+     * request context of the batch method. The parts of an asynchronous batch method run at the same time.
+     */
+    private static class SplittingBatchLoader<K, V> implements BatchLoaderWithContext<K, V> {
+        private final BatchLoaderWithContext<K, V> batchLoader;
+        private final int maxBatchSize;
+
+        SplittingBatchLoader(BatchLoaderWithContext<K, V> batchLoader, int maxBatchSize) {
+            this.batchLoader = batchLoader;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public CompletionStage<List<V>> load(List<K> keys, BatchLoaderEnvironment environment) {
+            if (keys.size() <= maxBatchSize) {
+                return batchLoader.load(keys, environment);
+            }
+            List<Object> keyContexts = environment.getKeyContextsList();
+            List<CompletableFuture<List<V>>> parts = new ArrayList<>();
+            for (int from = 0; from < keys.size(); from += maxBatchSize) {
+                int to = Math.min(from + maxBatchSize, keys.size());
+                List<K> partKeys = keys.subList(from, to);
+                BatchLoaderEnvironment partEnvironment = BatchLoaderEnvironment.newBatchLoaderEnvironment()
+                        .context(environment.getContext())
+                        .keyContexts(partKeys, keyContexts.subList(from, to))
+                        .build();
+                parts.add(batchLoader.load(partKeys, partEnvironment).toCompletableFuture());
+            }
+            return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).thenApply(v -> {
+                List<V> values = new ArrayList<>(keys.size());
+                for (CompletableFuture<List<V>> part : parts) {
+                    values.addAll(part.join());
+                }
+                return values;
+            });
+        }
+    }
+}
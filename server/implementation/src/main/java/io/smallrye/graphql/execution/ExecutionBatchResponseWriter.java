@@ -0,0 +1,22 @@
+package io.smallrye.graphql.execution;
+
+import java.util.List;
+
+/**
+ * Write the responses of a batch of operations to something
+ */
+public interface ExecutionBatchResponseWriter {
+
+    /**
+     * @param responses one response per operation, in the order of the operations
+     */
+    public void write(List<ExecutionResponse> responses);
+
+    default void fail(Throwable t) {
+        if (t.getClass().isAssignableFrom(RuntimeException.class)) {
+            throw (RuntimeException) t;
+        } else {
+            throw new RuntimeException(t);
+        }
+    }
+}
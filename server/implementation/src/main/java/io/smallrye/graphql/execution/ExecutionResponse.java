@@ -3,6 +3,7 @@ package io.smallrye.graphql.execution;
 import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
 
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
@@ -24,6 +25,8 @@ import jakarta.json.JsonValue;
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.json.bind.JsonbConfig;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
@@ -39,6 +42,7 @@ public class ExecutionResponse {
 
     private static final JsonBuilderFactory jsonObjectFactory = JSON_PROVIDER.createBuilderFactory(null);
     private static final JsonReaderFactory jsonReaderFactory = JSON_PROVIDER.createReaderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
     private static final Jsonb jsonB = JsonbBuilder.create(new JsonbConfig()
             .withNullValues(Boolean.TRUE)
             .withFormatting(Boolean.TRUE));
@@ -52,6 +56,11 @@ public class ExecutionResponse {
 
     private final Set<List<Object>> errorPaths;
 
+    private boolean broadcast;
+    private boolean broadcastPerPrincipal;
+
+    private String cacheControl;
+
     public ExecutionResponse(ExecutionResult executionResult) {
         this(executionResult, null);
     }
@@ -72,6 +81,42 @@ public class ExecutionResponse {
         return this.executionResult;
     }
 
+    /**
+     * @return if this is a subscription that can be shared with the clients that send the same request
+     * @see io.smallrye.graphql.api.Broadcast
+     */
+    public boolean isBroadcast() {
+        return broadcast;
+    }
+
+    void setBroadcast(boolean broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    /**
+     * @return if this is a subscription that can only be shared with the clients of the same principal
+     * @see io.smallrye.graphql.api.Broadcast#perPrincipal()
+     */
+    public boolean isBroadcastPerPrincipal() {
+        return broadcastPerPrincipal;
+    }
+
+    void setBroadcastPerPrincipal(boolean broadcastPerPrincipal) {
+        this.broadcastPerPrincipal = broadcastPerPrincipal;
+    }
+
+    /**
+     * @return the value of the {@code Cache-Control} header, null if the response should not be cached
+     * @see io.smallrye.graphql.api.CacheControl
+     */
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    void setCacheControl(String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
     public JsonObject getExecutionResultAsJsonObject() {
         JsonObjectBuilder returnObjectBuilder = jsonObjectFactory.createObjectBuilder();
         // Errors
@@ -85,7 +130,31 @@ public class ExecutionResponse {
     }
 
     public String getExecutionResultAsString() {
-        return getExecutionResultAsJsonObject().toString();
+        StringWriter stringWriter = new StringWriter();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(stringWriter)) {
+            writeExecutionResultTo(generator);
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * Write the execution result straight to the provided generator, without building a {@code JsonObject} first.
+     * <p>
+     * The output is the same as {@link #getExecutionResultAsJsonObject()}, but the result is streamed token by token.
+     * The generator can be positioned at the root, in an array, or right after a key.
+     * The caller is responsible for flushing and closing the generator.
+     *
+     * @param generator the generator to write to
+     */
+    public void writeExecutionResultTo(JsonGenerator generator) {
+        generator.writeStartObject();
+        // Errors
+        writeErrorsToResponse(generator, executionResult);
+        // Data
+        writeDataToResponse(generator, executionResult);
+        // Extensions
+        writeExtensionsToResponse(generator, executionResult);
+        generator.writeEnd();
     }
 
     private JsonObjectBuilder addErrorsToResponse(JsonObjectBuilder returnObjectBuilder, ExecutionResult executionResult) {
@@ -216,6 +285,103 @@ public class ExecutionResponse {
         return jsonValue;
     }
 
+    private void writeErrorsToResponse(JsonGenerator generator, ExecutionResult executionResult) {
+        List<GraphQLError> errors = executionResult.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            generator.writeKey(ERRORS);
+            errorsService.writeJsonErrors(generator, errors);
+        }
+    }
+
+    private void writeDataToResponse(JsonGenerator generator, ExecutionResult executionResult) {
+        if (!executionResult.isDataPresent()) {
+            return;
+        }
+        generator.writeKey(DATA);
+        writeJsonValue(generator, executionResult.getData());
+    }
+
+    private void writeExtensionsToResponse(JsonGenerator generator, ExecutionResult executionResult) {
+        final Map<Object, Object> extensions = executionResult.getExtensions();
+        if (extensions != null) { // ERRORS
+            writeExtensions(generator, extensions);
+        } else if (addedExtensions != null && !addedExtensions.isEmpty()) { // ADDED EXTENSIONS
+            writeExtensions(generator, new HashMap(addedExtensions));
+        }
+    }
+
+    private void writeExtensions(JsonGenerator generator, final Map<Object, Object> extensions) {
+        generator.writeKey(EXTENSIONS);
+        generator.writeStartObject();
+        for (final Map.Entry<Object, Object> entry : extensions.entrySet()) {
+            if (entry.getKey() instanceof String) {
+                generator.writeKey((String) entry.getKey());
+                writeJsonValue(generator, entry.getValue());
+            }
+        }
+        generator.writeEnd();
+    }
+
+    /**
+     * Streaming counterpart of {@link #toJsonValue(Object)}: write the provided Object as json tokens.
+     * <p>
+     * Numbers are written the same way the {@code JsonValue} tree would print them, so both paths produce the same output.
+     *
+     * @param generator the generator to write to, positioned where a value is expected
+     * @param pojo a java object, limited to {@code Collection}, {@code Map}, {@code Number}, {@code Boolean} and {@code Enum}
+     */
+    private void writeJsonValue(JsonGenerator generator, Object pojo) {
+        if (pojo == null) {
+            generator.writeNull();
+        } else if (pojo instanceof Map) {
+            generator.writeStartObject();
+            Map<String, Object> map = (Map<String, Object>) pojo;
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                pushToPathBuffer(entry.getKey());
+                Object value = entry.getValue();
+                if ((!Config.get().isExcludeNullFieldsInResponses()) || (value != null
+                        || errorPaths.contains(pathBuffer))) {
+                    generator.writeKey(entry.getKey());
+                    writeJsonValue(generator, value);
+                }
+                popFromThePathBuffer();
+            }
+            generator.writeEnd();
+        } else if (pojo instanceof Collection) {
+            generator.writeStartArray();
+            int index = 0;
+            for (final Object o : (Collection<Object>) pojo) {
+                pushToPathBuffer(index);
+                writeJsonValue(generator, o);
+                popFromThePathBuffer();
+                index++;
+            }
+            generator.writeEnd();
+        } else if (pojo instanceof Boolean) {
+            generator.write((Boolean) pojo);
+        } else if (pojo instanceof String) {
+            generator.write((String) pojo);
+        } else if (pojo instanceof Double) {
+            // same representation as JsonProvider.createValue(double)
+            generator.write(BigDecimal.valueOf(((Number) pojo).doubleValue()));
+        } else if (pojo instanceof Float) {
+            //upcast to double would lead to precision loss
+            generator.write(new BigDecimal(String.valueOf(((Number) pojo).floatValue())));
+        } else if (pojo instanceof Long) {
+            generator.write((Long) pojo);
+        } else if (pojo instanceof Integer || pojo instanceof Short || pojo instanceof Byte) {
+            generator.write(((Number) pojo).intValue());
+        } else if (pojo instanceof BigDecimal) {
+            generator.write((BigDecimal) pojo);
+        } else if (pojo instanceof BigInteger) {
+            generator.write((BigInteger) pojo);
+        } else if (pojo instanceof Enum<?>) {
+            generator.write(((Enum<?>) pojo).name());
+        } else {
+            generator.write(toJsonValue(pojo));
+        }
+    }
+
     private void pushToPathBuffer(Object object) {
         if (pathBuffer != null) {
             pathBuffer.push(object);
@@ -3,8 +3,10 @@ package io.smallrye.graphql.execution;
 import static com.apollographql.federation.graphqljava.tracing.FederatedTracingInstrumentation.FEDERATED_TRACING_HEADER_NAME;
 import static com.apollographql.federation.graphqljava.tracing.FederatedTracingInstrumentation.FEDERATED_TRACING_HEADER_VALUE;
 import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -12,13 +14,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.json.JsonObject;
 
-import org.dataloader.BatchLoaderWithContext;
-import org.dataloader.DataLoader;
-import org.dataloader.DataLoaderFactory;
 import org.dataloader.DataLoaderRegistry;
 
 import com.apollographql.federation.graphqljava.tracing.FederatedTracingInstrumentation;
@@ -40,16 +41,19 @@ import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.api.Broadcast;
 import io.smallrye.graphql.bootstrap.DataFetcherFactory;
+import io.smallrye.graphql.execution.PersistedQueries.PersistedQueryException;
+import io.smallrye.graphql.execution.cache.CacheHints;
 import io.smallrye.graphql.execution.context.SmallRyeContext;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
+import io.smallrye.graphql.execution.cost.CostInstrumentation;
 import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
 import io.smallrye.graphql.execution.error.ExceptionHandler;
 import io.smallrye.graphql.execution.error.UnparseableDocumentException;
 import io.smallrye.graphql.execution.event.EventEmitter;
-import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Schema;
-import io.smallrye.graphql.schema.model.Type;
+import io.smallrye.graphql.spi.PersistedQueryStore;
 import io.smallrye.graphql.spi.config.Config;
 import io.smallrye.graphql.spi.config.LogPayloadOption;
 import io.smallrye.mutiny.Uni;
@@ -66,15 +70,15 @@ public class ExecutionService {
 
     private final GraphQLSchema graphQLSchema;
 
-    private final BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
-    private final DataFetcherFactory dataFetcherFactory = new DataFetcherFactory();
     private final Schema schema;
+    private final DataLoaders dataLoaders;
 
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
 
     private GraphQL graphQL;
 
     private final QueryCache queryCache;
+    private final PersistedQueries persistedQueries;
     private final LogPayloadOption payloadOption;
 
     private final Optional<SubmissionPublisher<String>> traficPublisher;
@@ -101,6 +105,7 @@ public class ExecutionService {
 
         this.graphQLSchema = graphQLSchema;
         this.schema = schema;
+        this.dataLoaders = new DataLoaders(schema, new DataFetcherFactory(), new BatchLoaderHelper());
 
         // use schema's hash as prefix to differentiate between multiple apps
         this.executionIdPrefix = Integer.toString(Objects.hashCode(graphQLSchema));
@@ -110,6 +115,7 @@ public class ExecutionService {
         this.mutationExecutionStrategy = mutationExecutionStrategy;
 
         Config config = Config.get();
+        this.persistedQueries = createPersistedQueries(config);
         this.payloadOption = config.logPayload();
         this.traficPublisher = traficPublisher;
     }
@@ -150,12 +156,54 @@ public class ExecutionService {
     }
 
     public void execute(JsonObject jsonInput, Map<String, Object> context, ExecutionResponseWriter writer, boolean async) {
+        execute(jsonInput, context, writer, async, null);
+    }
+
+    /**
+     * Execute a batch of operations concurrently. The responses are written together once all operations are done, in
+     * the order of the operations. The batch fails if one of the operations fails.
+     *
+     * @param jsonInputs the operations
+     * @param context the context, every operation gets a copy
+     * @param shareDataLoaders if the DataLoaders of the operations are dispatched together, so a batch loader gets the
+     *        keys of all operations that load with the same arguments at once.
+     * @param writer the writer for the responses
+     */
+    public void executeBatch(List<JsonObject> jsonInputs, Map<String, Object> context, boolean shareDataLoaders,
+            ExecutionBatchResponseWriter writer) {
+        int size = jsonInputs.size();
+        if (size == 0) {
+            writer.write(List.of());
+            return;
+        }
+        SharedDataLoaders sharedDataLoaders = shareDataLoaders && !dataLoaders.isEmpty()
+                ? new SharedDataLoaders(dataLoaders, size)
+                : null;
+        BatchResponses batchResponses = new BatchResponses(size, sharedDataLoaders, writer);
+        for (int i = 0; i < size; i++) {
+            DataLoaderRegistry dataLoaderRegistry = sharedDataLoaders != null ? sharedDataLoaders.getRegistry(i) : null;
+            execute(jsonInputs.get(i), new HashMap<>(context), batchResponses.writerFor(i), true, dataLoaderRegistry);
+        }
+    }
+
+    private void execute(JsonObject jsonInput, Map<String, Object> context, ExecutionResponseWriter writer, boolean async,
+            DataLoaderRegistry sharedDataLoaderRegistry) {
         SmallRyeContext smallRyeContext = SmallRyeContextManager.fromInitialRequest(jsonInput);
 
         // ExecutionId
         ExecutionId finalExecutionId = ExecutionId.from(executionIdPrefix + executionId.getAndIncrement());
 
         try {
+            // Persisted query
+            if (persistedQueries != null) {
+                try {
+                    smallRyeContext.setRequest(persistedQueries.resolve(jsonInput));
+                } catch (PersistedQueryException ex) {
+                    sendError(ex.getMessage(), Map.of("code", ex.getCode()), writer);
+                    return;
+                }
+            }
+
             String query = smallRyeContext.getQuery();
             Optional<Map<String, Object>> variables = smallRyeContext.getVariables();
 
@@ -180,11 +228,11 @@ public class ExecutionService {
                 // Operation name
                 smallRyeContext.getOperationName().ifPresent(executionBuilder::operationName);
 
-                // DataLoaders
-                List<Operation> batchOperations = schema.getBatchOperations();
-                if (!batchOperations.isEmpty()) {
-                    DataLoaderRegistry dataLoaderRegistry = getDataLoaderRegistry(batchOperations);
-                    executionBuilder.dataLoaderRegistry(dataLoaderRegistry);
+                // DataLoaders, created when a field first uses them
+                if (sharedDataLoaderRegistry != null) {
+                    executionBuilder.dataLoaderRegistry(sharedDataLoaderRegistry);
+                } else if (!dataLoaders.isEmpty()) {
+                    executionBuilder.dataLoaderRegistry(dataLoaders.newRegistry());
                 }
 
                 ExecutionInput executionInput = executionBuilder.build();
@@ -209,6 +257,7 @@ public class ExecutionService {
                 }
             } else {
                 log.noGraphQLMethodsFound();
+                sendError("No GraphQL methods found", writer);
             }
         } catch (Throwable t) {
             eventEmitter.fireOnExecuteError(smallRyeContext, t);
@@ -216,6 +265,76 @@ public class ExecutionService {
         }
     }
 
+    /**
+     * Collects the responses of a batch, and writes them once the last operation is done
+     */
+    private static class BatchResponses {
+        private final ExecutionResponse[] responses;
+        private final SharedDataLoaders sharedDataLoaders;
+        private final ExecutionBatchResponseWriter writer;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        BatchResponses(int size, SharedDataLoaders sharedDataLoaders, ExecutionBatchResponseWriter writer) {
+            this.responses = new ExecutionResponse[size];
+            this.sharedDataLoaders = sharedDataLoaders;
+            this.writer = writer;
+            this.remaining = new AtomicInteger(size);
+        }
+
+        ExecutionResponseWriter writerFor(int operation) {
+            return new ExecutionResponseWriter() {
+                @Override
+                public void write(ExecutionResponse executionResponse) {
+                    responses[operation] = executionResponse;
+                    done(operation);
+                }
+
+                @Override
+                public void fail(Throwable t) {
+                    failure.compareAndSet(null, t);
+                    done(operation);
+                }
+            };
+        }
+
+        private void done(int operation) {
+            if (sharedDataLoaders != null) {
+                sharedDataLoaders.finished(operation);
+            }
+            // the atomic decrement also makes the responses of the other threads visible
+            if (remaining.decrementAndGet() == 0) {
+                Throwable t = failure.get();
+                if (t != null) {
+                    writer.fail(t);
+                } else {
+                    writer.write(Arrays.asList(responses));
+                }
+            }
+        }
+    }
+
+    private PersistedQueries createPersistedQueries(Config config) {
+        OperationManifest manifest = OperationManifest.load();
+        if (!manifest.isEmpty() && graphQLSchema != null) {
+            setParserOptions(config);
+            int valid = manifest.warm(graphQLSchema, queryCache);
+            log.preparedManifestOperations(valid, manifest.getOperations().size());
+        }
+        boolean allowlistOnly = config.isOperationAllowlistOnly();
+        if (allowlistOnly && manifest.isEmpty()) {
+            // every operation would be rejected
+            throw msg.noOperationManifest(OperationManifest.LOCATION);
+        }
+        // the operations of the manifest can only be sent by id when persisted queries are enabled
+        if (!config.isPersistedQueriesEnabled() && !allowlistOnly) {
+            return null;
+        }
+        PersistedQueryStore store = config.isPersistedQueriesEnabled() && !allowlistOnly ? PersistedQueryStore.load()
+                : null;
+        return new PersistedQueries(store, manifest.getOperations(), allowlistOnly);
+    }
+
     private Locale resolveLocale(Map<String, Object> context) {
         Object mayLocale = context.get("locale");
         if (mayLocale instanceof Locale) {
@@ -225,9 +344,14 @@ public class ExecutionService {
     }
 
     private static void sendError(String errorMessage, ExecutionResponseWriter writer) {
+        sendError(errorMessage, null, writer);
+    }
+
+    private static void sendError(String errorMessage, Map<String, Object> extensions, ExecutionResponseWriter writer) {
         GraphQLError error = GraphqlErrorBuilder
                 .newError()
                 .message(errorMessage)
+                .extensions(extensions)
                 .build();
         ExecutionResult executionResult = ExecutionResultImpl
                 .newExecutionResult()
@@ -248,7 +372,7 @@ public class ExecutionService {
 
                     SmallRyeContextManager.restore(smallRyeContext);
 
-                    notifyAndWrite(smallRyeContext, executionResult, writer);
+                    notifyAndWrite(executionInput, smallRyeContext, executionResult, writer);
 
                 }, failure -> {
                     if (failure != null) {
@@ -263,13 +387,14 @@ public class ExecutionService {
             ExecutionResponseWriter writer) {
         try {
             ExecutionResult executionResult = g.execute(executionInput);
-            notifyAndWrite(smallRyeContext, executionResult, writer);
+            notifyAndWrite(executionInput, smallRyeContext, executionResult, writer);
         } catch (Throwable t) {
             writer.fail(t);
         }
     }
 
-    private void notifyAndWrite(SmallRyeContext smallRyeContext,
+    private void notifyAndWrite(ExecutionInput executionInput,
+            SmallRyeContext smallRyeContext,
             ExecutionResult executionResult,
             ExecutionResponseWriter writer) {
         smallRyeContext.setExecutionResult(executionResult);
@@ -277,24 +402,19 @@ public class ExecutionService {
         eventEmitter.fireAfterExecute(smallRyeContext);
         ExecutionResponse executionResponse = new ExecutionResponse(smallRyeContext.unwrap(ExecutionResult.class),
                 smallRyeContext.getAddedExtensions());
+        // set by the data fetcher of a subscription that can be shared, to if it is shared per principal
+        Boolean broadcastPerPrincipal = executionInput.getGraphQLContext().get(Broadcast.class);
+        executionResponse.setBroadcast(broadcastPerPrincipal != null);
+        executionResponse.setBroadcastPerPrincipal(Boolean.TRUE.equals(broadcastPerPrincipal));
+        if (executionResult.getErrors().isEmpty()) {
+            executionResponse.setCacheControl(CacheHints.getCacheControl(executionInput.getGraphQLContext()));
+        }
 
         logOutput(executionResponse);
 
         writer.write(executionResponse);
     }
 
-    private <K, T> DataLoaderRegistry getDataLoaderRegistry(List<Operation> operations) {
-        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
-        for (Operation operation : operations) {
-            Map<String, Type> types = schema.getTypes();
-            BatchLoaderWithContext<K, T> batchLoader = dataFetcherFactory.getSourceBatchLoader(operation,
-                    types.get(operation.getName()));
-            DataLoader<K, T> dataLoader = DataLoaderFactory.newDataLoader(batchLoader);
-            dataLoaderRegistry.register(batchLoaderHelper.getName(operation), dataLoader);
-        }
-        return dataLoaderRegistry;
-    }
-
     private GraphQL getGraphQL() {
         if (this.graphQL == null) {
             if (graphQLSchema != null) {
@@ -313,6 +433,9 @@ public class ExecutionService {
                     chainedList.add(new MaxQueryDepthInstrumentation(config.getQueryDepthInstrumentation().get()));
                 }
                 chainedList.add(queryCache);
+                if (config.isCostAnalysisEnabled()) {
+                    chainedList.add(new CostInstrumentation(queryCache, config));
+                }
                 if (Config.get().isFederationEnabled()) {
                     // Custom logic in the predicate is required because the default behavior of Options.shouldTrace
                     // method is to return true, potentially enabling tracing for all requests
@@ -408,12 +531,12 @@ public class ExecutionService {
 
     private void logOutput(ExecutionResponse executionResponse) {
         if (!payloadOption.equals(LogPayloadOption.off)) {
-            log.payloadOut(executionResponse.getExecutionResultAsJsonObject().toString());
+            log.payloadOut(executionResponse.getExecutionResultAsString());
         }
 
         // Also submit to the provided publisher
         if (traficPublisher.isPresent()) {
-            traficPublisher.get().submit("< " + executionResponse.getExecutionResultAsJsonObject().toString());
+            traficPublisher.get().submit("< " + executionResponse.getExecutionResultAsString());
         }
     }
 }
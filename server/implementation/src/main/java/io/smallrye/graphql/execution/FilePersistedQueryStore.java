@@ -0,0 +1,164 @@
+package io.smallrye.graphql.execution;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import io.smallrye.graphql.spi.PersistedQueryStore;
+
+/**
+ * Persisted query store that writes every query to a file named after its hash, so queries survive a restart and can
+ * be shared between instances. Queries that were read are kept in memory as well.
+ *
+ * Any client can register queries, so the total size of the files is bounded. When it is exceeded, the least recently
+ * used files are removed until the directory is at 90% of the maximum.
+ */
+public class FilePersistedQueryStore implements PersistedQueryStore {
+    private static final String EXTENSION = ".graphql";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final InMemoryPersistedQueryStore memory;
+    private final AtomicLong bytes = new AtomicLong();
+
+    public FilePersistedQueryStore(Path directory, int maxSizeInMemory, long maxBytesInMemory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.memory = new InMemoryPersistedQueryStore(maxSizeInMemory, maxBytesInMemory);
+        try {
+            Files.createDirectories(directory);
+            long total = 0;
+            for (QueryFile queryFile : listQueryFiles()) {
+                total += queryFile.size;
+            }
+            bytes.set(total);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "File persisted query store (" + directory + ")";
+    }
+
+    @Override
+    public String get(String sha256Hash) {
+        String query = memory.get(sha256Hash);
+        if (query == null && isHash(sha256Hash)) {
+            Path file = directory.resolve(sha256Hash + EXTENSION);
+            try {
+                query = Files.readString(file, StandardCharsets.UTF_8);
+                // the modification time is the last use, so used queries are removed last
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                memory.put(sha256Hash, query);
+            } catch (NoSuchFileException ex) {
+                return null;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public void put(String sha256Hash, String query) {
+        if (!isHash(sha256Hash)) {
+            return;
+        }
+        memory.put(sha256Hash, query);
+        Path file = directory.resolve(sha256Hash + EXTENSION);
+        byte[] content = query.getBytes(StandardCharsets.UTF_8);
+        if (content.length > maxBytes || Files.exists(file)) {
+            return;
+        }
+        try {
+            // write to a temporary file first, so other instances never read a partial query
+            Path temp = Files.createTempFile(directory, sha256Hash, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (bytes.addAndGet(content.length) > maxBytes) {
+            evict();
+        }
+    }
+
+    private synchronized void evict() {
+        if (bytes.get() <= maxBytes) {
+            return;
+        }
+        try {
+            // list the directory again, as other instances may have added or removed files
+            List<QueryFile> queryFiles = listQueryFiles();
+            long total = 0;
+            for (QueryFile queryFile : queryFiles) {
+                total += queryFile.size;
+            }
+            queryFiles.sort(Comparator.comparingLong(queryFile -> queryFile.lastModified));
+            long target = maxBytes / 10 * 9;
+            for (int i = 0; i < queryFiles.size() && total > target; i++) {
+                QueryFile queryFile = queryFiles.get(i);
+                if (Files.deleteIfExists(queryFile.path)) {
+                    total -= queryFile.size;
+                }
+            }
+            bytes.set(total);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private List<QueryFile> listQueryFiles() throws IOException {
+        List<QueryFile> queryFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(EXTENSION)) {
+                    try {
+                        queryFiles.add(new QueryFile(file, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+                    } catch (NoSuchFileException ex) {
+                        // removed by another instance
+                    }
+                }
+            }
+        }
+        return queryFiles;
+    }
+
+    // Only allow hashes as file names, so a request can not point outside the directory
+    private static boolean isHash(String value) {
+        if (value.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class QueryFile {
+        final Path path;
+        final long size;
+        final long lastModified;
+
+        QueryFile(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
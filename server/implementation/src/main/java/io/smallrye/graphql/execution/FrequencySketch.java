@@ -0,0 +1,91 @@
+package io.smallrye.graphql.execution;
+
+/**
+ * A count-min sketch with 4-bit counters that estimates how often a key was seen recently.
+ *
+ * Each {@code long} of the table holds sixteen counters. All counters are halved once the number of increments
+ * reaches ten times the maximum size of the cache, so old popularity fades away.
+ *
+ * The table is updated without synchronization. A lost increment only makes an estimate slightly lower, which is
+ * fine for an admission heuristic and keeps cache reads free of locks.
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maximumSize) {
+        int capacity = Math.max(1, Math.min(maximumSize, MAX_TABLE_SIZE));
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * capacity;
+    }
+
+    /**
+     * @param hash the spread hash of a key
+     * @return the estimated number of times the key was seen, between 0 and 15
+     */
+    int frequency(int hash) {
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Record that a key was seen
+     *
+     * @param hash the spread hash of a key
+     */
+    void increment(int hash) {
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        long value = table[index];
+        if ((value & mask) != mask) {
+            table[index] = value + (1L << offset);
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (odd >>> 2);
+    }
+}
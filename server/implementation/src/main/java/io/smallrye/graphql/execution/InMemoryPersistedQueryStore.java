@@ -0,0 +1,114 @@
+package io.smallrye.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import io.smallrye.graphql.spi.PersistedQueryStore;
+
+/**
+ * Default persisted query store, that keeps a bounded number of queries in memory. Both the number of queries and
+ * their total size in bytes (UTF-8) are bounded, so a few very large queries can not take all the memory.
+ *
+ * The least recently used queries are removed first. A query that is registered is always kept, as its client sends the
+ * hash alone right after registering it, so admission by frequency like in the {@link QueryCache} would make clients
+ * register the same query over and over. The queries are split in segments by their hash, so requests with different
+ * queries do not wait for each other.
+ */
+public class InMemoryPersistedQueryStore implements PersistedQueryStore {
+    private static final int MIN_QUERIES_PER_SEGMENT = 32;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    public InMemoryPersistedQueryStore(int maxSize, long maxBytes) {
+        int segmentCount = segmentCount(maxSize);
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int size = Math.max(0, maxSize);
+        long bytes = Math.max(0, maxBytes);
+        for (int i = 0; i < segmentCount; i++) {
+            // spread the remainder so the maximums add up to exactly the configured ones
+            segments[i] = new Segment(size / segmentCount + (i < size % segmentCount ? 1 : 0),
+                    bytes / segmentCount + (i < bytes % segmentCount ? 1 : 0));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "In memory persisted query store";
+    }
+
+    @Override
+    public String get(String sha256Hash) {
+        return segmentFor(sha256Hash).get(sha256Hash);
+    }
+
+    @Override
+    public void put(String sha256Hash, String query) {
+        segmentFor(sha256Hash).put(sha256Hash, query, query.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private Segment segmentFor(String sha256Hash) {
+        return segments[spread(sha256Hash.hashCode()) & segmentMask];
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static int segmentCount(int maxSize) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int segments = Integer.highestOneBit(processors);
+        if (segments < processors) {
+            segments <<= 1;
+        }
+        // a segment that is too small removes queries that are still in use
+        int maxSegments = Integer.highestOneBit(Math.max(1, maxSize / MIN_QUERIES_PER_SEGMENT));
+        return Math.min(segments, maxSegments);
+    }
+
+    private static final class Segment {
+        // in access order, so the least recently used query comes first
+        private final LinkedHashMap<String, Query> queries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxSize;
+        private final long maxBytes;
+        private long bytes;
+
+        private Segment(int maxSize, long maxBytes) {
+            this.maxSize = maxSize;
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized String get(String sha256Hash) {
+            Query query = queries.get(sha256Hash);
+            return query == null ? null : query.query;
+        }
+
+        synchronized void put(String sha256Hash, String query, long size) {
+            if (maxSize == 0 || size > maxBytes || queries.containsKey(sha256Hash)) {
+                return;
+            }
+            queries.put(sha256Hash, new Query(query, size));
+            bytes += size;
+            // the new query comes last, and fits on its own, so it is never removed
+            Iterator<Query> leastRecentlyUsed = queries.values().iterator();
+            while (queries.size() > maxSize || bytes > maxBytes) {
+                bytes -= leastRecentlyUsed.next().size;
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    private static final class Query {
+        private final String query;
+        private final long size;
+
+        private Query(String query, long size) {
+            this.query = query;
+            this.size = size;
+        }
+    }
+}
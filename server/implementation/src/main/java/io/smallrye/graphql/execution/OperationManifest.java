@@ -0,0 +1,156 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+import jakarta.json.stream.JsonGenerator;
+
+import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+
+/**
+ * The operations that are known at build time. The Maven and Gradle plugins write them to
+ * {@value #LOCATION}, and the server picks up every manifest on the classpath at startup.
+ *
+ * The id of an operation is the sha256 hash of its query, so clients can send the id as an automatic persisted query
+ * ({@code extensions.persistedQuery.sha256Hash}) when persisted queries are enabled, or in allowlist-only mode.
+ */
+public class OperationManifest {
+    public static final String LOCATION = "META-INF/smallrye-graphql-operations.json";
+
+    private static final String OPERATIONS = "operations";
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String QUERY = "query";
+
+    // id -> query
+    private final Map<String, String> operations = new LinkedHashMap<>();
+    // id -> name
+    private final Map<String, String> names = new LinkedHashMap<>();
+
+    /**
+     * Load all manifests on the classpath
+     *
+     * @return the operations of all manifests, could be empty
+     */
+    public static OperationManifest load() {
+        OperationManifest manifest = new OperationManifest();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = OperationManifest.class.getClassLoader();
+        }
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                try (InputStream inputStream = resources.nextElement().openStream();
+                        JsonReader jsonReader = JSON_PROVIDER.createReader(inputStream)) {
+                    manifest.read(jsonReader.readObject());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return manifest;
+    }
+
+    public static OperationManifest read(Reader reader) {
+        OperationManifest manifest = new OperationManifest();
+        try (JsonReader jsonReader = JSON_PROVIDER.createReader(reader)) {
+            manifest.read(jsonReader.readObject());
+        }
+        return manifest;
+    }
+
+    private void read(JsonObject jsonObject) {
+        for (JsonValue value : jsonObject.getJsonArray(OPERATIONS)) {
+            JsonObject operation = value.asJsonObject();
+            String query = operation.getString(QUERY);
+            // the id is derived from the query, so a changed query can not hide behind a known id
+            String id = PersistedQueries.sha256(query);
+            operations.put(id, query);
+            names.put(id, operation.getString(NAME, id));
+        }
+    }
+
+    /**
+     * Add an operation
+     *
+     * @param name a readable name, like the client method or file the operation comes from
+     * @param query the query as the client sends it
+     * @return the id of the operation
+     */
+    public String add(String name, String query) {
+        String id = PersistedQueries.sha256(query);
+        operations.putIfAbsent(id, query);
+        names.putIfAbsent(id, name);
+        return id;
+    }
+
+    public void write(Writer writer) {
+        JsonArrayBuilder array = JSON_PROVIDER.createArrayBuilder();
+        operations.forEach((id, query) -> array.add(JSON_PROVIDER.createObjectBuilder()
+                .add(ID, id)
+                .add(NAME, names.get(id))
+                .add(QUERY, query)));
+        try (JsonWriter jsonWriter = JSON_PROVIDER.createWriterFactory(
+                Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)).createWriter(writer)) {
+            jsonWriter.writeObject(JSON_PROVIDER.createObjectBuilder().add(OPERATIONS, array).build());
+        }
+    }
+
+    /**
+     * @return the queries by id
+     */
+    public Map<String, String> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Parse and validate all operations in parallel, and keep the valid ones in the query cache, so no request pays
+     * for parsing and validating them.
+     *
+     * @param graphQLSchema the schema to validate against
+     * @param queryCache the cache to seed
+     * @return the number of valid operations
+     */
+    int warm(GraphQLSchema graphQLSchema, QueryCache queryCache) {
+        Map<String, PreparsedDocumentEntry> entries = operations.entrySet().parallelStream()
+                .map(operation -> {
+                    ExecutionInput executionInput = ExecutionInput.newExecutionInput(operation.getValue()).build();
+                    ParseAndValidateResult result = ParseAndValidate.parseAndValidate(graphQLSchema, executionInput);
+                    if (result.isFailure()) {
+                        log.invalidManifestOperation(names.get(operation.getKey()), result.getErrors().toString());
+                        return null;
+                    }
+                    return Map.entry(operation.getValue(), new PreparsedDocumentEntry(result.getDocument()));
+                })
+                .filter(entry -> entry != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        entries.forEach(queryCache::pin);
+        return entries.size();
+    }
+}
@@ -0,0 +1,134 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import io.smallrye.graphql.spi.PersistedQueryStore;
+
+/**
+ * Automatic persisted queries (APQ).
+ *
+ * A client sends the sha256 hash of the query in {@code extensions.persistedQuery.sha256Hash}. If the hash is known,
+ * the request does not need to contain the query, and the query resolves to the already parsed and validated
+ * document in the {@link QueryCache}. If the hash is not known, the client gets a {@code PersistedQueryNotFound}
+ * error and sends the request again with both the query and the hash, which registers the query.
+ *
+ * Operations from the {@link OperationManifest} are always known. In allowlist-only mode nothing can be registered,
+ * and only operations from the manifest are executed, either by id or by their exact query.
+ */
+class PersistedQueries {
+    static final String NOT_FOUND = "PersistedQueryNotFound";
+    static final String NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    static final String HASH_MISMATCH = "provided sha does not match query";
+    static final String HASH_MISMATCH_CODE = "INVALID_PERSISTED_QUERY_HASH";
+    static final String NOT_ALLOWED = "OperationNotAllowed";
+    static final String NOT_ALLOWED_CODE = "OPERATION_NOT_ALLOWED";
+
+    private static final String QUERY = "query";
+    private static final String EXTENSIONS = "extensions";
+    private static final String PERSISTED_QUERY = "persistedQuery";
+    private static final String SHA256_HASH = "sha256Hash";
+
+    private final PersistedQueryStore store;
+    private final Map<String, String> manifest;
+    private final Set<String> allowedQueries;
+
+    /**
+     * @param store the store for registered queries, null if queries can not be registered
+     * @param manifest the operations known at build time, by id
+     * @param allowlistOnly only allow the operations of the manifest
+     */
+    PersistedQueries(PersistedQueryStore store, Map<String, String> manifest, boolean allowlistOnly) {
+        this.store = allowlistOnly ? null : store;
+        this.manifest = manifest;
+        this.allowedQueries = allowlistOnly ? new HashSet<>(manifest.values()) : null;
+    }
+
+    /**
+     * Resolve the query of a request that uses a persisted query, or register the query if it is sent along with the
+     * hash.
+     *
+     * @param request the request
+     * @return the request, with the query added if it was resolved from the hash
+     * @throws PersistedQueryException if the hash is unknown or does not match the query
+     */
+    JsonObject resolve(JsonObject request) {
+        String hash = getHash(request);
+        String query = request.getString(QUERY, null);
+        if (hash == null) {
+            if (allowedQueries != null && !allowedQueries.contains(query)) {
+                throw new PersistedQueryException(NOT_ALLOWED, NOT_ALLOWED_CODE);
+            }
+            return request;
+        }
+        if (query == null || query.isEmpty()) {
+            query = manifest.get(hash);
+            if (query == null && store != null) {
+                query = store.get(hash);
+            }
+            if (query == null) {
+                throw new PersistedQueryException(NOT_FOUND, NOT_FOUND_CODE);
+            }
+            return JSON_PROVIDER.createObjectBuilder(request).add(QUERY, query).build();
+        }
+        if (!hash.equals(sha256(query))) {
+            throw new PersistedQueryException(HASH_MISMATCH, HASH_MISMATCH_CODE);
+        }
+        if (allowedQueries != null && !manifest.containsKey(hash)) {
+            throw new PersistedQueryException(NOT_ALLOWED, NOT_ALLOWED_CODE);
+        }
+        if (store != null && !manifest.containsKey(hash)) {
+            store.put(hash, query);
+        }
+        return request;
+    }
+
+    private static String getHash(JsonObject request) {
+        JsonValue extensions = request.get(EXTENSIONS);
+        if (extensions == null || extensions.getValueType() != JsonValue.ValueType.OBJECT) {
+            return null;
+        }
+        JsonValue persistedQuery = extensions.asJsonObject().get(PERSISTED_QUERY);
+        if (persistedQuery == null || persistedQuery.getValueType() != JsonValue.ValueType.OBJECT) {
+            return null;
+        }
+        JsonValue hash = persistedQuery.asJsonObject().get(SHA256_HASH);
+        if (hash == null || hash.getValueType() != JsonValue.ValueType.STRING) {
+            return null;
+        }
+        return ((JsonString) hash).getString();
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static class PersistedQueryException extends RuntimeException {
+        private final String code;
+
+        PersistedQueryException(String message, String code) {
+            super(message);
+            this.code = code;
+        }
+
+        String getCode() {
+            return code;
+        }
+    }
+}
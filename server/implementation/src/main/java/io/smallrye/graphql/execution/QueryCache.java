@@ -5,39 +5,79 @@ import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import graphql.ExecutionInput;
+import graphql.execution.ExecutionContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimpleInstrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
-
+import io.smallrye.graphql.execution.cost.CostPlan;
+
+/**
+ * Cache for parsed and validated documents, keyed by the query string.
+ *
+ * The size is bounded by the {@code io.smallrye.graphql.execution.queryCacheMaxSize} system property (number of
+ * documents, default 2048) and by the {@code io.smallrye.graphql.execution.queryCacheMaxWeight} system property
+ * (total length of the cached queries in characters, unbounded by default). Operations from the
+ * {@link OperationManifest} are pinned and never evicted.
+ *
+ * The {@link CostPlan} of a cached document is kept next to it, so it is only worked out once.
+ */
 public class QueryCache extends SimpleInstrumentation implements PreparsedDocumentProvider {
     private static final int MAX_CACHE_SIZE = AccessController.doPrivileged((PrivilegedAction<Integer>) () -> {
         return Integer.getInteger("io.smallrye.graphql.execution.queryCacheMaxSize", 2048);
     });
 
-    private static final ThreadLocal<ExecutionFunction> executionFunctionTL = new ThreadLocal<>();
+    private static final long MAX_CACHE_WEIGHT = AccessController.doPrivileged((PrivilegedAction<Long>) () -> {
+        return Long.getLong("io.smallrye.graphql.execution.queryCacheMaxWeight", Long.MAX_VALUE);
+    });
+
+    private static final ThreadLocal<PendingEntry> pendingEntryTL = new ThreadLocal<>();
+
+    // The query length is a cheap estimate of the size of the parsed document
+    private final TinyLFUCache<String, PreparsedDocumentEntry> cache = new TinyLFUCache<>(MAX_CACHE_SIZE,
+            MAX_CACHE_WEIGHT, (query, entry) -> query.length());
 
-    private final LRUCache<String, PreparsedDocumentEntry> cache = new LRUCache<>(MAX_CACHE_SIZE);
+    private final Map<String, PreparsedDocumentEntry> pinned = new ConcurrentHashMap<>();
 
     @Override
     public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
             Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
         String query = executionInput.getQuery();
-        PreparsedDocumentEntry entry = cache.get(query);
+        PreparsedDocumentEntry entry = pinned.isEmpty() ? null : pinned.get(query);
         if (entry == null) {
-            ExecutionFunction executionFunction = new ExecutionFunction(computeFunction, executionInput);
-            executionFunctionTL.set(executionFunction);
-            entry = computeFunction.apply(executionInput);
+            entry = cache.get(query);
+        }
+        if (entry == null) {
+            PendingEntry pendingEntry = new PendingEntry();
+            pendingEntryTL.set(pendingEntry);
+            try {
+                entry = computeFunction.apply(executionInput);
+            } finally {
+                pendingEntryTL.remove();
+            }
+            // only cache documents that went through validation without errors
+            if (pendingEntry.valid && !entry.hasErrors()) {
+                entry = new CachedDocument(entry.getDocument());
+                cache.put(query, entry);
+                log.addedToCache(query);
+            }
         } else {
             log.retrievedFromCache(query);
         }
+        if (entry instanceof CachedDocument) {
+            executionInput.getGraphQLContext().put(CachedDocument.class, entry);
+        }
         return CompletableFuture.completedFuture(entry);
     }
 
@@ -45,38 +85,80 @@ public class QueryCache extends SimpleInstrumentation implements PreparsedDocume
     public InstrumentationContext<List<ValidationError>> beginValidation(
             InstrumentationValidationParameters parameters, InstrumentationState state) {
 
-        ExecutionFunction executionFunction = executionFunctionTL.get();
-        executionFunctionTL.remove();
-        if (executionFunction != null) {
-            return new ValidationInstrumentationContext(executionFunction);
+        PendingEntry pendingEntry = pendingEntryTL.get();
+        if (pendingEntry != null) {
+            return new ValidationInstrumentationContext(pendingEntry);
         }
         return super.beginValidation(parameters, state);
     }
 
-    private static class ExecutionFunction implements Function<String, PreparsedDocumentEntry> {
-        private final Function<ExecutionInput, PreparsedDocumentEntry> function;
-        private final ExecutionInput executionInput;
+    /**
+     * Keep a parsed and validated document for good
+     *
+     * @param query the query
+     * @param entry the document of the query
+     */
+    void pin(String query, PreparsedDocumentEntry entry) {
+        pinned.put(query, new CachedDocument(entry.getDocument()));
+    }
 
-        ExecutionFunction(Function<ExecutionInput, PreparsedDocumentEntry> function, ExecutionInput executionInput) {
-            this.function = function;
-            this.executionInput = executionInput;
+    /**
+     * Get the cost plan of the document that is executed, from the cache if the document came from there
+     *
+     * @param executionContext the execution
+     * @return the cost plan of the document
+     */
+    public CostPlan getCostPlan(ExecutionContext executionContext) {
+        CachedDocument cached = executionContext.getGraphQLContext().get(CachedDocument.class);
+        if (cached != null && cached.getDocument() == executionContext.getDocument()) {
+            return cached.getCostPlan(executionContext.getGraphQLSchema());
         }
+        return CostPlan.create(executionContext.getDocument(), executionContext.getGraphQLSchema());
+    }
 
-        @Override
-        public PreparsedDocumentEntry apply(String s) {
-            return function.apply(executionInput);
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    private static class CachedDocument extends PreparsedDocumentEntry {
+        private volatile CostPlan costPlan;
+
+        CachedDocument(Document document) {
+            super(document);
         }
 
-        String getQuery() {
-            return executionInput.getQuery();
+        CostPlan getCostPlan(GraphQLSchema schema) {
+            CostPlan plan = costPlan;
+            if (plan == null) {
+                // two threads may both work it out, that does no harm
+                plan = CostPlan.create(getDocument(), schema);
+                costPlan = plan;
+            }
+            return plan;
         }
     }
 
-    private class ValidationInstrumentationContext implements InstrumentationContext<List<ValidationError>> {
-        private final ExecutionFunction executionFunction;
+    private static class PendingEntry {
+        private boolean valid;
+    }
+
+    private static class ValidationInstrumentationContext implements InstrumentationContext<List<ValidationError>> {
+        private final PendingEntry pendingEntry;
 
-        ValidationInstrumentationContext(ExecutionFunction executionFunction) {
-            this.executionFunction = executionFunction;
+        ValidationInstrumentationContext(PendingEntry pendingEntry) {
+            this.pendingEntry = pendingEntry;
         }
 
         @Override
@@ -86,12 +168,8 @@ public class QueryCache extends SimpleInstrumentation implements PreparsedDocume
 
         @Override
         public void onCompleted(List<ValidationError> validationErrors, Throwable t) {
-            // at this point, we know the validation is complete - go ahead and add it to the cache if no errors
-            if (t == null && (validationErrors == null || validationErrors.isEmpty())) {
-                // valid, uncached query - add to cache
-                cache.computeIfAbsent(executionFunction.getQuery(), executionFunction);
-                log.addedToCache(executionFunction.getQuery());
-            }
+            // at this point, we know the validation is complete - the entry can be cached if there are no errors
+            pendingEntry.valid = t == null && (validationErrors == null || validationErrors.isEmpty());
         }
     }
 }
@@ -0,0 +1,270 @@
+package io.smallrye.graphql.execution;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.BatchLoaderWithContext;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
+
+/**
+ * DataLoaders of the operations of a batch, that are dispatched together, so a batch loader gets the keys of all
+ * operations at once.
+ *
+ * Every operation has its own DataLoaders, with their own cache. graphql-java asks the registry of an operation to
+ * dispatch when the fields of a level are fetched. If the operation loaded keys since it was last part of a dispatch, it
+ * now waits for them. The DataLoaders of all operations are only dispatched once every operation that is still running
+ * waits. Operations that have not loaded anything do not wait, and do not trigger a dispatch either.
+ *
+ * When they are dispatched, the keys of the operations that call the same batch loader with the same arguments, for the
+ * same principal, are merged into one call. The batch loader gets the arguments and the context of the first key, so
+ * keys with other arguments are loaded in a call of their own.
+ */
+final class SharedDataLoaders {
+
+    private static final String PRINCIPAL = "principal";
+
+    private final List<OperationRegistry> registries;
+    /**
+     * The loads of the dispatch running on this thread, to merge once all DataLoaders are dispatched
+     */
+    private final ThreadLocal<List<Load>> dispatching = new ThreadLocal<>();
+    private int running;
+    private int waiting;
+
+    SharedDataLoaders(DataLoaders dataLoaders, int operations) {
+        this.registries = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            registries.add(new OperationRegistry(dataLoaders.newRegistry(this::merging)));
+        }
+        this.running = operations;
+    }
+
+    DataLoaderRegistry getRegistry(int operation) {
+        return registries.get(operation);
+    }
+
+    /**
+     * The operation is done and will not ask for a dispatch anymore
+     */
+    void finished(int operation) {
+        boolean dispatch;
+        synchronized (this) {
+            OperationRegistry registry = registries.get(operation);
+            if (registry.finished) {
+                return;
+            }
+            registry.finished = true;
+            running--;
+            if (registry.waiting) {
+                registry.waiting = false;
+                waiting--;
+            }
+            dispatch = readyToDispatch();
+        }
+        if (dispatch) {
+            dispatch();
+        }
+    }
+
+    private boolean readyToDispatch() {
+        if (waiting > 0 && waiting >= running) {
+            for (OperationRegistry registry : registries) {
+                if (registry.waiting) {
+                    registry.waiting = false;
+                    registry.loaded = false;
+                }
+            }
+            waiting = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Dispatch the DataLoaders of all operations, and call the batch loaders once per group of loads that can be merged
+     */
+    private int dispatch() {
+        List<Load> loads = new ArrayList<>();
+        int dispatched = 0;
+        dispatching.set(loads);
+        try {
+            for (OperationRegistry registry : registries) {
+                for (DataLoader<?, ?> dataLoader : registry.dataLoaders.getDataLoaders()) {
+                    dispatched += dataLoader.dispatchWithCounts().getKeysCount();
+                }
+            }
+        } finally {
+            dispatching.remove();
+        }
+
+        Map<LoadGroup, List<Load>> groups = new LinkedHashMap<>();
+        for (Load load : loads) {
+            groups.computeIfAbsent(new LoadGroup(load), g -> new ArrayList<>()).add(load);
+        }
+        for (List<Load> group : groups.values()) {
+            load(group);
+        }
+        return dispatched;
+    }
+
+    private BatchLoaderWithContext<Object, Object> merging(BatchLoaderWithContext<Object, Object> batchLoader) {
+        return (keys, environment) -> {
+            List<Load> loads = dispatching.get();
+            if (loads == null) {
+                // not called from a dispatch, for example with a BatchLoaderScheduler
+                return batchLoader.load(keys, environment);
+            }
+            Load load = new Load(batchLoader, keys, environment);
+            loads.add(load);
+            return load.result;
+        };
+    }
+
+    private static void load(List<Load> group) {
+        Load first = group.get(0);
+        List<Object> keys = first.keys;
+        BatchLoaderEnvironment environment = first.environment;
+        if (group.size() > 1) {
+            keys = new ArrayList<>();
+            List<Object> keyContexts = new ArrayList<>();
+            for (Load load : group) {
+                keys.addAll(load.keys);
+                keyContexts.addAll(load.environment.getKeyContextsList());
+            }
+            environment = BatchLoaderEnvironment.newBatchLoaderEnvironment()
+                    .context(first.environment.getContext())
+                    .keyContexts(keys, keyContexts)
+                    .build();
+        }
+        CompletionStage<List<Object>> values;
+        try {
+            values = first.batchLoader.load(keys, environment);
+        } catch (RuntimeException ex) {
+            values = CompletableFuture.failedFuture(ex);
+        }
+        complete(values, group);
+    }
+
+    private static void complete(CompletionStage<List<Object>> values, List<Load> group) {
+        values.whenComplete((list, failure) -> {
+            int from = 0;
+            for (Load load : group) {
+                if (failure != null) {
+                    load.result.completeExceptionally(failure);
+                } else if (list.size() < from + load.keys.size()) {
+                    load.result.completeExceptionally(new IllegalStateException("The batch loader returned "
+                            + list.size() + " values for " + (from + load.keys.size()) + " or more keys"));
+                } else {
+                    load.result.complete(list.subList(from, from + load.keys.size()));
+                }
+                from += load.keys.size();
+            }
+        });
+    }
+
+    /**
+     * The keys one DataLoader passed to the batch loader
+     */
+    private static class Load {
+        private final BatchLoaderWithContext<Object, Object> batchLoader;
+        private final List<Object> keys;
+        private final BatchLoaderEnvironment environment;
+        private final CompletableFuture<List<Object>> result = new CompletableFuture<>();
+
+        Load(BatchLoaderWithContext<Object, Object> batchLoader, List<Object> keys, BatchLoaderEnvironment environment) {
+            this.batchLoader = batchLoader;
+            this.keys = keys;
+            this.environment = environment;
+        }
+    }
+
+    /**
+     * Loads can be merged if they call the same batch loader, with the same arguments, for the same principal
+     */
+    private static class LoadGroup {
+        private final BatchLoaderWithContext<Object, Object> batchLoader;
+        private final Object arguments;
+        private final String principal;
+
+        @SuppressWarnings("unchecked")
+        LoadGroup(Load load) {
+            this.batchLoader = load.batchLoader;
+            List<Object> keyContexts = load.environment.getKeyContextsList();
+            Map<String, Object> keyContext = keyContexts.isEmpty() ? Map.of() : (Map<String, Object>) keyContexts.get(0);
+            this.arguments = keyContext.get(BatchLoaderHelper.ARGUMENTS);
+            DataFetchingEnvironment dfe = (DataFetchingEnvironment) keyContext
+                    .get(BatchLoaderHelper.DATA_FETCHING_ENVIRONMENT);
+            Object user = dfe != null ? dfe.getGraphQlContext().get(PRINCIPAL) : null;
+            this.principal = user instanceof Principal ? ((Principal) user).getName() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoadGroup)) {
+                return false;
+            }
+            LoadGroup other = (LoadGroup) o;
+            return batchLoader == other.batchLoader
+                    && Objects.equals(arguments, other.arguments)
+                    && Objects.equals(principal, other.principal);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(batchLoader), arguments, principal);
+        }
+    }
+
+    private class OperationRegistry extends DataLoaderRegistry {
+        private final DataLoaderRegistry dataLoaders;
+        private boolean loaded;
+        private boolean waiting;
+        private boolean finished;
+
+        OperationRegistry(DataLoaderRegistry dataLoaders) {
+            this.dataLoaders = dataLoaders;
+        }
+
+        @Override
+        public <K, V> DataLoader<K, V> getDataLoader(String key) {
+            // the data fetchers get the DataLoader right before they load a key
+            synchronized (SharedDataLoaders.this) {
+                loaded = true;
+            }
+            return dataLoaders.getDataLoader(key);
+        }
+
+        @Override
+        public void dispatchAll() {
+            dispatchAllWithCount();
+        }
+
+        @Override
+        public int dispatchAllWithCount() {
+            boolean dispatch;
+            synchronized (SharedDataLoaders.this) {
+                if (loaded && !waiting && !finished) {
+                    waiting = true;
+                    SharedDataLoaders.this.waiting++;
+                }
+                dispatch = readyToDispatch();
+            }
+            // dispatch outside the lock, the batch loaders may complete the futures right away
+            return dispatch ? dispatch() : 0;
+        }
+    }
+}
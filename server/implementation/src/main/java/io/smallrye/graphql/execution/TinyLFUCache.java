@@ -0,0 +1,243 @@
+package io.smallrye.graphql.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A bounded, concurrent cache with frequency based admission (W-TinyLFU).
+ *
+ * The cache is split in segments. Reading never locks: it is a lookup in the map of a segment plus an increment in
+ * a shared {@link FrequencySketch}. Writing only locks the segment the key belongs to.
+ *
+ * New entries go into a small FIFO window. When an entry leaves the window it has to compete with a sampled entry
+ * of the main region, and it is only admitted if its key was seen more often. That way a burst of one-off keys can
+ * not push out the entries that are used all the time.
+ *
+ * The size is bounded by the number of entries and by the total weight of the entries.
+ */
+public class TinyLFUCache<K, V> {
+    private static final int SAMPLE_SIZE = 8;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 32;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final FrequencySketch sketch;
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public TinyLFUCache(int maxEntries, long maxWeight, ToLongBiFunction<K, V> weigher) {
+        this(maxEntries, maxWeight, weigher, defaultSegmentCount(maxEntries));
+    }
+
+    @SuppressWarnings("unchecked")
+    TinyLFUCache(int maxEntries, long maxWeight, ToLongBiFunction<K, V> weigher, int segmentCount) {
+        if (Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("The segment count must be a power of two, got " + segmentCount);
+        }
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(maxEntries);
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int entries = Math.max(0, maxEntries);
+        long weight = Math.max(0, maxWeight);
+        for (int i = 0; i < segmentCount; i++) {
+            // spread the remainder so the capacities add up to exactly the configured maximum
+            int segmentEntries = entries / segmentCount + (i < entries % segmentCount ? 1 : 0);
+            long segmentWeight = weight / segmentCount + (i < weight % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(segmentEntries, segmentWeight);
+        }
+    }
+
+    /**
+     * Get a value and record the access, so that the key is more likely to be admitted or kept.
+     *
+     * @param key the key
+     * @return the cached value or null
+     */
+    public V get(K key) {
+        int hash = spread(key.hashCode());
+        sketch.increment(hash);
+        Node<K, V> node = segments[hash & segmentMask].map.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return node.value;
+    }
+
+    /**
+     * Add a value if there is none for this key yet. The value might be evicted straight away if it does not fit or if
+     * the key is seen less often than the entries that are already cached.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        Segment<K, V> segment = segments[hash & segmentMask];
+        long weight = weigher.applyAsLong(key, value);
+        if (segment.maxEntries == 0 || weight > segment.maxWeight) {
+            return;
+        }
+        Node<K, V> node = new Node<>(key, value, hash, weight);
+        if (segment.map.putIfAbsent(key, node) != null) {
+            return;
+        }
+        synchronized (segment) {
+            segment.weight += weight;
+            segment.window.addLast(node);
+            while (segment.window.size() > segment.maxWindow) {
+                admit(segment, segment.window.pollFirst());
+            }
+            while (segment.weight > segment.maxWeight) {
+                Node<K, V> victim = sampleVictim(segment);
+                if (victim == null) {
+                    victim = segment.window.peekFirst();
+                }
+                evict(segment, victim);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.map.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void admit(Segment<K, V> segment, Node<K, V> candidate) {
+        if (segment.main.size() < segment.maxMain) {
+            addToMain(segment, candidate);
+            return;
+        }
+        Node<K, V> victim = sampleVictim(segment);
+        if (victim != null && sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+            evict(segment, victim);
+            addToMain(segment, candidate);
+        } else {
+            removeFromSegment(segment, candidate);
+        }
+    }
+
+    private Node<K, V> sampleVictim(Segment<K, V> segment) {
+        List<Node<K, V>> main = segment.main;
+        int size = main.size();
+        if (size == 0) {
+            return null;
+        }
+        Node<K, V> victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int samples = Math.min(SAMPLE_SIZE, size);
+        for (int i = 0; i < samples; i++) {
+            Node<K, V> node = size <= SAMPLE_SIZE ? main.get(i) : main.get(random.nextInt(size));
+            int frequency = sketch.frequency(node.hash);
+            if (frequency < victimFrequency) {
+                victim = node;
+                victimFrequency = frequency;
+            }
+        }
+        return victim;
+    }
+
+    private void addToMain(Segment<K, V> segment, Node<K, V> node) {
+        node.mainIndex = segment.main.size();
+        segment.main.add(node);
+    }
+
+    private void evict(Segment<K, V> segment, Node<K, V> node) {
+        if (node.mainIndex >= 0) {
+            // move the last node into the hole, so sampling can keep using random indexes
+            List<Node<K, V>> main = segment.main;
+            Node<K, V> last = main.remove(main.size() - 1);
+            if (last != node) {
+                last.mainIndex = node.mainIndex;
+                main.set(node.mainIndex, last);
+            }
+            node.mainIndex = -1;
+        } else {
+            segment.window.remove(node);
+        }
+        removeFromSegment(segment, node);
+    }
+
+    private void removeFromSegment(Segment<K, V> segment, Node<K, V> node) {
+        segment.map.remove(node.key, node);
+        segment.weight -= node.weight;
+        evictionCount.increment();
+    }
+
+    private static int defaultSegmentCount(int maxEntries) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int segments = Integer.highestOneBit(processors);
+        if (segments < processors) {
+            segments <<= 1;
+        }
+        // keep segments big enough for sampling to find a good victim
+        int maxSegments = Integer.highestOneBit(Math.max(1, maxEntries / MIN_ENTRIES_PER_SEGMENT));
+        return Math.min(segments, maxSegments);
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static class Segment<K, V> {
+        final Map<K, Node<K, V>> map = new ConcurrentHashMap<>();
+        final ArrayDeque<Node<K, V>> window = new ArrayDeque<>();
+        final List<Node<K, V>> main = new ArrayList<>();
+        final int maxEntries;
+        final int maxWindow;
+        final int maxMain;
+        final long maxWeight;
+        long weight;
+
+        Segment(int maxEntries, long maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWindow = Math.max(1, maxEntries / 100);
+            this.maxMain = Math.max(0, maxEntries - maxWindow);
+            this.maxWeight = maxWeight;
+        }
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        final V value;
+        final int hash;
+        final long weight;
+        int mainIndex = -1;
+
+        Node(K key, V value, int hash, long weight) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+            this.weight = weight;
+        }
+    }
+}
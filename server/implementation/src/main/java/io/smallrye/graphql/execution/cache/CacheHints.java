@@ -0,0 +1,48 @@
+package io.smallrye.graphql.execution.cache;
+
+import graphql.GraphQLContext;
+import io.smallrye.graphql.schema.model.CacheHint;
+
+/**
+ * The cache hints of the fields of a response that are fetched by an operation, root fields and {@code @Source}
+ * fields, to work out its {@code Cache-Control}.
+ *
+ * The response can be cached as long as the field with the smallest max age, and only by the client if one of the
+ * fields is private. If one of the fields has no hint, the response is not cached at all.
+ */
+public final class CacheHints {
+    // guarded by this
+    private int maxAge = Integer.MAX_VALUE;
+    private boolean privateScope;
+    private boolean uncacheable;
+
+    static void record(GraphQLContext context, CacheHint hint) {
+        CacheHints hints = context.computeIfAbsent(CacheHints.class, key -> new CacheHints());
+        hints.add(hint);
+    }
+
+    /**
+     * @param context the context of the request
+     * @return the value of the {@code Cache-Control} header of the response, null if it should not have one
+     */
+    public static String getCacheControl(GraphQLContext context) {
+        CacheHints hints = context.get(CacheHints.class);
+        return hints == null ? null : hints.toHeader();
+    }
+
+    private synchronized void add(CacheHint hint) {
+        if (hint == null) {
+            uncacheable = true;
+        } else {
+            maxAge = Math.min(maxAge, hint.getMaxAge());
+            privateScope |= hint.isPrivateScope();
+        }
+    }
+
+    private synchronized String toHeader() {
+        if (uncacheable) {
+            return null;
+        }
+        return (privateScope ? "private" : "public") + ", max-age=" + maxAge;
+    }
+}
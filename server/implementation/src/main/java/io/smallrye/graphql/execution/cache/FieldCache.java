@@ -0,0 +1,92 @@
+package io.smallrye.graphql.execution.cache;
+
+import java.security.Principal;
+import java.util.concurrent.CompletionStage;
+
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.schema.model.CacheHint;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.OperationType;
+
+/**
+ * Keeps track of the cache hint of one operation for the {@code Cache-Control} of the response, and caches the results
+ * if it is a root query field.
+ */
+public final class FieldCache {
+
+    /** What {@link #get(Object)} returns when the result is not cached */
+    public static final Object MISS = new Object();
+
+    private static final String PRINCIPAL = "principal";
+
+    private final ResultCache resultCache;
+    private final Operation operation;
+    private final CacheHint hint;
+    private final boolean cached;
+
+    FieldCache(ResultCache resultCache, Operation operation) {
+        this.resultCache = resultCache;
+        this.operation = operation;
+        this.hint = operation.getCacheHint();
+        this.cached = operation.getOperationType() == OperationType.QUERY && !operation.isSourceField()
+                && hint != null && hint.getMaxAge() > 0;
+    }
+
+    /**
+     * Start a data fetch of the field
+     *
+     * @param dfe the Data Fetching Environment of the data fetch
+     * @return the key of the result, null if the result is not cached
+     */
+    public Object start(DataFetchingEnvironment dfe) {
+        if (!resultCache.isUsed()) {
+            return null;
+        }
+        // an operation without a hint makes the response uncacheable
+        CacheHints.record(dfe.getGraphQlContext(), hint);
+        if (!cached) {
+            return null;
+        }
+        String principal = null;
+        if (hint.isPrivateScope()) {
+            Object user = dfe.getGraphQlContext().get(PRINCIPAL);
+            if (!(user instanceof Principal)) {
+                // nobody to keep it for
+                return null;
+            }
+            principal = ((Principal) user).getName();
+        }
+        return new ResultCache.Key(operation, dfe.getArguments(), principal);
+    }
+
+    /**
+     * @param key the key {@link #start(DataFetchingEnvironment)} returned
+     * @return the cached result, or {@link #MISS}
+     */
+    public Object get(Object key) {
+        return resultCache.get((ResultCache.Key) key);
+    }
+
+    /**
+     * Cache the result of the data fetcher, when it is there and has no errors
+     *
+     * @param key the key {@link #start(DataFetchingEnvironment)} returned
+     * @param result a {@link DataFetcherResult}, or a {@link CompletionStage} of one
+     * @return the result to return, a {@link CompletionStage} only completes after the result is cached
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T put(Object key, T result) {
+        if (result instanceof CompletionStage) {
+            // otherwise the response can be sent before it is cached, and the next request misses it
+            return (T) ((CompletionStage<?>) result).thenApply(r -> {
+                put(key, r);
+                return r;
+            });
+        }
+        if (result instanceof DataFetcherResult && !((DataFetcherResult<?>) result).hasErrors()) {
+            resultCache.put((ResultCache.Key) key, ((DataFetcherResult<?>) result).getData(), hint.getMaxAge());
+        }
+        return result;
+    }
+}
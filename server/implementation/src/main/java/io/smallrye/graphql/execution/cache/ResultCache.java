@@ -0,0 +1,144 @@
+package io.smallrye.graphql.execution.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import io.smallrye.graphql.execution.TinyLFUCache;
+import io.smallrye.graphql.execution.metrics.MetricsEmitter;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * The results of the {@link io.smallrye.graphql.api.CacheControl} queries, for all queries together.
+ *
+ * The results are kept per query, arguments and, for private results, user. The number of results is bounded by
+ * {@code smallrye.graphql.resultCache.maxSize}, the results that are rarely asked for are evicted first. A result that
+ * is older than the max age of its query is not used, and replaced by the next result of the query.
+ */
+public final class ResultCache {
+    private static final ResultCache INSTANCE = new ResultCache();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // if the schema has a cache hint at all, otherwise there is no need to keep track of the hints
+    private volatile boolean used;
+    // created with the first schema that has a cache hint
+    private volatile TinyLFUCache<Key, Entry> cache;
+
+    public static ResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Decide once, before any data fetcher is created, if the hints of the schema are kept track of
+     *
+     * @param schema the schema that is bootstrapped
+     */
+    public void bootstrap(Schema schema) {
+        Stream<Operation> sourceFields = Stream.concat(schema.getTypes().values().stream(),
+                schema.getInterfaces().values().stream())
+                .flatMap(type -> Stream.concat(type.getOperations().values().stream(),
+                        type.getBatchOperations().values().stream()));
+        used = Stream.concat(schema.getAllOperations().stream(), sourceFields).anyMatch(Operation::hasCacheHint);
+        if (used) {
+            createCache();
+        }
+    }
+
+    /**
+     * @param operation the operation of a data fetcher
+     * @return the cache of the operation, created once per data fetcher. Only the results of root query fields are
+     *         cached, but the hints of all operations count for the {@code Cache-Control} of the response.
+     */
+    public FieldCache forOperation(Operation operation) {
+        return new FieldCache(this, operation);
+    }
+
+    /**
+     * @return if there is an operation with a cache hint at all, otherwise there is no need to keep track of the hints
+     */
+    boolean isUsed() {
+        return used;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        TinyLFUCache<Key, Entry> c = cache;
+        return c == null ? 0 : c.size();
+    }
+
+    Object get(Key key) {
+        Entry entry = cache.get(key);
+        if (entry == null || entry.expiresAt - System.nanoTime() < 0) {
+            misses.increment();
+            return FieldCache.MISS;
+        }
+        hits.increment();
+        return entry.data;
+    }
+
+    void put(Key key, Object data, int maxAge) {
+        cache.put(key, new Entry(data, System.nanoTime() + maxAge * 1_000_000_000L));
+    }
+
+    private synchronized void createCache() {
+        if (cache == null) {
+            cache = new TinyLFUCache<>(Config.get().getResultCacheMaxSize(), Long.MAX_VALUE, (key, entry) -> 1);
+            MetricsEmitter.getInstance().resultCacheGauges(this::getHitCount, this::getMissCount, this::size);
+        }
+    }
+
+    static final class Key {
+        private final Operation operation;
+        private final Map<String, Object> arguments;
+        private final String principal;
+        private final int hash;
+
+        Key(Operation operation, Map<String, Object> arguments, String principal) {
+            this.operation = operation;
+            this.arguments = arguments;
+            this.principal = principal;
+            this.hash = Objects.hash(System.identityHashCode(operation), arguments, principal);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            // the same query of the same schema
+            return operation == other.operation
+                    && arguments.equals(other.arguments)
+                    && Objects.equals(principal, other.principal);
+        }
+    }
+
+    private static final class Entry {
+        private final Object data;
+        private final long expiresAt;
+
+        Entry(Object data, long expiresAt) {
+            this.data = data;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
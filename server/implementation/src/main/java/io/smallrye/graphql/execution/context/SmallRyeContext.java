@@ -17,6 +17,7 @@ import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.execution.QueryCache;
 import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Type;
 
 /**
  * Implements the Context from MicroProfile API.
@@ -32,6 +33,9 @@ import io.smallrye.graphql.schema.model.Field;
  * These above things get shared between all clones to enable applications to write their own data
  * into them.
  *
+ * Everything that can be derived from the DataFetchingEnvironment (path, selected fields, arguments, parent type name...)
+ * is only computed when it's asked for, as most fields are fetched without anyone ever reading the context.
+ *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
 public class SmallRyeContext implements Context {
@@ -39,6 +43,7 @@ public class SmallRyeContext implements Context {
     private String fetchId;
     private JsonObject request;
     private String executionId;
+    private Type type;
     private Field field;
     private String fieldName;
     private Map<String, ?> arguments;
@@ -62,6 +67,7 @@ public class SmallRyeContext implements Context {
         clone.fetchId = fetchId;
         clone.request = request;
         clone.executionId = executionId;
+        clone.type = type;
         clone.field = field;
         clone.fieldName = fieldName;
         clone.arguments = arguments;
@@ -82,6 +88,24 @@ public class SmallRyeContext implements Context {
         return clone;
     }
 
+    /**
+     * Point this (cloned) context to a new field. The values that are derived from the DataFetchingEnvironment are
+     * reset here, and lazily computed by their getters.
+     */
+    void populateFromDataFetchingEnvironment(Type type, Field field, DataFetchingEnvironment dataFetchingEnvironment) {
+        this.dataFetchingEnvironment = dataFetchingEnvironment;
+        this.type = type;
+        this.field = field;
+        this.fieldName = null;
+        this.arguments = null;
+        this.source = null;
+        this.path = null;
+        this.selectedFields = null;
+        this.selectedAndSourceFields = null;
+        this.operationType = null;
+        this.parentTypeName = null;
+    }
+
     public Map<String, Object> getAddedExtensions() {
         return addedExtensions;
     }
@@ -122,6 +146,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public String getExecutionId() {
+        if (this.executionId == null && this.dataFetchingEnvironment != null) {
+            this.executionId = this.dataFetchingEnvironment.getExecutionId().toString();
+        }
         return this.executionId;
     }
 
@@ -131,6 +158,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public String getFieldName() {
+        if (this.fieldName == null && this.dataFetchingEnvironment != null) {
+            this.fieldName = this.dataFetchingEnvironment.getField().getName();
+        }
         return this.fieldName;
     }
 
@@ -148,6 +178,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public <A> Map<String, A> getArguments() {
+        if (this.arguments == null && this.dataFetchingEnvironment != null) {
+            return (Map<String, A>) this.dataFetchingEnvironment.getArguments();
+        }
         return (Map<String, A>) this.arguments;
     }
 
@@ -157,6 +190,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public <S> S getSource() {
+        if (this.source == null && this.dataFetchingEnvironment != null) {
+            return this.dataFetchingEnvironment.getSource();
+        }
         return (S) this.source;
     }
 
@@ -166,6 +202,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public String getPath() {
+        if (this.path == null && this.dataFetchingEnvironment != null) {
+            this.path = this.dataFetchingEnvironment.getExecutionStepInfo().getPath().toString();
+        }
         return this.path;
     }
 
@@ -175,6 +214,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public JsonArray getSelectedFields() {
+        if (this.selectedFields == null && this.dataFetchingEnvironment != null) {
+            this.selectedFields = SmallRyeContextManager.buildSelectedFields(type, dataFetchingEnvironment, field, false);
+        }
         return this.selectedFields;
     }
 
@@ -184,6 +226,10 @@ public class SmallRyeContext implements Context {
 
     @Override
     public JsonArray getSelectedAndSourceFields() {
+        if (this.selectedAndSourceFields == null && this.dataFetchingEnvironment != null) {
+            this.selectedAndSourceFields = SmallRyeContextManager.buildSelectedFields(type, dataFetchingEnvironment, field,
+                    true);
+        }
         return selectedAndSourceFields;
     }
 
@@ -193,6 +239,10 @@ public class SmallRyeContext implements Context {
 
     @Override
     public String getOperationType() {
+        if (this.operationType == null && this.dataFetchingEnvironment != null) {
+            this.operationType = SmallRyeContextManager
+                    .getOperationTypeFromDefinition(this.dataFetchingEnvironment.getOperationDefinition());
+        }
         return this.operationType;
     }
 
@@ -211,6 +261,10 @@ public class SmallRyeContext implements Context {
 
     @Override
     public Optional<String> getParentTypeName() {
+        if (this.parentTypeName == null && this.dataFetchingEnvironment != null) {
+            this.parentTypeName = SmallRyeContextManager.getGraphQLTypeName(this.dataFetchingEnvironment.getParentType())
+                    .orElse(null);
+        }
         if (this.parentTypeName != null) {
             return Optional.of(this.parentTypeName);
         }
@@ -223,6 +277,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public Optional<String> getOperationName() {
+        if (this.operationName == null && this.dataFetchingEnvironment != null) {
+            this.operationName = SmallRyeContextManager.getOperationName(this.dataFetchingEnvironment);
+        }
         if (this.operationName != null) {
             return Optional.of(this.operationName);
         }
@@ -302,18 +359,18 @@ public class SmallRyeContext implements Context {
         return "SmallRyeContext{\n"
                 + "\t createdBy=" + createdBy + ",\n"
                 + "\t request=" + request + ",\n"
-                + "\t executionId=" + executionId + ",\n"
+                + "\t executionId=" + getExecutionId() + ",\n"
                 + "\t field=" + field + ",\n"
-                + "\t fieldName=" + fieldName + " (" + f + "),\n"
-                + "\t arguments=" + arguments + ",\n"
-                + "\t source=" + source + ",\n"
-                + "\t path=" + path + ",\n"
-                + "\t selectedFields=" + selectedFields + ",\n"
-                + "\t selectedAndSourceFields=" + selectedAndSourceFields + ",\n"
-                + "\t operationType=" + operationType + ",\n"
+                + "\t fieldName=" + getFieldName() + " (" + f + "),\n"
+                + "\t arguments=" + getArguments() + ",\n"
+                + "\t source=" + getSource() + ",\n"
+                + "\t path=" + getPath() + ",\n"
+                + "\t selectedFields=" + getSelectedFields() + ",\n"
+                + "\t selectedAndSourceFields=" + getSelectedAndSourceFields() + ",\n"
+                + "\t operationType=" + getOperationType() + ",\n"
                 + "\t requestedOperationTypes=" + requestedOperationTypes + ",\n"
-                + "\t parentTypeName=" + parentTypeName + ",\n"
-                + "\t operationName=" + operationName + ",\n"
+                + "\t parentTypeName=" + getParentTypeName().orElse(null) + ",\n"
+                + "\t operationName=" + getOperationName().orElse(null) + ",\n"
                 + "}";
     }
 }
@@ -79,6 +79,8 @@ public class SmallRyeContextManager {
         }
 
         smallRyeContext.setRequest(request);
+        // a context left on this thread must not compute values from the previous request's fields
+        smallRyeContext.setDataFetchingEnvironment(null);
         smallRyeContext.setOperationName(getOperationName(request));
         current.set(smallRyeContext);
         return smallRyeContext;
@@ -127,20 +129,8 @@ public class SmallRyeContextManager {
         if (!smallRyeContext.hasRequest())
             throw new RuntimeException("Invalid context provided, can not populate data from Data Fetching Environment");
         SmallRyeContext clone = smallRyeContext.clone();
-        clone.setDataFetchingEnvironment(dataFetchingEnvironment);
-        clone.setField(field);
-        clone.setArguments(dataFetchingEnvironment.getArguments());
-        clone.setPath(dataFetchingEnvironment.getExecutionStepInfo().getPath().toString());
-        clone.setExecutionId(dataFetchingEnvironment.getExecutionId().toString());
-        clone.setFieldName(dataFetchingEnvironment.getField().getName());
-        clone.setSource(dataFetchingEnvironment.getSource());
-        clone.setSelectedFields(buildSelectedFields(type, dataFetchingEnvironment, field, false));
-        clone.setSelectedAndSourceFields(buildSelectedFields(type, dataFetchingEnvironment, field, true));
-        clone.setOperationType(getOperationTypeFromDefinition(dataFetchingEnvironment.getOperationDefinition()));
-        clone.setParentTypeName(getGraphQLTypeName(dataFetchingEnvironment.getParentType()).orElse(null));
-        if (clone.getOperationName().isEmpty()) {
-            clone.setOperationName(getOperationName(dataFetchingEnvironment));
-        }
+        // Everything else (path, selected fields, arguments...) is computed lazily from the DataFetchingEnvironment
+        clone.populateFromDataFetchingEnvironment(type, field, dataFetchingEnvironment);
         GraphQLContext graphQLContext = dataFetchingEnvironment.getGraphQlContext();
         graphQLContext.put(CONTEXT, clone);
 
@@ -148,7 +138,7 @@ public class SmallRyeContextManager {
         return clone;
     }
 
-    private static Optional<String> getGraphQLTypeName(GraphQLType graphQLType) {
+    static Optional<String> getGraphQLTypeName(GraphQLType graphQLType) {
         if (graphQLType instanceof GraphQLNamedType) {
             return Optional.of(((GraphQLNamedType) graphQLType).getName());
         } else if (graphQLType instanceof GraphQLNonNull) {
@@ -159,11 +149,11 @@ public class SmallRyeContextManager {
         return Optional.empty();
     }
 
-    private static String getOperationTypeFromDefinition(OperationDefinition definition) {
+    static String getOperationTypeFromDefinition(OperationDefinition definition) {
         return definition.getOperation().toString();
     }
 
-    private static JsonArray buildSelectedFields(Type type, DataFetchingEnvironment dfe, Field field,
+    static JsonArray buildSelectedFields(Type type, DataFetchingEnvironment dfe, Field field,
             boolean includeSourceFields) {
         DataFetchingFieldSelectionSet selectionSet = dfe.getSelectionSet();
         Set<SelectedField> fields = new LinkedHashSet<>(selectionSet.getFields());
@@ -277,7 +267,7 @@ public class SmallRyeContextManager {
         return null;
     }
 
-    private static String getOperationName(DataFetchingEnvironment dataFetchingEnvironment) {
+    static String getOperationName(DataFetchingEnvironment dataFetchingEnvironment) {
         if (dataFetchingEnvironment.getOperationDefinition() != null
                 && dataFetchingEnvironment.getOperationDefinition().getName() != null
                 && !dataFetchingEnvironment.getOperationDefinition().getName().isEmpty()) {
@@ -0,0 +1,130 @@
+package io.smallrye.graphql.execution.cost;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import graphql.GraphQLContext;
+
+/**
+ * The cost budgets of the clients, one token bucket per value of the budget header.
+ *
+ * A bucket holds up to {@code capacity} tokens, and is refilled with {@code refillPerSecond} tokens every second. An
+ * operation takes as many tokens as it costs. A bucket that is full again is forgotten when there are many clients,
+ * as a new bucket would be the same. When there are still too many clients, the buckets of new clients start empty,
+ * so a client can not get more budget by sending new values of the header.
+ */
+public class CostBudgets {
+    private static final int MAX_CLIENTS = 10_000;
+    private static final long FORGET_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final String HTTP_HEADERS = "httpHeaders";
+    private static final long FORGOTTEN = Long.MIN_VALUE;
+
+    private final String header;
+    private final long capacity;
+    private final long refillPerSecond;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile long forgetAt = Long.MIN_VALUE;
+
+    public CostBudgets(String header, long capacity, long refillPerSecond) {
+        this.header = header;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * @return the client that sent the operation, or null if the request does not have the budget header
+     */
+    public String getClient(GraphQLContext context) {
+        Map<String, List<String>> httpHeaders = context == null ? null : context.get(HTTP_HEADERS);
+        if (httpHeaders != null) {
+            for (Map.Entry<String, List<String>> entry : httpHeaders.entrySet()) {
+                if (header.equalsIgnoreCase(entry.getKey()) && entry.getValue() != null
+                        && !entry.getValue().isEmpty()) {
+                    return entry.getValue().get(0);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take the cost of an operation from the budget of the client
+     *
+     * @return the remaining budget, or -1 if the budget is too small, then nothing is taken
+     */
+    public long take(String client, long cost) {
+        return take(client, cost, System.nanoTime());
+    }
+
+    long take(String client, long cost, long now) {
+        while (true) {
+            TokenBucket bucket = buckets.get(client);
+            if (bucket == null) {
+                if (buckets.size() >= MAX_CLIENTS) {
+                    forgetFullBuckets(now);
+                }
+                long tokens = buckets.size() >= MAX_CLIENTS ? 0 : capacity;
+                bucket = buckets.computeIfAbsent(client, c -> new TokenBucket(tokens, now));
+            }
+            long remaining = bucket.take(cost, capacity, refillPerSecond, now);
+            if (remaining != FORGOTTEN) {
+                return remaining;
+            }
+            // the bucket was full and has just been forgotten, the next one is full too
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void forgetFullBuckets(long now) {
+        // looking at all the buckets for every new client would be slow when there are many
+        if (now < forgetAt) {
+            return;
+        }
+        forgetAt = now + FORGET_INTERVAL;
+        buckets.values().removeIf(bucket -> bucket.forget(capacity, refillPerSecond, now));
+    }
+
+    static final class TokenBucket {
+        // guarded by this
+        private double tokens;
+        private long refilledAt;
+        private boolean forgotten;
+
+        TokenBucket(long tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        synchronized long take(long cost, long capacity, long refillPerSecond, long now) {
+            if (forgotten) {
+                return FORGOTTEN;
+            }
+            refill(capacity, refillPerSecond, now);
+            if (cost > tokens) {
+                return -1;
+            }
+            tokens -= cost;
+            return (long) tokens;
+        }
+
+        synchronized boolean forget(long capacity, long refillPerSecond, long now) {
+            refill(capacity, refillPerSecond, now);
+            forgotten = tokens >= capacity;
+            return forgotten;
+        }
+
+        private void refill(long capacity, long refillPerSecond, long now) {
+            tokens = Math.min(capacity, tokens + Math.max(0, now - refilledAt) * refillPerSecond / 1_000_000_000d);
+            refilledAt = Math.max(refilledAt, now);
+        }
+    }
+}
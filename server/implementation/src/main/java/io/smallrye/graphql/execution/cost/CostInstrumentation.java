@@ -0,0 +1,100 @@
+package io.smallrye.graphql.execution.cost;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import io.smallrye.graphql.execution.QueryCache;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Works out the cost of an operation before it is executed, and rejects it if it costs too much.
+ *
+ * An operation costs too much when it costs more than {@code smallrye.graphql.cost.maxPerOperation}, or more than the
+ * budget that is left for the client (see {@link CostBudgets}). When there are budgets, operations without the budget
+ * header are rejected. The cost is added to the extensions of the response.
+ */
+public class CostInstrumentation extends SimplePerformantInstrumentation {
+    private static final String COST = "cost";
+
+    private final QueryCache queryCache;
+    private final long maxPerOperation;
+    private final long defaultListSize;
+    private final CostBudgets budgets;
+
+    public CostInstrumentation(QueryCache queryCache, Config config) {
+        this.queryCache = queryCache;
+        this.maxPerOperation = config.getCostMaxPerOperation().map(Integer::longValue).orElse(Long.MAX_VALUE);
+        this.defaultListSize = config.getCostDefaultListSize();
+        this.budgets = config.getCostBudgetHeader()
+                .map(header -> new CostBudgets(header, config.getCostBudgetCapacity(),
+                        config.getCostBudgetRefillPerSecond()))
+                .orElse(null);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        long cost = queryCache.getCostPlan(executionContext)
+                .getCost(executionContext.getOperationDefinition(), executionContext.getCoercedVariables().toMap(),
+                        defaultListSize);
+
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("requested", cost);
+        if (cost > maxPerOperation) {
+            extension.put("maximum", maxPerOperation);
+            throw abort("Operation costs " + cost + ", the maximum is " + maxPerOperation, extension);
+        }
+        GraphQLContext graphQLContext = executionContext.getGraphQLContext();
+        if (budgets != null) {
+            String client = budgets.getClient(graphQLContext);
+            if (client == null) {
+                throw abort("Operations need the " + budgets.getHeader() + " header to be charged to a budget",
+                        extension);
+            }
+            long remaining = budgets.take(client, cost);
+            if (remaining < 0) {
+                throw abort("Operation costs " + cost + ", that is more than the budget that is left", extension);
+            }
+            extension.put("remaining", remaining);
+        }
+        graphQLContext.put(CostInstrumentation.class, extension);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+            InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        Map<String, Object> extension = parameters.getGraphQLContext().get(CostInstrumentation.class);
+        if (extension == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        Map<Object, Object> extensions = new HashMap<>();
+        if (executionResult.getExtensions() != null) {
+            extensions.putAll(executionResult.getExtensions());
+        }
+        extensions.put(COST, extension);
+        return CompletableFuture.completedFuture(executionResult.transform(builder -> builder.extensions(extensions)));
+    }
+
+    private static AbortExecutionException abort(String message, Map<String, Object> extension) {
+        return new AbortExecutionException(List.of(GraphqlErrorBuilder.newError()
+                .message(message)
+                .extensions(Map.of(COST, extension))
+                .build()));
+    }
+}
@@ -0,0 +1,306 @@
+package io.smallrye.graphql.execution.cost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import graphql.language.ArrayValue;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.InputValueWithState;
+
+/**
+ * The cost of the operations of a document, worked out once per document.
+ *
+ * Walking the document and looking up the {@code @cost} of the fields is done when the plan is created. The values of
+ * multiplier arguments that are variables are only known per request, so what is left for a request is adding up a tree
+ * of numbers. A multiplier argument that is not set gets its default value, a variable that is not set gets the default
+ * value of the variable or else of the argument. When none of the multipliers of a field has a value, the field counts
+ * as a list of the default size.
+ *
+ * @see io.smallrye.graphql.api.Cost
+ */
+public final class CostPlan {
+    static final String COST_DIRECTIVE = "cost";
+
+    private final Map<String, Node> operations = new HashMap<>();
+
+    private CostPlan() {
+    }
+
+    public static CostPlan create(Document document, GraphQLSchema schema) {
+        CostPlan plan = new CostPlan();
+        Map<String, FragmentDefinition> fragments = new HashMap<>();
+        for (FragmentDefinition fragment : document.getDefinitionsOfType(FragmentDefinition.class)) {
+            fragments.put(fragment.getName(), fragment);
+        }
+        for (OperationDefinition operation : document.getDefinitionsOfType(OperationDefinition.class)) {
+            GraphQLCompositeType rootType = getRootType(operation, schema);
+            if (rootType != null) {
+                List<Node> fields = new ArrayList<>();
+                Map<String, Value<?>> variableDefaults = new HashMap<>();
+                for (VariableDefinition variable : operation.getVariableDefinitions()) {
+                    if (variable.getDefaultValue() != null) {
+                        variableDefaults.put(variable.getName(), variable.getDefaultValue());
+                    }
+                }
+                plan.addFields(fields, operation.getSelectionSet(), rootType, schema, fragments, variableDefaults,
+                        new HashSet<>());
+                plan.operations.put(operation.getName(), new Node(0, NO_MULTIPLIERS, fields));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * @param operation the operation that is executed
+     * @param variables the coerced variables of the request
+     * @param defaultListSize the multiplier of a field when none of its multiplier arguments has a value
+     * @return the cost of the operation
+     */
+    public long getCost(OperationDefinition operation, Map<String, Object> variables, long defaultListSize) {
+        Node node = operations.get(operation.getName());
+        return node == null ? 0 : node.cost(variables, defaultListSize);
+    }
+
+    private static GraphQLCompositeType getRootType(OperationDefinition operation, GraphQLSchema schema) {
+        switch (operation.getOperation()) {
+            case MUTATION:
+                return schema.getMutationType();
+            case SUBSCRIPTION:
+                return schema.getSubscriptionType();
+            default:
+                return schema.getQueryType();
+        }
+    }
+
+    private void addFields(List<Node> nodes, SelectionSet selectionSet, GraphQLCompositeType parentType,
+            GraphQLSchema schema, Map<String, FragmentDefinition> fragments, Map<String, Value<?>> variableDefaults,
+            Set<String> visitedFragments) {
+        if (selectionSet == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Node node = createNode((Field) selection, parentType, schema, fragments, variableDefaults,
+                        visitedFragments);
+                if (node != null) {
+                    nodes.add(node);
+                }
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                GraphQLCompositeType type = inlineFragment.getTypeCondition() == null ? parentType
+                        : compositeType(schema.getType(inlineFragment.getTypeCondition().getName()));
+                addFields(nodes, inlineFragment.getSelectionSet(), type, schema, fragments, variableDefaults,
+                        visitedFragments);
+            } else if (selection instanceof FragmentSpread) {
+                FragmentDefinition fragment = fragments.get(((FragmentSpread) selection).getName());
+                // validation does not allow cycles, but better safe than sorry
+                if (fragment != null && visitedFragments.add(fragment.getName())) {
+                    addFields(nodes, fragment.getSelectionSet(),
+                            compositeType(schema.getType(fragment.getTypeCondition().getName())), schema, fragments,
+                            variableDefaults, visitedFragments);
+                    visitedFragments.remove(fragment.getName());
+                }
+            }
+        }
+    }
+
+    private Node createNode(Field field, GraphQLCompositeType parentType, GraphQLSchema schema,
+            Map<String, FragmentDefinition> fragments, Map<String, Value<?>> variableDefaults,
+            Set<String> visitedFragments) {
+        if (!(parentType instanceof GraphQLFieldsContainer)) {
+            // only __typename can be selected on a union
+            return null;
+        }
+        GraphQLFieldDefinition definition = ((GraphQLFieldsContainer) parentType).getFieldDefinition(field.getName());
+        if (definition == null) {
+            // introspection
+            return null;
+        }
+        GraphQLType type = GraphQLTypeUtil.unwrapAll(definition.getType());
+        int weight = type instanceof GraphQLCompositeType ? 1 : 0;
+        List<Multiplier> multipliers = NO_MULTIPLIERS;
+
+        // the directives are added with the legacy API, so they are not applied directives
+        @SuppressWarnings("deprecation")
+        GraphQLDirective cost = definition.getDirective(COST_DIRECTIVE);
+        if (cost != null) {
+            Object costWeight = getValue(cost.getArgument("weight"));
+            if (costWeight instanceof Number) {
+                weight = ((Number) costWeight).intValue();
+            }
+            Object names = getValue(cost.getArgument("multipliers"));
+            if (names instanceof Object[]) {
+                names = Arrays.asList((Object[]) names);
+            }
+            if (names instanceof Collection && !((Collection<?>) names).isEmpty()) {
+                multipliers = new ArrayList<>();
+                for (Object name : (Collection<?>) names) {
+                    Multiplier multiplier = createMultiplier(String.valueOf(name), field, definition,
+                            variableDefaults);
+                    if (multiplier != null) {
+                        multipliers.add(multiplier);
+                    }
+                }
+            }
+        }
+
+        List<Node> children = new ArrayList<>();
+        if (type instanceof GraphQLCompositeType) {
+            addFields(children, field.getSelectionSet(), (GraphQLCompositeType) type, schema, fragments,
+                    variableDefaults, visitedFragments);
+        }
+        return new Node(weight, multipliers, children);
+    }
+
+    private static Multiplier createMultiplier(String name, Field field, GraphQLFieldDefinition definition,
+            Map<String, Value<?>> variableDefaults) {
+        GraphQLArgument argument = definition.getArgument(name);
+        if (argument == null) {
+            return null;
+        }
+        long defaultSize = defaultSize(argument);
+        Value<?> value = field.getArguments().stream()
+                .filter(a -> a.getName().equals(name))
+                .map(a -> a.getValue())
+                .findFirst()
+                .orElse(null);
+        if (value instanceof VariableReference) {
+            String variable = ((VariableReference) value).getName();
+            Value<?> variableDefault = variableDefaults.get(variable);
+            // a variable that is not set leaves the argument unset, so it gets its default value
+            return new Multiplier(variable, variableDefault == null ? defaultSize : literalSize(variableDefault));
+        }
+        return new Multiplier(null, value == null ? defaultSize : literalSize(value));
+    }
+
+    // -1 if the argument has no default value that is a number of elements
+    private static long defaultSize(GraphQLArgument argument) {
+        if (!argument.hasSetDefaultValue()) {
+            return -1;
+        }
+        InputValueWithState defaultValue = argument.getArgumentDefaultValue();
+        if (defaultValue.isLiteral()) {
+            return defaultValue.getValue() instanceof Value ? literalSize((Value<?>) defaultValue.getValue()) : -1;
+        }
+        return size(defaultValue.getValue());
+    }
+
+    // -1 if the literal is not a number of elements
+    private static long literalSize(Value<?> value) {
+        if (value instanceof IntValue) {
+            return ((IntValue) value).getValue().longValue();
+        }
+        if (value instanceof ArrayValue) {
+            return ((ArrayValue) value).getValues().size();
+        }
+        return -1;
+    }
+
+    private static Object getValue(GraphQLArgument argument) {
+        return argument == null || !argument.hasSetValue() ? null : argument.getArgumentValue().getValue();
+    }
+
+    private static GraphQLCompositeType compositeType(GraphQLType type) {
+        return type instanceof GraphQLCompositeType ? (GraphQLCompositeType) type : null;
+    }
+
+    // -1 if the value is not a number of elements
+    private static long size(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        return -1;
+    }
+
+    private static final List<Multiplier> NO_MULTIPLIERS = List.of();
+
+    /**
+     * An argument that multiplies the cost of its field, a constant or a variable. The constant is -1 when it is not a
+     * number of elements, and it is the value of a variable that is not set.
+     */
+    private static final class Multiplier {
+        private final String variable;
+        private final long constant;
+
+        Multiplier(String variable, long constant) {
+            this.variable = variable;
+            this.constant = constant;
+        }
+
+        long get(Map<String, Object> variables) {
+            if (variable == null || !variables.containsKey(variable)) {
+                return constant;
+            }
+            return size(variables.get(variable));
+        }
+    }
+
+    /**
+     * A selected field, and the fields selected below it
+     */
+    private static final class Node {
+        private final int weight;
+        private final List<Multiplier> multipliers;
+        private final Node[] children;
+
+        Node(int weight, List<Multiplier> multipliers, List<Node> children) {
+            this.weight = weight;
+            this.multipliers = multipliers;
+            this.children = children.toArray(new Node[0]);
+        }
+
+        long cost(Map<String, Object> variables, long defaultListSize) {
+            long cost = weight;
+            for (Node child : children) {
+                cost = saturatedAdd(cost, child.cost(variables, defaultListSize));
+            }
+            if (!multipliers.isEmpty()) {
+                long multiplier = -1;
+                for (Multiplier m : multipliers) {
+                    multiplier = Math.max(multiplier, m.get(variables));
+                }
+                cost = saturatedMultiply(cost, multiplier >= 0 ? multiplier : defaultListSize);
+            }
+            return cost;
+        }
+
+        private static long saturatedAdd(long a, long b) {
+            long sum = a + b;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+
+        private static long saturatedMultiply(long a, long b) {
+            long high = Math.multiplyHigh(a, b);
+            long product = a * b;
+            return high != 0 || product < 0 ? Long.MAX_VALUE : product;
+        }
+    }
+}
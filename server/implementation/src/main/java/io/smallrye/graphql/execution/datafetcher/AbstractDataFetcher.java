@@ -3,7 +3,6 @@ package io.smallrye.graphql.execution.datafetcher;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import jakarta.validation.ConstraintViolationException;
 
@@ -13,6 +12,8 @@ import org.eclipse.microprofile.graphql.GraphQLException;
 import graphql.execution.DataFetcherResult;
 import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.execution.cache.FieldCache;
+import io.smallrye.graphql.execution.cache.ResultCache;
 import io.smallrye.graphql.execution.context.SmallRyeContext;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.execution.datafetcher.helper.ArgumentHelper;
@@ -21,7 +22,9 @@ import io.smallrye.graphql.execution.datafetcher.helper.ErrorResultHelper;
 import io.smallrye.graphql.execution.datafetcher.helper.FieldHelper;
 import io.smallrye.graphql.execution.datafetcher.helper.OperationInvoker;
 import io.smallrye.graphql.execution.event.EventEmitter;
+import io.smallrye.graphql.execution.metrics.FieldMetrics;
 import io.smallrye.graphql.execution.metrics.MetricsEmitter;
+import io.smallrye.graphql.execution.tracing.FieldTracing;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Type;
 import io.smallrye.graphql.transformation.AbstractDataFetcherException;
@@ -43,11 +46,11 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
     protected ErrorResultHelper errorResultHelper = new ErrorResultHelper();
     protected ArgumentHelper argumentHelper;
     protected EventEmitter eventEmitter = EventEmitter.getInstance();
-    @SuppressWarnings("unused")
     protected MetricsEmitter metricsEmitter = MetricsEmitter.getInstance();
+    protected FieldMetrics fieldMetrics;
+    protected FieldTracing fieldTracing = FieldTracing.getInstance();
+    protected FieldCache fieldCache;
     protected BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
-    @SuppressWarnings("unused")
-    protected LinkedBlockingQueue<Long> measurementIds = new LinkedBlockingQueue<>();
 
     public AbstractDataFetcher(Operation operation, Type type) {
         this.operation = operation;
@@ -55,6 +58,8 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
         this.fieldHelper = new FieldHelper(operation);
         this.operationInvoker = new OperationInvoker(operation);
         this.argumentHelper = new ArgumentHelper(operation.getArguments());
+        this.fieldMetrics = metricsEmitter.forOperation(operation);
+        this.fieldCache = ResultCache.getInstance().forOperation(operation);
     }
 
     @Override
@@ -65,23 +70,57 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
 
         final DataFetcherResult.Builder<Object> resultBuilder = DataFetcherResult.newResult()
                 .localContext(dfe.getGraphQlContext());
+        long sample = fieldMetrics.start();
+        long traced = fieldTracing.start(dfe);
+        boolean endsLater = false;
+        Throwable failure = null;
         try {
+            Object cacheKey = fieldCache.start(dfe);
+            if (cacheKey != null) {
+                Object cached = fieldCache.get(cacheKey);
+                if (cached != FieldCache.MISS) {
+                    resultBuilder.data(cached);
+                    // returned the same way as a failure, without calling the method
+                    return invokeFailure(resultBuilder);
+                }
+            }
             List<Object> transformedArguments = argumentHelper.getArguments(dfe);
-            return invokeAndTransform(smallRyeContext, dfe, resultBuilder, transformedArguments.toArray());
+            T result = invokeAndTransform(smallRyeContext, dfe, resultBuilder, transformedArguments.toArray());
+            if (cacheKey != null) {
+                result = fieldCache.put(cacheKey, result);
+            }
+            if (result instanceof CompletionStage
+                    && (sample != FieldMetrics.NOT_SAMPLED || traced != FieldTracing.NOT_TRACED)) {
+                ((CompletionStage<?>) result).whenComplete((r, t) -> {
+                    fieldMetrics.end(sample, dfe);
+                    fieldTracing.end(traced, dfe, t);
+                });
+                endsLater = true;
+            }
+            return result;
         } catch (AbstractDataFetcherException abstractDataFetcherException) {
             //Arguments or result couldn't be transformed
+            failure = abstractDataFetcherException;
             abstractDataFetcherException.appendDataFetcherResult(resultBuilder, dfe);
             eventEmitter.fireOnDataFetchError(smallRyeContext, abstractDataFetcherException);
         } catch (GraphQLException graphQLException) {
+            failure = graphQLException;
             errorResultHelper.appendPartialResult(resultBuilder, dfe, graphQLException);
             eventEmitter.fireOnDataFetchError(smallRyeContext, graphQLException);
         } catch (ConstraintViolationException cve) {
+            failure = cve;
             BeanValidationUtil.addConstraintViolationsToDataFetcherResult(cve.getConstraintViolations(),
                     operationInvoker.getMethod(), resultBuilder, dfe);
             return (T) resultBuilder.build();
         } catch (Throwable ex) {
+            failure = ex;
             eventEmitter.fireOnDataFetchError(smallRyeContext, ex);
             throw ex;
+        } finally {
+            if (!endsLater) {
+                fieldMetrics.end(sample, dfe);
+                fieldTracing.end(traced, dfe, failure);
+            }
         }
         return invokeFailure(resultBuilder);
     }
@@ -92,10 +131,18 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
         Object[] arguments = batchLoaderHelper.getArguments(batchContext);
         DataFetchingEnvironment dataFetchingEnvironment = batchLoaderHelper.getDataFetchingEnvironment(batchContext);
 
+        long traced = fieldTracing.start(dataFetchingEnvironment);
         try {
             SmallRyeContext smallRyeContext = SmallRyeContextManager.populateFromDataFetchingEnvironment(type, operation,
                     dataFetchingEnvironment);
-            return invokeBatch(dataFetchingEnvironment, arguments);
+            CompletionStage<List<T>> result = invokeBatch(dataFetchingEnvironment, arguments);
+            if (traced != FieldTracing.NOT_TRACED) {
+                result.whenComplete((r, t) -> fieldTracing.endBatch(traced, dataFetchingEnvironment, keys.size(), t));
+            }
+            return result;
+        } catch (Throwable t) {
+            fieldTracing.endBatch(traced, dataFetchingEnvironment, keys.size(), t);
+            throw t;
         } finally {
             SmallRyeContextManager.clearCurrentSmallRyeContext();
         }
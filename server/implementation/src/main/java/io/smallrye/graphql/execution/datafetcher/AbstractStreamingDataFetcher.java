@@ -9,7 +9,10 @@ import org.eclipse.microprofile.graphql.GraphQLException;
 import graphql.execution.DataFetcherResult;
 import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.SmallRyeGraphQLServerMessages;
+import io.smallrye.graphql.api.Broadcast;
 import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Type;
 import io.smallrye.graphql.transformation.AbstractDataFetcherException;
@@ -26,8 +29,17 @@ import mutiny.zero.flow.adapters.AdaptersToReactiveStreams;
  */
 public abstract class AbstractStreamingDataFetcher<K, T> extends AbstractDataFetcher<K, T> {
 
+    private static final String ROLES_ALLOWED = "rolesAllowed";
+
+    // the method of a shared stream is only called when the stream is subscribed to, so by the first client
+    private final boolean callWhenSubscribed;
+
     public AbstractStreamingDataFetcher(Operation operation, Type type) {
         super(operation, type);
+        // the method checks the roles, so every client that is not known to have them calls it
+        boolean checksRoles = operation.hasDirectiveInstances() && operation.getDirectiveInstances().stream()
+                .anyMatch(directive -> ROLES_ALLOWED.equals(directive.getType().getName()));
+        this.callWhenSubscribed = operation.isBroadcast() && (operation.isBroadcastPerPrincipal() || !checksRoles);
     }
 
     @Override
@@ -38,7 +50,20 @@ public abstract class AbstractStreamingDataFetcher<K, T> extends AbstractDataFet
             DataFetcherResult.Builder<Object> resultBuilder,
             Object[] transformedArguments) throws Exception {
 
-        Multi<?> multi = handleUserMethodCall(dfe, transformedArguments)
+        if (operation.isBroadcast()) {
+            // so the websocket handler shares the stream with the clients that send the same request, the value is if
+            // it is only shared with the clients of the same principal
+            dfe.getGraphQlContext().put(Broadcast.class, operation.isBroadcastPerPrincipal());
+        }
+        Multi<?> userMulti;
+        if (callWhenSubscribed) {
+            // the clients that join a shared stream never subscribe to their own, so they do not call the method
+            userMulti = Multi.createFrom().deferred(() -> callUserMethod((SmallRyeContext) context, dfe,
+                    transformedArguments));
+        } else {
+            userMulti = handleUserMethodCall(dfe, transformedArguments);
+        }
+        Multi<?> multi = userMulti
                 .onItem().transform((t) -> {
                     try {
                         Object resultFromTransform = fieldHelper.transformOrAdaptResponse(t, dfe);
@@ -78,6 +103,19 @@ public abstract class AbstractStreamingDataFetcher<K, T> extends AbstractDataFet
     protected abstract Multi<?> handleUserMethodCall(DataFetchingEnvironment dfe, final Object[] transformedArguments)
             throws Exception;
 
+    // calls the method later, on the thread that subscribes, with the context of the request
+    private Multi<?> callUserMethod(SmallRyeContext context, DataFetchingEnvironment dfe, Object[] transformedArguments) {
+        SmallRyeContext previous = SmallRyeContextManager.getCurrentSmallRyeContext();
+        SmallRyeContextManager.restore(context);
+        try {
+            return handleUserMethodCall(dfe, transformedArguments);
+        } catch (Exception e) {
+            return Multi.createFrom().failure(e);
+        } finally {
+            SmallRyeContextManager.restore(previous);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <O> O invokeFailure(DataFetcherResult.Builder<Object> resultBuilder) {
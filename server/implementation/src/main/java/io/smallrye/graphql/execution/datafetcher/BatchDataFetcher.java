@@ -8,11 +8,14 @@ import org.dataloader.DataLoader;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.execution.cache.FieldCache;
+import io.smallrye.graphql.execution.cache.ResultCache;
 import io.smallrye.graphql.execution.context.SmallRyeContext;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.execution.datafetcher.helper.ArgumentHelper;
 import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
 import io.smallrye.graphql.execution.event.EventEmitter;
+import io.smallrye.graphql.execution.metrics.FieldMetrics;
 import io.smallrye.graphql.execution.metrics.MetricsEmitter;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Type;
@@ -31,13 +34,16 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
     private final String batchLoaderName;
     private final BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
-    private final MetricsEmitter metricsEmitter = MetricsEmitter.getInstance();
+    private final FieldMetrics fieldMetrics;
+    private final FieldCache fieldCache;
 
     public BatchDataFetcher(Operation operation, Type type) {
         this.operation = operation;
         this.type = type;
         this.argumentHelper = new ArgumentHelper(operation.getArguments());
         this.batchLoaderName = batchLoaderHelper.getName(operation);
+        this.fieldMetrics = MetricsEmitter.getInstance().forOperation(operation);
+        this.fieldCache = ResultCache.getInstance().forOperation(operation);
     }
 
     @Override
@@ -45,7 +51,9 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
 
         SmallRyeContext smallryeContext = SmallRyeContextManager.populateFromDataFetchingEnvironment(type, operation, dfe);
         eventEmitter.fireBeforeDataFetch(smallryeContext);
-        long measurementId = metricsEmitter.start(smallryeContext);
+        long sample = fieldMetrics.start();
+        // only the hint counts, the results of source fields are not cached
+        fieldCache.start(dfe);
 
         try {
             List<Object> transformedArguments = argumentHelper.getArguments(dfe, true);
@@ -58,11 +66,11 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
             batchContext.put(BatchLoaderHelper.DATA_FETCHING_ENVIRONMENT, dfe);
 
             return (T) Uni.createFrom().completionStage(() -> dataLoader.load(source, batchContext)).onItemOrFailure()
-                    .invoke(() -> metricsEmitter.end(measurementId))
+                    .invoke(() -> fieldMetrics.end(sample, dfe))
                     .subscribe()
                     .asCompletionStage();
         } catch (Exception e) {
-            metricsEmitter.end(measurementId);
+            fieldMetrics.end(sample, dfe);
             throw e;
         }
     }
@@ -2,12 +2,12 @@ package io.smallrye.graphql.execution.datafetcher;
 
 import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
 
-import java.lang.reflect.InvocationTargetException;
-
 import graphql.GraphQLException;
 import graphql.TrivialDataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
+import io.smallrye.graphql.execution.datafetcher.helper.Accessors;
+import io.smallrye.graphql.execution.datafetcher.helper.Accessors.PropertyAccessor;
 import io.smallrye.graphql.execution.datafetcher.helper.FieldHelper;
 import io.smallrye.graphql.schema.model.Field;
 import io.smallrye.graphql.schema.model.Reference;
@@ -21,8 +21,9 @@ import io.smallrye.graphql.transformation.AbstractDataFetcherException;
  * <p>
  *
  * @param <T>
- * @implNote If the (graphql-) field has no methodName, a {@link FieldAccessor} for the (java-) field is is created.
- *           Otherwise, a {@link MethodAccessor} is created for the accessor method.
+ * @implNote If the (graphql-) field has no methodName, a {@link PropertyAccessor} for the (java-) field is is created.
+ *           Otherwise, a {@link PropertyAccessor} is created for the accessor method. Both are created by
+ *           {@link Accessors}, so they do not use reflection when they are called.
  *           <p>
  *           The owner is used to create the {@link PropertyAccessor} independently of the source object (which could be a
  *           different
@@ -42,13 +43,22 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
     /**
      * PropertyAccessor to access the (java-) field or method.
      */
-    private PropertyAccessor<Object> propertyAccessor;
+    private PropertyAccessor propertyAccessor;
+
+    /**
+     * If no user code runs while fetching this field (a public java field without an adapter), nobody can ask for the
+     * context, so we do not populate it at all.
+     */
+    private final boolean populateContext;
 
     public FieldDataFetcher(final Field field, final Type type, final Reference owner) {
         this.fieldHelper = new FieldHelper(field);
         this.field = field;
         this.type = type;
         this.owner = owner;
+        this.populateContext = field.getMethodName() != null
+                || field.isAdaptingWith()
+                || field.getReference().isAdaptingWith();
     }
 
     @Override
@@ -61,7 +71,9 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
         Object resultFromMethodCall = null;
         try {
             Object source = dfe.getSource();
-            SmallRyeContextManager.populateFromDataFetchingEnvironment(type, field, dfe);
+            if (populateContext) {
+                SmallRyeContextManager.populateFromDataFetchingEnvironment(type, field, dfe);
+            }
             resultFromMethodCall = propertyAccessor.get(source);
             // See if we need to transform
             @SuppressWarnings("unchecked")
@@ -88,51 +100,15 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
      *
      * @return a PropertyAccessor to access this property
      */
-    private PropertyAccessor<Object> buildPropertyAccessor() {
+    private PropertyAccessor buildPropertyAccessor() {
         try {
             final Class<?> aClass = ClassloadingService.get().loadClass(owner.getClassName());
             if (this.field.getMethodName() == null) {
-                return new FieldAccessor<>(aClass.getField(this.field.getPropertyName()));
+                return Accessors.forField(aClass.getField(this.field.getPropertyName()));
             }
-            return new MethodAccessor<>(aClass.getMethod(this.field.getMethodName()));
+            return Accessors.forGetter(aClass.getMethod(this.field.getMethodName()));
         } catch (ReflectiveOperationException e) {
             throw new GraphQLException(e);
         }
     }
-
-    interface PropertyAccessor<T> {
-        T get(Object source) throws ReflectiveOperationException;
-    }
-
-    static class FieldAccessor<T> implements PropertyAccessor<T> {
-
-        private final java.lang.reflect.Field field;
-
-        FieldAccessor(final java.lang.reflect.Field field) {
-            this.field = field;
-        }
-
-        @Override
-        public T get(final Object source) throws IllegalAccessException {
-            @SuppressWarnings("unchecked")
-            T result = (T) field.get(source);
-            return result;
-        }
-    }
-
-    static class MethodAccessor<T> implements PropertyAccessor<T> {
-
-        private final java.lang.reflect.Method method;
-
-        MethodAccessor(final java.lang.reflect.Method method) {
-            this.method = method;
-        }
-
-        @Override
-        public T get(final Object source) throws InvocationTargetException, IllegalAccessException {
-            @SuppressWarnings("unchecked")
-            final T result = (T) method.invoke(source);
-            return result;
-        }
-    }
 }
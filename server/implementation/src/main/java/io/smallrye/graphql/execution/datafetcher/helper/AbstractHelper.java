@@ -1,21 +1,17 @@
 package io.smallrye.graphql.execution.datafetcher.helper;
 
-import java.lang.reflect.Array;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.api.Entry;
@@ -27,6 +23,7 @@ import io.smallrye.graphql.schema.model.ReferenceType;
 import io.smallrye.graphql.schema.model.Wrapper;
 import io.smallrye.graphql.spi.ClassloadingService;
 import io.smallrye.graphql.transformation.AbstractDataFetcherException;
+import io.smallrye.graphql.transformation.TransformException;
 import io.smallrye.graphql.transformation.Transformer;
 
 /**
@@ -38,8 +35,8 @@ public abstract class AbstractHelper {
 
     protected final ClassloadingService classloadingService = ClassloadingService.get();
     protected final DefaultMapAdapter mapAdapter = new DefaultMapAdapter();
-    private final Map<String, Transformer> transformerMap = new HashMap<>();
-    private final Map<Integer, ReflectionInvoker> invokerMap = new HashMap<>();
+    private final Map<FieldKey, FieldPlan> plans = new ConcurrentHashMap<>();
+    private final Map<Integer, ReflectionInvoker> invokerMap = new ConcurrentHashMap<>();
 
     protected AbstractHelper() {
     }
@@ -85,10 +82,15 @@ public abstract class AbstractHelper {
 
     public Object transformOrAdapt(Object val, Field field, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
+        return transformOrAdapt(val, field, planFor(field), dfe);
+    }
+
+    Object transformOrAdapt(Object val, Field field, FieldPlan plan, DataFetchingEnvironment dfe)
+            throws AbstractDataFetcherException {
 
-        val = recursiveTransform(val, field, dfe);
-        if (shouldAdapt(field)) {
-            val = recursiveAdapting(val, field, dfe);
+        val = plan.transformation.apply(val, dfe);
+        if (plan.adapt) {
+            val = plan.adaptation.apply(val, dfe);
         }
 
         return val;
@@ -107,11 +109,13 @@ public abstract class AbstractHelper {
     /**
      * This do the transform of a 'leaf' value
      *
-     * @param argumentValue the value
+     * @param argumentValue the value, not null
      * @param field the field as scanned
+     * @param transformer the transformer for the field
      * @return transformed value
      */
-    abstract Object singleTransform(Object argumentValue, Field field) throws AbstractDataFetcherException;
+    abstract Object singleTransform(Object argumentValue, Field field, Transformer transformer)
+            throws AbstractDataFetcherException;
 
     /**
      * This does the adapting to a scalar of a 'leaf' value
@@ -124,251 +128,116 @@ public abstract class AbstractHelper {
             throws AbstractDataFetcherException;
 
     /**
-     * Here we actually do the transform. This method get called recursively in the case of arrays
-     *
-     * @param value the value we got from graphql-java or response from the method call
-     * @param field details about the expected type created while scanning the code
-     * @return the argumentValue in the correct type and transformed
+     * @param field the field of a 'leaf' value
+     * @return if the 'leaf' values of this field are always used as they are
      */
-    Object recursiveTransform(Object value, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-
-        if (value == null) {
-            return null;
-        }
-
-        // First handle the array if this is an array
-        if (field.hasWrapper() && field.getWrapper().isArray()) {
-            return recursiveTransformArray(value, field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isMap()) {
-            return value;
-        } else if (field.hasWrapper() && field.getWrapper().isCollection()) {
-            return recursiveTransformCollection(value, field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isOptional()) {
-            // Also handle optionals
-            return recursiveTransformOptional(value, field, dfe);
-        } else if (field.getReference().getClassName().equals("java.util.OptionalInt")) {
-            if (value instanceof BigDecimal)
-                return OptionalInt.of(((BigDecimal) value).intValueExact());
-            if (value instanceof OptionalInt)
-                return value;
-            return OptionalInt.of((Integer) value);
-        } else if (field.getReference().getClassName().equals("java.util.OptionalLong")) {
-            if (value instanceof BigDecimal)
-                return OptionalLong.of(((BigDecimal) value).longValueExact());
-            if (value instanceof OptionalLong)
-                return value;
-            return OptionalLong.of(((BigInteger) value).longValueExact());
-        } else if (field.getReference().getClassName().equals("java.util.OptionalDouble")) {
-            if (value instanceof BigDecimal)
-                return OptionalDouble.of(((BigDecimal) value).doubleValue());
-            if (value instanceof OptionalDouble)
-                return value;
-            return OptionalDouble.of((Double) value);
-        } else {
-            // we need to transform before we make sure the type is correct
-            value = singleTransform(value, field);
-        }
-
-        // Recursive transformation done.
-        return afterRecursiveTransform(value, field, dfe);
+    boolean isIdentityTransform(Field field) {
+        return false;
     }
 
     /**
-     * Here we actually do the adapting. This method get called recursively in the case of arrays etc.
-     *
-     * @param inputValue the value we got from graphql-java or response from the method call
-     * @param field details about the expected type created while scanning the code
-     * @return the argumentValue in the correct type and mapped
+     * @return if any collection can be used where the field has a collection, else it has to be the exact class
+     *         {@link CollectionCreator} creates for the field
      */
-    Object recursiveAdapting(Object inputValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-
-        if (inputValue == null) {
-            return null;
-        }
-
-        if (field.hasWrapper() && field.getWrapper().isArray()) {
-            return recursiveAdaptArray(inputValue, field, dfe);
-        } else if (Classes.isMap(inputValue) && shouldAdaptWithToMap(field)) {
-            return singleAdapting(inputValue, field, dfe);
-        } else if (shouldAdaptWithFromMap(field)) {
-            return singleAdapting(new HashSet((Collection) inputValue), field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isCollection()) {
-            return recursiveAdaptCollection(inputValue, field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isOptional()) {
-            return recursiveAdaptOptional(inputValue, field, dfe);
-        } else {
-            // we need to adapt before we make sure the type is correct
-            inputValue = singleAdapting(inputValue, field, dfe);
-        }
-
-        // Recursive adapting done.
-        return inputValue;
+    boolean acceptsAnyCollection() {
+        return false;
     }
 
     /**
-     * This just creates a new array and add values to it by calling the recursiveTransform method.
-     * This allows arrays of arrays and transformation inside arrays
-     * Even without transformation, we need to go from arrayList to Array,
-     * or arraylist of arraylist to array of array
+     * Here we actually do the transform, with the plan of the field
      *
-     * @param array the array or list as from graphql-java,
-     * @param field the field as created while scanning
-     * @return an array with the transformed values in.
+     * @param value the value we got from graphql-java or response from the method call
+     * @param field details about the expected type created while scanning the code
+     * @return the argumentValue in the correct type and transformed
      */
-    private Object recursiveTransformArray(Object array, Field field, DataFetchingEnvironment dfe)
+    Object recursiveTransform(Object value, Field field, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
-        if (Classes.isCollection(array)) {
-            array = ((Collection) array).toArray();
-        }
-
-        Class classInCollection = getArrayType(field);
-
-        //Skip transform if not needed
-        if (array.getClass().getComponentType().equals(classInCollection)) {
-            return array;
-        }
-
-        int length = Array.getLength(array);
-        Object targetArray = Array.newInstance(classInCollection, length);
-
-        for (int i = 0; i < length; i++) {
-            Field fieldInCollection = getFieldInField(field);
-            Object element = Array.get(array, i);
-            Object targetElement = recursiveTransform(element, fieldInCollection, dfe);
-            Array.set(targetArray, i, targetElement);
-        }
-
-        return targetArray;
+        return planFor(field).transformation.apply(value, dfe);
     }
 
     /**
-     * This just creates a new array and add values to it by calling the recursiveAdapting method.
-     * This allows arrays of arrays and mapping inside arrays
-     *
-     * @param array the array or list as from graphql-java,
-     * @param field the field as created while scanning
-     * @return an array with the mapped values in.
+     * @param field a field that is used for many values, like the field of an input type
+     * @return the plan of the field, compiled the first time
      */
-    private Object recursiveAdaptArray(Object array, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        if (Classes.isCollection(array)) {
-            array = ((Collection) array).toArray();
-        }
-
-        Class classInCollection = getArrayType(field);
-
-        //Skip mapping if not needed
-        if (array.getClass().getComponentType().equals(classInCollection)) {
-            return array;
-        }
-
-        int length = Array.getLength(array);
-        Object targetArray = Array.newInstance(classInCollection, length);
-
-        for (int i = 0; i < length; i++) {
-            Field fieldInCollection = getFieldInField(field);
-            Object element = Array.get(array, i);
-            Object targetElement = recursiveAdapting(element, fieldInCollection, dfe);
-            Array.set(targetArray, i, targetElement);
-        }
-
-        return targetArray;
+    FieldPlan planFor(Field field) {
+        return plans.computeIfAbsent(new FieldKey(field), key -> compile(key.field));
     }
 
     /**
-     * This just creates a new correct type collection and add values to it by calling the recursiveTransform method.
-     * This allows collections of collections and transformation inside collections
-     * Even without transformation, we need to go from arrayList to the correct collection type,
-     * or arraylist of arraylist to collection of collection
+     * Compile the plan of a field. This works out once what {@link #transformOrAdapt} needs to do with the values.
      *
-     * @param argumentValue the list as from graphql-java (always an arraylist)
-     * @param field the field as created while scanning
-     * @return a collection with the transformed values in.
+     * @param field the field
+     * @return the plan
      */
-    private Object recursiveTransformCollection(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        Collection givenCollection = getGivenCollection(argumentValue);
-
-        String collectionClassName = field.getWrapper().getWrapperClassName();
-
-        Collection convertedCollection = CollectionCreator.newCollection(collectionClassName, givenCollection.size());
-
-        Field fieldInCollection = getFieldInField(field);
-        for (Object objectInGivenCollection : givenCollection) {
-            Object objectInCollection = recursiveTransform(objectInGivenCollection,
-                    fieldInCollection, dfe);
-            convertedCollection.add(objectInCollection);
-        }
-
-        return convertedCollection;
+    FieldPlan compile(Field field) {
+        return new FieldPlan(compileTransformation(field), compileAdaptation(field), shouldAdapt(field));
     }
 
-    /**
-     * This just creates a new correct type collection and add values to it by calling the recursiveAdapting method.
-     * This allows collections of collections and mapping inside collections
-     *
-     * @param argumentValue the list as from graphql-java (always an arraylist)
-     * @param field the field as created while scanning
-     * @return a collection with the mapped values in.
-     */
-    private Object recursiveAdaptCollection(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        Collection givenCollection = getGivenCollection(argumentValue);
-        String collectionClassName = field.getWrapper().getWrapperClassName();
-        Collection convertedCollection = CollectionCreator.newCollection(collectionClassName, givenCollection.size());
-
-        Field fieldInCollection = getFieldInField(field);
-        for (Object objectInGivenCollection : givenCollection) {
-            Object objectInCollection = recursiveAdapting(objectInGivenCollection,
-                    fieldInCollection, dfe);
-            convertedCollection.add(objectInCollection);
+    private TransformationPlan compileTransformation(Field field) {
+        if (field.hasWrapper()) {
+            Wrapper wrapper = field.getWrapper();
+            if (wrapper.isArray()) {
+                return TransformationPlan.array(() -> getArrayType(field), compileTransformation(getFieldInField(field)));
+            } else if (wrapper.isMap()) {
+                return TransformationPlan.IDENTITY;
+            } else if (wrapper.isCollection()) {
+                return TransformationPlan.collection(wrapper.getWrapperClassName(),
+                        compileTransformation(getFieldInField(field)), acceptsAnyCollection());
+            } else if (wrapper.isOptional()) {
+                // Also handle optionals
+                return TransformationPlan.optional(compileTransformation(getFieldInField(field)));
+            }
         }
-
-        return convertedCollection;
+        String className = field.getReference().getClassName();
+        if (className.equals(OptionalInt.class.getName())) {
+            return TransformationPlan.OPTIONAL_INT;
+        } else if (className.equals(OptionalLong.class.getName())) {
+            return TransformationPlan.OPTIONAL_LONG;
+        } else if (className.equals(OptionalDouble.class.getName())) {
+            return TransformationPlan.OPTIONAL_DOUBLE;
+        } else if (isIdentityTransform(field)) {
+            return TransformationPlan.IDENTITY;
+        }
+        return new LeafPlan(field);
     }
 
     /**
-     * This is not yet specified by MicroProfile GraphQL, but we support it by also allowing transformation the optional
-     * element.
+     * Here we actually do the adapting, with the plan of the field
      *
-     * @param argumentValue the value as from graphql-java
-     * @param field the graphql-field
-     * @return a optional with the transformed value in.
+     * @param inputValue the value we got from graphql-java or response from the method call
+     * @param field details about the expected type created while scanning the code
+     * @return the argumentValue in the correct type and mapped
      */
-    private Optional<Object> recursiveTransformOptional(Object argumentValue, Field field, DataFetchingEnvironment dfe)
+    Object recursiveAdapting(Object inputValue, Field field, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
-        // Check the type and maybe apply transformation
-        if (argumentValue == null || !((Optional) argumentValue).isPresent()) {
-            return Optional.empty();
-        } else {
-            Optional optional = (Optional) argumentValue;
-            Object o = optional.get();
-            Field f = getFieldInField(field);
-            return Optional.of(recursiveTransform(o, f, dfe));
-        }
+        return planFor(field).adaptation.apply(inputValue, dfe);
     }
 
     /**
-     * Add support for mapping an optional element.
-     *
-     * @param argumentValue the value as from graphql-java
-     * @param field the graphql-field
-     * @return a optional with the mapped value in.
+     * Works out once how to adapt the values of a field, following its wrappers down to the values that are adapted
+     * with {@link #singleAdapting}. Fields that are adapted from or to a map are only known to need it when we see the
+     * value, so they are checked for every value.
      */
-    private Optional<Object> recursiveAdaptOptional(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        // Check the type and maybe apply transformation
-        if (argumentValue == null || !((Optional) argumentValue).isPresent()) {
-            return Optional.empty();
+    private TransformationPlan compileAdaptation(Field field) {
+        if (field.hasWrapper() && field.getWrapper().isArray()) {
+            return TransformationPlan.array(() -> getArrayType(field), compileAdaptation(getFieldInField(field)));
+        }
+        TransformationPlan plan;
+        if (field.hasWrapper() && field.getWrapper().isCollection()) {
+            // always the collection of the field, the adapters are called with it
+            plan = TransformationPlan.collection(field.getWrapper().getWrapperClassName(),
+                    compileAdaptation(getFieldInField(field)), false);
+        } else if (field.hasWrapper() && field.getWrapper().isOptional()) {
+            plan = TransformationPlan.nullSafe(TransformationPlan.optional(compileAdaptation(getFieldInField(field))));
         } else {
-            Optional optional = (Optional) argumentValue;
-            Object o = optional.get();
-            Field f = getFieldInField(field);
-            return Optional.of(recursiveAdapting(o, f, dfe));
+            plan = new AdaptLeafPlan(field);
         }
-
+        boolean toMap = shouldAdaptWithToMap(field);
+        boolean fromMap = shouldAdaptWithFromMap(field);
+        if (toMap || fromMap) {
+            plan = new AdaptMapPlan(field, toMap, fromMap, plan);
+        }
+        return plan;
     }
 
     protected Class<?> getArrayType(Field field) {
@@ -377,15 +246,6 @@ public abstract class AbstractHelper {
         return classInCollection;
     }
 
-    protected Transformer getTransformer(Field field) {
-        if (transformerMap.containsKey(field.getName())) {
-            return transformerMap.get(field.getName());
-        }
-        Transformer transformer = Transformer.transformer(field);
-        transformerMap.put(field.getName(), transformer);
-        return transformer;
-    }
-
     protected ReflectionInvoker getReflectionInvokerForInput(AdaptWith adaptWith) {
         List<String> parameters = new ArrayList<>();
         if (adaptWith.getToReference().hasWrapper()) {
@@ -412,13 +272,7 @@ public abstract class AbstractHelper {
 
     private ReflectionInvoker getReflectionInvoker(String className, String methodName, List<String> parameterClasses) {
         Integer key = getKey(className, methodName, parameterClasses);
-        if (invokerMap.containsKey(key)) {
-            return invokerMap.get(key);
-        } else {
-            ReflectionInvoker reflectionInvoker = new ReflectionInvoker(className, methodName, parameterClasses);
-            invokerMap.put(key, reflectionInvoker);
-            return reflectionInvoker;
-        }
+        return invokerMap.computeIfAbsent(key, k -> new ReflectionInvoker(className, methodName, parameterClasses));
     }
 
     private Integer getKey(String className, String methodName, List<String> parameterClasses) {
@@ -496,4 +350,126 @@ public abstract class AbstractHelper {
         return field.hasWrapper() && field.getWrapper().isMap();
     }
 
+    /**
+     * What to do with the values of a field
+     */
+    static final class FieldPlan {
+        private final TransformationPlan transformation;
+        private final TransformationPlan adaptation;
+        private final boolean adapt;
+
+        private FieldPlan(TransformationPlan transformation, TransformationPlan adaptation, boolean adapt) {
+            this.transformation = transformation;
+            this.adaptation = adaptation;
+            this.adapt = adapt;
+        }
+    }
+
+    /**
+     * Adapts a 'leaf' value
+     */
+    private final class AdaptLeafPlan extends TransformationPlan {
+        private final Field field;
+
+        private AdaptLeafPlan(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            return value == null ? null : singleAdapting(value, field, dfe);
+        }
+    }
+
+    /**
+     * Adapts a map to entries, or entries to a map, else adapts the value with the plan of its wrappers
+     */
+    private final class AdaptMapPlan extends TransformationPlan {
+        private final Field field;
+        private final boolean toMap;
+        private final boolean fromMap;
+        private final TransformationPlan otherwise;
+
+        private AdaptMapPlan(Field field, boolean toMap, boolean fromMap, TransformationPlan otherwise) {
+            this.field = field;
+            this.toMap = toMap;
+            this.fromMap = fromMap;
+            this.otherwise = otherwise;
+        }
+
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            if (value == null) {
+                return null;
+            } else if (toMap && Classes.isMap(value)) {
+                return singleAdapting(value, field, dfe);
+            } else if (fromMap) {
+                return singleAdapting(new HashSet<>((Collection<?>) value), field, dfe);
+            }
+            return otherwise.apply(value, dfe);
+        }
+    }
+
+    /**
+     * Transforms a 'leaf' value. The transformer is created when it is first used, as the helper used to do.
+     */
+    private final class LeafPlan extends TransformationPlan {
+        private final Field field;
+        private final boolean transform;
+        private Transformer transformer;
+        private volatile boolean transformerCreated;
+
+        private LeafPlan(Field field) {
+            this.field = field;
+            this.transform = shouldTransform(field);
+        }
+
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            if (value == null) {
+                return null;
+            }
+            if (transform) {
+                Transformer t = getTransformer(value);
+                if (t != null) {
+                    // we need to transform before we make sure the type is correct
+                    value = singleTransform(value, field, t);
+                }
+            }
+            return afterRecursiveTransform(value, field, dfe);
+        }
+
+        private Transformer getTransformer(Object value) throws TransformException {
+            if (!transformerCreated) {
+                try {
+                    transformer = Transformer.transformer(field);
+                } catch (RuntimeException ex) {
+                    throw new TransformException(ex, field, value);
+                }
+                transformerCreated = true;
+            }
+            return transformer;
+        }
+    }
+
+    /**
+     * The fields we get are created once while scanning, so we look them up by identity
+     */
+    private static final class FieldKey {
+        private final Field field;
+
+        private FieldKey(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof FieldKey && ((FieldKey) obj).field == field;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(field);
+        }
+    }
 }
@@ -0,0 +1,252 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates the accessors that call user code: operations, getters, setters, constructors, fields and adapters.
+ *
+ * Accessors are created once, when a data fetcher or adapter is first used, and then called for every field.
+ * Methods with up to one parameter get a class generated by the {@link LambdaMetafactory}, which the JIT can inline
+ * like a direct call. Other methods and fields use a {@link MethodHandle}. If the access rules do not allow either (for
+ * example because the class is in a module that is not open to us), the accessor falls back to reflection.
+ *
+ * Accessors for methods are kept per declaring class, because some data fetchers are created for every request.
+ *
+ * Exceptions thrown by the user code are thrown as they are, never wrapped in an {@link InvocationTargetException}.
+ */
+public final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    // a ClassValue does not keep the classes from being unloaded on redeploy
+    private static final ClassValue<Map<Method, MethodAccessor>> METHOD_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private Accessors() {
+    }
+
+    /**
+     * Calls a method
+     */
+    @FunctionalInterface
+    public interface MethodAccessor {
+        /**
+         * @param target the instance to call the method on, ignored for static methods
+         * @param arguments the arguments, exactly as many as the method has parameters
+         * @return the result of the method, boxed if it is a primitive, null for void methods
+         * @throws Exception anything the method throws
+         */
+        Object invoke(Object target, Object[] arguments) throws Exception;
+    }
+
+    /**
+     * Reads a property, either from a field or from a method without parameters
+     */
+    @FunctionalInterface
+    public interface PropertyAccessor {
+        Object get(Object source) throws Exception;
+    }
+
+    /**
+     * Writes a property, either to a field or through a method with one parameter
+     */
+    @FunctionalInterface
+    public interface PropertyWriter {
+        void set(Object target, Object value) throws Exception;
+    }
+
+    public static MethodAccessor forMethod(Method method) {
+        return METHOD_ACCESSORS.get(method.getDeclaringClass()).computeIfAbsent(method, Accessors::createMethodAccessor);
+    }
+
+    private static MethodAccessor createMethodAccessor(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+            MethodAccessor lambda = lambdaFor(lookup, method);
+            if (lambda != null) {
+                return lambda;
+            }
+            return handleFor(lookup.unreflect(method), method);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            log.usingReflectionAccess(method.toString(), ex.toString());
+            return (target, arguments) -> {
+                try {
+                    return method.invoke(target, arguments);
+                } catch (InvocationTargetException ite) {
+                    throw rethrow(ite.getCause());
+                }
+            };
+        }
+    }
+
+    /**
+     * @param constructor the constructor
+     * @return an accessor that ignores the target and returns the new instance
+     */
+    public static MethodAccessor forConstructor(Constructor<?> constructor) {
+        try {
+            MethodHandle handle = lookupFor(constructor.getDeclaringClass()).unreflectConstructor(constructor);
+            return spread(MethodHandles.dropArguments(handle, 0, Object.class), constructor.getParameterCount());
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.usingReflectionAccess(constructor.toString(), ex.toString());
+            return (target, arguments) -> {
+                try {
+                    return constructor.newInstance(arguments);
+                } catch (InvocationTargetException ite) {
+                    throw rethrow(ite.getCause());
+                }
+            };
+        }
+    }
+
+    public static PropertyAccessor forGetter(Method getter) {
+        MethodAccessor methodAccessor = forMethod(getter);
+        return source -> methodAccessor.invoke(source, NO_ARGUMENTS);
+    }
+
+    public static PropertyAccessor forField(java.lang.reflect.Field field) {
+        try {
+            MethodHandle handle = lookupFor(field.getDeclaringClass()).unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle getter = handle.asType(GETTER_TYPE);
+            return source -> {
+                try {
+                    return (Object) getter.invokeExact(source);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.usingReflectionAccess(field.toString(), ex.toString());
+            return field::get;
+        }
+    }
+
+    public static PropertyWriter forSetter(Method setter) {
+        MethodAccessor methodAccessor = forMethod(setter);
+        return (target, value) -> methodAccessor.invoke(target, new Object[] { value });
+    }
+
+    public static PropertyWriter forFieldSetter(java.lang.reflect.Field field) {
+        try {
+            MethodHandle setter = lookupFor(field.getDeclaringClass()).unreflectSetter(field).asType(SETTER_TYPE);
+            return (target, value) -> {
+                try {
+                    setter.invokeExact(target, value);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.usingReflectionAccess(field.toString(), ex.toString());
+            return field::set;
+        }
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> declaringClass) {
+        try {
+            // a private lookup in the declaring class lets us define the lambda classes next to it
+            return MethodHandles.privateLookupIn(declaringClass, LOOKUP);
+        } catch (IllegalAccessException | SecurityException ex) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    /**
+     * @return an accessor with a generated class, or null if the method does not fit a {@link Supplier},
+     *         {@link Function} or {@link BiFunction}, or if the lookup does not allow defining classes
+     */
+    @SuppressWarnings("unchecked")
+    private static MethodAccessor lambdaFor(MethodHandles.Lookup lookup, Method method) {
+        if (method.getParameterCount() > 1 || method.getReturnType() == void.class || method.isVarArgs()
+                || !lookup.hasFullPrivilegeAccess()) {
+            return null;
+        }
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        try {
+            MethodHandle implementation = lookup.unreflect(method);
+            // the receiver, if any, is the first parameter, and primitives are boxed like Method.invoke does
+            MethodType instantiatedType = implementation.type().wrap();
+            int arity = instantiatedType.parameterCount();
+            if (arity == 0) {
+                Supplier<Object> supplier = (Supplier<Object>) metafactory(lookup, Supplier.class, "get", implementation,
+                        instantiatedType).invoke();
+                return (target, arguments) -> supplier.get();
+            } else if (arity == 1) {
+                Function<Object, Object> function = (Function<Object, Object>) metafactory(lookup, Function.class,
+                        "apply", implementation, instantiatedType).invoke();
+                return isStatic
+                        ? (target, arguments) -> function.apply(arguments[0])
+                        : (target, arguments) -> function.apply(target);
+            } else {
+                BiFunction<Object, Object, Object> function = (BiFunction<Object, Object, Object>) metafactory(lookup,
+                        BiFunction.class, "apply", implementation, instantiatedType).invoke();
+                return (target, arguments) -> function.apply(target, arguments[0]);
+            }
+        } catch (Throwable t) {
+            // fall back to a method handle
+            return null;
+        }
+    }
+
+    private static MethodHandle metafactory(MethodHandles.Lookup lookup, Class<?> functionalInterface,
+            String methodName, MethodHandle implementation, MethodType instantiatedType) throws Exception {
+        return LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionalInterface),
+                MethodType.genericMethodType(instantiatedType.parameterCount()), implementation, instantiatedType)
+                .getTarget();
+    }
+
+    private static MethodAccessor handleFor(MethodHandle handle, Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return spread(handle, method.getParameterCount());
+    }
+
+    private static MethodAccessor spread(MethodHandle handle, int parameterCount) {
+        MethodHandle invoker = handle.asFixedArity()
+                .asSpreader(Object[].class, parameterCount)
+                .asType(INVOKER_TYPE);
+        return (target, arguments) -> {
+            try {
+                return (Object) invoker.invokeExact(target, arguments);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    private static Exception rethrow(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t instanceof Exception) {
+            return (Exception) t;
+        }
+        return new UndeclaredThrowableException(t);
+    }
+}
@@ -11,7 +11,6 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +22,7 @@ import jakarta.json.bind.JsonbException;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLScalarType;
 import io.smallrye.graphql.execution.Classes;
+import io.smallrye.graphql.json.InputBinder;
 import io.smallrye.graphql.json.InputFieldsInfo;
 import io.smallrye.graphql.json.JsonBCreator;
 import io.smallrye.graphql.scalar.GraphQLScalarTypes;
@@ -46,6 +46,7 @@ import io.smallrye.graphql.transformation.Transformer;
 public class ArgumentHelper extends AbstractHelper {
 
     private final List<Argument> arguments;
+    private final FieldPlan[] plans;
 
     /**
      * We need the modeled arguments to create the correct values
@@ -55,6 +56,10 @@ public class ArgumentHelper extends AbstractHelper {
      */
     public ArgumentHelper(List<Argument> arguments) {
         this.arguments = arguments;
+        this.plans = new FieldPlan[arguments.size()];
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = compile(arguments.get(i));
+        }
     }
 
     /**
@@ -71,10 +76,11 @@ public class ArgumentHelper extends AbstractHelper {
     }
 
     public List<Object> getArguments(DataFetchingEnvironment dfe, boolean excludeSource) throws AbstractDataFetcherException {
-        List<Object> argumentObjects = new LinkedList<>();
-        for (Argument argument : arguments) {
+        List<Object> argumentObjects = new ArrayList<>(arguments.size());
+        for (int i = 0; i < plans.length; i++) {
+            Argument argument = arguments.get(i);
             if (!argument.isSourceArgument() || !excludeSource) {
-                Object argumentValue = getArgument(dfe, argument);
+                Object argumentValue = getArgument(dfe, argument, plans[i]);
                 argumentObjects.add(argumentValue);
             }
         }
@@ -88,9 +94,11 @@ public class ArgumentHelper extends AbstractHelper {
      *
      * @param dfe the Data Fetching Environment from graphql-java
      * @param argument the argument (as created while building the model)
+     * @param plan the plan of the argument
      * @return the value of the argument
      */
-    private Object getArgument(DataFetchingEnvironment dfe, Argument argument) throws AbstractDataFetcherException {
+    private Object getArgument(DataFetchingEnvironment dfe, Argument argument, FieldPlan plan)
+            throws AbstractDataFetcherException {
         // If this is a source argument, just return the source. The source does
         // not need transformation and would already be in the correct class type
         if (argument.isSourceArgument()) {
@@ -117,23 +125,24 @@ public class ArgumentHelper extends AbstractHelper {
             argumentValueFromGraphQLJava = Optional.of(argumentValueFromGraphQLJava);
         }
 
-        return transformOrAdapt(argumentValueFromGraphQLJava, argument, dfe);
+        return transformOrAdapt(argumentValueFromGraphQLJava, argument, plan, dfe);
     }
 
     /**
-     * By now this is a 'leaf' value, i.e not a collection of array, so we just transform if needed.
+     * By now this is a 'leaf' value, i.e not a collection of array, so we just transform.
      * the result might be in the wrong format.
      *
      * @param argumentValue the value to transform
      * @param field the field as created while scanning
+     * @param transformer the transformer for the field
      * @return transformed value
      */
     @Override
-    Object singleTransform(Object argumentValue, Field field) throws AbstractDataFetcherException {
-        if (!shouldTransform(field)) {
-            return argumentValue;
-        } else {
-            return transformInput(field, argumentValue);
+    Object singleTransform(Object argumentValue, Field field, Transformer transformer) throws AbstractDataFetcherException {
+        try {
+            return transformer.in(argumentValue);
+        } catch (Exception e) {
+            throw new TransformException(e, field, argumentValue);
         }
     }
 
@@ -224,25 +233,6 @@ public class ArgumentHelper extends AbstractHelper {
         return argumentValue;
     }
 
-    private Object transformInput(Field field, Object object) throws AbstractDataFetcherException {
-        if (object == null) {
-            return null;
-        }
-        if (!shouldTransform(field)) {
-            return object;
-        }
-
-        try {
-            Transformer transformer = super.getTransformer(field);
-            if (transformer == null) {
-                return object;
-            }
-            return transformer.in(object);
-        } catch (Exception e) {
-            throw new TransformException(e, field, object);
-        }
-    }
-
     private String getCreateMethodName(Field field) {
         if (field.getReference().isAdaptingTo()) {
             return field.getReference().getAdaptTo().getDeserializeMethod();
@@ -323,7 +313,7 @@ public class ArgumentHelper extends AbstractHelper {
     /**
      * If we got a map from graphql-java, this is a complex pojo input object
      *
-     * We need to create a object from this using JsonB.
+     * We create the object directly with the {@link InputBinder} where we can, else using JsonB.
      * We also need to handle transformation of fields that is on this complex type.
      *
      * The transformation with JsonB annotation will happen when binding, and the transformation
@@ -337,6 +327,12 @@ public class ArgumentHelper extends AbstractHelper {
             throws AbstractDataFetcherException {
         String className = field.getReference().getClassName();
 
+        // Bind directly if we can, that saves writing and parsing a json string
+        Object bound = bindComplexObjectFromMap(m, field, dfe);
+        if (bound != null) {
+            return bound;
+        }
+
         // Let's see if there are any fields that needs transformation or adaption
         if (InputFieldsInfo.hasTransformationFields(className)) {
             Map<String, Field> transformationFields = InputFieldsInfo.getTransformationFields(className);
@@ -390,6 +386,48 @@ public class ArgumentHelper extends AbstractHelper {
         return correctComplexObjectFromJsonString(jsonString, field);
     }
 
+    /**
+     * Create the object directly from the map, with the same transformations and adapters we use for arguments.
+     *
+     * @param m the map from graphql-java
+     * @param field the field as created while scanning
+     * @return a java object of this type, or null if it needs to be created with JsonB
+     */
+    private Object bindComplexObjectFromMap(Map m, Field field, DataFetchingEnvironment dfe)
+            throws AbstractDataFetcherException {
+        if (field.isAdaptingWith() || field.getReference().getAllParametrizedTypes() != null
+                && !field.getReference().getAllParametrizedTypes().isEmpty()) {
+            return null;
+        }
+        InputBinder inputBinder = InputBinder.get(field.getReference().getClassName());
+        if (inputBinder == null) {
+            return null;
+        }
+        try {
+            return inputBinder.bind(m, (value, f) -> bindFieldValue(value, f, dfe));
+        } catch (AbstractDataFetcherException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new TransformException(ex, field, m);
+        }
+    }
+
+    private Object bindFieldValue(Object value, Field field, DataFetchingEnvironment dfe)
+            throws AbstractDataFetcherException {
+        if (value == null) {
+            return null;
+        }
+        // same as for arguments
+        if (field.hasWrapper() && field.getWrapper().isOptional()) {
+            value = Optional.of(value);
+        }
+        // the value is already in the type the adapter expects
+        if (shouldAdaptWith(field)) {
+            return recursiveAdapting(value, field, dfe);
+        }
+        return transformOrAdapt(value, field, dfe);
+    }
+
     /**
      * Recursively add null fields for creator parameters which are not present in this map.
      * This is required by Yasson to be able to deserialize an object from the map.
@@ -23,6 +23,7 @@ import io.smallrye.graphql.transformation.Transformer;
 public class FieldHelper extends AbstractHelper {
 
     private final Field field;
+    private final FieldPlan plan;
 
     /**
      * We need the modeled field to create the correct value
@@ -32,30 +33,49 @@ public class FieldHelper extends AbstractHelper {
      */
     public FieldHelper(Field field) {
         this.field = field;
+        this.plan = compile(field);
     }
 
     public Object transformOrAdaptResponse(Object argumentValue, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
 
-        return super.transformOrAdapt(argumentValue, field, dfe);
+        return super.transformOrAdapt(argumentValue, field, plan, dfe);
     }
 
     /**
-     * By now this is a 'leaf' value, i.e not a collection of array, so we just transform if needed.
+     * By now this is a 'leaf' value, i.e not a collection of array, so we just transform.
      *
      * @param argumentValue the value to transform
      * @param field the field as created while scanning
+     * @param transformer the transformer for the field
      * @return transformed value
      */
     @Override
-    Object singleTransform(Object argumentValue, Field field) throws AbstractDataFetcherException {
-        if (!shouldTransform(field)) {
-            return argumentValue;
-        } else {
-            return transformOutput(field, argumentValue);
+    Object singleTransform(Object argumentValue, Field field, Transformer transformer) throws AbstractDataFetcherException {
+        try {
+            return transformer.out(argumentValue);
+        } catch (Exception e) {
+            log.transformError(e);
+            throw new TransformException(e, field, argumentValue);
         }
     }
 
+    /**
+     * Values that are not transformed are already what we respond with
+     */
+    @Override
+    boolean isIdentityTransform(Field field) {
+        return !shouldTransform(field);
+    }
+
+    /**
+     * graphql-java can iterate any collection we respond with
+     */
+    @Override
+    boolean acceptsAnyCollection() {
+        return true;
+    }
+
     /**
      * By now this is a 'leaf' value, i.e not a collection of array, so we just adapt to if needed.
      *
@@ -106,25 +126,6 @@ public class FieldHelper extends AbstractHelper {
         return classloadingService.loadClass(field.getReference().getGraphQLClassName());
     }
 
-    private Object transformOutput(Field field, Object object) throws AbstractDataFetcherException {
-        if (object == null) {
-            return null;
-        }
-        if (!shouldTransform(field)) {
-            return object;
-        }
-        try {
-            Transformer transformer = super.getTransformer(field);
-            if (transformer == null) {
-                return object;
-            }
-            return transformer.out(object);
-        } catch (Exception e) {
-            log.transformError(e);
-            throw new TransformException(e, field, object);
-        }
-    }
-
     private static final String KEY = "key";
 
 }
@@ -2,18 +2,14 @@ package io.smallrye.graphql.execution.datafetcher.helper;
 
 import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.eclipse.microprofile.graphql.GraphQLException;
-
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.execution.event.EventEmitter;
@@ -26,7 +22,7 @@ import io.smallrye.mutiny.Uni;
 import mutiny.zero.flow.adapters.AdaptersToReactiveStreams;
 
 /**
- * Invoke methods using reflection
+ * Invoke methods on managed instances, through an accessor created by {@link Accessors}
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
@@ -38,6 +34,7 @@ public class ReflectionInvoker {
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
     private final Class<?> operationClass;
     private Method method;
+    private Accessors.MethodAccessor methodAccessor;
     private int injectContextAt = -1;
 
     public ReflectionInvoker(String className) {
@@ -55,6 +52,7 @@ public class ReflectionInvoker {
 
     public void setMethod(String methodName, List<String> parameterClasses) {
         this.method = lookupMethod(operationClass, methodName, parameterClasses);
+        this.methodAccessor = Accessors.forMethod(method);
     }
 
     public <T> T invokePrivileged(Object... arguments) {
@@ -88,40 +86,41 @@ public class ReflectionInvoker {
     public <T> T invoke(Object... arguments) throws Exception {
 
         if (this.injectContextAt > -1) {
-            arguments = injectContext(arguments);
+            arguments = arguments.clone();
+            arguments[injectContextAt] = SmallRyeContextManager.getCurrentSmallRyeContext();
         }
+        ManagedInstance<?> operationInstance = lookupService.getInstance(operationClass);
+        Object operationInstance1 = operationInstance.get();
+        eventEmitter.fireBeforeMethodInvoke(new InvokeInfo(operationInstance1, method, arguments));
+        T result;
         try {
-            ManagedInstance<?> operationInstance = lookupService.getInstance(operationClass);
-            Object operationInstance1 = operationInstance.get();
-            eventEmitter.fireBeforeMethodInvoke(new InvokeInfo(operationInstance1, method, arguments));
-            T result = (T) method.invoke(operationInstance1, arguments);
-            if (result instanceof Uni) {
-                return (T) ((Uni) result).onTermination().invoke(() -> {
-                    operationInstance.destroyIfNecessary();
-                });
-            } else if (result instanceof Multi) {
-                Multi multi = (Multi) result;
-                multi = multi.onTermination().invoke(() -> {
-                    operationInstance.destroyIfNecessary();
-                });
-                return (T) AdaptersToReactiveStreams.publisher(multi);
-            } else {
-                operationInstance.destroyIfNecessary();
-                return result;
-            }
-        } catch (InvocationTargetException ex) {
-            //Invoked method has thrown something, unwrap
-            Throwable throwable = ex.getCause();
-
-            if (throwable instanceof Error) {
-                throw (Error) throwable;
-            } else if (throwable instanceof GraphQLException) {
-                throw (GraphQLException) throwable;
-            } else if (throwable instanceof Exception) {
-                throw (Exception) throwable;
-            } else {
-                throw msg.generalDataFetcherException(operationClass.getName() + ": " + method.getName(), throwable);
+            result = (T) methodAccessor.invoke(operationInstance1, arguments);
+        } catch (UndeclaredThrowableException ex) {
+            // the accessor wraps throwables that are neither an Exception nor an Error
+            Throwable throwable = ex.getUndeclaredThrowable();
+            if (throwable instanceof Exception || throwable instanceof Error) {
+                throw ex;
             }
+            throw msg.generalDataFetcherException(operationClass.getName() + ": " + method.getName(), throwable);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            // a generated accessor passes on what the method throws, even if it is not declared
+            throw msg.generalDataFetcherException(operationClass.getName() + ": " + method.getName(), throwable);
+        }
+        if (result instanceof Uni) {
+            return (T) ((Uni) result).onTermination().invoke(() -> {
+                operationInstance.destroyIfNecessary();
+            });
+        } else if (result instanceof Multi) {
+            Multi multi = (Multi) result;
+            multi = multi.onTermination().invoke(() -> {
+                operationInstance.destroyIfNecessary();
+            });
+            return (T) AdaptersToReactiveStreams.publisher(multi);
+        } else {
+            operationInstance.destroyIfNecessary();
+            return result;
         }
     }
 
@@ -150,12 +149,6 @@ public class ReflectionInvoker {
         return null;
     }
 
-    private Object[] injectContext(Object[] arguments) {
-        ArrayList list = new ArrayList(Arrays.asList(arguments));
-        list.set(injectContextAt, SmallRyeContextManager.getCurrentSmallRyeContext());
-        return list.toArray();
-    }
-
     @Override
     public String toString() {
         return method.toString();
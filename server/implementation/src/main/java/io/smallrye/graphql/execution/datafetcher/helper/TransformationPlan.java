@@ -0,0 +1,284 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.execution.Classes;
+import io.smallrye.graphql.execution.datafetcher.CollectionCreator;
+import io.smallrye.graphql.transformation.AbstractDataFetcherException;
+
+/**
+ * How to transform or adapt the values of a field, compiled once from the field instead of working it out for every
+ * value.
+ *
+ * A plan is a tree of small nodes that follows the wrappers of the field (arrays, collections and optionals) down to
+ * the leaf transformation. Nodes that have nothing to do are the {@link #IDENTITY}, so a collection with elements that
+ * need no transformation is returned as it is, without looking at the elements. A collection is only copied when an
+ * element changed, or when it is not a collection the method can be called with.
+ *
+ * Plans are immutable (apart from caching loaded classes) and can be used by many threads at the same time.
+ */
+abstract class TransformationPlan {
+
+    static final TransformationPlan IDENTITY = new TransformationPlan() {
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) {
+            return value;
+        }
+
+        @Override
+        boolean isIdentity() {
+            return true;
+        }
+    };
+
+    static final TransformationPlan OPTIONAL_INT = new TransformationPlan() {
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) {
+            if (value == null || value instanceof OptionalInt) {
+                return value;
+            } else if (value instanceof BigDecimal) {
+                return OptionalInt.of(((BigDecimal) value).intValueExact());
+            }
+            return OptionalInt.of((Integer) value);
+        }
+    };
+
+    static final TransformationPlan OPTIONAL_LONG = new TransformationPlan() {
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) {
+            if (value == null || value instanceof OptionalLong) {
+                return value;
+            } else if (value instanceof BigDecimal) {
+                return OptionalLong.of(((BigDecimal) value).longValueExact());
+            }
+            return OptionalLong.of(((BigInteger) value).longValueExact());
+        }
+    };
+
+    static final TransformationPlan OPTIONAL_DOUBLE = new TransformationPlan() {
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) {
+            if (value == null || value instanceof OptionalDouble) {
+                return value;
+            } else if (value instanceof BigDecimal) {
+                return OptionalDouble.of(((BigDecimal) value).doubleValue());
+            }
+            return OptionalDouble.of((Double) value);
+        }
+    };
+
+    /**
+     * @param value the value, may be null
+     * @param dfe the Data Fetching Environment from graphql-java
+     * @return the transformed value, or the same value if there was nothing to do
+     */
+    abstract Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException;
+
+    /**
+     * @return true if this plan always returns the value as it is
+     */
+    boolean isIdentity() {
+        return false;
+    }
+
+    /**
+     * @param componentType the component type of the array we need
+     * @param element the plan for the elements
+     */
+    static TransformationPlan array(Supplier<Class<?>> componentType, TransformationPlan element) {
+        return new ArrayPlan(componentType, element);
+    }
+
+    /**
+     * @param collectionClassName the type of collection we need
+     * @param element the plan for the elements
+     * @param anyCollection if any collection will do, else only the exact class {@link CollectionCreator} creates
+     */
+    static TransformationPlan collection(String collectionClassName, TransformationPlan element, boolean anyCollection) {
+        return new CollectionPlan(collectionClassName, element, anyCollection);
+    }
+
+    /**
+     * @param element the plan for the value in the optional
+     */
+    static TransformationPlan optional(TransformationPlan element) {
+        return new OptionalPlan(element);
+    }
+
+    /**
+     * @param plan the plan for values that are not null
+     * @return a plan that leaves null as it is
+     */
+    static TransformationPlan nullSafe(TransformationPlan plan) {
+        return new TransformationPlan() {
+            @Override
+            Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+                return value == null ? null : plan.apply(value, dfe);
+            }
+        };
+    }
+
+    /**
+     * Arrays are always copied if the component type is not the one we need, and never if it is.
+     */
+    private static final class ArrayPlan extends TransformationPlan {
+        private final Supplier<Class<?>> componentTypeSupplier;
+        private final TransformationPlan element;
+        private volatile Class<?> componentType;
+
+        private ArrayPlan(Supplier<Class<?>> componentTypeSupplier, TransformationPlan element) {
+            this.componentTypeSupplier = componentTypeSupplier;
+            this.element = element;
+        }
+
+        @Override
+        Object apply(Object array, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            if (array == null) {
+                return null;
+            }
+            if (Classes.isCollection(array)) {
+                array = ((Collection<?>) array).toArray();
+            }
+            Class<?> classInCollection = componentType;
+            if (classInCollection == null) {
+                classInCollection = componentTypeSupplier.get();
+                componentType = classInCollection;
+            }
+
+            //Skip transform if not needed
+            if (array.getClass().getComponentType().equals(classInCollection)) {
+                return array;
+            }
+
+            int length = Array.getLength(array);
+            Object targetArray = Array.newInstance(classInCollection, length);
+            for (int i = 0; i < length; i++) {
+                Array.set(targetArray, i, element.apply(Array.get(array, i), dfe));
+            }
+            return targetArray;
+        }
+    }
+
+    private static final class CollectionPlan extends TransformationPlan {
+        private final String collectionClassName;
+        private final TransformationPlan element;
+        private final boolean anyCollection;
+        private volatile Class<?> createdClass;
+
+        private CollectionPlan(String collectionClassName, TransformationPlan element, boolean anyCollection) {
+            this.collectionClassName = collectionClassName;
+            this.element = element;
+            this.anyCollection = anyCollection;
+        }
+
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            if (value == null) {
+                return null;
+            }
+            if (!canReuse(value)) {
+                Collection<?> givenCollection = Classes.isCollection(value)
+                        ? (Collection<?>) value
+                        : Arrays.asList((Object[]) value);
+                return transformInto(newCollection(givenCollection.size()), givenCollection, dfe);
+            }
+            if (element.isIdentity()) {
+                return value;
+            }
+
+            // only copy when an element changed
+            Collection<?> givenCollection = (Collection<?>) value;
+            int index = 0;
+            for (Object given : givenCollection) {
+                Object transformed = element.apply(given, dfe);
+                if (transformed != given) {
+                    return copyFrom(givenCollection, index, transformed, dfe);
+                }
+                index++;
+            }
+            return value;
+        }
+
+        private boolean canReuse(Object value) {
+            if (!Classes.isCollection(value)) {
+                return false;
+            }
+            if (anyCollection) {
+                return true;
+            }
+            Class<?> created = createdClass;
+            if (created == null) {
+                created = newCollection(0).getClass();
+                createdClass = created;
+            }
+            return value.getClass() == created;
+        }
+
+        private Collection<Object> newCollection(int size) {
+            return (Collection<Object>) CollectionCreator.newCollection(collectionClassName, size);
+        }
+
+        private Collection<Object> transformInto(Collection<Object> target, Collection<?> givenCollection,
+                DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            for (Object given : givenCollection) {
+                target.add(element.apply(given, dfe));
+            }
+            return target;
+        }
+
+        /**
+         * The elements before the changed one are kept, the changed one is already transformed, and the rest still
+         * needs to be transformed
+         */
+        private Collection<Object> copyFrom(Collection<?> givenCollection, int changedIndex, Object changed,
+                DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            Collection<Object> target = newCollection(givenCollection.size());
+            Iterator<?> iterator = givenCollection.iterator();
+            for (int i = 0; i < changedIndex; i++) {
+                target.add(iterator.next());
+            }
+            iterator.next();
+            target.add(changed);
+            while (iterator.hasNext()) {
+                target.add(element.apply(iterator.next(), dfe));
+            }
+            return target;
+        }
+    }
+
+    /**
+     * This is not yet specified by MicroProfile GraphQL, but we support it by also allowing transformation the optional
+     * element.
+     */
+    private static final class OptionalPlan extends TransformationPlan {
+        private final TransformationPlan element;
+
+        private OptionalPlan(TransformationPlan element) {
+            this.element = element;
+        }
+
+        @Override
+        Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            if (value == null || ((Optional<?>) value).isEmpty()) {
+                return Optional.empty();
+            }
+            if (element.isIdentity()) {
+                return value;
+            }
+            Object given = ((Optional<?>) value).get();
+            Object transformed = element.apply(given, dfe);
+            return transformed == given ? value : Optional.ofNullable(transformed);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package io.smallrye.graphql.execution.error;
 import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
 
 import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,6 +21,7 @@ import jakarta.json.JsonValue;
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.json.bind.JsonbConfig;
+import jakarta.json.stream.JsonGenerator;
 
 import graphql.ExceptionWhileDataFetching;
 import graphql.GraphQLError;
@@ -49,16 +53,138 @@ public class ExecutionErrorsService {
         return arrayBuilder.build();
     }
 
+    /**
+     * Write the errors straight to the provided generator, without building a {@code JsonArray} first.
+     * <p>
+     * The output is the same as {@link #toJsonErrors(List)}.
+     *
+     * @param generator the generator to write to, positioned where a value is expected
+     * @param errors the errors
+     */
+    public void writeJsonErrors(JsonGenerator generator, List<GraphQLError> errors) {
+        generator.writeStartArray();
+        for (GraphQLError e : errors) {
+            writeJsonError(generator, e);
+        }
+        generator.writeEnd();
+    }
+
+    /**
+     * The specification of an error is a map with the message, locations, path and extensions. We build the json from
+     * it by hand, and replace the extensions with ours, if we have any.
+     */
     private JsonObject toJsonError(GraphQLError error) {
-        String json = JSONB.toJson(error.toSpecification());
-        try (StringReader sr = new StringReader(json); JsonReader reader = jsonReaderFactory.createReader(sr)) {
+        Optional<JsonObject> extensions = getOptionalExtensions(error);
+        Map<String, Object> specification = error.toSpecification();
+        JsonObjectBuilder resultBuilder = jsonBuilderFactory.createObjectBuilder();
+        for (Map.Entry<String, Object> entry : specification.entrySet()) {
+            if (extensions.isPresent() && entry.getKey().equals(EXTENSIONS)) {
+                resultBuilder.add(EXTENSIONS, extensions.get());
+            } else {
+                resultBuilder.add(entry.getKey(), toJsonValue(entry.getValue()));
+            }
+        }
+        if (extensions.isPresent() && !specification.containsKey(EXTENSIONS)) {
+            resultBuilder.add(EXTENSIONS, extensions.get());
+        }
+        return resultBuilder.build();
+    }
 
-            JsonObject jsonErrors = reader.readObject();
+    private void writeJsonError(JsonGenerator generator, GraphQLError error) {
+        Optional<JsonObject> extensions = getOptionalExtensions(error);
+        Map<String, Object> specification = error.toSpecification();
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> entry : specification.entrySet()) {
+            if (extensions.isPresent() && entry.getKey().equals(EXTENSIONS)) {
+                generator.write(EXTENSIONS, extensions.get());
+            } else {
+                generator.writeKey(entry.getKey());
+                writeJsonValue(generator, entry.getValue());
+            }
+        }
+        if (extensions.isPresent() && !specification.containsKey(EXTENSIONS)) {
+            generator.write(EXTENSIONS, extensions.get());
+        }
+        generator.writeEnd();
+    }
 
-            JsonObjectBuilder resultBuilder = jsonBuilderFactory.createObjectBuilder(jsonErrors);
+    /**
+     * Build a JsonValue from a value in the error specification. These are maps, lists, strings and numbers, so the
+     * json value is build by hand. {@code JsonB} is used as a fallback for anything else, like custom extensions.
+     */
+    private JsonValue toJsonValue(Object value) {
+        if (value == null) {
+            return JsonValue.NULL;
+        } else if (value instanceof JsonValue) {
+            return (JsonValue) value;
+        } else if (value instanceof Map) {
+            JsonObjectBuilder objectBuilder = jsonBuilderFactory.createObjectBuilder();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                objectBuilder.add(String.valueOf(entry.getKey()), toJsonValue(entry.getValue()));
+            }
+            return objectBuilder.build();
+        } else if (value instanceof Collection) {
+            JsonArrayBuilder arrayBuilder = jsonBuilderFactory.createArrayBuilder();
+            for (Object o : (Collection<?>) value) {
+                arrayBuilder.add(toJsonValue(o));
+            }
+            return arrayBuilder.build();
+        } else if (value instanceof String) {
+            return JSON_PROVIDER.createValue((String) value);
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? JsonValue.TRUE : JsonValue.FALSE;
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return JSON_PROVIDER.createValue(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            return JSON_PROVIDER.createValue((Long) value);
+        } else if (value instanceof BigInteger) {
+            return JSON_PROVIDER.createValue((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            return JSON_PROVIDER.createValue((BigDecimal) value);
+        } else if (value instanceof Enum<?>) {
+            return JSON_PROVIDER.createValue(((Enum<?>) value).name());
+        }
+        String json = JSONB.toJson(value);
+        try (StringReader sr = new StringReader(json); JsonReader reader = jsonReaderFactory.createReader(sr)) {
+            return reader.readValue();
+        }
+    }
 
-            getOptionalExtensions(error).ifPresent(jsonObject -> resultBuilder.add(EXTENSIONS, jsonObject));
-            return resultBuilder.build();
+    /**
+     * Streaming counterpart of {@link #toJsonValue(Object)}
+     */
+    private void writeJsonValue(JsonGenerator generator, Object value) {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeKey(String.valueOf(entry.getKey()));
+                writeJsonValue(generator, entry.getValue());
+            }
+            generator.writeEnd();
+        } else if (value instanceof Collection) {
+            generator.writeStartArray();
+            for (Object o : (Collection<?>) value) {
+                writeJsonValue(generator, o);
+            }
+            generator.writeEnd();
+        } else if (value instanceof String) {
+            generator.write((String) value);
+        } else if (value instanceof Boolean) {
+            generator.write((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.write(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.write((Long) value);
+        } else if (value instanceof BigInteger) {
+            generator.write((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.write((BigDecimal) value);
+        } else if (value instanceof Enum<?>) {
+            generator.write(((Enum<?>) value).name());
+        } else {
+            generator.write(toJsonValue(value));
         }
     }
 
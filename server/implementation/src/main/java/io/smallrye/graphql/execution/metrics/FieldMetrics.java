@@ -0,0 +1,79 @@
+package io.smallrye.graphql.execution.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * Times the data fetches of one field.
+ *
+ * The meters of the field are resolved once per type of operation and kept here, so a data fetch only reads the clock
+ * twice and records the duration. {@link #start()} returns the start time as the sample that is passed to
+ * {@link #end(long, DataFetchingEnvironment)}, so nothing is allocated per data fetch.
+ */
+public final class FieldMetrics {
+
+    /** The sample of a data fetch that is not measured */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final OperationDefinition.Operation[] OPERATION_TYPES = OperationDefinition.Operation.values();
+
+    static final FieldMetrics DISABLED = new FieldMetrics(new MetricsService[0], null, false, 0);
+
+    private final MetricsService[] services;
+    private final String fieldName;
+    private final boolean source;
+    private final int samplingPercentage;
+    // per operation type, the meter of every service
+    private final AtomicReferenceArray<Object[]> meters = new AtomicReferenceArray<>(OPERATION_TYPES.length);
+
+    FieldMetrics(MetricsService[] services, String fieldName, boolean source, int samplingPercentage) {
+        this.services = services;
+        this.fieldName = fieldName;
+        this.source = source;
+        this.samplingPercentage = samplingPercentage;
+    }
+
+    /**
+     * @return the sample to pass to {@link #end(long, DataFetchingEnvironment)}, {@link #NOT_SAMPLED} if this data fetch
+     *         is not measured
+     */
+    public long start() {
+        if (services.length == 0
+                || samplingPercentage < 100 && ThreadLocalRandom.current().nextInt(100) >= samplingPercentage) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @param sample the sample {@link #start()} returned
+     * @param dfe the Data Fetching Environment of the data fetch
+     */
+    public void end(long sample, DataFetchingEnvironment dfe) {
+        if (sample == NOT_SAMPLED) {
+            return;
+        }
+        long duration = System.nanoTime() - sample;
+        Object[] metersOfType = getMeters(dfe.getOperationDefinition().getOperation());
+        for (int i = 0; i < services.length; i++) {
+            services[i].record(metersOfType[i], duration);
+        }
+    }
+
+    private Object[] getMeters(OperationDefinition.Operation operationType) {
+        Object[] metersOfType = meters.get(operationType.ordinal());
+        if (metersOfType == null) {
+            metersOfType = new Object[services.length];
+            for (int i = 0; i < services.length; i++) {
+                metersOfType[i] = services[i].meter(fieldName, operationType.toString(), source);
+            }
+            // the services return the same meter for the same tags, so it does not matter who wins
+            meters.compareAndSet(operationType.ordinal(), null, metersOfType);
+        }
+        return metersOfType;
+    }
+}
@@ -4,12 +4,13 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import org.jboss.logging.Logger;
 
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.config.ConfigKey;
+import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.spi.MetricsService;
 import io.smallrye.graphql.spi.config.Config;
 
@@ -18,6 +19,7 @@ public class MetricsEmitter {
     private static final Logger LOG = Logger.getLogger(MetricsEmitter.class);
     private static final MetricsEmitter METRICS_EMITTER = new MetricsEmitter();
     private final List<MetricsService> enabledServices;
+    private final int samplingPercentage;
 
     public static MetricsEmitter getInstance() {
         return METRICS_EMITTER;
@@ -41,6 +43,7 @@ public class MetricsEmitter {
         }
 
         this.enabledServices = enabledServices;
+        this.samplingPercentage = Math.max(0, Math.min(100, config.getMetricsSamplingPercentage()));
     }
 
     public void subscriptionStart(Context context) {
@@ -51,13 +54,27 @@ public class MetricsEmitter {
         enabledServices.forEach(metricsService -> metricsService.subscriptionEnd(context));
     }
 
-    public Long start(Context context) {
-        Long measurementId = ThreadLocalRandom.current().nextLong();
-        enabledServices.forEach(metricsService -> metricsService.start(measurementId, context));
-        return measurementId;
+    public void slowConsumerDisconnect() {
+        enabledServices.forEach(MetricsService::slowConsumerDisconnect);
     }
 
-    public void end(Long measurementId) {
-        enabledServices.forEach(metricsService -> metricsService.end(measurementId));
+    public void websocketGauges(Supplier<Number> sessions, Supplier<Number> operations) {
+        enabledServices.forEach(metricsService -> metricsService.websocketGauges(sessions, operations));
+    }
+
+    public void resultCacheGauges(Supplier<Number> hits, Supplier<Number> misses, Supplier<Number> size) {
+        enabledServices.forEach(metricsService -> metricsService.resultCacheGauges(hits, misses, size));
+    }
+
+    /**
+     * @param operation the operation of a data fetcher
+     * @return the metrics for the data fetches of the operation, created once per data fetcher
+     */
+    public FieldMetrics forOperation(Operation operation) {
+        if (enabledServices.isEmpty()) {
+            return FieldMetrics.DISABLED;
+        }
+        return new FieldMetrics(enabledServices.toArray(new MetricsService[0]), operation.getName(),
+                operation.isSourceField(), samplingPercentage);
     }
 }
@@ -0,0 +1,100 @@
+package io.smallrye.graphql.execution.tracing;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.spi.FieldTracingService;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Traces the data fetches and batch loads of the operations, if field tracing is enabled.
+ *
+ * {@link #start(DataFetchingEnvironment)} returns the start time, or {@link #NOT_TRACED} when the request is not traced,
+ * and that is passed to the matching end. Only data fetches that took at least the threshold, or that failed, are
+ * recorded. Nothing is allocated for the others.
+ */
+public final class FieldTracing {
+
+    /** The start of a data fetch that is not traced */
+    public static final long NOT_TRACED = Long.MIN_VALUE;
+
+    private static final Logger LOG = Logger.getLogger(FieldTracing.class);
+    private static final FieldTracing INSTANCE = create();
+
+    private final FieldTracingService service;
+    private final long thresholdNanos;
+
+    public static FieldTracing getInstance() {
+        return INSTANCE;
+    }
+
+    FieldTracing(FieldTracingService service, long thresholdNanos) {
+        this.service = service;
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    private static FieldTracing create() {
+        Config config = Config.get();
+        if (!config.isTracingEnabled() || !config.isFieldTracingEnabled()) {
+            return new FieldTracing(null, 0);
+        }
+        Iterator<FieldTracingService> it = ServiceLoader.load(FieldTracingService.class).iterator();
+        while (it.hasNext()) {
+            try {
+                FieldTracingService service = it.next();
+                return new FieldTracing(service,
+                        TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getFieldTracingThresholdMillis())));
+            } catch (Throwable t) {
+                // Ignore that service...
+                LOG.debug("Failed to load field tracing service", t);
+            }
+        }
+        return new FieldTracing(null, 0);
+    }
+
+    /**
+     * @param dfe the Data Fetching Environment of the data fetch
+     * @return the start to pass to the matching end, {@link #NOT_TRACED} if the data fetch is not traced
+     */
+    public long start(DataFetchingEnvironment dfe) {
+        if (service == null || !service.isTraced(dfe.getGraphQlContext())) {
+            return NOT_TRACED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @param start what {@link #start(DataFetchingEnvironment)} returned
+     * @param dfe the Data Fetching Environment of the data fetch
+     * @param failure why the data fetch failed, null if it did not
+     */
+    public void end(long start, DataFetchingEnvironment dfe, Throwable failure) {
+        if (start == NOT_TRACED) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        if (failure != null || duration >= thresholdNanos) {
+            service.recordDataFetch(dfe, duration, failure);
+        }
+    }
+
+    /**
+     * @param start what {@link #start(DataFetchingEnvironment)} returned
+     * @param dfe the Data Fetching Environment of one of the data fetches in the batch
+     * @param keys the number of keys in the batch
+     * @param failure why the batch load failed, null if it did not
+     */
+    public void endBatch(long start, DataFetchingEnvironment dfe, int keys, Throwable failure) {
+        if (start == NOT_TRACED) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        if (failure != null || duration >= thresholdNanos) {
+            service.recordBatchLoad(dfe, keys, duration, failure);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package io.smallrye.graphql.json;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.json.bind.annotation.JsonbCreator;
+import jakarta.json.bind.annotation.JsonbTypeAdapter;
+import jakarta.json.bind.annotation.JsonbTypeDeserializer;
+import jakarta.json.bind.annotation.JsonbVisibility;
+
+import io.smallrye.graphql.execution.datafetcher.helper.Accessors;
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.InputType;
+import io.smallrye.graphql.spi.ClassloadingService;
+import io.smallrye.graphql.transformation.AbstractDataFetcherException;
+
+/**
+ * Binds the input maps from graphql-java directly onto the input classes, without a round trip through a JSON string.
+ *
+ * A binder is created from the schema model the first time an input type is used. It creates the instance with the
+ * creator (a public no-arg constructor, a record's canonical constructor or a {@code @JsonbCreator} constructor or
+ * factory method) and sets the other fields with their setter or public field. The values are converted by the
+ * caller, with the same transformations and adapters as arguments.
+ *
+ * Types that JSON-B might bind differently are left to JSON-B: types with a user supplied JSON-B config,
+ * deserializers, JSON-B adapters, abstract and generic types, and fields that can not be written.
+ */
+public class InputBinder {
+
+    private static final Map<String, InputType> inputTypes = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<InputBinder>> binders = new ConcurrentHashMap<>();
+    private static final Set<String> overridden = ConcurrentHashMap.newKeySet();
+    private static final Object ABSENT = new Object();
+
+    private final String className;
+    private final Accessors.MethodAccessor creator;
+    private final Object[] creatorDefaults;
+    private final Property[] properties;
+
+    private InputBinder(String className, Accessors.MethodAccessor creator, Object[] creatorDefaults,
+            Property[] properties) {
+        this.className = className;
+        this.creator = creator;
+        this.creatorDefaults = creatorDefaults;
+        this.properties = properties;
+    }
+
+    /**
+     * Converts the value of one field, as it came from graphql-java, to the value to bind
+     */
+    @FunctionalInterface
+    public interface ValueConverter {
+        Object convert(Object value, Field field) throws AbstractDataFetcherException;
+    }
+
+    protected static void register(InputType inputType) {
+        inputTypes.put(inputType.getClassName(), inputType);
+        binders.remove(inputType.getClassName());
+    }
+
+    protected static void override(Set<String> classNames) {
+        overridden.addAll(classNames);
+        binders.keySet().removeAll(classNames);
+    }
+
+    /**
+     * @param className the input class
+     * @return the binder for this class, or null if it has to be bound with JSON-B
+     */
+    public static InputBinder get(String className) {
+        Optional<InputBinder> binder = binders.get(className);
+        if (binder == null) {
+            binder = binders.computeIfAbsent(className, InputBinder::create);
+        }
+        return binder.orElse(null);
+    }
+
+    /**
+     * @param input the input map from graphql-java
+     * @param converter converts the values of the fields
+     * @return the bound object, or null if the converted values do not fit the class, and it has to be bound with
+     *         JSON-B
+     * @throws AbstractDataFetcherException if a value could not be converted
+     * @throws Exception anything the creator or a setter throws
+     */
+    public Object bind(Map<?, ?> input, ValueConverter converter) throws Exception {
+        Object[] values = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            if (!input.containsKey(property.name)) {
+                values[i] = ABSENT;
+                continue;
+            }
+            Object value = converter.convert(input.get(property.name), property.field);
+            if (value == null) {
+                value = emptyValue(property.type);
+            } else if (!property.type.isInstance(value)) {
+                // only this input is bound with JSON-B, other inputs of the type may still fit
+                log.bindingInputWithJsonB(className,
+                        "got a " + value.getClass().getName() + " for [" + property.name + "]");
+                return null;
+            }
+            values[i] = value;
+        }
+
+        Object[] arguments = creatorDefaults.length == 0 ? creatorDefaults : creatorDefaults.clone();
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            if (property.creatorIndex >= 0 && values[i] != ABSENT && values[i] != null) {
+                arguments[property.creatorIndex] = values[i];
+            }
+        }
+        Object instance = creator.invoke(null, arguments);
+        for (int i = 0; i < properties.length; i++) {
+            Property property = properties[i];
+            // explicit nulls are set, except on primitives
+            if (property.writer != null && values[i] != ABSENT && (values[i] != null || !property.primitive)) {
+                property.writer.set(instance, values[i]);
+            }
+        }
+        return instance;
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        // JSON-B binds null to an empty optional
+        if (type == Optional.class) {
+            return Optional.empty();
+        } else if (type == OptionalInt.class) {
+            return OptionalInt.empty();
+        } else if (type == OptionalLong.class) {
+            return OptionalLong.empty();
+        } else if (type == OptionalDouble.class) {
+            return OptionalDouble.empty();
+        }
+        return null;
+    }
+
+    private static Optional<InputBinder> create(String className) {
+        InputType inputType = inputTypes.get(className);
+        if (inputType == null || overridden.contains(className)) {
+            return Optional.empty();
+        }
+        try {
+            Class<?> clazz = ClassloadingService.get().loadClass(className);
+            String reason = unsupportedReason(clazz);
+            if (reason != null) {
+                log.bindingInputWithJsonB(className, reason);
+                return Optional.empty();
+            }
+            InputBinder binder = create(inputType, clazz);
+            if (binder == null) {
+                log.bindingInputWithJsonB(className, "no matching creator, or a field that can not be written");
+            }
+            return Optional.ofNullable(binder);
+        } catch (RuntimeException | LinkageError ex) {
+            log.bindingInputWithJsonB(className, ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    private static String unsupportedReason(Class<?> clazz) {
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return "abstract type";
+        } else if (clazz.getTypeParameters().length > 0) {
+            return "generic type";
+        } else if (hasJsonbBinding(clazz) || clazz.isAnnotationPresent(JsonbVisibility.class)) {
+            return "JSON-B annotations on the type";
+        }
+        return null;
+    }
+
+    private static InputBinder create(InputType inputType, Class<?> clazz) {
+        List<Field> creatorParameters = inputType.getCreatorParameters();
+        Executable creator = findCreator(clazz, creatorParameters.size());
+        if (creator == null) {
+            return null;
+        }
+        Class<?>[] creatorTypes = creator.getParameterTypes();
+        Object[] creatorDefaults = new Object[creatorTypes.length];
+        Map<String, Integer> creatorIndexes = new HashMap<>();
+        for (int i = 0; i < creatorTypes.length; i++) {
+            if (hasJsonbBinding(creator.getParameters()[i])) {
+                return null;
+            }
+            creatorDefaults[i] = defaultValue(creatorTypes[i]);
+            creatorIndexes.put(creatorParameters.get(i).getName(), i);
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Field field : inputType.getFields().values()) {
+            if (field.isAdaptingWith() && field.getAdaptWith().isJsonB()
+                    || field.getReference().isAdaptingWith() && field.getReference().getAdaptWith().isJsonB()) {
+                return null;
+            }
+            Integer creatorIndex = creatorIndexes.get(field.getName());
+            if (creatorIndex != null) {
+                properties.add(new Property(field, creatorTypes[creatorIndex], creatorIndex, null));
+            } else {
+                Property property = writableProperty(clazz, field);
+                if (property == null) {
+                    return null;
+                }
+                properties.add(property);
+            }
+        }
+
+        Accessors.MethodAccessor creatorAccessor = creator instanceof Constructor
+                ? Accessors.forConstructor((Constructor<?>) creator)
+                : Accessors.forMethod((Method) creator);
+        return new InputBinder(inputType.getClassName(), creatorAccessor, creatorDefaults, properties.toArray(new Property[0]));
+    }
+
+    /**
+     * Find the creator JSON-B would use, with as many parameters as the schema model has creator parameters
+     */
+    private static Executable findCreator(Class<?> clazz, int parameterCount) {
+        Executable found = null;
+        for (Constructor<?> constructor : clazz.getConstructors()) {
+            if (constructor.isAnnotationPresent(JsonbCreator.class) || isCanonicalConstructor(clazz, constructor)) {
+                if (found != null) {
+                    return null;
+                }
+                found = constructor;
+            }
+        }
+        for (Method method : clazz.getMethods()) {
+            if (method.isAnnotationPresent(JsonbCreator.class) && Modifier.isStatic(method.getModifiers())
+                    && clazz.isAssignableFrom(method.getReturnType())) {
+                if (found != null) {
+                    return null;
+                }
+                found = method;
+            }
+        }
+        if (found == null && parameterCount == 0) {
+            try {
+                return clazz.getConstructor();
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
+        }
+        return found != null && found.getParameterCount() == parameterCount ? found : null;
+    }
+
+    private static boolean isCanonicalConstructor(Class<?> clazz, Constructor<?> constructor) {
+        if (!clazz.isRecord()) {
+            return false;
+        }
+        Class<?>[] componentTypes = Arrays.stream(clazz.getRecordComponents())
+                .map(RecordComponent::getType)
+                .toArray(Class<?>[]::new);
+        return Arrays.equals(componentTypes, constructor.getParameterTypes());
+    }
+
+    private static Property writableProperty(Class<?> clazz, Field field) {
+        if (field.getMethodName() != null) {
+            Method setter = findSetter(clazz, field);
+            if (setter == null || hasJsonbBinding(setter) || hasJsonbBinding(findDeclaredField(clazz, field))) {
+                return null;
+            }
+            return new Property(field, setter.getParameterTypes()[0], -1, Accessors.forSetter(setter));
+        }
+        try {
+            java.lang.reflect.Field javaField = clazz.getField(field.getPropertyName());
+            if (Modifier.isFinal(javaField.getModifiers()) || Modifier.isStatic(javaField.getModifiers())
+                    || hasJsonbBinding(javaField)) {
+                return null;
+            }
+            return new Property(field, javaField.getType(), -1, Accessors.forFieldSetter(javaField));
+        } catch (NoSuchFieldException ex) {
+            return null;
+        }
+    }
+
+    private static Method findSetter(Class<?> clazz, Field field) {
+        Method found = null;
+        for (Method method : clazz.getMethods()) {
+            if (method.getName().equals(field.getMethodName()) && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers()) && !method.isBridge()) {
+                if (found != null) {
+                    // overloaded, let JSON-B pick one
+                    return null;
+                }
+                found = method;
+            }
+        }
+        return found;
+    }
+
+    private static java.lang.reflect.Field findDeclaredField(Class<?> clazz, Field field) {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (java.lang.reflect.Field declaredField : c.getDeclaredFields()) {
+                if (declaredField.getName().equals(field.getPropertyName())) {
+                    return declaredField;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasJsonbBinding(AnnotatedElement element) {
+        return element != null
+                && (element.isAnnotationPresent(JsonbTypeDeserializer.class)
+                        || element.isAnnotationPresent(JsonbTypeAdapter.class));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return emptyValue(type);
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        }
+        return 0d;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return defaultValue(type).getClass();
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Field field;
+        private final Class<?> type;
+        private final boolean primitive;
+        private final int creatorIndex;
+        private final Accessors.PropertyWriter writer;
+
+        private Property(Field field, Class<?> type, int creatorIndex, Accessors.PropertyWriter writer) {
+            this.name = field.getName();
+            this.field = field;
+            this.type = wrap(type);
+            this.primitive = type.isPrimitive();
+            this.creatorIndex = creatorIndex;
+            this.writer = writer;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.smallrye.graphql.spi;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Traces data fetches and batch loads, as child spans of the span of the request.
+ *
+ * Whether the fields of a request are traced is decided once per request, and kept in the {@link GraphQLContext} of the
+ * request together with everything else the service needs. Spans are only created when a data fetch or batch load is
+ * done, so data fetches that are not recorded (because the request is not traced, or because they are faster than the
+ * threshold) cost a lookup in the context and nothing else.
+ */
+public interface FieldTracingService {
+
+    /**
+     * @param graphQLContext the context of the request
+     * @return true if the data fetches of this request are traced
+     */
+    boolean isTraced(GraphQLContext graphQLContext);
+
+    /**
+     * Record the span of a data fetch that is done
+     *
+     * @param dfe the Data Fetching Environment of the data fetch
+     * @param durationNanos how long the data fetch took, in nanoseconds
+     * @param failure why the data fetch failed, null if it did not
+     */
+    void recordDataFetch(DataFetchingEnvironment dfe, long durationNanos, Throwable failure);
+
+    /**
+     * Record the span of a batch load that is done
+     *
+     * @param dfe the Data Fetching Environment of one of the data fetches in the batch
+     * @param keys the number of keys in the batch
+     * @param durationNanos how long the batch load took, in nanoseconds
+     * @param failure why the batch load failed, null if it did not
+     */
+    void recordBatchLoad(DataFetchingEnvironment dfe, int keys, long durationNanos, Throwable failure);
+}
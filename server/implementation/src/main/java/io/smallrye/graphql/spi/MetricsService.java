@@ -1,11 +1,37 @@
 package io.smallrye.graphql.spi;
 
+import java.util.function.Supplier;
+
 import io.smallrye.graphql.api.Context;
 
+/**
+ * Records metrics of data fetches and subscriptions.
+ *
+ * The meter of a field is resolved once with {@link #meter(String, String, boolean)}, and every data fetch of the field
+ * is then recorded on it with {@link #record(Object, long)}. Recording is on the hot path of every request, so it should
+ * not allocate or look anything up.
+ */
 public interface MetricsService {
-    void start(Long measurementId, Context context);
 
-    void end(Long measurementId);
+    /**
+     * Resolve the meter for the data fetches of a field.
+     *
+     * This is called once per field and type of operation, the first time the field is fetched in such an operation.
+     *
+     * @param fieldName the name of the field
+     * @param operationType the type of the operation, like QUERY or MUTATION
+     * @param source if the field is a source field
+     * @return the meter, passed to every {@link #record(Object, long)} of the field
+     */
+    Object meter(String fieldName, String operationType, boolean source);
+
+    /**
+     * Record one data fetch
+     *
+     * @param meter the meter as returned by {@link #meter(String, String, boolean)}
+     * @param durationNanos how long the data fetch took, in nanoseconds
+     */
+    void record(Object meter, long durationNanos);
 
     /**
      * Tracks the number of active connections to GraphQL Subscriptions
@@ -22,4 +48,29 @@ public interface MetricsService {
      * @param context GraphQL Subscription Context
      */
     void subscriptionEnd(Context context);
+
+    /**
+     * Count a websocket session that was closed because a subscription could not send its events fast enough
+     */
+    default void slowConsumerDisconnect() {
+    }
+
+    /**
+     * Register the gauges of the websocket sessions. This is called once, when the first session is opened.
+     *
+     * @param sessions the number of open sessions
+     * @param operations the number of operations that are running on all sessions
+     */
+    default void websocketGauges(Supplier<Number> sessions, Supplier<Number> operations) {
+    }
+
+    /**
+     * Register the gauges of the cache of query results. This is called once, when the cache is created.
+     *
+     * @param hits the number of results that came from the cache
+     * @param misses the number of results that were not in the cache, or too old
+     * @param size the number of results in the cache
+     */
+    default void resultCacheGauges(Supplier<Number> hits, Supplier<Number> misses, Supplier<Number> size) {
+    }
 }
@@ -0,0 +1,57 @@
+package io.smallrye.graphql.spi;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import io.smallrye.graphql.execution.FilePersistedQueryStore;
+import io.smallrye.graphql.execution.InMemoryPersistedQueryStore;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Store for automatic persisted queries, that maps the sha256 hash of a query to the query.
+ *
+ * If no store is provided with SPI, queries are kept in memory, or in a directory if
+ * {@code smallrye.graphql.persistedQueries.directory} is set.
+ */
+public interface PersistedQueryStore {
+
+    static PersistedQueryStore load() {
+        PersistedQueryStore store;
+        Iterator<PersistedQueryStore> stores = ServiceLoader.load(PersistedQueryStore.class).iterator();
+        if (stores.hasNext()) {
+            store = stores.next();
+        } else {
+            Config config = Config.get();
+            Optional<String> directory = config.getPersistedQueriesDirectory();
+            if (directory.isPresent()) {
+                store = new FilePersistedQueryStore(Path.of(directory.get()), config.getPersistedQueriesMaxSize(),
+                        config.getPersistedQueriesMaxBytes(), config.getPersistedQueriesDirectoryMaxBytes());
+            } else {
+                store = new InMemoryPersistedQueryStore(config.getPersistedQueriesMaxSize(),
+                        config.getPersistedQueriesMaxBytes());
+            }
+        }
+        log.usingPersistedQueryStore(store.getName());
+        return store;
+    }
+
+    String getName();
+
+    /**
+     * @param sha256Hash the lower case, hex encoded sha256 hash of the query
+     * @return the query, or null if it is not known
+     */
+    String get(String sha256Hash);
+
+    /**
+     * Store a query. The hash is already verified against the query.
+     *
+     * @param sha256Hash the lower case, hex encoded sha256 hash of the query
+     * @param query the query
+     */
+    void put(String sha256Hash, String query);
+}
@@ -142,10 +142,26 @@ public interface Config {
         return false;
     }
 
+    default boolean isFieldTracingEnabled() {
+        return false;
+    }
+
+    default int getFieldTracingSamplingPercentage() {
+        return 100;
+    }
+
+    default int getFieldTracingThresholdMillis() {
+        return 0;
+    }
+
     default boolean isMetricsEnabled() {
         return false;
     }
 
+    default int getMetricsSamplingPercentage() {
+        return 100;
+    }
+
     default boolean isEventsEnabled() {
         return false;
     }
@@ -206,6 +222,106 @@ public interface Config {
         return false;
     }
 
+    default boolean isStreamResponses() {
+        return false;
+    }
+
+    default boolean isServletAsync() {
+        return false;
+    }
+
+    default long getServletAsyncTimeout() {
+        return 0;
+    }
+
+    default int getWebsocketKeepAliveIntervalSeconds() {
+        return 10;
+    }
+
+    default int getWebsocketConnectionInitTimeoutSeconds() {
+        return 0;
+    }
+
+    default SubscriptionBackpressure getSubscriptionBackpressure() {
+        return SubscriptionBackpressure.block;
+    }
+
+    default int getSubscriptionPrefetch() {
+        return 1;
+    }
+
+    default int getSubscriptionBufferSize() {
+        return 16;
+    }
+
+    default boolean isBatchingEnabled() {
+        return false;
+    }
+
+    default int getBatchingMaxSize() {
+        return 10;
+    }
+
+    default boolean isBatchingShareDataLoaders() {
+        return false;
+    }
+
+    default boolean isPersistedQueriesEnabled() {
+        return false;
+    }
+
+    default int getPersistedQueriesMaxSize() {
+        return 2048;
+    }
+
+    default Optional<String> getPersistedQueriesDirectory() {
+        return Optional.empty();
+    }
+
+    default long getPersistedQueriesMaxBytes() {
+        return 16 * 1024 * 1024;
+    }
+
+    default long getPersistedQueriesDirectoryMaxBytes() {
+        return 256 * 1024 * 1024;
+    }
+
+    default boolean isOperationAllowlistOnly() {
+        return false;
+    }
+
+    default Optional<Integer> getCostMaxPerOperation() {
+        return Optional.empty();
+    }
+
+    default Optional<String> getCostBudgetHeader() {
+        return Optional.empty();
+    }
+
+    default int getCostBudgetCapacity() {
+        return 1000;
+    }
+
+    default int getCostBudgetRefillPerSecond() {
+        return 100;
+    }
+
+    default int getCostDefaultListSize() {
+        return 10;
+    }
+
+    default boolean isCostAnalysisEnabled() {
+        return getCostMaxPerOperation().isPresent() || getCostBudgetHeader().isPresent();
+    }
+
+    default int getResultCacheMaxSize() {
+        return 1000;
+    }
+
+    default Optional<String> getIndexCacheDirectory() {
+        return Optional.empty();
+    }
+
     default String getFieldVisibility() {
         return FIELD_VISIBILITY_DEFAULT;
     }
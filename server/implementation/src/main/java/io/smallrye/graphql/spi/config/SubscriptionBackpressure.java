@@ -0,0 +1,14 @@
+package io.smallrye.graphql.spi.config;
+
+/**
+ * What to do with the events of a subscription that come in faster than they can be sent to the client
+ */
+public enum SubscriptionBackpressure {
+
+    block, // only request more events from the stream when they are sent, up to the prefetch
+    dropOldest, // keep a buffer of events, drop the oldest one when it is full
+    dropNewest, // keep a buffer of events, drop the new one when it is full
+    latest, // only send the latest event, for feeds where only the current value matters
+    disconnect; // keep a buffer of events, close the session when it is full
+
+}
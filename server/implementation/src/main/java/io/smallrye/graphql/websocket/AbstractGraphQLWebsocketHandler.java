@@ -4,16 +4,21 @@ import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
 
 import java.io.IOException;
 import java.io.StringReader;
-import java.time.Duration;
+import java.io.StringWriter;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonReaderFactory;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 import jakarta.json.stream.JsonParsingException;
 
 import org.jboss.logging.Logger;
@@ -28,24 +33,34 @@ import graphql.GraphqlErrorBuilder;
 import io.smallrye.graphql.execution.ExecutionResponse;
 import io.smallrye.graphql.execution.ExecutionResponseWriter;
 import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.spi.LookupService;
-import io.smallrye.mutiny.Multi;
-import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.graphql.spi.config.SubscriptionBackpressure;
 
 public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocketHandler {
     // TODO: Replace with prepared log messages
     protected static final Logger LOG = Logger.getLogger(GraphQLWebsocketHandler.class.getName());
     private static final JsonReaderFactory jsonReaderFactory = JSON_PROVIDER.createReaderFactory(null);
     private static final JsonBuilderFactory jsonBuilderFactory = JSON_PROVIDER.createBuilderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = JSON_PROVIDER.createGeneratorFactory(null);
+    private static final String PRINCIPAL = "principal";
+    private static final String CONNECTION_ACK_MESSAGE = JSON_PROVIDER.createObjectBuilder()
+            .add("type", "connection_ack")
+            .build()
+            .toString();
 
     protected final ExecutionService executionService = LookupService.get().getInstance(ExecutionService.class).get();
     protected final GraphQLWebSocketSession session;
     protected final AtomicBoolean connectionInitialized;
     protected final String connectionAckMessage;
-    protected final Map<String, Subscriber<ExecutionResult>> activeOperations;
-    protected final Cancellable keepAliveSender;
+    protected final Map<String, Subscriber<?>> activeOperations;
+    final long openedAt = System.nanoTime();
     private final String dataMessageTypeName;
     private final Map<String, Object> context;
+    // set when the session is opened
+    private KeepAliveScheduler keepAliveScheduler;
+    private int keepAliveSlot;
 
     public AbstractGraphQLWebsocketHandler(GraphQLWebSocketSession session, String dataMessageTypeName,
             Map<String, Object> context) {
@@ -53,12 +68,19 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         this.dataMessageTypeName = dataMessageTypeName;
         this.context = context;
         this.connectionInitialized = new AtomicBoolean(false);
-        this.connectionAckMessage = createConnectionAckMessage().toString();
+        this.connectionAckMessage = CONNECTION_ACK_MESSAGE;
         this.activeOperations = new ConcurrentHashMap<>();
-        this.keepAliveSender = Multi.createFrom().ticks()
-                .startingAfter(Duration.ofSeconds(10))
-                .every(Duration.ofSeconds(10))
-                .subscribe().with(tick -> sendKeepAlive());
+    }
+
+    @Override
+    public void onOpen() {
+        onOpen(KeepAliveScheduler.getInstance());
+    }
+
+    // the keep-alives of this session are sent by the scheduler, for example one with other settings
+    void onOpen(KeepAliveScheduler scheduler) {
+        keepAliveScheduler = scheduler;
+        keepAliveSlot = scheduler.register(this);
     }
 
     @Override
@@ -72,9 +94,7 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
     @Override
     public void onThrowable(Throwable t) {
         LOG.warn("Error in websocket", t);
-        if (keepAliveSender != null) {
-            keepAliveSender.cancel();
-        }
+        stopKeepAlive();
     }
 
     @Override
@@ -84,9 +104,7 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         if (!session.isClosed()) {
             session.close((short) 1000, "");
         }
-        if (keepAliveSender != null) {
-            keepAliveSender.cancel();
-        }
+        stopKeepAlive();
     }
 
     @Override
@@ -97,6 +115,9 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         if (connectionInitialized.getAndSet(true)) {
             session.close((short) 4429, "Too many initialisation requests");
         } else {
+            if (keepAliveScheduler != null) {
+                keepAliveScheduler.initialized(this);
+            }
             session.sendMessage(connectionAckMessage);
         }
     }
@@ -105,23 +126,15 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         String operationId = message.getString("id");
         if (validSubscription(operationId)) {
             JsonObject payload = message.getJsonObject("payload");
+            // taken here, as the context is changed by the execution
+            Map<String, Object> sharedContext = getSharedContext();
             executionService.executeAsync(payload, context, new ExecutionResponseWriter() {
 
                 @Override
                 public void fail(Throwable t) {
                     LOG.warn("Cannot execute GraphQL operation", t);
-
-                    GraphQLError error = GraphqlErrorBuilder
-                            .newError()
-                            .message("Internal server error")
-                            .build();
-                    ExecutionResult executionResult = ExecutionResultImpl
-                            .newExecutionResult()
-                            .addError(error)
-                            .build();
-                    ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
                     try {
-                        sendErrorMessage(operationId, executionResponse);
+                        sendInternalServerError(operationId);
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
@@ -143,7 +156,7 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
                                     sendSingleMessage(operationId, executionResponse);
                                 } else if (data instanceof Publisher) {
                                     // this means the operation is a subscription
-                                    sendStreamingMessage(operationId, executionResponse);
+                                    sendStreamingMessage(operationId, payload, sharedContext, executionResponse);
                                 } else if (data == null) {
                                     // if isDataPresent() == true && but data == null,
                                     // then this is probably a subscription, but the subscription
@@ -163,12 +176,6 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         }
     }
 
-    private JsonObject createConnectionAckMessage() {
-        return JSON_PROVIDER.createObjectBuilder()
-                .add("type", "connection_ack")
-                .build();
-    }
-
     private JsonObject getMessageAsJsonObject(String text) {
         try {
             return parseIncomingMessage(text);
@@ -195,12 +202,30 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
                 .build();
     }
 
-    private JsonObject createDataMessage(String operationId, JsonObject payload) {
-        return jsonBuilderFactory.createObjectBuilder()
-                .add("type", this.dataMessageTypeName)
-                .add("id", operationId)
-                .add("payload", payload)
+    // the payload is streamed into the message, so the execution result is never built as a JsonObject
+    private String createDataMessage(String operationId, ExecutionResponse executionResponse) {
+        StringWriter stringWriter = new StringWriter();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(stringWriter)) {
+            generator.writeStartObject()
+                    .write("type", this.dataMessageTypeName)
+                    .write("id", operationId)
+                    .writeKey("payload");
+            executionResponse.writeExecutionResultTo(generator);
+            generator.writeEnd();
+        }
+        return stringWriter.toString();
+    }
+
+    private void sendInternalServerError(String operationId) throws IOException {
+        GraphQLError error = GraphqlErrorBuilder
+                .newError()
+                .message("Internal server error")
+                .build();
+        ExecutionResult executionResult = ExecutionResultImpl
+                .newExecutionResult()
+                .addError(error)
                 .build();
+        sendErrorMessage(operationId, new ExecutionResponse(executionResult));
     }
 
     private void logUnknownResult(ExecutionResult executionResult) {
@@ -210,28 +235,97 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
 
     private void sendSingleMessage(String operationId, ExecutionResponse executionResponse) throws IOException {
         if (activeOperations.remove(operationId) != null) {
-            session.sendMessage(
-                    createDataMessage(operationId,
-                            executionResponse.getExecutionResultAsJsonObject())
-                            .toString());
+            session.sendMessage(createDataMessage(operationId, executionResponse));
             session.sendMessage(createCompleteMessage(operationId).toString());
         }
     }
 
-    private void sendStreamingMessage(String operationId, ExecutionResponse executionResponse) {
-        SubscriptionSubscriber subscriber = new SubscriptionSubscriber(session, operationId);
+    private void sendStreamingMessage(String operationId, JsonObject payload, Map<String, Object> sharedContext,
+            ExecutionResponse executionResponse) {
         Publisher<ExecutionResult> stream = executionResponse.getExecutionResult()
                 .getData();
         if (stream != null) {
             // this is actually a subscription, so replace the `activeOperation` entry
             // with the actual subscriber
-            activeOperations.put(operationId, subscriber);
-            stream.subscribe(subscriber);
+            if (executionResponse.isBroadcast()) {
+                SubscriptionSubscriber<String> subscriber = createSharedSubscriber(operationId);
+                activeOperations.put(operationId, subscriber);
+                Object key = getSharedSubscriptionKey(payload, sharedContext, executionResponse.isBroadcastPerPrincipal());
+                SubscriptionHub.getInstance().share(key, stream, subscriber);
+            } else {
+                SubscriptionSubscriber<ExecutionResult> subscriber = createSubscriber(operationId,
+                        executionResult -> createDataMessage(operationId, new ExecutionResponse(executionResult)),
+                        Config.get().getSubscriptionBackpressure());
+                activeOperations.put(operationId, subscriber);
+                stream.subscribe(subscriber);
+            }
         }
 
     }
 
-    private void sendKeepAlive() {
+    // the payload of a shared stream is serialized once, so only the envelope is created per client
+    private SubscriptionSubscriber<String> createSharedSubscriber(String operationId) {
+        String prefix = "{\"type\":" + JSON_PROVIDER.createValue(dataMessageTypeName)
+                + ",\"id\":" + JSON_PROVIDER.createValue(operationId)
+                + ",\"payload\":";
+        SubscriptionBackpressure backpressure = Config.get().getSubscriptionBackpressure();
+        // a shared stream does not wait for one client, so a client that can not keep up is disconnected instead
+        if (backpressure == SubscriptionBackpressure.block) {
+            backpressure = SubscriptionBackpressure.disconnect;
+        }
+        return createSubscriber(operationId, payload -> prefix + payload + "}", backpressure);
+    }
+
+    private <T> SubscriptionSubscriber<T> createSubscriber(String operationId, Function<T, String> dataMessage,
+            SubscriptionBackpressure backpressure) {
+        Config config = Config.get();
+        return new SubscriptionSubscriber<>(session, operationId,
+                dataMessage,
+                createCompleteMessage(operationId).toString(),
+                failure -> {
+                    try {
+                        sendInternalServerError(operationId);
+                    } catch (IOException e) {
+                        LOG.warn(e);
+                    }
+                },
+                () -> activeOperations.remove(operationId),
+                backpressure,
+                config.getSubscriptionPrefetch(),
+                config.getSubscriptionBufferSize());
+    }
+
+    private Map<String, Object> getSharedContext() {
+        Map<String, Object> sharedContext = new HashMap<>(context);
+        sharedContext.remove(SmallRyeContextManager.CONTEXT);
+        return sharedContext;
+    }
+
+    // requests are the same if they have the same document, operation name, variables and context, and the same
+    // principal if the stream is shared per principal
+    private static Object getSharedSubscriptionKey(JsonObject payload, Map<String, Object> sharedContext,
+            boolean perPrincipal) {
+        Map<String, Object> keyContext = new HashMap<>(sharedContext);
+        Object principal = keyContext.remove(PRINCIPAL);
+        if (perPrincipal) {
+            // principals do not have to implement equals, the same user has the same name
+            keyContext.put(PRINCIPAL, principal instanceof Principal ? ((Principal) principal).getName() : principal);
+        }
+        return List.of(payload, keyContext);
+    }
+
+    private void stopKeepAlive() {
+        if (keepAliveScheduler != null) {
+            keepAliveScheduler.unregister(this, keepAliveSlot);
+        }
+    }
+
+    void sendKeepAlive() {
+        if (session.isClosed()) {
+            // the session was closed without telling us
+            stopKeepAlive();
+            return;
+        }
         try {
             session.sendMessage(getPingMessage());
         } catch (IOException e) {
@@ -258,10 +352,10 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
     // cancel the operation with this id, returns true if it actually cancels an operation,
     // false if no such operation is active
     private boolean cancelOperation(String opId) {
-        Subscriber<ExecutionResult> subscriber = activeOperations.remove(opId);
+        Subscriber<?> subscriber = activeOperations.remove(opId);
         if (subscriber != null) {
             if (subscriber instanceof SubscriptionSubscriber) {
-                ((SubscriptionSubscriber) subscriber).cancel();
+                ((SubscriptionSubscriber<?>) subscriber).cancel();
             }
             return true;
         } else {
@@ -287,73 +381,17 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
 
     protected abstract void closeDueToConnectionNotInitialized();
 
-    protected abstract String getPingMessage();
-
-    public Map<String, Object> getContext() {
-        return context;
-    }
-
     /**
-     * The middleman that subscribes to an execution result and forwards its events to the websocket channel.
+     * The client did not initialize the connection within the configured timeout
      */
-    private class SubscriptionSubscriber implements Subscriber<ExecutionResult> {
-
-        private final AtomicReference<Subscription> subscription = new AtomicReference<>();
-        private final GraphQLWebSocketSession session;
-        private final String operationId;
-
-        public SubscriptionSubscriber(GraphQLWebSocketSession session, String operationId) {
-            this.session = session;
-            this.operationId = operationId;
-        }
-
-        @Override
-        public void onSubscribe(Subscription s) {
-            subscription.set(s);
-            subscription.get().request(1);
-        }
-
-        @Override
-        public void onNext(ExecutionResult executionResult) {
-            if (!session.isClosed()) {
-                ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
-                try {
-                    session.sendMessage(
-                            createDataMessage(operationId,
-                                    executionResponse.getExecutionResultAsJsonObject())
-                                    .toString());
-                } catch (IOException e) {
-                    LOG.warn(e);
-                }
-                subscription.get().request(1);
-            }
-        }
-
-        @Override
-        public void onError(Throwable t) {
-            // TODO: I'm not sure if/when this can happen. Even if the operation's root fails, it goes into `onNext`.
-            t.printStackTrace();
-        }
+    protected void closeDueToConnectionInitTimeout() {
+        session.close((short) 4408, "Connection initialisation timeout");
+    }
 
-        @Override
-        public void onComplete() {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Subscription with id " + operationId + " completed");
-            }
-            try {
-                session.sendMessage(createCompleteMessage(operationId).toString());
-            } catch (IOException e) {
-                LOG.warn(e);
-            }
-            activeOperations.remove(operationId);
-        }
+    protected abstract String getPingMessage();
 
-        public void cancel() {
-            Subscription sub = subscription.get();
-            if (sub != null) {
-                sub.cancel();
-            }
-        }
+    public Map<String, Object> getContext() {
+        return context;
     }
 
     // dummy value to put into the `activeOperations` map for single-result operations
@@ -1,6 +1,7 @@
 package io.smallrye.graphql.websocket;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * This is a simple abstraction over a websocket session to be able to abstract away from the underlying API.
@@ -11,6 +12,16 @@ public interface GraphQLWebSocketSession {
 
     void sendMessage(String message) throws IOException;
 
+    /**
+     * Send messages that are ready at the same time. Transports that can write more than one frame at once should
+     * override this, by default the messages are sent one by one.
+     */
+    default void sendMessages(List<String> messages) throws IOException {
+        for (String message : messages) {
+            sendMessage(message);
+        }
+    }
+
     void close(short statusCode, String reason);
 
     boolean isClosed();
@@ -2,6 +2,12 @@ package io.smallrye.graphql.websocket;
 
 public interface GraphQLWebsocketHandler {
 
+    /**
+     * Called when the session is opened, after the handler is created. Keep-alive messages are only sent from then on.
+     */
+    default void onOpen() {
+    }
+
     /**
      * Called when a message arrives and needs to be handled. Implementation of this method MUST NOT block the calling thread!
      */
@@ -0,0 +1,124 @@
+package io.smallrye.graphql.websocket;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.graphql.execution.metrics.MetricsEmitter;
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * Sends the keep-alive messages of all websocket sessions, and closes the sessions that are not initialized in time.
+ *
+ * Instead of a periodic task per session, there is one task that runs every second. The sessions are spread over one
+ * slot per second of the keep-alive interval, and every second the sessions of the next slot get their keep-alive. So
+ * every session gets one keep-alive per interval, and a session only costs an entry in a set.
+ *
+ * Sessions that are waiting for their connection initialisation are kept in a separate set, that is checked every
+ * second, so the timeout does not depend on the keep-alive interval.
+ */
+final class KeepAliveScheduler {
+    private static final Logger LOG = Logger.getLogger(KeepAliveScheduler.class);
+
+    private final Set<AbstractGraphQLWebsocketHandler>[] slots;
+    private final Set<AbstractGraphQLWebsocketHandler> awaitingInit = ConcurrentHashMap.newKeySet();
+    private final long initTimeoutNanos;
+    private volatile int tick;
+
+    static KeepAliveScheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    KeepAliveScheduler(int keepAliveIntervalSeconds, int initTimeoutSeconds) {
+        this.slots = new Set[Math.max(1, keepAliveIntervalSeconds)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.initTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(0, initTimeoutSeconds));
+    }
+
+    /**
+     * Start sending keep-alives to the sessions of the handler. The first one is sent after about one interval.
+     *
+     * @return the slot of the handler, to pass to {@link #unregister(AbstractGraphQLWebsocketHandler, int)}
+     */
+    int register(AbstractGraphQLWebsocketHandler handler) {
+        // the slot that was visited last, so it is the last one to be visited again
+        int slot = Math.floorMod(tick - 1, slots.length);
+        slots[slot].add(handler);
+        if (initTimeoutNanos > 0) {
+            awaitingInit.add(handler);
+        }
+        return slot;
+    }
+
+    void initialized(AbstractGraphQLWebsocketHandler handler) {
+        awaitingInit.remove(handler);
+    }
+
+    void unregister(AbstractGraphQLWebsocketHandler handler, int slot) {
+        slots[slot].remove(handler);
+        awaitingInit.remove(handler);
+    }
+
+    /**
+     * @return the number of open sessions
+     */
+    int getSessions() {
+        int sessions = 0;
+        for (Set<AbstractGraphQLWebsocketHandler> slot : slots) {
+            sessions += slot.size();
+        }
+        return sessions;
+    }
+
+    /**
+     * @return the number of operations that are running on all sessions
+     */
+    int getOperations() {
+        int operations = 0;
+        for (Set<AbstractGraphQLWebsocketHandler> slot : slots) {
+            for (AbstractGraphQLWebsocketHandler handler : slot) {
+                operations += handler.activeOperations.size();
+            }
+        }
+        return operations;
+    }
+
+    void tick() {
+        int current = tick;
+        tick = current + 1;
+        try {
+            for (AbstractGraphQLWebsocketHandler handler : slots[Math.floorMod(current, slots.length)]) {
+                handler.sendKeepAlive();
+            }
+            if (!awaitingInit.isEmpty()) {
+                long now = System.nanoTime();
+                for (AbstractGraphQLWebsocketHandler handler : awaitingInit) {
+                    if (now - handler.openedAt >= initTimeoutNanos && awaitingInit.remove(handler)) {
+                        handler.closeDueToConnectionInitTimeout();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // a failing tick must not cancel the periodic task
+            LOG.warn("Failed to send keep-alive messages", e);
+        }
+    }
+
+    private static final class Holder {
+        private static final KeepAliveScheduler INSTANCE = start();
+
+        private static KeepAliveScheduler start() {
+            Config config = Config.get();
+            KeepAliveScheduler scheduler = new KeepAliveScheduler(config.getWebsocketKeepAliveIntervalSeconds(),
+                    config.getWebsocketConnectionInitTimeoutSeconds());
+            Infrastructure.getDefaultWorkerPool().scheduleAtFixedRate(scheduler::tick, 1, 1, TimeUnit.SECONDS);
+            MetricsEmitter.getInstance().websocketGauges(scheduler::getSessions, scheduler::getOperations);
+            return scheduler;
+        }
+    }
+}
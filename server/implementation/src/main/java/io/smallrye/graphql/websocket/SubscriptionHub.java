@@ -0,0 +1,182 @@
+package io.smallrye.graphql.websocket;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import graphql.ExecutionResult;
+import io.smallrye.graphql.execution.ExecutionResponse;
+
+/**
+ * Shares the streams of {@link io.smallrye.graphql.api.Broadcast} subscriptions between the websocket clients that send
+ * the same request, and have the same principal if the stream is shared per principal.
+ *
+ * Every client executes the operation, so its document and variables are validated. The stream of the first client is
+ * shared, and the clients that come after join it. Their own stream is never subscribed to, so they do not call the
+ * method of the subscription. Every event is serialized once, and the same payload is passed to all clients. When the
+ * last client leaves, the stream is cancelled and forgotten, so the stream of the next client is subscribed to.
+ */
+final class SubscriptionHub {
+    private static final Logger LOG = Logger.getLogger(SubscriptionHub.class);
+    private static final SubscriptionHub INSTANCE = new SubscriptionHub();
+
+    private final Map<Object, SharedStream> streams = new ConcurrentHashMap<>();
+
+    static SubscriptionHub getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return if there are no shared streams, so there is nothing to join
+     */
+    boolean isEmpty() {
+        return streams.isEmpty();
+    }
+
+    /**
+     * @return the number of shared streams
+     */
+    int size() {
+        return streams.size();
+    }
+
+    /**
+     * Share the stream of an executed operation. If another client already shares a stream of the same request, the
+     * subscriber joins that one instead, and this stream is never subscribed to.
+     */
+    void share(Object key, Publisher<ExecutionResult> publisher, Subscriber<String> subscriber) {
+        while (true) {
+            SharedStream stream = streams.get(key);
+            if (stream == null) {
+                SharedStream created = new SharedStream(key);
+                // another client may join and leave before this one is added, then try again
+                if (streams.putIfAbsent(key, created) == null && created.add(subscriber)) {
+                    publisher.subscribe(created);
+                    return;
+                }
+            } else if (stream.add(subscriber)) {
+                return;
+            } else {
+                // the last client just left that one
+                streams.remove(key, stream);
+            }
+        }
+    }
+
+    /**
+     * One upstream subscription, and the clients it is passed to
+     */
+    private final class SharedStream implements Subscriber<ExecutionResult> {
+        private final Object key;
+        private final Set<Member> members = ConcurrentHashMap.newKeySet();
+        // guarded by this
+        private boolean closed;
+        private Subscription upstream;
+
+        SharedStream(Object key) {
+            this.key = key;
+        }
+
+        boolean add(Subscriber<String> subscriber) {
+            Member member = new Member(this, subscriber);
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                members.add(member);
+            }
+            subscriber.onSubscribe(member);
+            return true;
+        }
+
+        void remove(Member member) {
+            Subscription toCancel;
+            synchronized (this) {
+                if (!members.remove(member) || !members.isEmpty() || closed) {
+                    return;
+                }
+                toCancel = close();
+            }
+            LOG.debug("Last client left the shared subscription " + key);
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        // returns the upstream to cancel, if it is there already
+        private Subscription close() {
+            closed = true;
+            streams.remove(key, this);
+            return upstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            synchronized (this) {
+                upstream = s;
+                if (closed) {
+                    s.cancel();
+                    return;
+                }
+            }
+            // the clients do not hold up each other, every client deals with a slow connection itself
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ExecutionResult executionResult) {
+            String payload = new ExecutionResponse(executionResult).getExecutionResultAsString();
+            for (Member member : members) {
+                member.subscriber.onNext(payload);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                close();
+            }
+            for (Member member : members) {
+                member.subscriber.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                close();
+            }
+            for (Member member : members) {
+                member.subscriber.onComplete();
+            }
+        }
+    }
+
+    /**
+     * The subscription of one client to a shared stream. Requests are ignored, as the stream is not slowed down for one
+     * client.
+     */
+    private static final class Member implements Subscription {
+        private final SharedStream stream;
+        private final Subscriber<String> subscriber;
+
+        Member(SharedStream stream, Subscriber<String> subscriber) {
+            this.stream = stream;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+            stream.remove(this);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package io.smallrye.graphql.websocket;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.smallrye.graphql.execution.metrics.MetricsEmitter;
+import io.smallrye.graphql.spi.config.SubscriptionBackpressure;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * The middleman that subscribes to an execution result, or a stream shared by a {@link SubscriptionHub}, and forwards
+ * its events to the websocket channel.
+ *
+ * Events are queued, and sent by one task at a time on a worker thread, so the stream does not wait for the client.
+ * What happens when events come in faster than they are sent depends on the {@link SubscriptionBackpressure}. When more
+ * than one event is waiting, they are all sent in one go with {@link GraphQLWebSocketSession#sendMessages(List)}.
+ */
+final class SubscriptionSubscriber<T> implements Subscriber<T> {
+    private static final Logger LOG = Logger.getLogger(SubscriptionSubscriber.class);
+
+    private final GraphQLWebSocketSession session;
+    private final String operationId;
+    private final Function<T, String> dataMessage;
+    private final String completeMessage;
+    private final Consumer<Throwable> errorMessage;
+    private final Runnable onDone;
+    private final SubscriptionBackpressure backpressure;
+    private final int prefetch;
+    private final int bufferSize;
+
+    // the events that are not sent yet, guarded by itself
+    private final ArrayDeque<T> pending = new ArrayDeque<>();
+    private final AtomicInteger drains = new AtomicInteger();
+    private volatile Subscription subscription;
+    private volatile boolean completed;
+    private volatile Throwable failure;
+    private volatile boolean cancelled;
+
+    /**
+     * @param dataMessage creates the message of an event
+     * @param completeMessage the message that is sent when the stream completes
+     * @param errorMessage sends the message for a stream that fails, instead of the complete message
+     * @param onDone called when the stream is completed, failed or cancelled because of a slow client
+     * @param prefetch how many events to request ahead with {@link SubscriptionBackpressure#block}
+     * @param bufferSize how many events to keep with the other policies
+     */
+    SubscriptionSubscriber(GraphQLWebSocketSession session, String operationId,
+            Function<T, String> dataMessage, String completeMessage, Consumer<Throwable> errorMessage, Runnable onDone,
+            SubscriptionBackpressure backpressure, int prefetch, int bufferSize) {
+        this.session = session;
+        this.operationId = operationId;
+        this.dataMessage = dataMessage;
+        this.completeMessage = completeMessage;
+        this.errorMessage = errorMessage;
+        this.onDone = onDone;
+        this.backpressure = backpressure;
+        this.prefetch = Math.max(1, prefetch);
+        this.bufferSize = Math.max(1, bufferSize);
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = s;
+        // the other policies deal with too many events themselves
+        s.request(backpressure == SubscriptionBackpressure.block ? prefetch : Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T event) {
+        if (cancelled) {
+            return;
+        }
+        boolean overflow = false;
+        synchronized (pending) {
+            switch (backpressure) {
+                case block:
+                    pending.add(event);
+                    break;
+                case latest:
+                    pending.clear();
+                    pending.add(event);
+                    break;
+                case dropNewest:
+                    if (pending.size() < bufferSize) {
+                        pending.add(event);
+                    }
+                    break;
+                case dropOldest:
+                    if (pending.size() >= bufferSize) {
+                        pending.poll();
+                    }
+                    pending.add(event);
+                    break;
+                case disconnect:
+                    overflow = pending.size() >= bufferSize;
+                    if (!overflow) {
+                        pending.add(event);
+                    }
+                    break;
+            }
+        }
+        if (overflow) {
+            disconnectSlowClient();
+        } else {
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        // errors of the operation come as events, so this is the stream itself failing, for example a shared stream
+        LOG.warn("Subscription with id " + operationId + " failed", t);
+        failure = t;
+        completed = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Subscription with id " + operationId + " completed");
+        }
+        completed = true;
+        drain();
+    }
+
+    public void cancel() {
+        cancelled = true;
+        Subscription sub = subscription;
+        if (sub != null) {
+            sub.cancel();
+        }
+        synchronized (pending) {
+            pending.clear();
+        }
+    }
+
+    private void disconnectSlowClient() {
+        LOG.debug("Closing session " + session + ", operation id " + operationId + " can not keep up");
+        cancel();
+        onDone.run();
+        MetricsEmitter.getInstance().slowConsumerDisconnect();
+        session.close((short) 1013, "Slow consumer");
+    }
+
+    private void drain() {
+        if (drains.getAndIncrement() == 0) {
+            Infrastructure.getDefaultExecutor().execute(this::drainLoop);
+        }
+    }
+
+    // only one drain loop runs at a time, so the events are sent in order
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            // read before taking the events, so no event that came before the completion is missed
+            boolean done = completed;
+            List<T> events;
+            synchronized (pending) {
+                events = new ArrayList<>(pending);
+                pending.clear();
+            }
+            if (!events.isEmpty() && !cancelled && !session.isClosed()) {
+                try {
+                    send(events);
+                    if (backpressure == SubscriptionBackpressure.block) {
+                        subscription.request(events.size());
+                    }
+                } catch (RuntimeException e) {
+                    // the loop has to go on, or no later event, error or completion would ever be sent
+                    LOG.warn("Cannot send the events of subscription with id " + operationId, e);
+                    failure = e;
+                    completed = true;
+                    done = true;
+                    subscription.cancel();
+                    synchronized (pending) {
+                        pending.clear();
+                    }
+                }
+            }
+            if (done && !cancelled) {
+                cancelled = true;
+                sendComplete(failure);
+            }
+            missed = drains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void send(List<T> events) {
+        try {
+            if (events.size() == 1) {
+                session.sendMessage(dataMessage.apply(events.get(0)));
+            } else {
+                List<String> messages = new ArrayList<>(events.size());
+                for (T event : events) {
+                    messages.add(dataMessage.apply(event));
+                }
+                session.sendMessages(messages);
+            }
+        } catch (IOException e) {
+            LOG.warn(e);
+        }
+    }
+
+    private void sendComplete(Throwable failure) {
+        try {
+            if (failure != null) {
+                errorMessage.accept(failure);
+            } else {
+                session.sendMessage(completeMessage);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn(e);
+        }
+        onDone.run();
+    }
+}
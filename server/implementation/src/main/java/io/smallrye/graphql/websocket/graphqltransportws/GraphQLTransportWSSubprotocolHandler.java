@@ -21,14 +21,12 @@ import io.smallrye.graphql.websocket.GraphQLWebSocketSession;
 public class GraphQLTransportWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler {
 
     private static final JsonBuilderFactory jsonBuilderFactory = JSON_PROVIDER.createBuilderFactory(null);
-
-    private final String pingMessage;
-    private final String pongMessage;
+    // the same for every session, so they are only serialized once
+    private static final String PING_MESSAGE = createMessage("ping");
+    private static final String PONG_MESSAGE = createMessage("pong");
 
     public GraphQLTransportWSSubprotocolHandler(GraphQLWebSocketSession session, Map<String, Object> context) {
         super(session, "next", context);
-        this.pongMessage = createPongMessage().toString();
-        this.pingMessage = createPingMessage().toString();
     }
 
     @Deprecated
@@ -95,24 +93,19 @@ public class GraphQLTransportWSSubprotocolHandler extends AbstractGraphQLWebsock
     }
 
     private void sendPongMessage() throws IOException {
-        session.sendMessage(pongMessage);
+        session.sendMessage(PONG_MESSAGE);
     }
 
     @Override
     protected String getPingMessage() {
-        return pingMessage;
-    }
-
-    private JsonObject createPongMessage() {
-        return jsonBuilderFactory.createObjectBuilder()
-                .add("type", "pong")
-                .build();
+        return PING_MESSAGE;
     }
 
-    private JsonObject createPingMessage() {
+    private static String createMessage(String type) {
         return jsonBuilderFactory.createObjectBuilder()
-                .add("type", "ping")
-                .build();
+                .add("type", type)
+                .build()
+                .toString();
     }
 
 }
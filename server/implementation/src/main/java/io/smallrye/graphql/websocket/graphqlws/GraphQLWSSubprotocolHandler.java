@@ -20,12 +20,14 @@ import io.smallrye.graphql.websocket.GraphQLWebSocketSession;
 public class GraphQLWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler {
 
     private static final JsonBuilderFactory jsonBuilderFactory = JSON_PROVIDER.createBuilderFactory(null);
-
-    private final String pingMessage;
+    // the same for every session, so it is only serialized once
+    private static final String PING_MESSAGE = jsonBuilderFactory.createObjectBuilder()
+            .add("type", MessageType.GQL_CONNECTION_KEEP_ALIVE.asString())
+            .build()
+            .toString();
 
     public GraphQLWSSubprotocolHandler(GraphQLWebSocketSession session, Map<String, Object> context) {
         super(session, MessageType.GQL_DATA.asString(), context);
-        pingMessage = createPingMessage().toString();
     }
 
     @Deprecated
@@ -70,7 +72,7 @@ public class GraphQLWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler
 
     @Override
     protected String getPingMessage() {
-        return pingMessage;
+        return PING_MESSAGE;
     }
 
     @Override
@@ -90,10 +92,4 @@ public class GraphQLWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler
                 .build();
     }
 
-    private JsonObject createPingMessage() {
-        return jsonBuilderFactory.createObjectBuilder()
-                .add("type", MessageType.GQL_CONNECTION_KEEP_ALIVE.asString())
-                .build();
-    }
-
 }
@@ -0,0 +1,124 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.test.batchedOperations.ShelfApi;
+
+/**
+ * Test executing a batch of operations
+ */
+public class BatchedOperationsTest extends ExecutionTestBase {
+
+    protected IndexView getIndex() {
+        return Indexer.getTestIndex(ShelfApi.class);
+    }
+
+    @BeforeEach
+    public void clearBatches() {
+        ShelfApi.BATCHES.clear();
+    }
+
+    @Test
+    public void testResponsesInRequestOrder() throws Exception {
+        List<String> responses = executeBatch(false,
+                "{ delayed(value: \"slow\", millis: 200) }",
+                "{ delayed(value: \"fast\", millis: 0) }",
+                "{ unknown }");
+
+        assertEquals("{\"data\":{\"delayed\":\"slow\"}}", responses.get(0));
+        assertEquals("{\"data\":{\"delayed\":\"fast\"}}", responses.get(1));
+        assertTrue(responses.get(2).contains("ValidationError"), responses.get(2));
+    }
+
+    @Test
+    public void testOwnDataLoaders() throws Exception {
+        List<String> responses = executeBatch(false,
+                "{ shelves(prefix: \"a\") { name books } }",
+                "{ shelves(prefix: \"bb\") { name books } }");
+
+        assertEquals("{\"data\":{\"shelves\":[{\"name\":\"a1\",\"books\":2},{\"name\":\"a2\",\"books\":2}]}}",
+                responses.get(0));
+        assertEquals("{\"data\":{\"shelves\":[{\"name\":\"bb1\",\"books\":3},{\"name\":\"bb2\",\"books\":3}]}}",
+                responses.get(1));
+        assertEquals(2, ShelfApi.BATCHES.size(), ShelfApi.BATCHES.toString());
+    }
+
+    @Test
+    public void testSharedDataLoaders() throws Exception {
+        List<String> responses = executeBatch(true,
+                "{ shelves(prefix: \"a\") { name books } }",
+                "{ delayed(value: \"no books\", millis: 50) }",
+                "{ shelves(prefix: \"bb\") { name books } }");
+
+        assertEquals("{\"data\":{\"shelves\":[{\"name\":\"a1\",\"books\":2},{\"name\":\"a2\",\"books\":2}]}}",
+                responses.get(0));
+        assertEquals("{\"data\":{\"delayed\":\"no books\"}}", responses.get(1));
+        assertEquals("{\"data\":{\"shelves\":[{\"name\":\"bb1\",\"books\":3},{\"name\":\"bb2\",\"books\":3}]}}",
+                responses.get(2));
+        // the keys of both operations in one call
+        assertEquals(List.of(List.of("a1", "a2", "bb1", "bb2")), ShelfApi.BATCHES);
+    }
+
+    @Test
+    public void testSharedDataLoadersWithOtherArguments() throws Exception {
+        List<String> responses = executeBatch(true,
+                "{ shelves(prefix: \"a\") { capacity(perBook: 1) } }",
+                "{ shelves(prefix: \"bb\") { capacity(perBook: 10) } }",
+                "{ shelves(prefix: \"c\") { capacity(perBook: 1) } }");
+
+        assertEquals("{\"data\":{\"shelves\":[{\"capacity\":2},{\"capacity\":2}]}}", responses.get(0));
+        assertEquals("{\"data\":{\"shelves\":[{\"capacity\":30},{\"capacity\":30}]}}", responses.get(1));
+        assertEquals("{\"data\":{\"shelves\":[{\"capacity\":2},{\"capacity\":2}]}}", responses.get(2));
+        // only the keys with the same arguments are loaded together
+        assertEquals(List.of(List.of("a1", "a2", "c1", "c2"), List.of("bb1", "bb2")), ShelfApi.BATCHES);
+    }
+
+    @Test
+    public void testWithoutSchema() throws Exception {
+        ExecutionService withoutSchema = new ExecutionService(null, new Schema());
+        List<String> responses = executeBatch(withoutSchema, false, "{ shelves(prefix: \"a\") { name } }");
+
+        assertTrue(responses.get(0).contains("No GraphQL methods found"), responses.get(0));
+    }
+
+    private List<String> executeBatch(boolean shareDataLoaders, String... queries) throws Exception {
+        return executeBatch(executionService, shareDataLoaders, queries);
+    }
+
+    private static List<String> executeBatch(ExecutionService executionService, boolean shareDataLoaders,
+            String... queries) throws Exception {
+        List<JsonObject> operations = List.of(queries).stream()
+                .map(query -> JSON_PROVIDER.createObjectBuilder().add("query", query).build())
+                .collect(Collectors.toList());
+        CompletableFuture<List<ExecutionResponse>> responses = new CompletableFuture<>();
+        executionService.executeBatch(operations, new HashMap<>(), shareDataLoaders, new ExecutionBatchResponseWriter() {
+            @Override
+            public void write(List<ExecutionResponse> executionResponses) {
+                responses.complete(executionResponses);
+            }
+
+            @Override
+            public void fail(Throwable t) {
+                responses.completeExceptionally(t);
+            }
+        });
+        return responses.get(10, TimeUnit.SECONDS).stream()
+                .map(ExecutionResponse::getExecutionResultAsString)
+                .collect(Collectors.toList());
+    }
+}
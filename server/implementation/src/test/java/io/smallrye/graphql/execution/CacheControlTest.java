@@ -0,0 +1,111 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.test.cache.CacheControlTestApi;
+
+/**
+ * Test that the results of queries with a cache hint are cached, and the Cache-Control of the response
+ */
+public class CacheControlTest extends ExecutionTestBase {
+
+    @Override
+    protected IndexView getIndex() {
+        return Indexer.getTestIndex(CacheControlTestApi.class);
+    }
+
+    @BeforeEach
+    void resetCalls() {
+        CacheControlTestApi.calls.set(0);
+    }
+
+    @Test
+    public void testCached() {
+        assertEquals("public, max-age=60", execute("{ countries }", null).getCacheControl());
+        ExecutionResponse second = execute("{ countries }", null);
+
+        assertEquals(1, CacheControlTestApi.calls.get());
+        assertEquals("{\"data\":{\"countries\":[\"BE\",\"ZA\"]}}", second.getExecutionResultAsString());
+        assertEquals("public, max-age=60", second.getCacheControl());
+    }
+
+    @Test
+    public void testCachedPerArguments() {
+        execute("{ country(code: \"BE\") }", null);
+        execute("{ country(code: \"ZA\") }", null);
+        ExecutionResponse response = execute("{ country(code: \"BE\") }", null);
+
+        assertEquals(2, CacheControlTestApi.calls.get());
+        assertEquals("{\"data\":{\"country\":\"be\"}}", response.getExecutionResultAsString());
+    }
+
+    @Test
+    public void testCachedAsync() {
+        execute("{ flags }", null);
+        ExecutionResponse response = execute("{ flags }", null);
+
+        assertEquals(1, CacheControlTestApi.calls.get());
+        assertEquals("{\"data\":{\"flags\":\"dark-mode\"}}", response.getExecutionResultAsString());
+    }
+
+    @Test
+    public void testSmallestMaxAge() {
+        assertEquals("public, max-age=30", execute("{ countries country(code: \"BE\") }", null).getCacheControl());
+    }
+
+    @Test
+    public void testNotCacheableField() {
+        assertNull(execute("{ countries time }", null).getCacheControl());
+        assertNull(execute("{ __typename }", null).getCacheControl());
+    }
+
+    @Test
+    public void testSourceFields() {
+        assertEquals("public, max-age=60", execute("{ belgium { code } }", null).getCacheControl());
+        assertEquals("public, max-age=20", execute("{ belgium { code language } }", null).getCacheControl());
+        assertNull(execute("{ belgium { code population } }", null).getCacheControl());
+    }
+
+    @Test
+    public void testNotCacheableFieldFirst() {
+        assertNull(execute("{ time countries }", null).getCacheControl());
+    }
+
+    @Test
+    public void testPrivate() {
+        // without a user, the result is not cached
+        assertEquals("private, max-age=10", execute("{ countries orders }", null).getCacheControl());
+        execute("{ orders }", null);
+        assertEquals(3, CacheControlTestApi.calls.get());
+
+        execute("{ orders }", user("alice"));
+        execute("{ orders }", user("alice"));
+        execute("{ orders }", user("bob"));
+        assertEquals(5, CacheControlTestApi.calls.get());
+    }
+
+    private ExecutionResponse execute(String graphQL, Map<String, Object> context) {
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(graphQL);
+        if (context == null) {
+            executionService.executeSync(writer.getInput(), writer);
+        } else {
+            executionService.executeSync(writer.getInput(), context, writer);
+        }
+        return writer.getExecutionResponse();
+    }
+
+    private static Map<String, Object> user(String name) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put("principal", (Principal) () -> name);
+        return context;
+    }
+}
@@ -0,0 +1,148 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.graphql.test.cost.CostTestApi;
+
+/**
+ * Test the cost analysis of operations, and the budgets of the clients
+ */
+public class CostTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @Override
+    protected IndexView getIndex() {
+        return Indexer.getTestIndex(CostTestApi.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testNoCostWhenDisabled() {
+        assertNull(executeAndGetExtensions("{ items(first: 3) { name } }"));
+    }
+
+    @Test
+    public void testCost() {
+        config.costMaxPerOperation = 1000;
+
+        // (2 + 5 for the price) times 3 items
+        assertEquals(21, requested(executeAndGetResult("{ items(first: 3) { name price } }", null)));
+        // the default value of first
+        assertEquals(20, requested(executeAndGetResult("{ items { name } }", null)));
+        // a list multiplies by its size, objects cost 1
+        assertEquals(2, requested(executeAndGetResult("{ itemsByName(names: [\"a\", \"b\"]) { name } }", null)));
+        assertEquals(0, requested(executeAndGetResult("{ __typename }", null)));
+    }
+
+    @Test
+    public void testCostOfVariables() {
+        config.costMaxPerOperation = 1000;
+        String query = "query items($first: Int!) { items(first: $first) { price } }";
+
+        assertEquals(14, requested(execute(query, 2)));
+        // the plan is cached with the document, the variables are not
+        assertEquals(35, requested(execute(query, 5)));
+    }
+
+    @Test
+    public void testCostOfDefaults() {
+        config.costMaxPerOperation = 1000;
+
+        // a variable that is not set leaves the default value of the argument
+        assertEquals(70, requested(executeAndGetResult("query items($first: Int) { items(first: $first) { price } }", null)));
+        assertEquals(28,
+                requested(executeAndGetResult("query items($first: Int = 4) { items(first: $first) { price } }", null)));
+        // without a value, the default list size
+        assertEquals(10, requested(executeAndGetResult("{ lastItems { name } }", null)));
+    }
+
+    @Test
+    public void testDefaultListSize() {
+        config.costMaxPerOperation = 1000;
+        config.costDefaultListSize = 3;
+
+        assertEquals(3, requested(executeAndGetResult("query items($last: Int) { lastItems(last: $last) { name } }", null)));
+        assertEquals(3, requested(executeAndGetResult("{ lastItems(last: null) { name } }", null)));
+    }
+
+    @Test
+    public void testMaxPerOperation() {
+        config.costMaxPerOperation = 20;
+
+        JsonObject result = executeAndGetResult("{ items(first: 3) { price } }", null);
+        assertFalse(result.containsKey("data"));
+        JsonObject error = result.getJsonArray("errors").getJsonObject(0);
+        assertTrue(error.getString("message").startsWith("Operation costs 21"), error.toString());
+        assertEquals(21, error.getJsonObject("extensions").getJsonObject("cost").getInt("requested"));
+    }
+
+    @Test
+    public void testBudgetPerClient() {
+        config.costBudgetHeader = "X-Client";
+        config.costBudgetCapacity = 50;
+        config.costBudgetRefillPerSecond = 0;
+        String query = "{ items(first: 3) { price } }";
+
+        JsonObject first = executeAndGetResult(query, client("one"));
+        assertEquals(29, first.getJsonObject("extensions").getJsonObject("cost").getInt("remaining"));
+        JsonObject second = executeAndGetResult(query, client("one"));
+        assertEquals(8, second.getJsonObject("extensions").getJsonObject("cost").getInt("remaining"));
+
+        JsonObject rejected = executeAndGetResult(query, client("one"));
+        assertFalse(rejected.containsKey("data"));
+        assertEquals(1, rejected.getJsonArray("errors").size());
+
+        // another client has its own budget
+        JsonObject other = executeAndGetResult(query, client("two"));
+        assertEquals(29, other.getJsonObject("extensions").getJsonObject("cost").getInt("remaining"));
+    }
+
+    @Test
+    public void testBudgetNeedsHeader() {
+        config.costBudgetHeader = "X-Client";
+
+        JsonObject rejected = executeAndGetResult("{ items(first: 3) { price } }", null);
+        assertFalse(rejected.containsKey("data"));
+        String message = rejected.getJsonArray("errors").getJsonObject(0).getString("message");
+        assertTrue(message.contains("X-Client"), message);
+    }
+
+    private JsonObject execute(String query, int first) {
+        JsonObject input = Json.createObjectBuilder()
+                .add("query", query)
+                .add("variables", Json.createObjectBuilder().add("first", first))
+                .build();
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(input);
+        executionService.executeSync(input, writer);
+        return writer.getOutput();
+    }
+
+    private static int requested(JsonObject result) {
+        return result.getJsonObject("extensions").getJsonObject("cost").getInt("requested");
+    }
+
+    private static Map<String, Object> client(String client) {
+        Map<String, Object> context = new ConcurrentHashMap<>();
+        context.put("httpHeaders", Map.of("x-client", List.of(client)));
+        return context;
+    }
+}
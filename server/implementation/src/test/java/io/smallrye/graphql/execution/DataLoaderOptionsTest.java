@@ -0,0 +1,88 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.json.JsonObject;
+
+import org.dataloader.DataLoaderRegistry;
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.bootstrap.DataFetcherFactory;
+import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.test.dataLoaderOptions.CrateApi;
+
+/**
+ * Test the DataLoader options of batched source fields, and that DataLoaders are only created when used
+ */
+public class DataLoaderOptionsTest extends ExecutionTestBase {
+
+    protected IndexView getIndex() {
+        return Indexer.getTestIndex(CrateApi.class);
+    }
+
+    @BeforeEach
+    public void clearBatches() {
+        CrateApi.BATCHES.clear();
+        CrateApi.SPLIT_REQUESTS.clear();
+    }
+
+    @Test
+    public void testMaxBatchSize() {
+        JsonObject data = executeAndGetData("{ crates(names: [\"a\", \"b\", \"c\", \"d\", \"e\"]) { split } }");
+
+        assertEquals("[A, B, C, D, E]", data.getJsonArray("crates").stream()
+                .map(crate -> crate.asJsonObject().getString("split"))
+                .collect(Collectors.toList()).toString());
+        List<List<String>> batches = CrateApi.BATCHES.get("split");
+        assertEquals(3, batches.size(), batches.toString());
+        assertTrue(batches.containsAll(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e"))),
+                batches.toString());
+    }
+
+    @Test
+    public void testMaxBatchSizeStaysInTheRequest() {
+        CrateApi.REQUEST.set("request");
+        try {
+            executeAndGetData("{ crates(names: [\"a\", \"b\", \"c\", \"d\", \"e\"]) { split } }");
+        } finally {
+            CrateApi.REQUEST.remove();
+        }
+
+        assertEquals(List.of("request", "request", "request"), CrateApi.SPLIT_REQUESTS);
+    }
+
+    @Test
+    public void testCacheKey() {
+        executeAndGetData("{ crates(names: [\"a\", \"a\", \"b\"]) { byName } }");
+
+        assertEquals(List.of(List.of("a", "b")), CrateApi.BATCHES.get("byName"));
+    }
+
+    @Test
+    public void testCachingDisabled() {
+        executeAndGetData("{ crates(names: [\"a\", \"a\", \"b\"]) { uncached } }");
+
+        assertEquals(List.of(List.of("a", "a", "b")), CrateApi.BATCHES.get("uncached"));
+    }
+
+    @Test
+    public void testCreatedWhenUsed() {
+        DataLoaders dataLoaders = new DataLoaders(SchemaBuilder.build(getIndex()), new DataFetcherFactory(),
+                new BatchLoaderHelper());
+        DataLoaderRegistry registry = dataLoaders.newRegistry();
+
+        assertTrue(registry.getKeys().isEmpty());
+        assertNotNull(registry.getDataLoader("Crate_split"));
+        assertNull(registry.getDataLoader("Crate_unknown"));
+        assertEquals(List.of("Crate_split"), List.copyOf(registry.getKeys()));
+    }
+}
@@ -0,0 +1,118 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.ResultPath;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test that the streaming and the JsonObject serialization of a response produce the same json
+ */
+public class ExecutionResponseTest {
+
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @AfterEach
+    public void reset() {
+        config.reset();
+    }
+
+    @Test
+    public void testStreamingMatchesJsonObject() {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("string", "some \"quoted\" text");
+        item.put("int", 42);
+        item.put("short", (short) 7);
+        item.put("long", Long.MAX_VALUE);
+        item.put("double", 1.0E10);
+        item.put("smallDouble", 0.1);
+        item.put("float", 3.14f);
+        item.put("bigDecimal", new BigDecimal("12345.6789"));
+        item.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        item.put("boolean", true);
+        item.put("enum", DayOfWeek.MONDAY);
+        item.put("null", null);
+        item.put("list", Arrays.asList(1, null, "two"));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("items", List.of(item, item));
+        data.put("empty", List.of());
+
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(data)
+                .addError(GraphqlErrorBuilder.newError()
+                        .message("Some error")
+                        .path(ResultPath.parse("/items/0/null"))
+                        .build())
+                .addExtension("key", Map.of("nested", 1))
+                .build();
+
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+
+        assertEquals(executionResponse.getExecutionResultAsJsonObject().toString(),
+                executionResponse.getExecutionResultAsString());
+    }
+
+    @Test
+    public void testStreamingWithAddedExtensions() {
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(Map.of("hello", "world"))
+                .build();
+
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult, Map.of("added", "value"));
+
+        assertEquals("{\"data\":{\"hello\":\"world\"},\"extensions\":{\"added\":\"value\"}}",
+                executionResponse.getExecutionResultAsString());
+        assertEquals(executionResponse.getExecutionResultAsJsonObject().toString(),
+                executionResponse.getExecutionResultAsString());
+    }
+
+    @Test
+    public void testStreamingMatchesJsonObjectExcludingNullFields() {
+        config.excludeNullFieldsInResponses = true;
+
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("name", "some name");
+        item.put("missing", null);
+        item.put("failed", null);
+        item.put("list", Arrays.asList(1, null));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("items", List.of(item, item));
+        data.put("nothing", null);
+
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(data)
+                .addError(GraphqlErrorBuilder.newError()
+                        .message("Some error")
+                        .path(ResultPath.rootPath().segment("items").segment(1).segment("failed"))
+                        .build())
+                .build();
+
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+        String streamed = executionResponse.getExecutionResultAsString();
+
+        assertEquals(new ExecutionResponse(executionResult).getExecutionResultAsJsonObject().toString(), streamed);
+        assertFalse(streamed.contains("\"missing\""), streamed);
+        assertFalse(streamed.contains("\"nothing\""), streamed);
+        // only the null field of the second item carries an error, so only that one is kept
+        assertTrue(streamed.contains("{\"name\":\"some name\",\"list\":[1,null]}"), streamed);
+        assertTrue(streamed.contains("{\"name\":\"some name\",\"failed\":null,\"list\":[1,null]}"), streamed);
+    }
+}
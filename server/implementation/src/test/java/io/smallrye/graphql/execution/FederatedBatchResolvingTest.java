@@ -0,0 +1,156 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.api.Directive;
+import io.smallrye.graphql.api.federation.Extends;
+import io.smallrye.graphql.api.federation.External;
+import io.smallrye.graphql.api.federation.Key;
+import io.smallrye.graphql.api.federation.Requires;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.graphql.test.resolver.BatchedApi;
+import io.smallrye.graphql.test.resolver.BatchedType;
+import io.smallrye.graphql.test.resolver.ExtendedApi;
+import io.smallrye.graphql.test.resolver.ExtendedType;
+
+/**
+ * Test resolving the representations of several entity types, with and without batch resolvers
+ */
+public class FederatedBatchResolvingTest {
+    private static final TestConfig config = (TestConfig) Config.get();
+
+    private static final String MIXED_QUERY = "query {\n" +
+            "_entities(representations: [\n" +
+            "    { id: \"1\", __typename: \"BatchedType\" }\n" +
+            "    { id: \"a\", __typename: \"ExtendedType\" }\n" +
+            "    { id: \"2\", __typename: \"BatchedType\" }\n" +
+            "    { id: \"b\", name: \"name\", key: \"key\", __typename: \"ExtendedType\" }\n" +
+            "    { id: \"3\", __typename: \"BatchedType\" }\n" +
+            "]) {\n" +
+            "    __typename\n" +
+            "    ... on BatchedType { id batched }\n" +
+            "    ... on ExtendedType { id value }\n" +
+            "  }\n" +
+            "}";
+
+    @AfterAll
+    static void afterAll() {
+        config.reset();
+        System.setProperty("smallrye.graphql.federation.enabled", "false");
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty("smallrye.graphql.federation.enabled", "true");
+    }
+
+    @BeforeEach
+    void resetCalls() {
+        BatchedApi.batchCalls.set(0);
+    }
+
+    @Test
+    public void testBatchResolving() {
+        JsonArray entities = entities(createExecutionService(true), MIXED_QUERY);
+
+        assertEquals(5, entities.size());
+        assertBatched(entities.getJsonObject(0), "1", true);
+        assertEquals("a", entities.getJsonObject(1).getString("id"));
+        assertBatched(entities.getJsonObject(2), "2", true);
+        assertEquals("bnamekey", entities.getJsonObject(3).getString("value"));
+        assertBatched(entities.getJsonObject(4), "3", true);
+        // all representations of a type in one call
+        assertEquals(1, BatchedApi.batchCalls.get());
+    }
+
+    @Test
+    public void testWithoutBatchResolving() {
+        JsonArray entities = entities(createExecutionService(false), MIXED_QUERY);
+
+        assertEquals(5, entities.size());
+        assertBatched(entities.getJsonObject(0), "1", false);
+        assertEquals("a", entities.getJsonObject(1).getString("id"));
+        assertBatched(entities.getJsonObject(2), "2", false);
+        assertEquals("bnamekey", entities.getJsonObject(3).getString("value"));
+        assertBatched(entities.getJsonObject(4), "3", false);
+        assertEquals(0, BatchedApi.batchCalls.get());
+    }
+
+    @Test
+    public void testNoResolver() {
+        JsonObject result = executeAndGetResult(createExecutionService(true), "query {\n" +
+                "_entities(representations: { name: \"name\", __typename: \"BatchedType\" }) {\n" +
+                "    __typename\n" +
+                "  }\n" +
+                "}");
+
+        assertNotNull(result.getJsonArray("errors"));
+        assertFalse(result.getJsonArray("errors").isEmpty());
+    }
+
+    private static void assertBatched(JsonObject entity, String id, boolean batched) {
+        assertEquals("BatchedType", entity.getString("__typename"));
+        assertEquals(id, entity.getString("id"));
+        assertEquals(batched, entity.getBoolean("batched"));
+    }
+
+    private static JsonArray entities(ExecutionService executionService, String graphQL) {
+        JsonObject result = executeAndGetResult(executionService, graphQL);
+        assertNull(result.get("errors"), () -> "errors in " + result);
+        return result.getJsonObject("data").getJsonArray("_entities");
+    }
+
+    private static ExecutionService createExecutionService(boolean batchResolving) {
+        config.federationEnabled = true;
+        config.federationBatchResolvingEnabled = batchResolving;
+        IndexView index = buildIndex(Directive.class, Key.class, External.class, Key.Keys.class,
+                Extends.class, Requires.class, ExtendedType.class, ExtendedApi.class, BatchedType.class,
+                BatchedApi.class);
+        Schema schema = SchemaBuilder.build(index);
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema, true);
+        return new ExecutionService(graphQLSchema, schema);
+    }
+
+    private static JsonObject executeAndGetResult(ExecutionService executionService, String graphQL) {
+        JsonObjectResponseWriter jsonObjectResponseWriter = new JsonObjectResponseWriter(graphQL);
+        jsonObjectResponseWriter.logInput();
+        executionService.executeSync(jsonObjectResponseWriter.getInput(), jsonObjectResponseWriter);
+        jsonObjectResponseWriter.logOutput();
+        return jsonObjectResponseWriter.getOutput();
+    }
+
+    private static IndexView buildIndex(Class<?>... classes) {
+        org.jboss.jandex.Indexer indexer = new org.jboss.jandex.Indexer();
+        Stream.of(classes).forEach(cls -> index(indexer, cls));
+        return indexer.complete();
+    }
+
+    private static void index(org.jboss.jandex.Indexer indexer, Class<?> cls) {
+        String name = cls.getName().replace(".", "/") + ".class";
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(name)) {
+            indexer.index(in);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
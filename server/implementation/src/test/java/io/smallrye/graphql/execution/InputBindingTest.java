@@ -0,0 +1,80 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.json.InputBinder;
+import io.smallrye.graphql.test.inputBinding.BindingApi;
+import io.smallrye.graphql.test.inputBinding.LineInput;
+import io.smallrye.graphql.test.inputBinding.OrderInput;
+import io.smallrye.graphql.test.inputBinding.PointInput;
+import io.smallrye.graphql.test.inputBinding.PriceInput;
+
+/**
+ * Test that input objects are bound directly, and the same way JSON-B would bind them
+ */
+public class InputBindingTest extends ExecutionTestBase {
+
+    protected IndexView getIndex() {
+        return Indexer.getTestIndex(BindingApi.class);
+    }
+
+    @Test
+    public void testNamesFormatsAndAdapters() {
+        // the adapted Sku has no no-arg constructor, so this only works when binding directly
+        JsonObject data = executeAndGetData("{\n"
+                + "  order(input: {orderNumber: \"A-1\", placed: \"24.12.2023\", total: \"1,234.50\", sku: \"X7\",\n"
+                + "    quantity: 3, lines: [{product: \"pen\", count: 2}, {product: \"ink\", count: 1}]})\n"
+                + "}");
+
+        assertEquals("A-1 2023-12-24 1234.50 sku-X7 Optional[none] 3 [2xpen, 1xink]", data.getString("order"));
+        assertNotNull(InputBinder.get(OrderInput.class.getName()));
+        assertNotNull(InputBinder.get(LineInput.class.getName()));
+    }
+
+    @Test
+    public void testMissingAndNullValues() {
+        JsonObject data = executeAndGetData("{\n"
+                + "  order(input: {orderNumber: null, note: null}) \n"
+                + "}");
+
+        // absent fields keep their initial value, explicit nulls are set
+        assertEquals("null null null null Optional.empty null null", data.getString("order"));
+    }
+
+    @Test
+    public void testList() {
+        JsonObject data = executeAndGetData("{\n"
+                + "  orders(inputs: [{orderNumber: \"A-1\", note: \"first\"}, {orderNumber: \"A-2\", quantity: 7}]) \n"
+                + "}");
+
+        assertEquals("[A-1 null null null Optional[first] null null, A-2 null null null Optional[none] 7 null]",
+                data.getString("orders"));
+    }
+
+    @Test
+    public void testRecord() {
+        JsonObject data = executeAndGetData("{\n"
+                + "  point(input: {x: 1, label: \"origin\"}) \n"
+                + "}");
+
+        assertEquals("PointInput[x=1, y=null, label=origin]", data.getString("point"));
+        assertNotNull(InputBinder.get(PointInput.class.getName()));
+    }
+
+    @Test
+    public void testJsonbAdapterFallsBackToJsonb() {
+        JsonObject data = executeAndGetData("{\n"
+                + "  price(input: {amount: 9.5, currency: \"CHF\"}) \n"
+                + "}");
+
+        assertEquals("9.5 CHF", data.getString("price"));
+        assertNull(InputBinder.get(PriceInput.class.getName()));
+    }
+}
@@ -0,0 +1,82 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+
+/**
+ * Test the build time operation manifest
+ */
+public class OperationManifestTest {
+
+    @Test
+    public void testWriteAndRead() {
+        OperationManifest manifest = new OperationManifest();
+        String id = manifest.add("TestApi#testObject", TEST_QUERY);
+        assertEquals(PersistedQueries.sha256(TEST_QUERY), id);
+
+        StringWriter writer = new StringWriter();
+        manifest.write(writer);
+        OperationManifest read = OperationManifest.read(new StringReader(writer.toString()));
+
+        assertEquals(Map.of(id, TEST_QUERY), read.getOperations());
+    }
+
+    @Test
+    public void testWarmPinsValidOperations() {
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(SchemaBuilder.build(Indexer.getAllTestIndex()));
+        OperationManifest manifest = new OperationManifest();
+        manifest.add("valid", TEST_QUERY);
+        manifest.add("invalid", "{ doesNotExist }");
+        QueryCache queryCache = new QueryCache();
+
+        assertEquals(1, manifest.warm(graphQLSchema, queryCache));
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(TEST_QUERY).build();
+        PreparsedDocumentEntry entry = queryCache.getDocumentAsync(executionInput, input -> {
+            throw new AssertionError("A pinned operation must not be parsed again");
+        }).join();
+        assertSame(entry, queryCache.getDocumentAsync(executionInput, input -> null).join());
+    }
+
+    @Test
+    public void testAllowlistOnly() {
+        OperationManifest manifest = new OperationManifest();
+        String id = manifest.add("valid", TEST_QUERY);
+        PersistedQueries persistedQueries = new PersistedQueries(null, manifest.getOperations(), true);
+
+        JsonObject byId = persistedQueries.resolve(JSON_PROVIDER.createObjectBuilder()
+                .add("extensions", JSON_PROVIDER.createObjectBuilder()
+                        .add("persistedQuery", JSON_PROVIDER.createObjectBuilder().add("sha256Hash", id)))
+                .build());
+        assertEquals(TEST_QUERY, byId.getString("query"));
+
+        JsonObject byQuery = JSON_PROVIDER.createObjectBuilder().add("query", TEST_QUERY).build();
+        assertSame(byQuery, persistedQueries.resolve(byQuery));
+
+        PersistedQueries.PersistedQueryException ex = assertThrows(PersistedQueries.PersistedQueryException.class,
+                () -> persistedQueries.resolve(JSON_PROVIDER.createObjectBuilder().add("query", "{ other }").build()));
+        assertEquals(PersistedQueries.NOT_ALLOWED_CODE, ex.getCode());
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    name\n" +
+            "  }\n" +
+            "}";
+}
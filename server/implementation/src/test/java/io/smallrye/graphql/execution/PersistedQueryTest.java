@@ -0,0 +1,182 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test automatic persisted queries
+ */
+public class PersistedQueryTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @BeforeEach
+    @Override
+    public void init() {
+        config.persistedQueriesEnabled = true;
+        super.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testUnknownHash() {
+        JsonObject result = execute(request(null, PersistedQueries.sha256(TEST_QUERY)));
+
+        assertTrue(!result.containsKey("data") || result.isNull("data"));
+        JsonObject error = result.getJsonArray("errors").getJsonObject(0);
+        assertEquals(PersistedQueries.NOT_FOUND, error.getString("message"));
+        assertEquals(PersistedQueries.NOT_FOUND_CODE, error.getJsonObject("extensions").getString("code"));
+    }
+
+    @Test
+    public void testRegisterAndUseHash() {
+        String hash = PersistedQueries.sha256(TEST_QUERY);
+
+        JsonObject registered = execute(request(TEST_QUERY, hash));
+        assertEquals("Phillip", registered.getJsonObject("data").getJsonObject("testObject").getString("name"));
+
+        JsonObject fromHash = execute(request(null, hash));
+        assertFalse(fromHash.containsKey("errors"));
+        assertEquals("Phillip", fromHash.getJsonObject("data").getJsonObject("testObject").getString("name"));
+    }
+
+    @Test
+    public void testAllowlistOnlyNeedsManifest() {
+        config.operationAllowlistOnly = true;
+
+        // there is no manifest on the test classpath
+        assertThrows(IllegalStateException.class, super::init);
+    }
+
+    @Test
+    public void testHashMismatch() {
+        JsonObject result = execute(request(TEST_QUERY, PersistedQueries.sha256("{ somethingElse }")));
+
+        JsonObject error = result.getJsonArray("errors").getJsonObject(0);
+        assertEquals(PersistedQueries.HASH_MISMATCH, error.getString("message"));
+    }
+
+    @Test
+    public void testFileStore(@TempDir Path directory) throws IOException {
+        String hash = PersistedQueries.sha256(TEST_QUERY);
+        new FilePersistedQueryStore(directory, 10, 10_000, 10_000).put(hash, TEST_QUERY);
+
+        assertEquals(TEST_QUERY, Files.readString(directory.resolve(hash + ".graphql")));
+        // a new store, as after a restart
+        FilePersistedQueryStore store = new FilePersistedQueryStore(directory, 10, 10_000, 10_000);
+        assertEquals(TEST_QUERY, store.get(hash));
+        assertNull(store.get(PersistedQueries.sha256("{ unknown }")));
+        assertNull(store.get("../" + hash));
+    }
+
+    @Test
+    public void testFileStoreRemovesLeastRecentlyUsed(@TempDir Path directory) throws IOException {
+        // every query is 100 bytes, and the directory holds 250
+        FilePersistedQueryStore store = new FilePersistedQueryStore(directory, 10, 10_000, 250);
+        String first = query('a');
+        String second = query('b');
+        store.put(PersistedQueries.sha256(first), first);
+        store.put(PersistedQueries.sha256(second), second);
+        Files.setLastModifiedTime(directory.resolve(PersistedQueries.sha256(first) + ".graphql"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(directory.resolve(PersistedQueries.sha256(second) + ".graphql"), FileTime.fromMillis(2000));
+
+        String third = query('c');
+        store.put(PersistedQueries.sha256(third), third);
+
+        assertFalse(Files.exists(directory.resolve(PersistedQueries.sha256(first) + ".graphql")));
+        assertTrue(Files.exists(directory.resolve(PersistedQueries.sha256(second) + ".graphql")));
+        assertTrue(Files.exists(directory.resolve(PersistedQueries.sha256(third) + ".graphql")));
+
+        // a query larger than the directory is only kept in memory
+        String large = "{ " + "x".repeat(300) + " }";
+        store.put(PersistedQueries.sha256(large), large);
+        assertFalse(Files.exists(directory.resolve(PersistedQueries.sha256(large) + ".graphql")));
+        assertEquals(large, store.get(PersistedQueries.sha256(large)));
+    }
+
+    @Test
+    public void testInMemoryStoreBoundsTotalBytes() {
+        InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(10, 50);
+        String large = query('a');
+        store.put(PersistedQueries.sha256(large), large);
+        assertNull(store.get(PersistedQueries.sha256(large)));
+
+        // 25 characters, but 50 bytes
+        String fits = "é".repeat(25);
+        store.put(PersistedQueries.sha256(fits), fits);
+        assertEquals(fits, store.get(PersistedQueries.sha256(fits)));
+        String tooLarge = "é".repeat(26);
+        store.put(PersistedQueries.sha256(tooLarge), tooLarge);
+        assertNull(store.get(PersistedQueries.sha256(tooLarge)));
+    }
+
+    @Test
+    public void testInMemoryStoreKeepsRegisteredQueries() {
+        InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(2, 10_000);
+        String first = query('a');
+        String second = query('b');
+        store.put(PersistedQueries.sha256(first), first);
+        store.put(PersistedQueries.sha256(second), second);
+        // the first query is used a lot, the second one is not
+        for (int i = 0; i < 100; i++) {
+            store.get(PersistedQueries.sha256(first));
+        }
+
+        // a new query is kept, and the least recently used one is removed for it
+        String third = query('c');
+        store.put(PersistedQueries.sha256(third), third);
+        assertEquals(third, store.get(PersistedQueries.sha256(third)));
+        assertEquals(first, store.get(PersistedQueries.sha256(first)));
+        assertNull(store.get(PersistedQueries.sha256(second)));
+    }
+
+    private static String query(char field) {
+        return "{ " + String.valueOf(field).repeat(96) + " }";
+    }
+
+    private JsonObject execute(JsonObject request) {
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(request);
+        executionService.executeSync(request, writer);
+        return writer.getOutput();
+    }
+
+    private static JsonObject request(String query, String hash) {
+        JsonObjectBuilder builder = JSON_PROVIDER.createObjectBuilder();
+        if (query != null) {
+            builder.add("query", query);
+        }
+        builder.add("extensions", JSON_PROVIDER.createObjectBuilder()
+                .add("persistedQuery", JSON_PROVIDER.createObjectBuilder()
+                        .add("version", 1)
+                        .add("sha256Hash", hash)));
+        return builder.build();
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    name\n" +
+            "  }\n" +
+            "}";
+}
@@ -16,6 +16,15 @@ import io.smallrye.graphql.spi.config.LogPayloadOption;
 public class TestConfig implements Config {
 
     public boolean federationEnabled;
+    public boolean federationBatchResolvingEnabled;
+    public boolean persistedQueriesEnabled;
+    public boolean operationAllowlistOnly;
+    public Integer costMaxPerOperation;
+    public String costBudgetHeader;
+    public int costBudgetCapacity;
+    public int costBudgetRefillPerSecond;
+    public int costDefaultListSize;
+    public boolean excludeNullFieldsInResponses;
 
     public TestConfig() {
         reset();
@@ -36,6 +45,51 @@ public class TestConfig implements Config {
         return federationEnabled;
     }
 
+    @Override
+    public boolean isFederationBatchResolvingEnabled() {
+        return federationBatchResolvingEnabled;
+    }
+
+    @Override
+    public boolean isPersistedQueriesEnabled() {
+        return persistedQueriesEnabled;
+    }
+
+    @Override
+    public boolean isOperationAllowlistOnly() {
+        return operationAllowlistOnly;
+    }
+
+    @Override
+    public Optional<Integer> getCostMaxPerOperation() {
+        return Optional.ofNullable(costMaxPerOperation);
+    }
+
+    @Override
+    public Optional<String> getCostBudgetHeader() {
+        return Optional.ofNullable(costBudgetHeader);
+    }
+
+    @Override
+    public int getCostBudgetCapacity() {
+        return costBudgetCapacity;
+    }
+
+    @Override
+    public int getCostBudgetRefillPerSecond() {
+        return costBudgetRefillPerSecond;
+    }
+
+    @Override
+    public int getCostDefaultListSize() {
+        return costDefaultListSize;
+    }
+
+    @Override
+    public boolean isExcludeNullFieldsInResponses() {
+        return excludeNullFieldsInResponses;
+    }
+
     @Override
     public LogPayloadOption logPayload() {
         return LogPayloadOption.queryAndVariables;
@@ -69,5 +123,14 @@ public class TestConfig implements Config {
 
     public void reset() {
         this.federationEnabled = false;
+        this.federationBatchResolvingEnabled = false;
+        this.persistedQueriesEnabled = false;
+        this.operationAllowlistOnly = false;
+        this.costMaxPerOperation = null;
+        this.costBudgetHeader = null;
+        this.costBudgetCapacity = 1000;
+        this.costBudgetRefillPerSecond = 100;
+        this.costDefaultListSize = 10;
+        this.excludeNullFieldsInResponses = false;
     }
 }
@@ -0,0 +1,104 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class TinyLFUCacheTest {
+
+    @Test
+    public void testCacheSizeUnderConcurrentLoad() throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int maxSize : new int[] { 0, 1, processors * 2, 2048 }) {
+            TinyLFUCache<Integer, Integer> cache = new TinyLFUCache<>(maxSize, Long.MAX_VALUE, (k, v) -> 1);
+            testWorker(cache, k -> 1);
+            assertEquals(Math.min(maxSize, 1), cache.size());
+            testWorker(cache, k -> k);
+            assertEquals(maxSize, cache.size());
+        }
+    }
+
+    @Test
+    public void testCounters() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(2, Long.MAX_VALUE, (k, v) -> 1, 1);
+        assertNull(cache.get("a"));
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        assertEquals("A", cache.get("a"));
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveOneOffEntries() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(100, Long.MAX_VALUE, (k, v) -> 1, 1);
+        for (int i = 0; i < 50; i++) {
+            String key = "hot" + i;
+            for (int j = 0; j < 5; j++) {
+                cache.get(key);
+            }
+            cache.put(key, key);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            // the hot set keeps being used while one-off keys come in
+            cache.get("hot" + (i % 50));
+            String key = "cold" + i;
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(cache.get("hot" + i), "hot" + i + " was evicted");
+        }
+    }
+
+    @Test
+    public void testWeightBound() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(100, 10, (k, v) -> v.length(), 1);
+        cache.put("big", "this is longer than ten");
+        assertNull(cache.get("big"));
+
+        cache.put("a", "12345");
+        cache.put("b", "12345");
+        cache.put("c", "12345");
+        assertEquals(2, cache.size());
+        assertTrue(cache.getEvictionCount() >= 1);
+    }
+
+    private void testWorker(TinyLFUCache<Integer, Integer> cache, Function<Integer, Integer> function) throws Exception {
+        int numThreads = Runtime.getRuntime().availableProcessors() * 2;
+        final CountDownLatch latch = new CountDownLatch(numThreads);
+        Thread[] ts = new Thread[numThreads];
+        for (int i = 0; i < numThreads; ++i) {
+            ts[i] = new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                    for (int j = 0; j < 100000; j++) {
+                        Integer key = function.apply(j);
+                        if (cache.get(key) == null) {
+                            cache.put(key, key);
+                        }
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            ts[i].start();
+        }
+        for (int i = 0; i < numThreads; ++i) {
+            ts[i].join();
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package io.smallrye.graphql.execution.context;
 
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 
 import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.execution.datafetcher.MockDataFetchEnvironment;
 
 class SmallRyeContextTest {
 
@@ -19,4 +27,29 @@ class SmallRyeContextTest {
         context.setExecutionResult(executionResult);
         assertEquals(context.unwrap(ExecutionResult.class), executionResult);
     }
+
+    @Test
+    void fieldValuesAreComputedLazily() {
+        SmallRyeContextManager.fromInitialRequest(JSON_PROVIDER.createObjectBuilder().add("query", "{ foo }").build());
+        DataFetchingEnvironment dfe = MockDataFetchEnvironment.myFastQueryDfe("Query", "foo", "myOperation", "1");
+        when(dfe.getGraphQlContext()).thenReturn(GraphQLContext.newContext().build());
+        try {
+            SmallRyeContext context = SmallRyeContextManager.populateFromDataFetchingEnvironment(null, null, dfe);
+
+            // nothing is derived from the DataFetchingEnvironment until it is asked for
+            verify(dfe, never()).getExecutionStepInfo();
+            verify(dfe, never()).getField();
+            verify(dfe, never()).getParentType();
+            verify(dfe, never()).getSelectionSet();
+
+            assertEquals("/Query/foo", context.getPath());
+            assertEquals("/Query/foo", context.getPath());
+            verify(dfe, times(1)).getExecutionStepInfo();
+            assertEquals("foo", context.getFieldName());
+            assertEquals("Query", context.getParentTypeName().get());
+            assertEquals("myOperation", context.getOperationName().get());
+        } finally {
+            SmallRyeContextManager.clearCurrentSmallRyeContext();
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package io.smallrye.graphql.execution.cost;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that the budgets of clients are only forgotten when they are full again
+ */
+public class CostBudgetsTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBudgetIsRefilled() {
+        CostBudgets budgets = new CostBudgets("X-Client", 100, 10);
+
+        assertEquals(40, budgets.take("one", 60, 0));
+        assertEquals(-1, budgets.take("one", 60, 0));
+        assertEquals(0, budgets.take("one", 60, 2 * SECOND));
+        assertEquals(100, budgets.take("one", 0, 100 * SECOND));
+    }
+
+    @Test
+    public void testNewClientsStartEmptyWhenThereAreTooMany() {
+        CostBudgets budgets = new CostBudgets("X-Client", 100, 1);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(0, budgets.take("client" + i, 100, 0));
+        }
+
+        // the buckets in use are kept, so a new client does not get a full one
+        assertEquals(-1, budgets.take("new", 1, SECOND));
+        assertEquals(10_001, budgets.size());
+        assertEquals(-1, budgets.take("client0", 2, SECOND));
+    }
+
+    @Test
+    public void testFullBucketsAreForgotten() {
+        CostBudgets budgets = new CostBudgets("X-Client", 100, 1);
+        for (int i = 0; i < 10_000; i++) {
+            budgets.take("client" + i, i == 0 ? 100 : 0, 0);
+        }
+
+        assertEquals(90, budgets.take("new", 10, 10 * SECOND));
+        // only the bucket that was used is left, with the new one
+        assertEquals(2, budgets.size());
+        assertEquals(0, budgets.take("client0", 10, 10 * SECOND));
+    }
+}
@@ -0,0 +1,80 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+public class AccessorsTest {
+
+    @Test
+    public void testGetterAndField() throws Exception {
+        Item item = new Item();
+        assertEquals("name", Accessors.forGetter(Item.class.getMethod("getName")).get(item));
+        assertEquals(42, Accessors.forGetter(Item.class.getMethod("getCount")).get(item));
+        assertEquals("name", Accessors.forField(Item.class.getField("name")).get(item));
+        // a subclass is still a valid source
+        assertEquals("name", Accessors.forGetter(Item.class.getMethod("getName")).get(new Item() {
+        }));
+    }
+
+    @Test
+    public void testMethods() throws Exception {
+        Item item = new Item();
+        assertEquals("hello", Accessors.forMethod(Item.class.getMethod("echo", String.class))
+                .invoke(item, new Object[] { "hello" }));
+        assertEquals(43, Accessors.forMethod(Item.class.getMethod("increment", int.class))
+                .invoke(null, new Object[] { 42 }));
+        assertEquals("a-3-true", Accessors.forMethod(Item.class.getMethod("join", String.class, int.class, boolean.class))
+                .invoke(item, new Object[] { "a", 3, true }));
+        assertNull(Accessors.forMethod(Item.class.getMethod("nothing")).invoke(item, new Object[0]));
+    }
+
+    @Test
+    public void testExceptionsAreNotWrapped() throws Exception {
+        Item item = new Item();
+        assertThrows(IOException.class,
+                () -> Accessors.forGetter(Item.class.getMethod("getBroken")).get(item));
+        assertThrows(IllegalStateException.class,
+                () -> Accessors.forMethod(Item.class.getMethod("fail", String.class, String.class))
+                        .invoke(item, new Object[] { "a", "b" }));
+    }
+
+    public static class Item {
+        public String name = "name";
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return 42;
+        }
+
+        public String getBroken() throws IOException {
+            throw new IOException("broken");
+        }
+
+        public String echo(String value) {
+            return value;
+        }
+
+        public static int increment(int value) {
+            return value + 1;
+        }
+
+        public String join(String a, int b, boolean c) {
+            return a + "-" + b + "-" + c;
+        }
+
+        public void nothing() {
+        }
+
+        public String fail(String a, String b) {
+            throw new IllegalStateException(a + b);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.execution.datafetcher.DataFetcherException;
+
+public class ReflectionInvokerTest {
+
+    @Test
+    public void testThrowablesAreWrapped() {
+        // without parameters the accessor is a generated class, with two it is a method handle
+        ReflectionInvoker generated = new ReflectionInvoker(Operations.class.getName(), "fail", List.of());
+        ReflectionInvoker handle = new ReflectionInvoker(Operations.class.getName(), "failWith",
+                List.of(String.class.getName(), String.class.getName()));
+
+        DataFetcherException fromGenerated = assertThrows(DataFetcherException.class, generated::invoke);
+        assertInstanceOf(CustomThrowable.class, fromGenerated.getCause());
+        DataFetcherException fromHandle = assertThrows(DataFetcherException.class, () -> handle.invoke("a", "b"));
+        assertInstanceOf(CustomThrowable.class, fromHandle.getCause());
+    }
+
+    @Test
+    public void testExceptionsAreNotWrapped() {
+        ReflectionInvoker invoker = new ReflectionInvoker(Operations.class.getName(), "failWithException", List.of());
+
+        assertThrows(IllegalStateException.class, invoker::invoke);
+    }
+
+    @Test
+    public void testArgumentsAreNotChanged() throws Exception {
+        ReflectionInvoker invoker = new ReflectionInvoker(Operations.class.getName(), "withContext",
+                List.of(String.class.getName(), Context.class.getName()));
+        Object[] arguments = { "name", null };
+
+        assertEquals("name", invoker.invoke(arguments));
+        assertArrayEquals(new Object[] { "name", null }, arguments);
+    }
+
+    public static class Operations {
+        public String fail() {
+            return Operations.<RuntimeException> sneakyThrow(new CustomThrowable());
+        }
+
+        public String failWith(String a, String b) {
+            return Operations.<RuntimeException> sneakyThrow(new CustomThrowable());
+        }
+
+        public String failWithException() {
+            throw new IllegalStateException();
+        }
+
+        public String withContext(String name, Context context) {
+            return name;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends Throwable> String sneakyThrow(Throwable throwable) throws T {
+            throw (T) throwable;
+        }
+    }
+
+    public static class CustomThrowable extends Throwable {
+    }
+}
@@ -0,0 +1,110 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.smallrye.graphql.api.Entry;
+import io.smallrye.graphql.execution.Indexer;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.test.transformationPlan.ListApi;
+
+/**
+ * Test that collections are only copied when they have to be
+ */
+public class TransformationPlanTest {
+
+    private static Schema schema;
+
+    @BeforeAll
+    public static void buildSchema() throws IOException {
+        // the maps are adapted to entries
+        schema = SchemaBuilder.build(CompositeIndex.create(Indexer.getTestIndex(ListApi.class), Index.of(Entry.class)));
+    }
+
+    @Test
+    public void testResponseWithoutTransformationIsNotCopied() throws Exception {
+        List<String> names = List.of("a", "b");
+        Set<String> tags = new LinkedHashSet<>(List.of("x", "y"));
+
+        assertSame(names, new FieldHelper(query("names")).transformOrAdaptResponse(names, null));
+        assertSame(tags, new FieldHelper(query("tags")).transformOrAdaptResponse(tags, null));
+    }
+
+    @Test
+    public void testResponseWithTransformation() throws Exception {
+        List<LocalDate> dates = List.of(LocalDate.of(2024, 2, 29));
+        List<Optional<LocalDate>> optionalDates = List.of(Optional.of(LocalDate.of(2024, 2, 29)), Optional.empty());
+
+        assertEquals(List.of("2024-02-29"), new FieldHelper(query("dates")).transformOrAdaptResponse(dates, null));
+        assertEquals(List.of(Optional.of("2024-02-29"), Optional.empty()),
+                new FieldHelper(query("optionalDates")).transformOrAdaptResponse(optionalDates, null));
+    }
+
+    @Test
+    public void testResponseWithAdaptation() throws Exception {
+        DataFetchingEnvironment dfe = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().build();
+        FieldHelper helper = new FieldHelper(query("labels"));
+
+        Set<Entry<String, String>> adapted = (Set<Entry<String, String>>) helper
+                .transformOrAdaptResponse(Map.of("a", "b"), dfe);
+        assertEquals(1, adapted.size());
+        Entry<String, String> entry = adapted.iterator().next();
+        assertEquals("a", entry.getKey());
+        assertEquals("b", entry.getValue());
+        assertNull(helper.transformOrAdaptResponse(null, dfe));
+    }
+
+    @Test
+    public void testArgumentIsOnlyCopiedWhenNeeded() throws Exception {
+        List<String> names = new ArrayList<>(List.of("a", "b"));
+        List<String> immutableNames = List.of("a", "b");
+        List<String> tags = new ArrayList<>(List.of("x", "y", "x"));
+        List<String> dates = new ArrayList<>(List.of("2024-02-29"));
+
+        // graphql-java gives us an ArrayList, which is what the method needs
+        assertSame(names, argument("countNames", "names", names));
+        Object copied = argument("countNames", "names", immutableNames);
+        assertNotSame(immutableNames, copied);
+        assertEquals(ArrayList.class, copied.getClass());
+        assertEquals(immutableNames, copied);
+        // the method needs a set
+        assertEquals(new HashSet<>(List.of("x", "y")), argument("countTags", "tags", tags));
+        // an element changed
+        assertEquals(List.of(LocalDate.of(2024, 2, 29)), argument("countDates", "dates", dates));
+    }
+
+    private Object argument(String query, String name, Object value) throws Exception {
+        DataFetchingEnvironment dfe = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .arguments(Map.of(name, value))
+                .build();
+        return new ArgumentHelper(query(query).getArguments()).getArguments(dfe).get(0);
+    }
+
+    private static Operation query(String name) {
+        return schema.getQueries().stream()
+                .filter(operation -> operation.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -1,8 +1,10 @@
 package io.smallrye.graphql.execution.error;
 
+import static io.smallrye.graphql.JsonProviderHolder.JSON_PROVIDER;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +12,7 @@ import java.util.Optional;
 
 import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonGenerator;
 
 import org.junit.jupiter.api.Test;
 
@@ -91,6 +94,41 @@ class ExecutionErrorsServiceTest {
         assertThat(extensions.getString("code", null)).isEqualTo("dummy-business");
     }
 
+    @Test
+    void shouldWriteTheSameJsonAsTheJsonArray() {
+        Map<String, Object> extensions = new HashMap<>();
+        extensions.put("code", "OPERATION_FAILED");
+        extensions.put("retries", 3);
+        extensions.put("detail", new Detail());
+        GraphQLError graphQLError = GraphqlErrorException.newErrorException()
+                .message("failed")
+                .sourceLocation(new SourceLocation(2, 5))
+                .path(List.of("foo", 1, "bar"))
+                .extensions(extensions)
+                .build();
+        List<GraphQLError> errors = List.of(graphQLError, new GraphQLExceptionWhileDataFetching(ResultPath.parse("/foo"),
+                new RuntimeException("dummy"), new SourceLocation(1, 1)));
+
+        JsonArray jsonArray = executionErrorsService.toJsonErrors(errors);
+        StringWriter stringWriter = new StringWriter();
+        try (JsonGenerator generator = JSON_PROVIDER.createGenerator(stringWriter)) {
+            executionErrorsService.writeJsonErrors(generator, errors);
+        }
+
+        assertThat(stringWriter.toString()).isEqualTo(jsonArray.toString());
+        JsonObject error = jsonArray.getJsonObject(0);
+        assertThat(error.getString("message")).isEqualTo("failed");
+        assertThat(error.getJsonArray("locations").getJsonObject(0).getInt("column")).isEqualTo(5);
+        assertThat(error.getJsonArray("path").toString()).isEqualTo("[\"foo\",1,\"bar\"]");
+        assertThat(error.getJsonObject("extensions").getInt("retries")).isEqualTo(3);
+        // not a json type, so written with JsonB
+        assertThat(error.getJsonObject("extensions").getJsonObject("detail").getString("reason")).isEqualTo("timeout");
+    }
+
+    public static class Detail {
+        public String reason = "timeout";
+    }
+
     private JsonArray whenConverting(RuntimeException exception) {
         ResultPath path = ResultPath.parse("/foo/bar");
         SourceLocation location = new SourceLocation(12, 34);
@@ -0,0 +1,91 @@
+package io.smallrye.graphql.execution.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * Test that the meters of a field are resolved once, and that only sampled data fetches are recorded
+ */
+public class FieldMetricsTest {
+
+    @Test
+    public void testMetersAreResolvedOncePerOperationType() {
+        RecordingMetricsService service = new RecordingMetricsService();
+        FieldMetrics fieldMetrics = new FieldMetrics(new MetricsService[] { service }, "books", true, 100);
+
+        for (int i = 0; i < 3; i++) {
+            fieldMetrics.end(fieldMetrics.start(), environment(OperationDefinition.Operation.QUERY));
+        }
+        fieldMetrics.end(fieldMetrics.start(), environment(OperationDefinition.Operation.MUTATION));
+
+        assertEquals(List.of("books QUERY true", "books MUTATION true"), service.meters);
+        assertEquals(List.of("books QUERY true", "books QUERY true", "books QUERY true", "books MUTATION true"),
+                service.recorded);
+        assertTrue(service.durations.stream().allMatch(duration -> duration >= 0));
+    }
+
+    @Test
+    public void testNothingIsRecordedWithoutSampling() {
+        RecordingMetricsService service = new RecordingMetricsService();
+        FieldMetrics fieldMetrics = new FieldMetrics(new MetricsService[] { service }, "books", false, 0);
+
+        for (int i = 0; i < 100; i++) {
+            long sample = fieldMetrics.start();
+            assertEquals(FieldMetrics.NOT_SAMPLED, sample);
+            fieldMetrics.end(sample, environment(OperationDefinition.Operation.QUERY));
+        }
+
+        assertTrue(service.meters.isEmpty());
+        assertTrue(service.recorded.isEmpty());
+    }
+
+    @Test
+    public void testDisabled() {
+        assertEquals(FieldMetrics.NOT_SAMPLED, FieldMetrics.DISABLED.start());
+        FieldMetrics.DISABLED.end(FieldMetrics.NOT_SAMPLED, null);
+    }
+
+    private static DataFetchingEnvironment environment(OperationDefinition.Operation operation) {
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .operationDefinition(OperationDefinition.newOperationDefinition().operation(operation).build())
+                .build();
+    }
+
+    private static class RecordingMetricsService implements MetricsService {
+        private final List<String> meters = new ArrayList<>();
+        private final List<String> recorded = new ArrayList<>();
+        private final List<Long> durations = new ArrayList<>();
+
+        @Override
+        public Object meter(String fieldName, String operationType, boolean source) {
+            String meter = fieldName + " " + operationType + " " + source;
+            meters.add(meter);
+            return meter;
+        }
+
+        @Override
+        public void record(Object meter, long durationNanos) {
+            recorded.add((String) meter);
+            durations.add(durationNanos);
+        }
+
+        @Override
+        public void subscriptionStart(Context context) {
+        }
+
+        @Override
+        public void subscriptionEnd(Context context) {
+        }
+    }
+}
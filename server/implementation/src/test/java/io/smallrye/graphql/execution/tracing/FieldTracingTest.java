@@ -0,0 +1,103 @@
+package io.smallrye.graphql.execution.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.smallrye.graphql.spi.FieldTracingService;
+
+/**
+ * Test that only data fetches of traced requests are recorded, and only if they are slow enough or failed
+ */
+public class FieldTracingTest {
+
+    private static final String TRACED = "traced";
+
+    @Test
+    public void testRequestNotTraced() {
+        RecordingTracingService service = new RecordingTracingService();
+        FieldTracing fieldTracing = new FieldTracing(service, 0);
+        DataFetchingEnvironment dfe = environment(false);
+
+        long start = fieldTracing.start(dfe);
+        assertEquals(FieldTracing.NOT_TRACED, start);
+        fieldTracing.end(start, dfe, new RuntimeException("not recorded"));
+        fieldTracing.endBatch(start, dfe, 3, null);
+
+        assertTrue(service.recorded.isEmpty());
+    }
+
+    @Test
+    public void testRequestTraced() {
+        RecordingTracingService service = new RecordingTracingService();
+        FieldTracing fieldTracing = new FieldTracing(service, 0);
+        DataFetchingEnvironment dfe = environment(true);
+
+        fieldTracing.end(fieldTracing.start(dfe), dfe, null);
+        fieldTracing.endBatch(fieldTracing.start(dfe), dfe, 3, null);
+
+        assertEquals(List.of("fetch null", "batch 3 null"), service.recorded);
+    }
+
+    @Test
+    public void testThreshold() {
+        RecordingTracingService service = new RecordingTracingService();
+        FieldTracing fieldTracing = new FieldTracing(service, TimeUnit.MINUTES.toNanos(1));
+        DataFetchingEnvironment dfe = environment(true);
+
+        fieldTracing.end(fieldTracing.start(dfe), dfe, null);
+        fieldTracing.endBatch(fieldTracing.start(dfe), dfe, 3, null);
+        assertTrue(service.recorded.isEmpty());
+
+        // failures are recorded even if they are fast
+        fieldTracing.end(fieldTracing.start(dfe), dfe, new RuntimeException("failed"));
+        assertEquals(List.of("fetch failed"), service.recorded);
+    }
+
+    @Test
+    public void testDisabled() {
+        FieldTracing fieldTracing = new FieldTracing(null, 0);
+        DataFetchingEnvironment dfe = environment(true);
+
+        long start = fieldTracing.start(dfe);
+        assertEquals(FieldTracing.NOT_TRACED, start);
+        fieldTracing.end(start, dfe, null);
+    }
+
+    private static DataFetchingEnvironment environment(boolean traced) {
+        GraphQLContext graphQLContext = GraphQLContext.newContext().build();
+        if (traced) {
+            graphQLContext.put(TRACED, true);
+        }
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .graphQLContext(graphQLContext)
+                .build();
+    }
+
+    private static class RecordingTracingService implements FieldTracingService {
+        private final List<String> recorded = new ArrayList<>();
+
+        @Override
+        public boolean isTraced(GraphQLContext graphQLContext) {
+            return graphQLContext.hasKey(TRACED);
+        }
+
+        @Override
+        public void recordDataFetch(DataFetchingEnvironment dfe, long durationNanos, Throwable failure) {
+            recorded.add("fetch " + (failure != null ? failure.getMessage() : null));
+        }
+
+        @Override
+        public void recordBatchLoad(DataFetchingEnvironment dfe, int keys, long durationNanos, Throwable failure) {
+            recorded.add("batch " + keys + " " + (failure != null ? failure.getMessage() : null));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.smallrye.graphql.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.InputType;
+import io.smallrye.graphql.schema.model.Reference;
+
+public class InputBinderTest {
+
+    @Test
+    public void testValueThatDoesNotFitOnlyFallsBackOnce() throws Exception {
+        InputType inputType = new InputType(Item.class.getName(), "ItemInput", null);
+        inputType.addField(new Field(null, "name", "name", new Reference()));
+        InputBinder.register(inputType);
+        InputBinder binder = InputBinder.get(Item.class.getName());
+        assertNotNull(binder);
+
+        assertNull(binder.bind(Map.of("name", 42), (value, field) -> value));
+
+        assertSame(binder, InputBinder.get(Item.class.getName()));
+        Item item = (Item) binder.bind(Map.of("name", "some name"), (value, field) -> value);
+        assertEquals("some name", item.name);
+    }
+
+    public static class Item {
+        public String name;
+    }
+}
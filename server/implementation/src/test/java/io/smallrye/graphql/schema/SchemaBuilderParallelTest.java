@@ -0,0 +1,55 @@
+package io.smallrye.graphql.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.Indexer;
+import io.smallrye.graphql.execution.SchemaPrinter;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+
+/**
+ * Test that building the schema in parallel builds the same schema as on one thread
+ */
+public class SchemaBuilderParallelTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testSameAsSerial() {
+        IndexView index = Indexer.getAllTestIndex();
+        String serial = print(SchemaBuilder.build(index, TypeAutoNameStrategy.Default));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(serial, print(SchemaBuilder.build(index, TypeAutoNameStrategy.Default, pool)));
+        }
+    }
+
+    @Test
+    public void testSameError() {
+        // two classes with the same type name
+        IndexView index = Indexer.getTestIndex(EnumTestApi.class);
+        SchemaBuilderException serial = assertThrows(SchemaBuilderException.class,
+                () -> SchemaBuilder.build(index, TypeAutoNameStrategy.Default));
+
+        SchemaBuilderException parallel = assertThrows(SchemaBuilderException.class,
+                () -> SchemaBuilder.build(index, TypeAutoNameStrategy.Default, pool));
+
+        assertEquals(serial.getMessage(), parallel.getMessage());
+    }
+
+    private static String print(io.smallrye.graphql.schema.model.Schema schema) {
+        return new SchemaPrinter().print(Bootstrap.bootstrap(schema, true));
+    }
+}
@@ -0,0 +1,124 @@
+package io.smallrye.graphql.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.Indexer;
+import io.smallrye.graphql.execution.SchemaPrinter;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Test the build time snapshot of the schema
+ */
+public class SchemaSnapshotTest {
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        Schema schema = SchemaBuilder.build(Indexer.getAllTestIndex());
+
+        Schema read = SchemaSnapshot.read(new ByteArrayInputStream(snapshot(schema, "abc")), "abc");
+
+        assertNotNull(read);
+        SchemaPrinter printer = new SchemaPrinter();
+        assertEquals(printer.print(Bootstrap.bootstrap(schema, true)), printer.print(Bootstrap.bootstrap(read, true)));
+    }
+
+    @Test
+    public void testOtherFingerprint() throws IOException {
+        Schema schema = SchemaBuilder.build(Indexer.getAllTestIndex());
+
+        assertNull(SchemaSnapshot.read(new ByteArrayInputStream(snapshot(schema, "abc")), "def"));
+    }
+
+    @Test
+    public void testFingerprint(@TempDir Path classesDir) throws IOException {
+        Files.createDirectories(classesDir.resolve("a"));
+        Files.write(classesDir.resolve("a/A.class"), new byte[] { 1, 2 });
+        Files.write(classesDir.resolve("a/resource.txt"), new byte[] { 3 });
+        String fingerprint = fingerprint(classesDir);
+        assertEquals(fingerprint, fingerprint(classesDir));
+
+        // resources do not count
+        Files.write(classesDir.resolve("a/resource.txt"), new byte[] { 4 });
+        assertEquals(fingerprint, fingerprint(classesDir));
+
+        Files.write(classesDir.resolve("a/A.class"), new byte[] { 1, 3 });
+        assertNotEquals(fingerprint, fingerprint(classesDir));
+    }
+
+    @Test
+    public void testFingerprintOfMoreClassesDirs(@TempDir Path dir) throws IOException {
+        Path java = Files.createDirectories(dir.resolve("java/a"));
+        Path kotlin = Files.createDirectories(dir.resolve("kotlin/a"));
+        Path merged = Files.createDirectories(dir.resolve("merged/a"));
+        Files.write(java.resolve("A.class"), new byte[] { 1 });
+        Files.write(kotlin.resolve("B.class"), new byte[] { 2 });
+        Files.write(merged.resolve("A.class"), new byte[] { 1 });
+        Files.write(merged.resolve("B.class"), new byte[] { 2 });
+
+        assertEquals(fingerprint(dir.resolve("merged")),
+                SchemaSnapshot.fingerprint(List.of(dir.resolve("java"), dir.resolve("kotlin")), List.of()));
+    }
+
+    @Test
+    public void testFingerprintOfJars(@TempDir Path dir) throws IOException {
+        Path classesDir = Files.createDirectories(dir.resolve("classes"));
+        Path lib = Files.createDirectories(dir.resolve("lib"));
+        Files.write(classesDir.resolve("A.class"), new byte[] { 1 });
+        Path first = jar(lib.resolve("first-1.0.jar"), new byte[] { 2 });
+        Path second = jar(lib.resolve("second-1.0.jar"), new byte[] { 3 });
+        String fingerprint = SchemaSnapshot.fingerprint(List.of(classesDir), List.of(first, second));
+
+        assertNotEquals(fingerprint(classesDir), fingerprint);
+        // the jars may be renamed and come in any order when they are packaged
+        Path renamed = Files.move(first, lib.resolve("first-1.0-SNAPSHOT.jar"));
+        assertEquals(fingerprint, SchemaSnapshot.fingerprint(List.of(classesDir), List.of(second, renamed)));
+
+        jar(second, new byte[] { 4 });
+        assertNotEquals(fingerprint, SchemaSnapshot.fingerprint(List.of(classesDir), List.of(renamed, second)));
+        assertNotEquals(fingerprint, SchemaSnapshot.fingerprint(List.of(classesDir), List.of(renamed)));
+    }
+
+    @Test
+    public void testFingerprintOfFilesThatAreNotJars(@TempDir Path lib) throws IOException {
+        Path file = Files.write(lib.resolve("README"), new byte[] { 1 });
+        String fingerprint = SchemaSnapshot.fingerprint(List.of(), List.of(file));
+
+        Files.write(file, new byte[] { 2 });
+        assertNotEquals(fingerprint, SchemaSnapshot.fingerprint(List.of(), List.of(file)));
+    }
+
+    private static Path jar(Path jar, byte[] classFile) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("a/A.class"));
+            out.write(classFile);
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    private static String fingerprint(Path classesDir) throws IOException {
+        return SchemaSnapshot.fingerprint(List.of(classesDir), List.of());
+    }
+
+    private static byte[] snapshot(Schema schema, String fingerprint) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SchemaSnapshot.write(schema, fingerprint, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,20 @@
+package io.smallrye.graphql.test.batchedOperations;
+
+public class Shelf {
+    private String name;
+
+    public Shelf() {
+    }
+
+    public Shelf(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
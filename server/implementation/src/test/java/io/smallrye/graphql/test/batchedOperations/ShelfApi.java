@@ -0,0 +1,40 @@
+package io.smallrye.graphql.test.batchedOperations;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+@GraphQLApi
+public class ShelfApi {
+
+    /** The shelves every call of the batch method got */
+    public static final List<List<String>> BATCHES = new CopyOnWriteArrayList<>();
+
+    @Query
+    public List<Shelf> shelves(String prefix) {
+        return List.of(new Shelf(prefix + "1"), new Shelf(prefix + "2"));
+    }
+
+    @Query
+    public CompletionStage<String> delayed(String value, long millis) {
+        return CompletableFuture.supplyAsync(() -> value,
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    public List<Integer> books(@Source List<Shelf> shelves) {
+        BATCHES.add(shelves.stream().map(Shelf::getName).collect(Collectors.toList()));
+        return shelves.stream().map(shelf -> shelf.getName().length()).collect(Collectors.toList());
+    }
+
+    public List<Integer> capacity(@Source List<Shelf> shelves, int perBook) {
+        BATCHES.add(shelves.stream().map(Shelf::getName).collect(Collectors.toList()));
+        return shelves.stream().map(shelf -> shelf.getName().length() * perBook).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package io.smallrye.graphql.test.cache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+import io.smallrye.graphql.api.CacheControl;
+
+@GraphQLApi
+public class CacheControlTestApi {
+    public static final AtomicInteger calls = new AtomicInteger();
+
+    @Query
+    @CacheControl(maxAge = 60)
+    public List<String> countries() {
+        calls.incrementAndGet();
+        return List.of("BE", "ZA");
+    }
+
+    @Query
+    @CacheControl(maxAge = 30)
+    public String country(String code) {
+        calls.incrementAndGet();
+        return code.toLowerCase();
+    }
+
+    @Query
+    @CacheControl(maxAge = 60)
+    public CompletionStage<String> flags() {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture("dark-mode");
+    }
+
+    @Query
+    @CacheControl(maxAge = 10, scope = CacheControl.Scope.PRIVATE)
+    public String orders() {
+        calls.incrementAndGet();
+        return "none";
+    }
+
+    @Query
+    public String time() {
+        calls.incrementAndGet();
+        return "now";
+    }
+
+    @Query
+    @CacheControl(maxAge = 60)
+    public Country belgium() {
+        calls.incrementAndGet();
+        return new Country("BE");
+    }
+
+    @CacheControl(maxAge = 20)
+    public String language(@Source Country country) {
+        return "nl";
+    }
+
+    public long population(@Source Country country) {
+        return 11_000_000L;
+    }
+}
@@ -0,0 +1,20 @@
+package io.smallrye.graphql.test.cache;
+
+public class Country {
+    private String code;
+
+    public Country() {
+    }
+
+    public Country(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+}
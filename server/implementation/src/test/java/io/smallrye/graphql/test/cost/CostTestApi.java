@@ -0,0 +1,40 @@
+package io.smallrye.graphql.test.cost;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.graphql.DefaultValue;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+import io.smallrye.graphql.api.Cost;
+
+@GraphQLApi
+public class CostTestApi {
+
+    @Query
+    @Cost(weight = 2, multipliers = "first")
+    public List<Item> items(@DefaultValue("10") int first) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < first; i++) {
+            items.add(new Item("item" + i, i));
+        }
+        return items;
+    }
+
+    @Query
+    @Cost(multipliers = "names")
+    public List<Item> itemsByName(List<String> names) {
+        List<Item> items = new ArrayList<>();
+        for (String name : names) {
+            items.add(new Item(name, 1));
+        }
+        return items;
+    }
+
+    @Query
+    @Cost(multipliers = "last")
+    public List<Item> lastItems(Integer last) {
+        return items(last == null ? 10 : last);
+    }
+}
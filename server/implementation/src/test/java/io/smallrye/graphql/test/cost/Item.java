@@ -0,0 +1,17 @@
+package io.smallrye.graphql.test.cost;
+
+import io.smallrye.graphql.api.Cost;
+
+public class Item {
+    public String name;
+    @Cost(weight = 5)
+    public int price;
+
+    public Item() {
+    }
+
+    public Item(String name, int price) {
+        this.name = name;
+        this.price = price;
+    }
+}
@@ -0,0 +1,23 @@
+package io.smallrye.graphql.test.dataLoaderOptions;
+
+/**
+ * No equals, so two crates with the same name are different keys
+ */
+public class Crate {
+    private String name;
+
+    public Crate() {
+    }
+
+    public Crate(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,51 @@
+package io.smallrye.graphql.test.dataLoaderOptions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+import io.smallrye.graphql.api.BatchOptions;
+
+@GraphQLApi
+public class CrateApi {
+
+    /** The crates every call of a batch method got, by field */
+    public static final Map<String, List<List<String>>> BATCHES = new ConcurrentHashMap<>();
+    /** Stands in for request scoped state, that is only there on the thread of the request */
+    public static final ThreadLocal<String> REQUEST = new ThreadLocal<>();
+    /** The request every call of the split batch method saw */
+    public static final List<String> SPLIT_REQUESTS = new CopyOnWriteArrayList<>();
+
+    @Query
+    public List<Crate> crates(List<String> names) {
+        return names.stream().map(Crate::new).collect(Collectors.toList());
+    }
+
+    @BatchOptions(maxBatchSize = 2)
+    public List<String> split(@Source List<Crate> crates) {
+        SPLIT_REQUESTS.add(String.valueOf(REQUEST.get()));
+        return record("split", crates);
+    }
+
+    @BatchOptions(cacheKey = CrateNameKey.class)
+    public List<String> byName(@Source List<Crate> crates) {
+        return record("byName", crates);
+    }
+
+    @BatchOptions(caching = false, cacheKey = CrateNameKey.class)
+    public List<String> uncached(@Source List<Crate> crates) {
+        return record("uncached", crates);
+    }
+
+    private static List<String> record(String field, List<Crate> crates) {
+        List<String> names = crates.stream().map(Crate::getName).collect(Collectors.toList());
+        BATCHES.computeIfAbsent(field, f -> new CopyOnWriteArrayList<>()).add(names);
+        return names.stream().map(String::toUpperCase).collect(Collectors.toList());
+    }
+}
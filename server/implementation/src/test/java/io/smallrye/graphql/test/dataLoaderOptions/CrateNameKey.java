@@ -0,0 +1,11 @@
+package io.smallrye.graphql.test.dataLoaderOptions;
+
+import org.dataloader.CacheKey;
+
+public class CrateNameKey implements CacheKey<Crate> {
+
+    @Override
+    public Object getKey(Crate crate) {
+        return crate.getName();
+    }
+}
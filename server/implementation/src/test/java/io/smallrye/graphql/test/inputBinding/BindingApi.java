@@ -0,0 +1,29 @@
+package io.smallrye.graphql.test.inputBinding;
+
+import java.util.List;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+@GraphQLApi
+public class BindingApi {
+    @Query
+    public String order(OrderInput input) {
+        return input.toString();
+    }
+
+    @Query
+    public String orders(List<OrderInput> inputs) {
+        return inputs.toString();
+    }
+
+    @Query
+    public String point(PointInput input) {
+        return input.toString();
+    }
+
+    @Query
+    public String price(PriceInput input) {
+        return input.toString();
+    }
+}
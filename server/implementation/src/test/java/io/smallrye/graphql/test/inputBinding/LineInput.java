@@ -0,0 +1,11 @@
+package io.smallrye.graphql.test.inputBinding;
+
+public class LineInput {
+    public String product;
+    public long count;
+
+    @Override
+    public String toString() {
+        return count + "x" + product;
+    }
+}
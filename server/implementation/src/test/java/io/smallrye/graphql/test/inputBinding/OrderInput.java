@@ -0,0 +1,72 @@
+package io.smallrye.graphql.test.inputBinding;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.json.bind.annotation.JsonbDateFormat;
+
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.NumberFormat;
+
+import io.smallrye.graphql.api.AdaptWith;
+
+public class OrderInput {
+    @Name("orderNumber")
+    private String number;
+    @JsonbDateFormat("dd.MM.yyyy")
+    private LocalDate placed;
+    @NumberFormat("#,##0.00")
+    private BigDecimal total;
+    private Optional<String> note = Optional.of("none");
+    private List<LineInput> lines;
+    @AdaptWith(SkuAdapter.class)
+    public Sku sku;
+    public Integer quantity;
+
+    public String getNumber() {
+        return number;
+    }
+
+    public void setNumber(String number) {
+        this.number = number;
+    }
+
+    public LocalDate getPlaced() {
+        return placed;
+    }
+
+    public void setPlaced(LocalDate placed) {
+        this.placed = placed;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Optional<String> getNote() {
+        return note;
+    }
+
+    public void setNote(Optional<String> note) {
+        this.note = note;
+    }
+
+    public List<LineInput> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<LineInput> lines) {
+        this.lines = lines;
+    }
+
+    @Override
+    public String toString() {
+        return number + " " + placed + " " + total + " " + sku + " " + note + " " + quantity + " " + lines;
+    }
+}
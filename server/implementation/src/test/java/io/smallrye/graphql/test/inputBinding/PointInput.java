@@ -0,0 +1,4 @@
+package io.smallrye.graphql.test.inputBinding;
+
+public record PointInput(int x, Integer y, String label) {
+}
@@ -0,0 +1,32 @@
+package io.smallrye.graphql.test.inputBinding;
+
+import java.util.Currency;
+
+import jakarta.json.bind.adapter.JsonbAdapter;
+import jakarta.json.bind.annotation.JsonbTypeAdapter;
+
+/**
+ * Uses a JSON-B adapter, so it is bound with JSON-B
+ */
+public class PriceInput {
+    public double amount;
+    @JsonbTypeAdapter(CurrencyJsonbAdapter.class)
+    public Currency currency;
+
+    @Override
+    public String toString() {
+        return amount + " " + currency;
+    }
+
+    public static class CurrencyJsonbAdapter implements JsonbAdapter<Currency, String> {
+        @Override
+        public String adaptToJson(Currency currency) {
+            return currency.getCurrencyCode();
+        }
+
+        @Override
+        public Currency adaptFromJson(String code) {
+            return Currency.getInstance(code);
+        }
+    }
+}
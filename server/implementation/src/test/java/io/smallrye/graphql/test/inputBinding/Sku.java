@@ -0,0 +1,14 @@
+package io.smallrye.graphql.test.inputBinding;
+
+public class Sku {
+    private final String code;
+
+    public Sku(String code) {
+        this.code = code;
+    }
+
+    @Override
+    public String toString() {
+        return "sku-" + code;
+    }
+}
@@ -0,0 +1,15 @@
+package io.smallrye.graphql.test.inputBinding;
+
+import io.smallrye.graphql.api.Adapter;
+
+public class SkuAdapter implements Adapter<Sku, String> {
+    @Override
+    public String to(Sku sku) {
+        return sku.toString();
+    }
+
+    @Override
+    public Sku from(String code) {
+        return new Sku(code);
+    }
+}
@@ -0,0 +1,24 @@
+package io.smallrye.graphql.test.resolver;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+@GraphQLApi
+public class BatchedApi {
+    public static final AtomicInteger batchCalls = new AtomicInteger();
+
+    @Query
+    public BatchedType batchedType(String id) {
+        return new BatchedType(id, false);
+    }
+
+    @Query
+    public List<BatchedType> batchedTypes(List<String> id) {
+        batchCalls.incrementAndGet();
+        return id.stream().map(i -> new BatchedType(i, true)).collect(Collectors.toList());
+    }
+}
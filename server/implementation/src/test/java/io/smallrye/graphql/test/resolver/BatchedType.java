@@ -0,0 +1,34 @@
+package io.smallrye.graphql.test.resolver;
+
+import io.smallrye.graphql.api.federation.FieldSet;
+import io.smallrye.graphql.api.federation.Key;
+
+@Key(fields = @FieldSet("id"))
+public class BatchedType {
+    private String id;
+    private boolean batched;
+
+    public BatchedType() {
+    }
+
+    public BatchedType(String id, boolean batched) {
+        this.id = id;
+        this.batched = batched;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isBatched() {
+        return batched;
+    }
+
+    public void setBatched(boolean batched) {
+        this.batched = batched;
+    }
+}
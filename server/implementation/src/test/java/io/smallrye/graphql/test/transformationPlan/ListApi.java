@@ -0,0 +1,54 @@
+package io.smallrye.graphql.test.transformationPlan;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+@GraphQLApi
+public class ListApi {
+
+    @Query
+    public List<String> names() {
+        return null;
+    }
+
+    @Query
+    public Set<String> tags() {
+        return null;
+    }
+
+    @Query
+    public List<LocalDate> dates() {
+        return null;
+    }
+
+    @Query
+    public List<Optional<LocalDate>> optionalDates() {
+        return null;
+    }
+
+    @Query
+    public Map<String, String> labels() {
+        return null;
+    }
+
+    @Query
+    public int countNames(List<String> names) {
+        return names.size();
+    }
+
+    @Query
+    public int countTags(Set<String> tags) {
+        return tags.size();
+    }
+
+    @Query
+    public int countDates(List<LocalDate> dates) {
+        return dates.size();
+    }
+}
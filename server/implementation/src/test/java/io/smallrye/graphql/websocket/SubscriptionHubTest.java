@@ -0,0 +1,147 @@
+package io.smallrye.graphql.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+
+/**
+ * Test that identical subscriptions share one stream, and that it is cancelled when the last client leaves
+ */
+public class SubscriptionHubTest {
+
+    private final SubscriptionHub hub = new SubscriptionHub();
+    private final Upstream upstream = new Upstream();
+
+    @Test
+    public void testShareOneStream() {
+        Client first = new Client();
+        Client second = new Client();
+
+        Upstream other = new Upstream();
+        hub.share("key", upstream, first);
+        hub.share("key", new Upstream(), second);
+        hub.share("other", other, new Client());
+
+        upstream.emit(Map.of("price", 42));
+
+        assertEquals(1, upstream.subscriptions);
+        assertEquals(1, other.subscriptions);
+        assertEquals(List.of("{\"data\":{\"price\":42}}"), first.payloads);
+        // serialized once, for all clients
+        assertSame(first.payloads.get(0), second.payloads.get(0));
+    }
+
+    @Test
+    public void testShareRace() {
+        Upstream other = new Upstream();
+        Client first = new Client();
+        Client second = new Client();
+
+        hub.share("key", upstream, first);
+        // the second client executed the same request, its own stream is not used
+        hub.share("key", other, second);
+        upstream.emit(Map.of("price", 42));
+
+        assertEquals(0, other.subscriptions);
+        assertEquals(1, second.payloads.size());
+    }
+
+    @Test
+    public void testLastClientCancels() {
+        Client first = new Client();
+        Client second = new Client();
+        hub.share("key", upstream, first);
+        hub.share("key", new Upstream(), second);
+
+        first.subscription.cancel();
+        assertFalse(upstream.cancelled);
+        upstream.emit(Map.of("price", 42));
+        assertEquals(0, first.payloads.size());
+        assertEquals(1, second.payloads.size());
+
+        second.subscription.cancel();
+        assertTrue(upstream.cancelled);
+        assertTrue(hub.isEmpty());
+        Upstream next = new Upstream();
+        hub.share("key", next, new Client());
+        assertEquals(1, next.subscriptions);
+    }
+
+    @Test
+    public void testComplete() {
+        Client first = new Client();
+        Client second = new Client();
+        hub.share("key", upstream, first);
+        hub.share("key", new Upstream(), second);
+
+        upstream.subscriber.onComplete();
+
+        assertTrue(first.completed);
+        assertTrue(second.completed);
+        assertTrue(hub.isEmpty());
+    }
+
+    private static class Upstream implements Publisher<ExecutionResult>, Subscription {
+        private Subscriber<? super ExecutionResult> subscriber;
+        private int subscriptions;
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(Subscriber<? super ExecutionResult> s) {
+            subscriber = s;
+            subscriptions++;
+            s.onSubscribe(this);
+        }
+
+        void emit(Object data) {
+            subscriber.onNext(ExecutionResultImpl.newExecutionResult().data(data).build());
+        }
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static class Client implements Subscriber<String> {
+        private final List<String> payloads = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(String payload) {
+            payloads.add(payload);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
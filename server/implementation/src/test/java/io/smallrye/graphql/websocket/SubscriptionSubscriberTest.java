@@ -0,0 +1,231 @@
+package io.smallrye.graphql.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import io.smallrye.graphql.spi.config.SubscriptionBackpressure;
+
+/**
+ * Test what the subscriber sends when the client is slower than the stream
+ */
+public class SubscriptionSubscriberTest {
+
+    private final SlowSession session = new SlowSession();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final RecordingSubscription subscription = new RecordingSubscription();
+
+    @Test
+    public void testBlockRequestsWhenSent() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = subscriber(SubscriptionBackpressure.block, 2, 16);
+        session.release();
+
+        subscriber.onSubscribe(subscription);
+        assertEquals(2, subscription.requested.get());
+        subscriber.onNext(event(0));
+        subscriber.onNext(event(1));
+        subscriber.onComplete();
+
+        awaitDone();
+        assertEquals(List.of("0", "1", "complete"), session.messages());
+        assertEquals(4, subscription.requested.get());
+    }
+
+    @Test
+    public void testLatest() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = subscriber(SubscriptionBackpressure.latest, 1, 16);
+
+        subscriber.onSubscribe(subscription);
+        assertEquals(Long.MAX_VALUE, subscription.requested.get());
+        sendWhileSlow(subscriber, 10);
+
+        assertEquals(List.of("0", "9", "complete"), session.messages());
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = subscriber(SubscriptionBackpressure.dropNewest, 1, 4);
+
+        subscriber.onSubscribe(subscription);
+        sendWhileSlow(subscriber, 10);
+
+        assertEquals(List.of("0", "1", "2", "3", "4", "complete"), session.messages());
+        // the buffered events are sent in one go
+        assertEquals(List.of(4), session.batches);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = subscriber(SubscriptionBackpressure.dropOldest, 1, 4);
+
+        subscriber.onSubscribe(subscription);
+        sendWhileSlow(subscriber, 10);
+
+        assertEquals(List.of("0", "6", "7", "8", "9", "complete"), session.messages());
+    }
+
+    @Test
+    public void testDisconnect() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = subscriber(SubscriptionBackpressure.disconnect, 1, 4);
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(event(0));
+        session.awaitFirstMessage();
+        for (int i = 1; i <= 5; i++) {
+            subscriber.onNext(event(i));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1013, session.closedWith);
+        assertTrue(subscription.cancelled.get());
+        session.release();
+    }
+
+    @Test
+    public void testErrorIsSentAfterTheEvents() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = subscriber(SubscriptionBackpressure.dropOldest, 1, 4);
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(event(0));
+        session.awaitFirstMessage();
+        subscriber.onNext(event(1));
+        subscriber.onError(new IllegalStateException("stream failed"));
+        session.release();
+
+        awaitDone();
+        assertEquals(List.of("0", "1", "error: stream failed"), session.messages());
+    }
+
+    @Test
+    public void testFailingSerializerFailsTheStream() throws Exception {
+        SubscriptionSubscriber<ExecutionResult> subscriber = new SubscriptionSubscriber<>(session, "1",
+                executionResult -> {
+                    if (Integer.valueOf(1).equals(executionResult.getData())) {
+                        throw new IllegalStateException("cannot serialize");
+                    }
+                    return String.valueOf((Object) executionResult.getData());
+                },
+                "complete", failure -> session.sendMessage("error: " + failure.getMessage()), done::countDown,
+                SubscriptionBackpressure.block, 1, 16);
+        session.release();
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(event(0));
+        session.awaitFirstMessage();
+        subscriber.onNext(event(1));
+        awaitDone();
+        subscriber.onNext(event(2));
+
+        assertEquals(List.of("0", "error: cannot serialize"), session.messages());
+        assertTrue(subscription.cancelled.get());
+    }
+
+    /**
+     * Send the first event, and the others while the client is still busy with it
+     */
+    private void sendWhileSlow(SubscriptionSubscriber<ExecutionResult> subscriber, int events) throws Exception {
+        subscriber.onNext(event(0));
+        session.awaitFirstMessage();
+        for (int i = 1; i < events; i++) {
+            subscriber.onNext(event(i));
+        }
+        subscriber.onComplete();
+        session.release();
+        awaitDone();
+    }
+
+    private SubscriptionSubscriber<ExecutionResult> subscriber(SubscriptionBackpressure backpressure, int prefetch,
+            int bufferSize) {
+        return new SubscriptionSubscriber<>(session, "1", executionResult -> String.valueOf((Object) executionResult.getData()),
+                "complete", failure -> session.sendMessage("error: " + failure.getMessage()), done::countDown, backpressure,
+                prefetch, bufferSize);
+    }
+
+    private void awaitDone() throws InterruptedException {
+        assertTrue(done.await(5, TimeUnit.SECONDS), "not completed");
+    }
+
+    private static ExecutionResult event(int i) {
+        return ExecutionResultImpl.newExecutionResult().data(i).build();
+    }
+
+    private static class RecordingSubscription implements Subscription {
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        @Override
+        public void request(long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+    }
+
+    /**
+     * A session that does not get past the first message until it is released
+     */
+    private static class SlowSession implements GraphQLWebSocketSession {
+        private final List<String> messages = new ArrayList<>();
+        private final List<Integer> batches = new ArrayList<>();
+        private final CountDownLatch firstMessage = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile short closedWith;
+
+        @Override
+        public void sendMessage(String message) {
+            synchronized (messages) {
+                messages.add(message);
+            }
+            firstMessage.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void sendMessages(List<String> messages) {
+            batches.add(messages.size());
+            messages.forEach(this::sendMessage);
+        }
+
+        @Override
+        public void close(short statusCode, String reason) {
+            closedWith = statusCode;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closedWith != 0;
+        }
+
+        void awaitFirstMessage() throws InterruptedException {
+            assertTrue(firstMessage.await(5, TimeUnit.SECONDS), "no message sent");
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        List<String> messages() {
+            synchronized (messages) {
+                return new ArrayList<>(messages);
+            }
+        }
+    }
+}
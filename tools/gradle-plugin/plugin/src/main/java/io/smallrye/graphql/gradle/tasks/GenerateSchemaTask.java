@@ -2,21 +2,26 @@ package io.smallrye.graphql.gradle.tasks;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.annotation.Repeatable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
@@ -26,11 +31,14 @@ import org.gradle.api.artifacts.ResolvedArtifact;
 import org.gradle.api.artifacts.ResolvedConfiguration;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexView;
 import org.jboss.jandex.Indexer;
@@ -64,8 +72,13 @@ import io.smallrye.graphql.api.federation.requiresscopes.RequiresScopes;
 import io.smallrye.graphql.api.federation.requiresscopes.ScopeGroup;
 import io.smallrye.graphql.api.federation.requiresscopes.ScopeItem;
 import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.client.model.ClientModelBuilder;
+import io.smallrye.graphql.client.model.ClientModels;
+import io.smallrye.graphql.execution.OperationManifest;
 import io.smallrye.graphql.execution.SchemaPrinter;
 import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.SchemaSnapshot;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
 import io.smallrye.graphql.schema.model.Schema;
 
 import static io.smallrye.graphql.gradle.tasks.FederationDotNames.FEDERATION_DIRECTIVES_NAMES;
@@ -76,6 +89,12 @@ import static io.smallrye.graphql.gradle.tasks.FederationDotNames.FEDERATION_DIR
  * @author Marcel Overdijk (marceloverdijk@gmail.com)
  */
 public class GenerateSchemaTask extends DefaultTask {
+    private static final DotName GRAPHQL_CLIENT_API = DotName
+            .createSimple("io.smallrye.graphql.client.typesafe.api.GraphQLClientApi");
+    private static final DotName GRAPHQL_QUERY = DotName
+            .createSimple("io.smallrye.graphql.client.generator.GraphQLQuery");
+    private static final DotName GRAPHQL_QUERIES = DotName
+            .createSimple("io.smallrye.graphql.client.generator.GraphQLQueries");
 
     private String destination = new File(getProject().getBuildDir(), "generated/schema.graphql").getPath();
     private boolean includeDependencies = false;
@@ -86,7 +105,15 @@ public class GenerateSchemaTask extends DefaultTask {
     private boolean includeDirectives = false;
     private boolean includeSchemaDefinition = false;
     private boolean includeIntrospectionTypes = false;
-    
+    private boolean parallelSchemaBuilding = false;
+    private boolean generateOperationManifest = false;
+    private String operationManifestDestination = new File(getProject().getBuildDir(),
+            "resources/main/" + OperationManifest.LOCATION).getPath();
+    private File operationsDirectory = getProject().file("src/main/graphql/operations");
+    private boolean generateSchemaSnapshot = false;
+    private String schemaSnapshotDestination = new File(getProject().getBuildDir(),
+            "resources/main/" + SchemaSnapshot.LOCATION).getPath();
+
     private File classesDir = new File(getProject().getBuildDir(), "classes");
 
     @Optional
@@ -188,6 +215,66 @@ public class GenerateSchemaTask extends DefaultTask {
         this.includeIntrospectionTypes = includeIntrospectionTypes;
     }
 
+    @Input
+    public boolean getParallelSchemaBuilding() {
+        return parallelSchemaBuilding;
+    }
+
+    @Option(option = "parallel-schema-building", description = "Whether to build the schema on all processors, for models with many types.")
+    public void setParallelSchemaBuilding(boolean parallelSchemaBuilding) {
+        this.parallelSchemaBuilding = parallelSchemaBuilding;
+    }
+
+    @Input
+    public boolean getGenerateOperationManifest() {
+        return generateOperationManifest;
+    }
+
+    @Option(option = "generate-operation-manifest", description = "Whether to write a manifest of the operations that clients of this project send, so the server can prepare them at startup and optionally only allow those.")
+    public void setGenerateOperationManifest(boolean generateOperationManifest) {
+        this.generateOperationManifest = generateOperationManifest;
+    }
+
+    @Input
+    public String getOperationManifestDestination() {
+        return operationManifestDestination;
+    }
+
+    @Option(option = "operation-manifest-destination", description = "The destination file of the operation manifest.")
+    public void setOperationManifestDestination(String operationManifestDestination) {
+        this.operationManifestDestination = operationManifestDestination;
+    }
+
+    @Input
+    public boolean getGenerateSchemaSnapshot() {
+        return generateSchemaSnapshot;
+    }
+
+    @Option(option = "generate-schema-snapshot", description = "Whether to write the built schema model, so the server does not have to scan the classes and build the schema at startup.")
+    public void setGenerateSchemaSnapshot(boolean generateSchemaSnapshot) {
+        this.generateSchemaSnapshot = generateSchemaSnapshot;
+    }
+
+    @Input
+    public String getSchemaSnapshotDestination() {
+        return schemaSnapshotDestination;
+    }
+
+    @Option(option = "schema-snapshot-destination", description = "The destination file of the schema snapshot.")
+    public void setSchemaSnapshotDestination(String schemaSnapshotDestination) {
+        this.schemaSnapshotDestination = schemaSnapshotDestination;
+    }
+
+    @Optional
+    @Internal
+    public File getOperationsDirectory() {
+        return operationsDirectory;
+    }
+
+    public void setOperationsDirectory(File operationsDirectory) {
+        this.operationsDirectory = operationsDirectory;
+    }
+
     @Optional
     @InputDirectory
     public File getClassesDir() {
@@ -217,12 +304,146 @@ public class GenerateSchemaTask extends DefaultTask {
             index = CompositeIndex.create(index, createFederationApiIndex());
         }
 
-        String schema = generateSchema(index);
+        Schema internalSchema = SchemaBuilder.build(index, TypeAutoNameStrategy.Default,
+                parallelSchemaBuilding ? ForkJoinPool.commonPool() : null);
+        String schema = generateSchema(internalSchema);
         if (schema != null) {
             write(schema);
         } else {
             getLogger().warn("No Schema generated. Check that your code contains the MicroProfile GraphQL Annotations");
         }
+
+        if (generateOperationManifest) {
+            writeOperationManifest(createOperationManifest(index));
+        }
+        if (generateSchemaSnapshot) {
+            writeSchemaSnapshot();
+        }
+    }
+
+    private OperationManifest createOperationManifest(IndexView index) {
+        OperationManifest manifest = new OperationManifest();
+
+        // typesafe client APIs
+        if (!index.getAnnotations(GRAPHQL_CLIENT_API).isEmpty()) {
+            ClientModels clientModels = ClientModelBuilder.build(index);
+            clientModels.getClientModelMap().forEach((configKey, clientModel) -> clientModel.getOperationMap()
+                    .forEach((methodKey, query) -> manifest.add(configKey + "#" + methodKey.getMethodName(), query)));
+        }
+
+        // queries of the client generator
+        for (AnnotationInstance graphQLQuery : index.getAnnotations(GRAPHQL_QUERY)) {
+            manifest.add(graphQLQuery.target().toString(), graphQLQuery.value().asString());
+        }
+        for (AnnotationInstance graphQLQueries : index.getAnnotations(GRAPHQL_QUERIES)) {
+            for (AnnotationInstance graphQLQuery : graphQLQueries.value().asNestedArray()) {
+                manifest.add(graphQLQueries.target().toString(), graphQLQuery.value().asString());
+            }
+        }
+
+        // operation documents
+        if (operationsDirectory != null && operationsDirectory.isDirectory()) {
+            Path root = operationsDirectory.toPath();
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".graphql")).sorted()
+                        .collect(Collectors.toList())) {
+                    manifest.add(root.relativize(file).toString(),
+                            new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new GradleException("Can't read the operations in " + operationsDirectory, e);
+            }
+        }
+        return manifest;
+    }
+
+    private void writeOperationManifest(OperationManifest manifest) {
+        try {
+            Path path = new File(operationManifestDestination).toPath();
+            path.toFile().getParentFile().mkdirs();
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                manifest.write(writer);
+            }
+            getLogger().info("Wrote " + manifest.getOperations().size() + " operations to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            throw new GradleException("Can't write the operation manifest", e);
+        }
+    }
+
+    // the server scans the classes and all jars of the war, so the snapshot is built from the same
+    private void writeSchemaSnapshot() {
+        List<Path> classesDirs = getMainClassesDirs();
+        List<Path> jars = getRuntimeJars();
+        List<IndexView> indexes = new ArrayList<>();
+        try {
+            for (Path dir : classesDirs) {
+                indexes.add(indexClasses(dir));
+            }
+        } catch (IOException e) {
+            throw new GradleException("Can't compute index", e);
+        }
+        for (Path jar : jars) {
+            getLogger().debug("Indexing file " + jar);
+            try {
+                Result result = JarIndexer.createJarIndex(jar.toFile(), new Indexer(), false, false, false);
+                indexes.add(result.getIndex());
+            } catch (Exception e) {
+                getLogger().error("Can't compute index of " + jar.toAbsolutePath() + ", skipping", e);
+            }
+        }
+        Schema internalSchema = SchemaBuilder.build(CompositeIndex.create(indexes), TypeAutoNameStrategy.Default,
+                parallelSchemaBuilding ? ForkJoinPool.commonPool() : null);
+        if (internalSchema == null) {
+            return;
+        }
+        try {
+            Path path = new File(schemaSnapshotDestination).toPath();
+            path.toFile().getParentFile().mkdirs();
+            try (OutputStream out = Files.newOutputStream(path)) {
+                SchemaSnapshot.write(internalSchema, SchemaSnapshot.fingerprint(classesDirs, jars), out);
+            }
+            getLogger().info("Wrote the schema snapshot to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            throw new GradleException("Can't write the schema snapshot", e);
+        }
+    }
+
+    // the classes that end up in the application: the main output of every language when classesDir is the classes
+    // directory of the build, like build/classes/java/main and build/classes/kotlin/main, or else classesDir itself
+    private List<Path> getMainClassesDirs() {
+        List<Path> dirs = new ArrayList<>();
+        File[] languages = classesDir.listFiles(File::isDirectory);
+        if (languages != null) {
+            Arrays.sort(languages);
+            for (File language : languages) {
+                File main = new File(language, "main");
+                if (main.isDirectory()) {
+                    dirs.add(main.toPath());
+                }
+            }
+        }
+        if (dirs.isEmpty()) {
+            dirs.add(classesDir.toPath());
+        }
+        return dirs;
+    }
+
+    // the dependencies that are packaged in WEB-INF/lib
+    private List<Path> getRuntimeJars() {
+        ConfigurationContainer configurationContainer = getProject().getConfigurations();
+        Configuration runtimeClasspath = configurationContainer.findByName("runtimeClasspath");
+        if (runtimeClasspath == null) {
+            return new ArrayList<>();
+        }
+        Set<File> files = new LinkedHashSet<>(runtimeClasspath.getFiles());
+        Configuration providedRuntime = configurationContainer.findByName("providedRuntime");
+        if (providedRuntime != null) {
+            files.removeAll(providedRuntime.getFiles());
+        }
+        return files.stream()
+                .filter(file -> file.isFile() && file.getName().endsWith(".jar"))
+                .map(File::toPath)
+                .collect(Collectors.toList());
     }
 
     private static boolean hasFederationDirectives(IndexView index) {
@@ -310,8 +531,12 @@ public class GenerateSchemaTask extends DefaultTask {
 
     // index the classes of this Gradle module
     private Index indexModuleClasses() throws IOException {
+        return indexClasses(classesDir.toPath());
+    }
+
+    private Index indexClasses(Path dir) throws IOException {
         Indexer indexer = new Indexer();
-        List<Path> classFiles = Files.walk(classesDir.toPath())
+        List<Path> classFiles = Files.walk(dir)
                 .filter(path -> path.toString().endsWith(".class"))
                 .collect(Collectors.toList());
         for (Path path : classFiles) {
@@ -320,8 +545,7 @@ public class GenerateSchemaTask extends DefaultTask {
         return indexer.complete();
     }
 
-    private String generateSchema(IndexView index) {
-        Schema internalSchema = SchemaBuilder.build(index);
+    private String generateSchema(Schema internalSchema) {
         GraphQLSchema graphQLSchema = Bootstrap.bootstrap(internalSchema, true);
         if(graphQLSchema!=null){
             return new SchemaPrinter().print(graphQLSchema);
@@ -365,16 +589,11 @@ public class GenerateSchemaTask extends DefaultTask {
                 }
             }
         }
-        Path classes = Paths.get(classesDir.getAbsolutePath(), "java", "main");
-        if(classes.toFile().exists()) {
-            getLogger().debug("Adding classes directory: " + classes);
-            urls.add(classes.toUri().toURL());
-        }
-
-        Path classesKotlin = Paths.get(classesDir.getAbsolutePath(), "kotlin", "main");
-        if(classesKotlin.toFile().exists()) {
-            getLogger().debug("Adding classes directory: " + classesKotlin);
-            urls.add(classesKotlin.toUri().toURL());
+        for (Path classes : getMainClassesDirs()) {
+            if(classes.toFile().exists()) {
+                getLogger().debug("Adding classes directory: " + classes);
+                urls.add(classes.toUri().toURL());
+            }
         }
 
         return URLClassLoader.newInstance(
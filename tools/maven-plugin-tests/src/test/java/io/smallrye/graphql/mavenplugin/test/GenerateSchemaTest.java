@@ -93,6 +93,15 @@ public class GenerateSchemaTest {
                 schema, containsString("type _Service"));
     }
 
+    @Test
+    public void testOperationManifest() throws Exception {
+        execute(Collections.singletonMap("generateOperationManifest", "true"), "testing-project", SCHEMA_FILE_PATH);
+        Path manifest = Paths.get("testing-project", "target", "classes", "META-INF", "smallrye-graphql-operations.json");
+        Assert.assertTrue("File " + manifest.toAbsolutePath() + " expected but not found", manifest.toFile().exists());
+        assertThat("The operation from src/main/graphql/operations should be in the manifest",
+                String.join("\n", Files.readAllLines(manifest)), containsString("query foo"));
+    }
+
     @Test
     public void testMultiModuleProject() throws Exception {
         SCHEMA_FILE_PATH_MULTI_MODULE.toFile().delete();
@@ -2,6 +2,8 @@ package io.smallrye.graphql.mavenplugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -12,6 +14,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,8 +28,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.microprofile.graphql.Name;
+import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexView;
 import org.jboss.jandex.Indexer;
@@ -40,13 +45,24 @@ import graphql.schema.GraphQLSchema;
 import graphql.schema.TypeResolver;
 import io.smallrye.graphql.bootstrap.Bootstrap;
 import io.smallrye.graphql.bootstrap.FederationDataFetcher;
+import io.smallrye.graphql.client.model.ClientModelBuilder;
+import io.smallrye.graphql.client.model.ClientModels;
+import io.smallrye.graphql.execution.OperationManifest;
 import io.smallrye.graphql.execution.SchemaPrinter;
 import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.SchemaSnapshot;
 import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
 import io.smallrye.graphql.schema.model.Schema;
 
 @Mojo(name = "generate-schema", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME, requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
 public class GenerateSchemaMojo extends AbstractMojo {
+    private static final DotName GRAPHQL_CLIENT_API = DotName
+            .createSimple("io.smallrye.graphql.client.typesafe.api.GraphQLClientApi");
+    private static final DotName GRAPHQL_QUERY = DotName
+            .createSimple("io.smallrye.graphql.client.generator.GraphQLQuery");
+    private static final DotName GRAPHQL_QUERIES = DotName
+            .createSimple("io.smallrye.graphql.client.generator.GraphQLQueries");
+
     private static MavenConfig mavenConfig;
 
     /**
@@ -104,6 +120,47 @@ public class GenerateSchemaMojo extends AbstractMojo {
     @Parameter(defaultValue = "false", property = "federationEnabled")
     private boolean federationEnabled;
 
+    /**
+     * Build the schema on all processors, for models with many types.
+     */
+    @Parameter(defaultValue = "false", property = "parallelSchemaBuilding")
+    private boolean parallelSchemaBuilding;
+
+    /**
+     * Write a manifest of the operations that clients of this project send, so the server can prepare them at startup
+     * and optionally only allow those. Operations are taken from typesafe client APIs, from {@code @GraphQLQuery}
+     * annotations of the client generator and from the {@code .graphql} files in {@code operationsDirectory}.
+     */
+    @Parameter(defaultValue = "false", property = "generateOperationManifest")
+    private boolean generateOperationManifest;
+
+    /**
+     * Destination file of the operation manifest. By default it is packaged with the classes, where the server
+     * finds it.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}/META-INF/smallrye-graphql-operations.json", property = "operationManifestDestination")
+    private String operationManifestDestination;
+
+    /**
+     * Directory with {@code .graphql} files that each contain an operation document, as the client sends it.
+     */
+    @Parameter(defaultValue = "${project.basedir}/src/main/graphql/operations", property = "operationsDirectory")
+    private File operationsDirectory;
+
+    /**
+     * Write the built schema model to the classes, so the server does not have to scan the classes and build the
+     * schema at startup. The server only uses it when it is built from the same classes.
+     */
+    @Parameter(defaultValue = "false", property = "generateSchemaSnapshot")
+    private boolean generateSchemaSnapshot;
+
+    /**
+     * Destination file of the schema snapshot. By default it is packaged with the classes, where the server finds it.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}/"
+            + SchemaSnapshot.LOCATION, property = "schemaSnapshotDestination")
+    private String schemaSnapshotDestination;
+
     @Parameter(defaultValue = "${project}", required = true)
     private MavenProject mavenProject;
 
@@ -153,12 +210,21 @@ public class GenerateSchemaMojo extends AbstractMojo {
                 enableFederation = true;
             }
 
-            String schema = generateSchema(index, enableFederation);
+            Schema internalSchema = SchemaBuilder.build(index, mavenConfig.typeAutoNameStrategy,
+                    parallelSchemaBuilding ? ForkJoinPool.commonPool() : null);
+            String schema = generateSchema(internalSchema, enableFederation);
             if (schema != null) {
                 write(schema);
             } else {
                 getLog().warn("No Schema generated. Check that your code contains the MicroProfile GraphQL Annotations");
             }
+
+            if (generateOperationManifest) {
+                writeOperationManifest(createOperationManifest(index));
+            }
+            if (generateSchemaSnapshot) {
+                writeSchemaSnapshot();
+            }
         }
     }
 
@@ -249,8 +315,7 @@ public class GenerateSchemaMojo extends AbstractMojo {
         return indexer.complete();
     }
 
-    private String generateSchema(IndexView index, boolean enableFederation) {
-        Schema internalSchema = SchemaBuilder.build(index, mavenConfig.typeAutoNameStrategy);
+    private String generateSchema(Schema internalSchema, boolean enableFederation) {
         GraphQLSchema graphQLSchema = Bootstrap.bootstrap(internalSchema, true);
         if (graphQLSchema != null && enableFederation) {
             graphQLSchema = Federation.transform(graphQLSchema)
@@ -302,6 +367,99 @@ public class GenerateSchemaMojo extends AbstractMojo {
         }
     }
 
+    private OperationManifest createOperationManifest(IndexView index) throws MojoExecutionException {
+        OperationManifest manifest = new OperationManifest();
+
+        // typesafe client APIs
+        if (!index.getAnnotations(GRAPHQL_CLIENT_API).isEmpty()) {
+            ClientModels clientModels = ClientModelBuilder.build(index);
+            clientModels.getClientModelMap().forEach((configKey, clientModel) -> clientModel.getOperationMap()
+                    .forEach((methodKey, query) -> manifest.add(configKey + "#" + methodKey.getMethodName(), query)));
+        }
+
+        // queries of the client generator
+        for (AnnotationInstance graphQLQuery : index.getAnnotations(GRAPHQL_QUERY)) {
+            manifest.add(graphQLQuery.target().toString(), graphQLQuery.value().asString());
+        }
+        for (AnnotationInstance graphQLQueries : index.getAnnotations(GRAPHQL_QUERIES)) {
+            for (AnnotationInstance graphQLQuery : graphQLQueries.value().asNestedArray()) {
+                manifest.add(graphQLQueries.target().toString(), graphQLQuery.value().asString());
+            }
+        }
+
+        // operation documents
+        if (operationsDirectory != null && operationsDirectory.isDirectory()) {
+            Path root = operationsDirectory.toPath();
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".graphql")).sorted()
+                        .collect(Collectors.toList())) {
+                    manifest.add(root.relativize(file).toString(), Files.readString(file));
+                }
+            } catch (IOException e) {
+                throw new MojoExecutionException("Can't read the operations in " + operationsDirectory, e);
+            }
+        }
+        return manifest;
+    }
+
+    private void writeOperationManifest(OperationManifest manifest) throws MojoExecutionException {
+        try {
+            Path path = new File(operationManifestDestination).toPath();
+            path.toFile().getParentFile().mkdirs();
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                manifest.write(writer);
+            }
+            getLog().info("Wrote " + manifest.getOperations().size() + " operations to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't write the operation manifest", e);
+        }
+    }
+
+    // the server scans the classes and all jars of the war, so the snapshot is built from the same
+    private void writeSchemaSnapshot() throws MojoExecutionException {
+        List<Path> jars = getRuntimeJars();
+        List<IndexView> indexes = new ArrayList<>();
+        try {
+            indexes.add(indexModuleClasses(classesDir));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't compute index", e);
+        }
+        for (Path jar : jars) {
+            Result result = indexJar(jar.toFile());
+            if (result != null) {
+                indexes.add(result.getIndex());
+            }
+        }
+        Schema internalSchema = SchemaBuilder.build(CompositeIndex.create(indexes), mavenConfig.typeAutoNameStrategy,
+                parallelSchemaBuilding ? ForkJoinPool.commonPool() : null);
+        if (internalSchema == null) {
+            return;
+        }
+        try {
+            Path path = new File(schemaSnapshotDestination).toPath();
+            path.toFile().getParentFile().mkdirs();
+            try (OutputStream out = Files.newOutputStream(path)) {
+                SchemaSnapshot.write(internalSchema, SchemaSnapshot.fingerprint(List.of(classesDir.toPath()), jars), out);
+            }
+            getLog().info("Wrote schema snapshot to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't write the schema snapshot", e);
+        }
+    }
+
+    // the dependencies that are packaged in WEB-INF/lib
+    private List<Path> getRuntimeJars() {
+        List<Path> jars = new ArrayList<>();
+        for (Object a : mavenProject.getArtifacts()) {
+            Artifact artifact = (Artifact) a;
+            if ((Artifact.SCOPE_COMPILE.equals(artifact.getScope()) || Artifact.SCOPE_RUNTIME.equals(artifact.getScope()))
+                    && "jar".equals(artifact.getType()) && artifact.getFile() != null && artifact.getFile().isFile()) {
+                jars.add(artifact.getFile().toPath());
+            }
+        }
+        return jars;
+    }
+
     private ClassLoader getClassLoader() {
         Set<URL> urls = new HashSet<>();
 